@@ -15,4 +15,7 @@ public class AiModelResponse {
     private Double confidenceScore;
     private String modelUsed;
     private Integer tokensUsed;
+
+    // fallback or placeholder text produced because the model could not answer
+    private boolean degraded;
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.novaTech.Nova.DTO;
+
+import com.novaTech.Nova.Entities.Enums.Model;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Chat list row, selected with a JPQL constructor expression so listing chats never
+ * touches the messages table.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatSummaryResponse {
+    private Long chatId;
+    private String title;
+    private Model model;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime lastMessageAt;
+    private Integer messageCount;
+}
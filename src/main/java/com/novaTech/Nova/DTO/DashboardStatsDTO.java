@@ -9,8 +9,12 @@ public class DashboardStatsDTO {
     private long totalProjects;
     private long completedProjects;
     private long inProgressProjects;
-    
+    private long overdueProjects;
+
     private long totalTasks;
     private long completedTasks;
     private long inProgressTasks;
+    private long overdueTasks;
+
+    private long teams;
 }
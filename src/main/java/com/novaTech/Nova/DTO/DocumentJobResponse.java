@@ -0,0 +1,31 @@
+package com.novaTech.Nova.DTO;
+
+import com.novaTech.Nova.Entities.Enums.FunctionalityType;
+import com.novaTech.Nova.Entities.Enums.ProcessingJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentJobResponse {
+
+    private Long jobId;
+    private Long documentId;
+    private String documentName;
+    private FunctionalityType functionality;
+    private ProcessingJobStatus status;
+    private Integer progress;
+    private String message;
+    private Integer attempts;
+    private Map<String, Object> data; // set once COMPLETED
+    private String error;             // set once FAILED
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+}
@@ -1,5 +1,6 @@
 package com.novaTech.Nova.DTO;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.novaTech.Nova.Entities.Enums.FunctionalityType;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -7,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @Data
@@ -24,4 +26,20 @@ public class DocumentProcessResponse {
     private Map<String, Object> data;
     private String error;
     private LocalDateTime processedAt;
-}
\ No newline at end of file
+
+    /**
+     * The main text of the result (summary, answer, chat response or analysis)
+     */
+    @JsonIgnore
+    public String getPrimaryResponse() {
+        if (data == null) {
+            return null;
+        }
+        for (String key : List.of("summary", "answer", "response", "analysis")) {
+            if (data.get(key) != null) {
+                return data.get(key).toString();
+            }
+        }
+        return null;
+    }
+}
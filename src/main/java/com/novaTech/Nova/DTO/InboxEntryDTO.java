@@ -0,0 +1,24 @@
+package com.novaTech.Nova.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InboxEntryDTO {
+    private Long chatRoomId;
+    private UUID peerId;
+    private String peerUsername;
+    private Long lastMessageId;
+    private String lastMessagePreview;
+    private UUID lastSenderId;
+    private LocalDateTime lastMessageAt;
+    private Integer unreadCount;
+}
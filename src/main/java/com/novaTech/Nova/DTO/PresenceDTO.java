@@ -0,0 +1,21 @@
+package com.novaTech.Nova.DTO;
+
+import com.novaTech.Nova.Entities.Enums.PresenceStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresenceDTO {
+    private UUID userId;
+    private PresenceStatus status;
+    private String customStatus;
+    private LocalDateTime lastSeenAt;
+}
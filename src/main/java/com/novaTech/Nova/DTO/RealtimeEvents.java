@@ -0,0 +1,122 @@
+package com.novaTech.Nova.DTO;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.novaTech.Nova.Entities.Enums.MessageStatus;
+import com.novaTech.Nova.Entities.chats.PrivateMessage;
+import com.novaTech.Nova.Entities.chats.TeamMessage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Frames pushed over the WebSocket. Field names are the ones clients already read; only what
+ * the client uses is sent, and null fields are left out (see WebSocketMessageService).
+ */
+public final class RealtimeEvents {
+
+    private RealtimeEvents() {
+    }
+
+    // =========================================================
+    // MESSAGES
+    // =========================================================
+
+    public record PrivateMessageEvent(Long id, Long chatRoomId, UUID senderId, UUID receiverId, String content,
+                                      MessageStatus status, LocalDateTime sentAt, LocalDateTime editedAt,
+                                      Boolean isForwarded, Long replyToMessageId, String fileUrl, String fileType,
+                                      Long fileSizeBytes) {
+
+        public static PrivateMessageEvent of(PrivateMessage message) {
+            return new PrivateMessageEvent(message.getId(), message.getChatRoomId(), message.getSenderId(),
+                    message.getReceiverId(), message.getContent(), message.getStatus(), message.getSentAt(),
+                    message.getEditedAt(), message.getIsForwarded(), message.getReplyToMessageId(),
+                    message.getFileUrl(), message.getFileType(), message.getFileSizeBytes());
+        }
+    }
+
+    public record TeamMessageEvent(Long id, UUID teamId, Long chatRoomId, UUID senderId, String content,
+                                   LocalDateTime sentAt, LocalDateTime editedAt, Boolean isDeleted,
+                                   Long replyToMessageId, String fileUrl, String fileType, Long fileSizeBytes,
+                                   List<Long> mentionedUserIds, Boolean mentionTeam, Boolean mentionAdmins) {
+
+        public static TeamMessageEvent of(TeamMessage message) {
+            List<Long> mentions = message.getMentionedUserIds();
+            return new TeamMessageEvent(message.getId(), message.getTeamId(), message.getChatRoomId(),
+                    message.getSenderId(), message.getContent(), message.getSentAt(), message.getEditedAt(),
+                    message.getIsDeleted(), message.getReplyToMessageId(), message.getFileUrl(),
+                    message.getFileType(), message.getFileSizeBytes(),
+                    mentions == null || mentions.isEmpty() ? null : List.copyOf(mentions),
+                    message.getMentionTeam(), message.getMentionAdmins());
+        }
+    }
+
+    // "message_update", "team_message_update", "private_message", ...
+    public record MessageChanged(String type, Object message) {
+    }
+
+    public record MessageDeleted(String type, Long messageId) {
+
+        public MessageDeleted(Long messageId) {
+            this("message_delete", messageId);
+        }
+    }
+
+    public record ReadReceipt(String type, Long chatRoomId, UUID readerId, Long messageId) {
+
+        public ReadReceipt(Long chatRoomId, UUID readerId, Long messageId) {
+            this("read_receipt", chatRoomId, readerId, messageId);
+        }
+    }
+
+    // =========================================================
+    // INBOX
+    // =========================================================
+
+    public record InboxMessage(String type, Long chatRoomId, UUID peerId, Long lastMessageId,
+                               String lastMessagePreview, UUID lastSenderId, LocalDateTime lastMessageAt,
+                               int unreadIncrement) {
+
+        public InboxMessage(PrivateMessage message, UUID peerId, String preview, int unreadIncrement) {
+            this("inbox_message", message.getChatRoomId(), peerId, message.getId(), preview,
+                    message.getSenderId(), message.getSentAt(), unreadIncrement);
+        }
+    }
+
+    public record InboxUpdate(String type, InboxEntryDTO entry) {
+
+        public InboxUpdate(InboxEntryDTO entry) {
+            this("inbox_update", entry);
+        }
+    }
+
+    // =========================================================
+    // EPHEMERAL
+    // =========================================================
+
+    public record Typing(String type, UUID userId, UUID teamId, @JsonProperty("isTyping") boolean isTyping) {
+
+        public Typing(UUID userId, UUID teamId, boolean isTyping) {
+            this("typing", userId, teamId, isTyping);
+        }
+    }
+
+    // =========================================================
+    // NOTIFICATIONS AND MEETINGS
+    // =========================================================
+
+    // "friend_request", "friend_accepted"
+    public record FriendshipEvent(String type, Object friendship) {
+    }
+
+    public record MeetingInvitation(String type, Object meeting) {
+
+        public MeetingInvitation(Object meeting) {
+            this("meeting_invitation", meeting);
+        }
+    }
+
+    // "waiting_room", "admitted" and the meeting's own events
+    public record MeetingEvent(String type, Long meetingId, UUID userId) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.novaTech.Nova.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of a map-reduce summarization, streamed to the client as server-sent events.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SummaryProgressEvent {
+
+    private String stage;        // STARTED, MAP, REDUCE, DONE, ERROR
+    private Integer level;       // reduce level, 0 for the map stage
+    private Integer completed;   // parts finished in this stage
+    private Integer total;       // parts in this stage
+    private Integer cachedParts; // parts served from the chunk summary cache
+    private String summary;      // set on DONE
+    private Long processingId;   // set on DONE once the history entry is saved
+    private String error;        // set on ERROR
+}
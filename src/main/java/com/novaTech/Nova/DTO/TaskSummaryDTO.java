@@ -1,17 +1,27 @@
 package com.novaTech.Nova.DTO;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class TaskSummaryDTO {
     private UUID id;
     private String title;
     private String description;
     private LocalDate dueDate;
     private long daysLeft;
+
+    // query projection; days left is counted from today
+    public TaskSummaryDTO(UUID id, String title, String description, LocalDate dueDate) {
+        this(id, title, description, dueDate, dueDate != null ? ChronoUnit.DAYS.between(LocalDate.now(), dueDate) : 0);
+    }
 }
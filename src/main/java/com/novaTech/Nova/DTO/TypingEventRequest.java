@@ -0,0 +1,13 @@
+package com.novaTech.Nova.DTO;
+
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+public class TypingEventRequest {
+    // set one of them: the friend of a private chat, or the team of a team chat
+    private UUID receiverId;
+    private UUID teamId;
+    private boolean typing;
+}
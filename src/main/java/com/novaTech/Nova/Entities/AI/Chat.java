@@ -15,7 +15,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "chats")
+@Table(name = "chats", indexes = {
+        @Index(name = "idx_chats_user_active_updated", columnList = "user_id, is_active, updated_at, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -50,6 +52,21 @@ public class Chat {
     @Column(nullable = false)
     private boolean isActive = true; // For soft delete
 
+    // Maintained on every saved message so chat lists never load the messages
+    @Column(name = "message_count")
+    private Integer messageCount;
+
+    @Column(name = "last_message_at")
+    private LocalDateTime lastMessageAt;
+
+    // Rolling summary of the turns that no longer fit in the prompt budget
+    @Column(name = "context_summary", columnDefinition = "TEXT")
+    private String contextSummary;
+
+    // Last message id folded into contextSummary
+    @Column(name = "summarized_up_to_message_id")
+    private Long summarizedUpToMessageId;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -11,7 +11,9 @@ import org.springframework.data.annotation.CreatedDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+        @Index(name = "idx_messages_chat_id_id", columnList = "chat_id, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -38,7 +40,7 @@ public class Message {
     private LocalDateTime createdAt;
 
     @Column(name = "token_count")
-    private Integer tokenCount; // Optional: for tracking usage
+    private Integer tokenCount; // Estimated prompt tokens, used to pack the context window
 
     @PrePersist
     protected void onCreate() {
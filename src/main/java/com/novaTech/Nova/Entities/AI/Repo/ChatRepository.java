@@ -1,14 +1,20 @@
 package com.novaTech.Nova.Entities.AI.Repo;
 
+import com.novaTech.Nova.DTO.ChatSummaryResponse;
 import com.novaTech.Nova.Entities.AI.Chat;
 import com.novaTech.Nova.Entities.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public interface ChatRepository extends JpaRepository<Chat, Long> {
@@ -51,4 +57,98 @@ public interface ChatRepository extends JpaRepository<Chat, Long> {
     """)
     List<Chat> searchChats(User user, String keyword);
 
+    // Store the rolling context summary without touching updatedAt (chat list order)
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE Chat c
+        SET c.contextSummary = :summary, c.summarizedUpToMessageId = :upTo
+        WHERE c.id = :chatId AND COALESCE(c.summarizedUpToMessageId, 0) = :expectedUpTo
+    """)
+    int updateContextSummary(@Param("chatId") Long chatId,
+                             @Param("summary") String summary,
+                             @Param("expectedUpTo") Long expectedUpTo,
+                             @Param("upTo") Long upTo);
+
+    // ========================
+    // CHAT LISTS (projections, no messages loaded)
+    // ========================
+
+    @Query("""
+        SELECT new com.novaTech.Nova.DTO.ChatSummaryResponse(
+            c.id, c.title, c.model, c.createdAt, c.updatedAt, c.lastMessageAt, COALESCE(c.messageCount, 0))
+        FROM Chat c
+        WHERE c.user.id = :userId AND c.isActive = true
+        ORDER BY c.updatedAt DESC, c.id DESC
+    """)
+    List<ChatSummaryResponse> findSummaries(@Param("userId") UUID userId, Pageable pageable);
+
+    // Next page after the last row of the previous one (keyset on updatedAt, id)
+    @Query("""
+        SELECT new com.novaTech.Nova.DTO.ChatSummaryResponse(
+            c.id, c.title, c.model, c.createdAt, c.updatedAt, c.lastMessageAt, COALESCE(c.messageCount, 0))
+        FROM Chat c
+        WHERE c.user.id = :userId AND c.isActive = true
+          AND (c.updatedAt < :updatedAt OR (c.updatedAt = :updatedAt AND c.id < :id))
+        ORDER BY c.updatedAt DESC, c.id DESC
+    """)
+    List<ChatSummaryResponse> findSummariesAfter(@Param("userId") UUID userId,
+                                                 @Param("updatedAt") LocalDateTime updatedAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+
+    @Query("""
+        SELECT new com.novaTech.Nova.DTO.ChatSummaryResponse(
+            c.id, c.title, c.model, c.createdAt, c.updatedAt, c.lastMessageAt, COALESCE(c.messageCount, 0))
+        FROM Chat c
+        WHERE c.user.id = :userId AND c.isActive = true
+          AND LOWER(c.title) LIKE LOWER(CONCAT('%', :title, '%'))
+        ORDER BY c.updatedAt DESC, c.id DESC
+    """)
+    List<ChatSummaryResponse> searchSummariesByTitle(@Param("userId") UUID userId, @Param("title") String title);
+
+    // Title or message content match; EXISTS instead of JOIN + DISTINCT so each chat is read once
+    @Query("""
+        SELECT new com.novaTech.Nova.DTO.ChatSummaryResponse(
+            c.id, c.title, c.model, c.createdAt, c.updatedAt, c.lastMessageAt, COALESCE(c.messageCount, 0))
+        FROM Chat c
+        WHERE c.user.id = :userId AND c.isActive = true
+          AND (
+                LOWER(c.title) LIKE LOWER(CONCAT('%', :keyword, '%'))
+                OR EXISTS (SELECT 1 FROM Message m
+                           WHERE m.chat = c AND LOWER(m.content) LIKE LOWER(CONCAT('%', :keyword, '%')))
+          )
+        ORDER BY c.updatedAt DESC, c.id DESC
+    """)
+    List<ChatSummaryResponse> searchSummaries(@Param("userId") UUID userId, @Param("keyword") String keyword, Pageable pageable);
+
+    // ========================
+    // COUNTERS
+    // ========================
+
+    // Count a new message atomically; also bumps updatedAt, which orders the chat list
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE Chat c
+        SET c.messageCount = COALESCE(c.messageCount, 0) + 1, c.lastMessageAt = :at, c.updatedAt = :at
+        WHERE c.id = :chatId
+    """)
+    int recordMessage(@Param("chatId") Long chatId, @Param("at") LocalDateTime at);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Chat c SET c.messageCount = 0, c.lastMessageAt = NULL WHERE c.id = :chatId")
+    int resetMessageCounters(@Param("chatId") Long chatId);
+
+    // One-off fill for chats created before the counters existed
+    @Modifying
+    @Transactional
+    @Query(value = """
+        UPDATE chats c
+        SET message_count = (SELECT COUNT(*) FROM messages m WHERE m.chat_id = c.id),
+            last_message_at = (SELECT MAX(m.created_at) FROM messages m WHERE m.chat_id = c.id)
+        WHERE c.message_count IS NULL
+    """, nativeQuery = true)
+    int backfillMessageCounters();
 }
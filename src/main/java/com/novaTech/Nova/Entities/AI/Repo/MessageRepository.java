@@ -2,9 +2,15 @@ package com.novaTech.Nova.Entities.AI.Repo;
 
 import com.novaTech.Nova.Entities.AI.Chat;
 import com.novaTech.Nova.Entities.AI.Message;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,6 +22,36 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     // Find last N messages for a chat (for context window)
     List<Message> findTop10ByChatOrderByCreatedAtDesc(Chat chat);
 
+    // Newest-first page of messages, used to pack the prompt within a token budget
+    List<Message> findByChatOrderByCreatedAtDescIdDesc(Chat chat, Pageable pageable);
+
+    // Messages in (afterId, beforeId), oldest first, for folding into the rolling summary
+    List<Message> findByChat_IdAndIdGreaterThanAndIdLessThanOrderByIdAsc(Long chatId, Long afterId, Long beforeId, Pageable pageable);
+
     // Count messages in a chat
     long countByChat(Chat chat);
+
+    // History pages, newest first: the latest page, then pages before a message id
+    List<Message> findByChat_IdOrderByIdDesc(Long chatId, Pageable pageable);
+
+    List<Message> findByChat_IdAndIdLessThanOrderByIdDesc(Long chatId, Long beforeId, Pageable pageable);
+
+    // All messages of the given chats, oldest first, for the full user history
+    List<Message> findByChat_IdInOrderByCreatedAtAscIdAsc(Collection<Long> chatIds);
+
+    // Messages of the given chats that contain the keyword, for search results
+    @Query("""
+        SELECT m FROM Message m
+        WHERE m.chat.id IN :chatIds AND LOWER(m.content) LIKE LOWER(CONCAT('%', :keyword, '%'))
+        ORDER BY m.chat.id, m.id
+    """)
+    List<Message> findMatching(@Param("chatIds") Collection<Long> chatIds, @Param("keyword") String keyword, Pageable pageable);
+
+    @Query("SELECT MAX(m.id) FROM Message m WHERE m.chat.id = :chatId")
+    Long findMaxIdByChatId(@Param("chatId") Long chatId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Message m WHERE m.chat.id = :chatId")
+    int deleteByChatId(@Param("chatId") Long chatId);
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.novaTech.Nova.Entities;
+
+import com.novaTech.Nova.Entities.Enums.ContentCacheKind;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Content-addressed extraction / AI output, shared by every user who uploads the same file.
+ * Entries carry no owner: they are only looked up with hashes computed from content the
+ * caller already holds (see ContentCacheService).
+ */
+@Entity
+@Table(name = "content_cache_entries", indexes = {
+        @Index(name = "idx_content_cache_expires", columnList = "expires_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentCacheEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "cache_key", nullable = false, unique = true, length = 64)
+    private String cacheKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ContentCacheKind kind;
+
+    // extracted text, or the JSON result data of an AI run
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String content;
+
+    @Column(name = "model_used")
+    private String modelUsed;
+
+    @Column(name = "hit_count", nullable = false)
+    private Long hitCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "last_hit_at")
+    private LocalDateTime lastHitAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
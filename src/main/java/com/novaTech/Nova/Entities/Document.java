@@ -36,6 +36,13 @@ public class Document {
     @Column(columnDefinition = "TEXT")
     private String extractedText;
 
+    // SHA-256 (hex) of the uploaded bytes and of extractedText, keys into the content cache
+    @Column(length = 64)
+    private String fileHash;
+
+    @Column(length = 64)
+    private String contentHash;
+
     @Column(nullable = false)
     private LocalDateTime uploadedAt;
 
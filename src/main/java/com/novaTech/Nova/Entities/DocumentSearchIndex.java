@@ -0,0 +1,42 @@
+package com.novaTech.Nova.Entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Serialized BM25 index over a document's extracted text.
+ * Kept out of {@link Document} so document listings never load the index bytes.
+ */
+@Entity
+@Table(name = "document_search_indexes")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentSearchIndex {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "document_id", nullable = false, unique = true)
+    private Long documentId;
+
+    // Deflate-compressed Bm25Index, chunks are stored as offsets into extractedText
+    @Column(name = "index_data", nullable = false, columnDefinition = "bytea")
+    private byte[] indexData;
+
+    @Column(name = "text_length", nullable = false)
+    private Integer textLength;
+
+    @Column(name = "chunk_count", nullable = false)
+    private Integer chunkCount;
+
+    @Column(name = "built_at", nullable = false)
+    private LocalDateTime builtAt;
+}
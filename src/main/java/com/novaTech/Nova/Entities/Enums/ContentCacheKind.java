@@ -0,0 +1,6 @@
+package com.novaTech.Nova.Entities.Enums;
+
+public enum ContentCacheKind {
+    EXTRACTED_TEXT, // key: SHA-256 of the uploaded file bytes
+    AI_RESULT       // key: SHA-256 of text hash + functionality + question/prompt
+}
@@ -0,0 +1,13 @@
+package com.novaTech.Nova.Entities.Enums;
+
+public enum ProcessingJobStatus {
+    QUEUED,      // waiting for a worker (also after a retryable failure)
+    EXTRACTING,  // text extraction from the uploaded file
+    PROCESSING,  // AI functionality running
+    COMPLETED,
+    FAILED;
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
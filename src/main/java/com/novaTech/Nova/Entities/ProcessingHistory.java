@@ -1,5 +1,6 @@
 package com.novaTech.Nova.Entities;
 
+import com.novaTech.Nova.Entities.Enums.ProcessingJobStatus;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,7 +10,9 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "processing_history")
+@Table(name = "processing_history", indexes = {
+        @Index(name = "idx_processing_history_job_status", columnList = "job_status, lease_until")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -49,4 +52,39 @@ public class ProcessingHistory {
 
     @Column(columnDefinition = "TEXT")
     private String errorMessage;
-}
\ No newline at end of file
+
+    // =========================================================
+    // Processing job state (null on entries recorded synchronously)
+    // =========================================================
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_status")
+    private ProcessingJobStatus jobStatus;
+
+    @Column(name = "progress")
+    private Integer progress; // 0-100
+
+    @Column(name = "status_message")
+    private String statusMessage;
+
+    @Column(name = "attempts")
+    private Integer attempts;
+
+    // Uploaded file waiting for extraction, removed once the text is stored
+    @Column(name = "spool_path")
+    private String spoolPath;
+
+    // Worker lease while running; not-before time while queued for a retry
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    // JSON of the response data map
+    @Column(name = "result_data", columnDefinition = "TEXT")
+    private String resultData;
+
+    @Column(name = "submitted_at")
+    private LocalDateTime submittedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
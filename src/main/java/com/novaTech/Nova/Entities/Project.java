@@ -22,7 +22,9 @@ import java.util.UUID;
         indexes = {
                 @Index(name = "idx_projects_user_id", columnList = "user_id"),
                 @Index(name = "idx_projects_status", columnList = "status"),
-                @Index(name = "idx_projects_created_at", columnList = "created_at")
+                @Index(name = "idx_projects_created_at", columnList = "created_at"),
+                @Index(name = "idx_projects_user_status_end", columnList = "user_id, status, end_date"),
+                @Index(name = "idx_projects_end_date", columnList = "end_date")
         }
 )
 @Data
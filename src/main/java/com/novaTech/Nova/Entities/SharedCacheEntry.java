@@ -0,0 +1,41 @@
+package com.novaTech.Nova.Entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Shared (second-level) copy of a Spring cache entry, read by every node on a local miss.
+ * Only caches listed in cache.bus.l2-caches are stored here (see SharedCacheStore).
+ */
+@Entity
+@Table(name = "shared_cache_entries",
+        uniqueConstraints = @UniqueConstraint(name = "uk_shared_cache_name_key", columnNames = {"cache_name", "cache_key"}),
+        indexes = @Index(name = "idx_shared_cache_expires", columnList = "expires_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SharedCacheEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "cache_name", nullable = false, length = 100)
+    private String cacheName;
+
+    @Column(name = "cache_key", nullable = false, length = 500)
+    private String cacheKey;
+
+    // JSON with type information
+    @Column(nullable = false, columnDefinition = "bytea")
+    private byte[] value;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -23,7 +23,9 @@ import java.util.UUID;
         indexes = {
                 @Index(name = "idx_task_user_id", columnList = "user_id"),
                 @Index(name = "idx_task_project_id", columnList = "project_id"),
-                @Index(name = "idx_task_title", columnList = "title")
+                @Index(name = "idx_task_title", columnList = "title"),
+                @Index(name = "idx_task_user_status_due", columnList = "user_id, status, due_date"),
+                @Index(name = "idx_task_due_date", columnList = "due_date")
         }
 )
 public class Task {
@@ -23,7 +23,8 @@ import java.util.UUID;
                 @Index(name = "idx_team_project_title", columnList = "title"),
                 @Index(name = "idx_team_project_team_id", columnList = "team_id"),
                 @Index(name = "idx_team_project_status", columnList = "status"),
-                @Index(name = "idx_team_project_created_at", columnList = "created_at")
+                @Index(name = "idx_team_project_created_at", columnList = "created_at"),
+                @Index(name = "idx_team_project_team_status_end", columnList = "team_id, status, end_date")
         }
 )
 @Data
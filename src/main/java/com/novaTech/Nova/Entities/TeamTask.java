@@ -13,7 +13,12 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "team_tasks")
+@Table(
+        name = "team_tasks",
+        indexes = {
+                @Index(name = "idx_team_tasks_assignee_status_due", columnList = "assigned_to_id, status, due_date")
+        }
+)
 @Data
 @Builder
 @NoArgsConstructor
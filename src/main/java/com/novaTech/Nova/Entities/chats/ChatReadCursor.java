@@ -0,0 +1,35 @@
+package com.novaTech.Nova.Entities.chats;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * How far a user has read a private chat room: every message in the room up to and
+ * including lastReadMessageId counts as read. Only moves forward.
+ */
+@Entity
+@Table(name = "chat_read_cursors",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"userId", "chatRoomId"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatReadCursor {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false)
+    private Long chatRoomId;
+
+    @Column(nullable = false)
+    private Long lastReadMessageId;
+
+    @Column(nullable = false)
+    private LocalDateTime readAt;
+}
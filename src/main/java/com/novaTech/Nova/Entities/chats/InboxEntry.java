@@ -0,0 +1,48 @@
+package com.novaTech.Nova.Entities.chats;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One private conversation in a user's inbox: its latest message and how many messages the
+ * user hasn't read. Maintained by InboxService on send, read, edit and delete.
+ */
+@Entity
+@Table(name = "chat_inbox_entries",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"userId", "chatRoomId"}),
+        indexes = @Index(name = "idx_inbox_user_activity", columnList = "userId,lastMessageAt,chatRoomId"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InboxEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false)
+    private Long chatRoomId;
+
+    @Column(nullable = false)
+    private UUID peerId;
+
+    @Column(nullable = false)
+    private Long lastMessageId;
+
+    @Column(length = 200)
+    private String lastMessagePreview;
+
+    @Column(nullable = false)
+    private UUID lastSenderId;
+
+    @Column(nullable = false)
+    private LocalDateTime lastMessageAt;
+
+    @Column(nullable = false)
+    private Integer unreadCount;
+}
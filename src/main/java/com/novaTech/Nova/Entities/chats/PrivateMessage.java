@@ -9,7 +9,8 @@ import java.util.UUID;
 @Entity
 @Table(name = "private_messages", indexes = {
         @Index(name = "idx_chat_room", columnList = "chatRoomId,sentAt"),
-        @Index(name = "idx_receiver_status", columnList = "receiverId,status")
+        @Index(name = "idx_receiver_status", columnList = "receiverId,status"),
+        @Index(name = "idx_room_receiver_id", columnList = "chatRoomId,receiverId,id")
 })
 @Data
 @NoArgsConstructor
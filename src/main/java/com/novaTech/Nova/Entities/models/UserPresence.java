@@ -4,6 +4,7 @@ import com.novaTech.Nova.Entities.Enums.PresenceStatus;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity
 @Table(name = "user_presence")
@@ -17,7 +18,7 @@ public class UserPresence {
     private Long id;
 
     @Column(nullable = false, unique = true)
-    private Long userId;
+    private UUID userId;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
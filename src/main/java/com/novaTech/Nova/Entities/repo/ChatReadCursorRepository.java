@@ -0,0 +1,72 @@
+package com.novaTech.Nova.Entities.repo;
+
+import com.novaTech.Nova.Entities.chats.ChatReadCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ChatReadCursorRepository extends JpaRepository<ChatReadCursor, Long> {
+
+    Optional<ChatReadCursor> findByUserIdAndChatRoomId(UUID userId, Long chatRoomId);
+
+    /**
+     * Move the user's cursor in the room forward to the message, creating it if needed
+     * (PostgreSQL syntax).
+     *
+     * @return 1 if the cursor moved, 0 if it was already at or past the message
+     */
+    @Modifying
+    @Query(
+            value = """
+            INSERT INTO chat_read_cursors (user_id, chat_room_id, last_read_message_id, read_at)
+            VALUES (:userId, :chatRoomId, :messageId, :readAt)
+            ON CONFLICT (user_id, chat_room_id)
+            DO UPDATE SET
+                last_read_message_id = EXCLUDED.last_read_message_id,
+                read_at = EXCLUDED.read_at
+            WHERE chat_read_cursors.last_read_message_id < EXCLUDED.last_read_message_id
+        """,
+            nativeQuery = true
+    )
+    int advance(@Param("userId") UUID userId,
+                @Param("chatRoomId") Long chatRoomId,
+                @Param("messageId") Long messageId,
+                @Param("readAt") LocalDateTime readAt);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM chat_read_cursors)", nativeQuery = true)
+    boolean hasCursors();
+
+    /**
+     * Seed cursors from messages marked READ before reads were tracked by cursor: one per
+     * (receiver, room) at the latest such message. Aggregates every READ message, so it is
+     * meant to run once; it only moves cursors forward (PostgreSQL syntax).
+     *
+     * @return the number of cursors created or moved
+     */
+    @Modifying
+    @Transactional
+    @Query(
+            value = """
+            INSERT INTO chat_read_cursors (user_id, chat_room_id, last_read_message_id, read_at)
+            SELECT m.receiver_id, m.chat_room_id, MAX(m.id), COALESCE(MAX(m.read_at), NOW())
+            FROM private_messages m
+            WHERE m.status = 'READ'
+            GROUP BY m.receiver_id, m.chat_room_id
+            ON CONFLICT (user_id, chat_room_id)
+            DO UPDATE SET
+                last_read_message_id = EXCLUDED.last_read_message_id,
+                read_at = EXCLUDED.read_at
+            WHERE chat_read_cursors.last_read_message_id < EXCLUDED.last_read_message_id
+        """,
+            nativeQuery = true
+    )
+    int seedFromReadStatus();
+}
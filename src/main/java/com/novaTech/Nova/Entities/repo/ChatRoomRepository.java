@@ -2,10 +2,13 @@ package com.novaTech.Nova.Entities.repo;
 
 import com.novaTech.Nova.Entities.chats.ChatRoom;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,6 +20,27 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
            "(cr.user1Id = :user1 AND cr.user2Id = :user2) OR " +
            "(cr.user1Id = :user2 AND cr.user2Id = :user1)")
     Optional<ChatRoom> findByUsers(@Param("user1") UUID user1, @Param("user2") UUID user2);
+
+    @Query("SELECT cr.id FROM ChatRoom cr WHERE " +
+           "(cr.user1Id = :user1 AND cr.user2Id = :user2) OR " +
+           "(cr.user1Id = :user2 AND cr.user2Id = :user1)")
+    Optional<Long> findIdByUsers(@Param("user1") UUID user1, @Param("user2") UUID user2);
+
+    /**
+     * Set lastMessageAt of many rooms in one statement (PostgreSQL syntax); ids[i] gets
+     * times[i], and a room never moves back to an older time
+     */
+    @Modifying
+    @Transactional
+    @Query(
+            value = """
+            UPDATE chat_rooms c SET last_message_at = v.at
+            FROM unnest(CAST(:ids AS bigint[]), CAST(:times AS timestamp[])) AS v(id, at)
+            WHERE c.id = v.id AND (c.last_message_at IS NULL OR c.last_message_at < v.at)
+        """,
+            nativeQuery = true
+    )
+    int updateLastMessageTimes(@Param("ids") Long[] ids, @Param("times") LocalDateTime[] times);
     
     @Query("SELECT cr FROM ChatRoom cr WHERE " +
            "cr.user1Id = :userId OR cr.user2Id = :userId " +
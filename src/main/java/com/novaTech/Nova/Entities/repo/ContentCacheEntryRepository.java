@@ -0,0 +1,64 @@
+package com.novaTech.Nova.Entities.repo;
+
+import com.novaTech.Nova.Entities.ContentCacheEntry;
+import com.novaTech.Nova.Entities.Enums.ContentCacheKind;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ContentCacheEntryRepository extends JpaRepository<ContentCacheEntry, Long> {
+
+    @Query("SELECT e FROM ContentCacheEntry e WHERE e.cacheKey = :cacheKey AND e.kind = :kind AND e.expiresAt > :now")
+    Optional<ContentCacheEntry> findLive(@Param("cacheKey") String cacheKey,
+                                         @Param("kind") ContentCacheKind kind,
+                                         @Param("now") LocalDateTime now);
+
+    /**
+     * Insert or replace an entry (PostgreSQL syntax); two users finishing the same file at
+     * once both succeed and the later write wins. Runs in its own transaction so a failed
+     * write can't roll back the upload it is called from.
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(
+            value = """
+            INSERT INTO content_cache_entries (cache_key, kind, content, model_used, hit_count, created_at, expires_at)
+            VALUES (:cacheKey, :kind, :content, :modelUsed, 0, :now, :expiresAt)
+            ON CONFLICT (cache_key)
+            DO UPDATE SET
+                content = EXCLUDED.content,
+                model_used = EXCLUDED.model_used,
+                created_at = EXCLUDED.created_at,
+                expires_at = EXCLUDED.expires_at
+        """,
+            nativeQuery = true
+    )
+    void upsert(@Param("cacheKey") String cacheKey,
+                @Param("kind") String kind,
+                @Param("content") String content,
+                @Param("modelUsed") String modelUsed,
+                @Param("now") LocalDateTime now,
+                @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Count a hit and push the expiry out, so frequently shared files stay cached
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("UPDATE ContentCacheEntry e SET e.hitCount = e.hitCount + 1, e.lastHitAt = :now, " +
+            "e.expiresAt = CASE WHEN e.expiresAt < :expiresAt THEN :expiresAt ELSE e.expiresAt END WHERE e.id = :id")
+    int recordHit(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ContentCacheEntry e WHERE e.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
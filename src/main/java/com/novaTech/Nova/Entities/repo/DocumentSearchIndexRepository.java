@@ -0,0 +1,50 @@
+package com.novaTech.Nova.Entities.repo;
+
+import com.novaTech.Nova.Entities.DocumentSearchIndex;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface DocumentSearchIndexRepository extends JpaRepository<DocumentSearchIndex, Long> {
+
+    Optional<DocumentSearchIndex> findByDocumentId(Long documentId);
+
+    /**
+     * Insert or replace the index of a document (PostgreSQL syntax),
+     * so concurrent lazy builds of the same document don't collide. Runs in its own
+     * transaction: a failed index write can't roll back the upload or extraction it is called from.
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(
+            value = """
+            INSERT INTO document_search_indexes (document_id, index_data, text_length, chunk_count, built_at)
+            VALUES (:documentId, :data, :textLength, :chunkCount, :builtAt)
+            ON CONFLICT (document_id)
+            DO UPDATE SET
+                index_data = EXCLUDED.index_data,
+                text_length = EXCLUDED.text_length,
+                chunk_count = EXCLUDED.chunk_count,
+                built_at = EXCLUDED.built_at
+        """,
+            nativeQuery = true
+    )
+    void upsert(@Param("documentId") Long documentId,
+                @Param("data") byte[] data,
+                @Param("textLength") int textLength,
+                @Param("chunkCount") int chunkCount,
+                @Param("builtAt") LocalDateTime builtAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM DocumentSearchIndex i WHERE i.documentId = :documentId")
+    int deleteByDocumentId(@Param("documentId") Long documentId);
+}
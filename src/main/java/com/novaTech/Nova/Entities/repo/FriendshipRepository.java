@@ -47,6 +47,15 @@ public interface FriendshipRepository extends JpaRepository<Friendship, Long> {
             "f.status = 'ACCEPTED'")
     List<Friendship> findAcceptedFriendships(@Param("userId") UUID userId);
 
+    /**
+     * Ids of the user's friends
+     */
+    @Query("SELECT CASE WHEN f.requesterId = :userId THEN f.addresseeId ELSE f.requesterId END " +
+            "FROM Friendship f WHERE " +
+            "(f.requesterId = :userId OR f.addresseeId = :userId) AND " +
+            "f.status = 'ACCEPTED'")
+    List<UUID> findFriendIds(@Param("userId") UUID userId);
+
     /**
      * Count friends for a user
      */
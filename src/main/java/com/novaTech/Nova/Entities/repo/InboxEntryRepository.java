@@ -0,0 +1,157 @@
+package com.novaTech.Nova.Entities.repo;
+
+import com.novaTech.Nova.DTO.InboxEntryDTO;
+import com.novaTech.Nova.Entities.chats.InboxEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface InboxEntryRepository extends JpaRepository<InboxEntry, Long> {
+
+    /**
+     * A page of the user's inbox, most recent activity first, after the keyset position
+     */
+    @Query("""
+        SELECT new com.novaTech.Nova.DTO.InboxEntryDTO(e.chatRoomId, e.peerId, u.username, e.lastMessageId,
+                e.lastMessagePreview, e.lastSenderId, e.lastMessageAt, e.unreadCount)
+        FROM InboxEntry e JOIN User u ON u.id = e.peerId
+        WHERE e.userId = :userId
+          AND (e.lastMessageAt < :beforeAt OR (e.lastMessageAt = :beforeAt AND e.chatRoomId < :beforeRoomId))
+        ORDER BY e.lastMessageAt DESC, e.chatRoomId DESC
+    """)
+    List<InboxEntryDTO> findPage(@Param("userId") UUID userId,
+                                 @Param("beforeAt") LocalDateTime beforeAt,
+                                 @Param("beforeRoomId") Long beforeRoomId,
+                                 Pageable pageable);
+
+    /**
+     * Record a new message in the user's entry for the room, creating it if needed
+     * (PostgreSQL syntax). The latest message only moves forward; unread is added either way.
+     */
+    @Modifying
+    @Query(
+            value = """
+            INSERT INTO chat_inbox_entries (user_id, chat_room_id, peer_id, last_message_id, last_message_preview,
+                                            last_sender_id, last_message_at, unread_count)
+            VALUES (:userId, :chatRoomId, :peerId, :messageId, :preview, :senderId, :sentAt, :unread)
+            ON CONFLICT (user_id, chat_room_id)
+            DO UPDATE SET
+                last_message_id = GREATEST(chat_inbox_entries.last_message_id, EXCLUDED.last_message_id),
+                last_message_preview = CASE WHEN EXCLUDED.last_message_id > chat_inbox_entries.last_message_id
+                    THEN EXCLUDED.last_message_preview ELSE chat_inbox_entries.last_message_preview END,
+                last_sender_id = CASE WHEN EXCLUDED.last_message_id > chat_inbox_entries.last_message_id
+                    THEN EXCLUDED.last_sender_id ELSE chat_inbox_entries.last_sender_id END,
+                last_message_at = CASE WHEN EXCLUDED.last_message_id > chat_inbox_entries.last_message_id
+                    THEN EXCLUDED.last_message_at ELSE chat_inbox_entries.last_message_at END,
+                unread_count = chat_inbox_entries.unread_count + EXCLUDED.unread_count
+        """,
+            nativeQuery = true
+    )
+    int recordMessage(@Param("userId") UUID userId,
+                      @Param("chatRoomId") Long chatRoomId,
+                      @Param("peerId") UUID peerId,
+                      @Param("messageId") Long messageId,
+                      @Param("preview") String preview,
+                      @Param("senderId") UUID senderId,
+                      @Param("sentAt") LocalDateTime sentAt,
+                      @Param("unread") int unread);
+
+    /**
+     * Recount the user's unread messages in the room from their read cursor (PostgreSQL syntax)
+     *
+     * @return 1 if the count changed, 0 if it was already right or there is no entry
+     */
+    @Modifying
+    @Query(
+            value = """
+            UPDATE chat_inbox_entries e SET unread_count = n.unread
+            FROM (SELECT COUNT(*) AS unread FROM private_messages m
+                  WHERE m.chat_room_id = :chatRoomId AND m.receiver_id = :userId AND m.is_deleted = false
+                    AND m.id > COALESCE((SELECT c.last_read_message_id FROM chat_read_cursors c
+                                         WHERE c.user_id = :userId AND c.chat_room_id = :chatRoomId), 0)) n
+            WHERE e.user_id = :userId AND e.chat_room_id = :chatRoomId AND e.unread_count <> n.unread
+        """,
+            nativeQuery = true
+    )
+    int recountUnread(@Param("userId") UUID userId, @Param("chatRoomId") Long chatRoomId);
+
+    /**
+     * The user's entry for one room
+     */
+    @Query("""
+        SELECT new com.novaTech.Nova.DTO.InboxEntryDTO(e.chatRoomId, e.peerId, u.username, e.lastMessageId,
+                e.lastMessagePreview, e.lastSenderId, e.lastMessageAt, e.unreadCount)
+        FROM InboxEntry e JOIN User u ON u.id = e.peerId
+        WHERE e.userId = :userId AND e.chatRoomId = :chatRoomId
+    """)
+    Optional<InboxEntryDTO> findEntry(@Param("userId") UUID userId, @Param("chatRoomId") Long chatRoomId);
+
+    /**
+     * After the room's latest message was deleted, point both entries at the newest message left
+     */
+    @Modifying
+    @Query(
+            value = """
+            UPDATE chat_inbox_entries e SET
+                last_message_id = m.id,
+                last_message_preview = LEFT(m.content, 200),
+                last_sender_id = m.sender_id,
+                last_message_at = m.sent_at
+            FROM (SELECT id, content, sender_id, sent_at FROM private_messages
+                  WHERE chat_room_id = :chatRoomId AND is_deleted = false
+                  ORDER BY id DESC LIMIT 1) m
+            WHERE e.chat_room_id = :chatRoomId AND e.last_message_id = :deletedMessageId
+        """,
+            nativeQuery = true
+    )
+    int replaceDeletedLastMessage(@Param("chatRoomId") Long chatRoomId,
+                                  @Param("deletedMessageId") Long deletedMessageId);
+
+    @Modifying
+    @Query("UPDATE InboxEntry e SET e.lastMessagePreview = :preview " +
+           "WHERE e.chatRoomId = :chatRoomId AND e.lastMessageId = :messageId")
+    int updatePreview(@Param("chatRoomId") Long chatRoomId,
+                      @Param("messageId") Long messageId,
+                      @Param("preview") String preview);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM chat_inbox_entries)", nativeQuery = true)
+    boolean hasEntries();
+
+    /**
+     * Build entries for every existing conversation with messages (PostgreSQL syntax), with
+     * unread counted from the read cursors like {@link #recountUnread}
+     */
+    @Modifying
+    @Transactional
+    @Query(
+            value = """
+            INSERT INTO chat_inbox_entries (user_id, chat_room_id, peer_id, last_message_id, last_message_preview,
+                                            last_sender_id, last_message_at, unread_count)
+            SELECT r.user_id, r.chat_room_id, r.peer_id, m.id, LEFT(m.content, 200), m.sender_id, m.sent_at,
+                   (SELECT COUNT(*) FROM private_messages u
+                    WHERE u.chat_room_id = r.chat_room_id AND u.receiver_id = r.user_id
+                      AND u.is_deleted = false
+                      AND u.id > COALESCE((SELECT c.last_read_message_id FROM chat_read_cursors c
+                                           WHERE c.user_id = r.user_id AND c.chat_room_id = r.chat_room_id), 0))
+            FROM (SELECT id AS chat_room_id, user1_id AS user_id, user2_id AS peer_id FROM chat_rooms
+                  UNION ALL
+                  SELECT id, user2_id, user1_id FROM chat_rooms) r
+            JOIN LATERAL (SELECT id, content, sender_id, sent_at FROM private_messages
+                          WHERE chat_room_id = r.chat_room_id AND is_deleted = false
+                          ORDER BY id DESC LIMIT 1) m ON true
+            ON CONFLICT (user_id, chat_room_id) DO NOTHING
+        """,
+            nativeQuery = true
+    )
+    int backfill();
+}
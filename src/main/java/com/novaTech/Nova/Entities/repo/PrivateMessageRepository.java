@@ -7,15 +7,31 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.UUID;
 
 @Repository
 public interface PrivateMessageRepository extends JpaRepository<PrivateMessage, Long> {
     
     List<PrivateMessage> findByChatRoomIdAndIsDeletedFalseOrderBySentAtAsc(Long chatRoomId);
     
+    /**
+     * Messages to the user past their read cursor in each room
+     */
     @Query("SELECT m FROM PrivateMessage m WHERE " +
-           "m.receiverId = :userId AND m.status != 'READ' AND m.isDeleted = false")
-    List<PrivateMessage> findUnreadMessages(@Param("userId") Long userId);
+           "m.receiverId = :userId AND m.isDeleted = false AND " +
+           "m.id > COALESCE((SELECT c.lastReadMessageId FROM ChatReadCursor c " +
+           "WHERE c.userId = :userId AND c.chatRoomId = m.chatRoomId), 0) " +
+           "ORDER BY m.id")
+    List<PrivateMessage> findUnreadMessages(@Param("userId") UUID userId);
+
+    /**
+     * Newest message in the room sent to the user, at or before upToId
+     */
+    @Query("SELECT MAX(m.id) FROM PrivateMessage m WHERE " +
+           "m.chatRoomId = :chatRoomId AND m.receiverId = :userId AND m.id <= :upToId")
+    Long findLatestReceivedId(@Param("chatRoomId") Long chatRoomId,
+                              @Param("userId") UUID userId,
+                              @Param("upToId") Long upToId);
     
     @Query("SELECT m FROM PrivateMessage m WHERE " +
            "m.chatRoomId = :chatRoomId AND " +
@@ -25,8 +41,15 @@ public interface PrivateMessageRepository extends JpaRepository<PrivateMessage,
     List<PrivateMessage> searchInChatRoom(@Param("chatRoomId") Long chatRoomId, 
                                          @Param("searchTerm") String searchTerm);
     
+    /**
+     * Messages from the friend in the room past the user's read cursor
+     */
     @Query("SELECT COUNT(m) FROM PrivateMessage m WHERE " +
-           "m.receiverId = :userId AND m.senderId = :friendId " +
-           "AND m.status != 'READ' AND m.isDeleted = false")
-    Long countUnreadFromFriend(@Param("userId") Long userId, @Param("friendId") Long friendId);
+           "m.chatRoomId = :chatRoomId AND m.receiverId = :userId AND m.senderId = :friendId " +
+           "AND m.isDeleted = false AND " +
+           "m.id > COALESCE((SELECT c.lastReadMessageId FROM ChatReadCursor c " +
+           "WHERE c.userId = :userId AND c.chatRoomId = :chatRoomId), 0)")
+    Long countUnreadFromFriend(@Param("chatRoomId") Long chatRoomId,
+                               @Param("userId") UUID userId,
+                               @Param("friendId") UUID friendId);
 }
\ No newline at end of file
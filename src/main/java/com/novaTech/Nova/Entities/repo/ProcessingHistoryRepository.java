@@ -1,15 +1,21 @@
 package com.novaTech.Nova.Entities.repo;
 
 import com.novaTech.Nova.Entities.Document;
+import com.novaTech.Nova.Entities.Enums.ProcessingJobStatus;
 import com.novaTech.Nova.Entities.ProcessingHistory;
 import com.novaTech.Nova.Entities.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public interface ProcessingHistoryRepository extends JpaRepository<ProcessingHistory, Long> {
@@ -37,4 +43,67 @@ public interface ProcessingHistoryRepository extends JpaRepository<ProcessingHis
     List<ProcessingHistory> findByProcessedAtBetween(LocalDateTime start, LocalDateTime end);
 
     List<ProcessingHistory> findAllByOrderByProcessedAtDesc();
-}
\ No newline at end of file
+
+    // =========================================================
+    // Processing jobs
+    // =========================================================
+
+    @Query("SELECT ph FROM ProcessingHistory ph JOIN FETCH ph.document d JOIN FETCH d.user WHERE ph.id = :id")
+    Optional<ProcessingHistory> findJobById(@Param("id") Long id);
+
+    @Query("SELECT ph FROM ProcessingHistory ph JOIN FETCH ph.document d WHERE ph.id = :id AND d.user.id = :userId")
+    Optional<ProcessingHistory> findJobByIdAndUserId(@Param("id") Long id, @Param("userId") UUID userId);
+
+    /**
+     * Jobs a worker may pick up: queued ones past their retry time, and running ones whose
+     * worker lease expired (node restart or crash)
+     */
+    @Query("""
+        SELECT ph.id FROM ProcessingHistory ph
+        WHERE (ph.jobStatus = com.novaTech.Nova.Entities.Enums.ProcessingJobStatus.QUEUED
+                AND (ph.leaseUntil IS NULL OR ph.leaseUntil < :now))
+           OR (ph.jobStatus IN (com.novaTech.Nova.Entities.Enums.ProcessingJobStatus.EXTRACTING,
+                                com.novaTech.Nova.Entities.Enums.ProcessingJobStatus.PROCESSING)
+                AND ph.leaseUntil < :now)
+        ORDER BY ph.id
+    """)
+    List<Long> findRunnableJobIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Atomically take a runnable job for this worker; returns 0 when someone else has it
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE ProcessingHistory ph
+        SET ph.jobStatus = :running, ph.leaseUntil = :leaseUntil, ph.attempts = COALESCE(ph.attempts, 0) + 1
+        WHERE ph.id = :id
+          AND ((ph.jobStatus = com.novaTech.Nova.Entities.Enums.ProcessingJobStatus.QUEUED
+                    AND (ph.leaseUntil IS NULL OR ph.leaseUntil < :now))
+            OR (ph.jobStatus IN (com.novaTech.Nova.Entities.Enums.ProcessingJobStatus.EXTRACTING,
+                                 com.novaTech.Nova.Entities.Enums.ProcessingJobStatus.PROCESSING)
+                    AND ph.leaseUntil < :now))
+    """)
+    int claimJob(@Param("id") Long id,
+                 @Param("running") ProcessingJobStatus running,
+                 @Param("now") LocalDateTime now,
+                 @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Extend the lease of a running job this worker still holds. Every claim bumps attempts,
+     * so once another worker has taken the job over this matches nothing and returns 0.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE ProcessingHistory ph
+        SET ph.leaseUntil = :leaseUntil
+        WHERE ph.id = :id
+          AND ph.attempts = :attempt
+          AND ph.jobStatus IN (com.novaTech.Nova.Entities.Enums.ProcessingJobStatus.EXTRACTING,
+                               com.novaTech.Nova.Entities.Enums.ProcessingJobStatus.PROCESSING)
+    """)
+    int renewLease(@Param("id") Long id,
+                   @Param("attempt") Integer attempt,
+                   @Param("leaseUntil") LocalDateTime leaseUntil);
+}
@@ -1,14 +1,17 @@
 package com.novaTech.Nova.Entities.repo;
 
-import com.novaTech.Nova.Entities.Project;
+import com.novaTech.Nova.DTO.ProjectSummaryDTO;
 import com.novaTech.Nova.Entities.Enums.ProjectStatus;
+import com.novaTech.Nova.Entities.Project;
 import com.novaTech.Nova.Entities.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -59,4 +62,40 @@ public interface ProjectRepo extends JpaRepository<Project, UUID> {
 
     // Find projects with end date between two dates and status not equal to specified status
     List<Project> findByEndDateBetweenAndStatusNot(LocalDate startDate, LocalDate endDate, ProjectStatus status);
-}
\ No newline at end of file
+
+    // ========================
+    // DEADLINE METHODS (see DeadlineService)
+    // ========================
+
+    // The user's projects ending in [from, to) with one of the statuses, keyset-paged by (endDate, id)
+    @Query("""
+        SELECT new com.novaTech.Nova.DTO.ProjectSummaryDTO(p.id, p.title, p.description, p.endDate)
+        FROM Project p
+        WHERE p.user.id = :userId
+          AND p.status IN :statuses
+          AND p.endDate >= :from AND p.endDate < :to
+          AND (p.endDate > :afterDue OR (p.endDate = :afterDue AND p.id > :afterId))
+        ORDER BY p.endDate ASC, p.id ASC
+    """)
+    List<ProjectSummaryDTO> findDeadlines(@Param("userId") UUID userId,
+                                          @Param("statuses") Collection<ProjectStatus> statuses,
+                                          @Param("from") LocalDate from,
+                                          @Param("to") LocalDate to,
+                                          @Param("afterDue") LocalDate afterDue,
+                                          @Param("afterId") UUID afterId,
+                                          Pageable pageable);
+
+    // Projects of all users ending on the date, with their user, in batches by id
+    @Query("""
+        SELECT p FROM Project p
+        JOIN FETCH p.user
+        WHERE p.endDate = :endDate
+          AND p.status IN :statuses
+          AND p.id > :afterId
+        ORDER BY p.id ASC
+    """)
+    List<Project> findDueOn(@Param("endDate") LocalDate endDate,
+                            @Param("statuses") Collection<ProjectStatus> statuses,
+                            @Param("afterId") UUID afterId,
+                            Pageable pageable);
+}
@@ -0,0 +1,59 @@
+package com.novaTech.Nova.Entities.repo;
+
+import com.novaTech.Nova.Entities.SharedCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface SharedCacheEntryRepository extends JpaRepository<SharedCacheEntry, Long> {
+
+    @Query("SELECT e.value FROM SharedCacheEntry e WHERE e.cacheName = :cacheName AND e.cacheKey = :cacheKey AND e.expiresAt > :now")
+    Optional<byte[]> findLiveValue(@Param("cacheName") String cacheName,
+                                   @Param("cacheKey") String cacheKey,
+                                   @Param("now") LocalDateTime now);
+
+    /**
+     * Insert or replace an entry (PostgreSQL syntax). Cache writes run in their own
+     * transaction so they never take part in, or roll back, the caller's.
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(
+            value = """
+            INSERT INTO shared_cache_entries (cache_name, cache_key, value, expires_at)
+            VALUES (:cacheName, :cacheKey, :value, :expiresAt)
+            ON CONFLICT (cache_name, cache_key)
+            DO UPDATE SET
+                value = EXCLUDED.value,
+                expires_at = EXCLUDED.expires_at
+        """,
+            nativeQuery = true
+    )
+    void upsert(@Param("cacheName") String cacheName,
+                @Param("cacheKey") String cacheKey,
+                @Param("value") byte[] value,
+                @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("DELETE FROM SharedCacheEntry e WHERE e.cacheName = :cacheName AND e.cacheKey = :cacheKey")
+    int deleteEntry(@Param("cacheName") String cacheName, @Param("cacheKey") String cacheKey);
+
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("DELETE FROM SharedCacheEntry e WHERE e.cacheName = :cacheName")
+    int deleteCache(@Param("cacheName") String cacheName);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SharedCacheEntry e WHERE e.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
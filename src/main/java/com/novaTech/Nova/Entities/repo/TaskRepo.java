@@ -1,12 +1,15 @@
 package com.novaTech.Nova.Entities.repo;
 
+import com.novaTech.Nova.DTO.TaskSummaryDTO;
 import com.novaTech.Nova.Entities.Enums.TaskStatus;
 import com.novaTech.Nova.Entities.Task;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -58,4 +61,40 @@ public interface TaskRepo extends JpaRepository<Task, UUID> {
 
     // Find tasks with due date between two dates and status not equal to specified status
     List<Task> findByDueDateBetweenAndStatusNot(LocalDate startDate, LocalDate endDate, TaskStatus status);
-}
\ No newline at end of file
+
+    // ========================
+    // DEADLINE METHODS (see DeadlineService)
+    // ========================
+
+    // The user's tasks due in [from, to) with one of the statuses, keyset-paged by (dueDate, id)
+    @Query("""
+        SELECT new com.novaTech.Nova.DTO.TaskSummaryDTO(t.id, t.title, t.description, t.dueDate)
+        FROM Task t
+        WHERE t.user.id = :userId
+          AND t.status IN :statuses
+          AND t.dueDate >= :from AND t.dueDate < :to
+          AND (t.dueDate > :afterDue OR (t.dueDate = :afterDue AND t.id > :afterId))
+        ORDER BY t.dueDate ASC, t.id ASC
+    """)
+    List<TaskSummaryDTO> findDeadlines(@Param("userId") UUID userId,
+                                       @Param("statuses") Collection<TaskStatus> statuses,
+                                       @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to,
+                                       @Param("afterDue") LocalDate afterDue,
+                                       @Param("afterId") UUID afterId,
+                                       Pageable pageable);
+
+    // Tasks of all users due on the date, with their user, in batches by id
+    @Query("""
+        SELECT t FROM Task t
+        JOIN FETCH t.user
+        WHERE t.dueDate = :dueDate
+          AND t.status IN :statuses
+          AND t.id > :afterId
+        ORDER BY t.id ASC
+    """)
+    List<Task> findDueOn(@Param("dueDate") LocalDate dueDate,
+                         @Param("statuses") Collection<TaskStatus> statuses,
+                         @Param("afterId") UUID afterId,
+                         Pageable pageable);
+}
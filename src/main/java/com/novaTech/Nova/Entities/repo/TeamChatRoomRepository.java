@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,12 +18,28 @@ public interface TeamChatRoomRepository extends JpaRepository<TeamChatRoom, Long
 
     Optional<TeamChatRoom> findByTeamIdAndIsActiveTrue(UUID teamId);
 
+    @Query("SELECT t.id FROM TeamChatRoom t WHERE t.teamId = :teamId AND t.isActive = true")
+    Optional<Long> findActiveRoomId(@Param("teamId") UUID teamId);
+
     // UPDATE LAST MESSAGE TIMESTAMP
     @Modifying
     @Transactional
     @Query("UPDATE TeamChatRoom t SET t.lastMessageAt = CURRENT_TIMESTAMP WHERE t.teamId = :teamId")
     int updateLastMessageTime(@Param("teamId") UUID teamId);
 
+    // UPDATE LAST MESSAGE TIMESTAMPS OF MANY ROOMS IN ONE STATEMENT (ids[i] gets times[i], never moving back)
+    @Modifying
+    @Transactional
+    @Query(
+            value = """
+            UPDATE team_chat_rooms t SET last_message_at = v.at
+            FROM unnest(CAST(:ids AS bigint[]), CAST(:times AS timestamp[])) AS v(id, at)
+            WHERE t.id = v.id AND (t.last_message_at IS NULL OR t.last_message_at < v.at)
+        """,
+            nativeQuery = true
+    )
+    int updateLastMessageTimes(@Param("ids") Long[] ids, @Param("times") LocalDateTime[] times);
+
     // DEACTIVATE CHAT ROOM
     @Modifying
     @Transactional
@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -25,8 +26,27 @@ public interface TeamMemberRepository extends JpaRepository<TeamMember, UUID> {
 
     List<TeamMember> findByTeamIdAndIsActiveTrue(UUID teamId);
 
+    // Ids of the team's active members, without loading the members
+    @Query("SELECT tm.user.id FROM TeamMember tm WHERE tm.team.id = :teamId AND tm.isActive = true")
+    List<UUID> findActiveUserIds(@Param("teamId") UUID teamId);
+
     boolean existsByTeamIdAndUserIdAndIsActiveTrue(UUID teamId, UUID userId);
 
+    interface Teammate {
+        UUID getUserId();
+
+        UUID getTeammateId();
+    }
+
+    /**
+     * Every (user, teammate) pair of active members sharing a team, for the given users
+     */
+    @Query("SELECT DISTINCT tm.user.id AS userId, other.user.id AS teammateId " +
+           "FROM TeamMember tm JOIN TeamMember other ON other.team = tm.team " +
+           "WHERE tm.user.id IN :userIds AND tm.isActive = true AND other.isActive = true " +
+           "AND other.user.id <> tm.user.id")
+    List<Teammate> findTeammates(@Param("userIds") Collection<UUID> userIds);
+
     // DEACTIVATE TEAM MEMBER
     @Modifying
     @Transactional
@@ -1,11 +1,15 @@
 package com.novaTech.Nova.Entities.repo;
 
+import com.novaTech.Nova.DTO.ProjectSummaryDTO;
 import com.novaTech.Nova.Entities.Enums.ProjectStatus;
 import com.novaTech.Nova.Entities.TeamProject;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -97,5 +101,21 @@ public interface TeamProjectRepo extends JpaRepository<TeamProject, UUID> {
             @Param("userId") UUID userId
     );
 
-
+    // The team's projects ending in [from, to) with one of the statuses, keyset-paged by (endDate, id)
+    @Query("""
+        SELECT new com.novaTech.Nova.DTO.ProjectSummaryDTO(p.id, p.title, p.description, p.endDate)
+        FROM TeamProject p
+        WHERE p.team.id = :teamId
+          AND p.status IN :statuses
+          AND p.endDate >= :from AND p.endDate < :to
+          AND (p.endDate > :afterDue OR (p.endDate = :afterDue AND p.id > :afterId))
+        ORDER BY p.endDate ASC, p.id ASC
+    """)
+    List<ProjectSummaryDTO> findDeadlines(@Param("teamId") UUID teamId,
+                                          @Param("statuses") Collection<ProjectStatus> statuses,
+                                          @Param("from") LocalDate from,
+                                          @Param("to") LocalDate to,
+                                          @Param("afterDue") LocalDate afterDue,
+                                          @Param("afterId") UUID afterId,
+                                          Pageable pageable);
 }
@@ -1,13 +1,16 @@
 package com.novaTech.Nova.Entities.repo;
 
-import com.novaTech.Nova.Entities.TeamTask;
+import com.novaTech.Nova.DTO.TaskSummaryDTO;
 import com.novaTech.Nova.Entities.Enums.TaskStatus;
+import com.novaTech.Nova.Entities.TeamTask;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -54,4 +57,25 @@ public interface TeamTaskRepo extends JpaRepository<TeamTask, UUID> {
 
     // Count tasks assigned to a user
     long countByAssignedToId(UUID userId);
-}
\ No newline at end of file
+
+    // Tasks assigned to the user in the team, due in [from, to) with one of the statuses,
+    // keyset-paged by (dueDate, id)
+    @Query("""
+        SELECT new com.novaTech.Nova.DTO.TaskSummaryDTO(t.id, t.title, t.description, t.dueDate)
+        FROM TeamTask t
+        WHERE t.assignedTo.id = :userId
+          AND t.teamProject.team.id = :teamId
+          AND t.status IN :statuses
+          AND t.dueDate >= :from AND t.dueDate < :to
+          AND (t.dueDate > :afterDue OR (t.dueDate = :afterDue AND t.id > :afterId))
+        ORDER BY t.dueDate ASC, t.id ASC
+    """)
+    List<TaskSummaryDTO> findDeadlines(@Param("userId") UUID userId,
+                                       @Param("teamId") UUID teamId,
+                                       @Param("statuses") Collection<TaskStatus> statuses,
+                                       @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to,
+                                       @Param("afterDue") LocalDate afterDue,
+                                       @Param("afterId") UUID afterId,
+                                       Pageable pageable);
+}
@@ -3,13 +3,73 @@ package com.novaTech.Nova.Entities.repo;
 import com.novaTech.Nova.Entities.Enums.PresenceStatus;
 import com.novaTech.Nova.Entities.models.UserPresence;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public interface UserPresenceRepository extends JpaRepository<UserPresence, Long> {
-    Optional<UserPresence> findByUserId(Long userId);
+    Optional<UserPresence> findByUserId(UUID userId);
+    List<UserPresence> findByUserIdIn(Collection<UUID> userIds);
     List<UserPresence> findByStatus(PresenceStatus status);
+
+    /**
+     * Write the presence of many users in one statement (PostgreSQL syntax); element i of
+     * each array belongs to userIds[i]. lastSeenAt never moves back.
+     */
+    @Modifying
+    @Transactional
+    @Query(
+            value = """
+            INSERT INTO user_presence (user_id, status, custom_status, last_seen_at, is_typing)
+            SELECT v.user_id, v.status, v.custom_status, v.last_seen_at, false
+            FROM unnest(CAST(:userIds AS uuid[]), CAST(:statuses AS varchar[]),
+                        CAST(:customStatuses AS varchar[]), CAST(:lastSeenAt AS timestamp[]))
+                 AS v(user_id, status, custom_status, last_seen_at)
+            ON CONFLICT (user_id)
+            DO UPDATE SET
+                status = EXCLUDED.status,
+                custom_status = EXCLUDED.custom_status,
+                last_seen_at = GREATEST(user_presence.last_seen_at, EXCLUDED.last_seen_at)
+        """,
+            nativeQuery = true
+    )
+    int upsertAll(@Param("userIds") UUID[] userIds,
+                  @Param("statuses") String[] statuses,
+                  @Param("customStatuses") String[] customStatuses,
+                  @Param("lastSeenAt") LocalDateTime[] lastSeenAt);
+
+    /**
+     * Type of the user_id column as the database has it, empty when the table doesn't exist yet
+     */
+    @Query(
+            value = """
+            SELECT data_type FROM information_schema.columns
+            WHERE table_schema = current_schema() AND table_name = 'user_presence' AND column_name = 'user_id'
+        """,
+            nativeQuery = true
+    )
+    Optional<String> findUserIdColumnType();
+
+    /**
+     * Same change as Flyway V003, for databases where Flyway is disabled and ddl-auto won't
+     * change a column type. The old rows are dropped; they were never written with real ids.
+     */
+    @Transactional
+    default void convertUserIdToUuid() {
+        deleteAllInBatch();
+        alterUserIdToUuid();
+    }
+
+    @Modifying
+    @Query(value = "ALTER TABLE user_presence ALTER COLUMN user_id TYPE UUID USING NULL", nativeQuery = true)
+    void alterUserIdToUuid();
 }
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -65,4 +66,50 @@ public interface UserRepo extends JpaRepository<User, UUID> {
      */
     @Query("SELECT u FROM User u WHERE LOWER(u.username) LIKE LOWER(CONCAT(:prefix, '%'))")
     List<User> findByUsernameStartingWith(@Param("prefix") String prefix);
+
+    /**
+     * Everything the dashboard shows, counted in one round trip: one conditional-count pass over
+     * the user's projects, one over their tasks, and their team memberships.
+     * Overdue matches the overdue lists (DeadlineService): open items with an end/due date before today.
+     */
+    @Query(value = """
+        WITH p AS (
+            SELECT COUNT(*) AS total,
+                   COUNT(CASE WHEN status = 'COMPLETED' THEN 1 END) AS completed,
+                   COUNT(CASE WHEN status = 'ACTIVE' THEN 1 END) AS in_progress,
+                   COUNT(CASE WHEN end_date < :today AND status NOT IN ('COMPLETED', 'ARCHIVED') THEN 1 END) AS overdue
+            FROM projects
+            WHERE user_id = :userId
+        ), t AS (
+            SELECT COUNT(*) AS total,
+                   COUNT(CASE WHEN status = 'DONE' THEN 1 END) AS completed,
+                   COUNT(CASE WHEN status = 'IN_PROGRESS' THEN 1 END) AS in_progress,
+                   COUNT(CASE WHEN due_date < :today AND status NOT IN ('DONE', 'COMPLETED', 'CANCELLED') THEN 1 END) AS overdue
+            FROM task
+            WHERE user_id = :userId
+        ), m AS (
+            SELECT COUNT(*) AS teams
+            FROM team_members
+            WHERE user_id = :userId
+        )
+        SELECT p.total AS "totalProjects", p.completed AS "completedProjects",
+               p.in_progress AS "inProgressProjects", p.overdue AS "overdueProjects",
+               t.total AS "totalTasks", t.completed AS "completedTasks",
+               t.in_progress AS "inProgressTasks", t.overdue AS "overdueTasks",
+               m.teams AS "teams"
+        FROM p CROSS JOIN t CROSS JOIN m
+    """, nativeQuery = true)
+    DashboardCounts dashboardCounts(@Param("userId") UUID userId, @Param("today") LocalDate today);
+
+    interface DashboardCounts {
+        long getTotalProjects();
+        long getCompletedProjects();
+        long getInProgressProjects();
+        long getOverdueProjects();
+        long getTotalTasks();
+        long getCompletedTasks();
+        long getInProgressTasks();
+        long getOverdueTasks();
+        long getTeams();
+    }
 }
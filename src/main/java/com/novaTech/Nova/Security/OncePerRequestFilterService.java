@@ -50,6 +50,13 @@ public class OncePerRequestFilterService {
                 "/api/auth/refresh"
         );
 
+        // Actuator endpoints restricted to ADMIN in SecurityConfig: the bearer token must be read
+        private static final List<String> ADMIN_ACTUATOR_ENDPOINTS = List.of(
+                "/actuator/cacheadmin",
+                "/actuator/metrics",
+                "/actuator/aiproviders"
+        );
+
         public JwtAuthenticationFilter(TokenService tokenService, UserRepo userRepo) {
             this.tokenService = tokenService;
             this.userRepo = userRepo;
@@ -72,7 +79,7 @@ public class OncePerRequestFilterService {
                     || path.startsWith("/api/v1/ai/")
                     || path.startsWith("/api/v1/external/")
                     || path.startsWith("/api/test/")
-                    || path.startsWith("/actuator/")
+                    || (path.startsWith("/actuator/") && ADMIN_ACTUATOR_ENDPOINTS.stream().noneMatch(path::startsWith))
                     || path.startsWith("/ws/")
                     || path.startsWith("/ws-meeting/")
                     || path.equals("/favicon.ico")
@@ -7,6 +7,7 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.Refill;
+import com.novaTech.Nova.Services.cacheData.CacheIntrospectionService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -21,7 +22,7 @@ public class RateLimitingService {
     private final long capacity;
     private final long refillSeconds;
 
-    public RateLimitingService(RateLimitingProperties properties){
+    public RateLimitingService(RateLimitingProperties properties, CacheIntrospectionService cacheIntrospection){
         this.capacity = properties.getCapacity();
         this.refillSeconds = properties.getRefillSeconds();
 
@@ -30,6 +31,7 @@ public class RateLimitingService {
                 .expireAfterAccess(Duration.ofSeconds(refillSeconds))
                 .recordStats()
                 .build();
+        cacheIntrospection.registerNativeCache("rateLimitBuckets", cache);
 
         log.info("Rate limiting service initialized - Capacity: {} request per {} minutes",capacity, refillSeconds);
     }
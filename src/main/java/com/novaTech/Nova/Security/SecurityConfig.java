@@ -62,6 +62,13 @@ public class SecurityConfig {
                 )
 
                 .authorizeHttpRequests(auth -> auth
+                        // Cache contents, metrics and AI provider state; declared BEFORE the public /actuator/** rule
+                        .requestMatchers(
+                                "/actuator/cacheadmin", "/actuator/cacheadmin/**",
+                                "/actuator/metrics", "/actuator/metrics/**",
+                                "/actuator/aiproviders", "/actuator/aiproviders/**"
+                        ).hasRole("ADMIN")
+
                         .requestMatchers(
                                 "/api/auth/register",
                                 "/api/auth/login",
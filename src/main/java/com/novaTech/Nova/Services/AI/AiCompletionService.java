@@ -0,0 +1,35 @@
+package com.novaTech.Nova.Services.AI;
+
+import com.novaTech.Nova.Services.AI.resilience.AiProvider;
+import com.novaTech.Nova.Services.AI.resilience.AiResilienceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Plain prompt-in / text-out completions on the chat providers, behind the
+ * resilience layer (breaker, bulkhead, failover chain). Errors are propagated.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AiCompletionService {
+
+    private final LLMService llmService;
+    private final CerebrasService cerebrasService;
+    private final AiResilienceService resilienceService;
+
+    public Mono<String> complete(AiProvider provider, String prompt) {
+        return resilienceService.execute(provider, p -> p == AiProvider.CEREBRAS
+                ? cerebrasService.completeText(prompt)
+                : llmService.completeText(prompt));
+    }
+
+    public Flux<String> stream(AiProvider provider, String prompt) {
+        return resilienceService.executeStream(provider, p -> p == AiProvider.CEREBRAS
+                ? cerebrasService.generateTextStream(prompt)
+                : llmService.completeTextStream(prompt));
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.Map;
 
@@ -66,29 +67,7 @@ public class CerebrasService {
 
     public String generateText(String userMessage) {
         try {
-            Map<String, Object> requestBody = Map.of(
-                    "model", model,
-                    "messages", new Map[]{Map.of("role", "user", "content", userMessage)},
-                    "temperature", 0,
-                    "max_tokens", 512,
-                    "top_p", 1,
-                    "stream", false
-            );
-
-            Map response = webClient.post()
-                    .uri("/chat/completions")
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block();
-
-            var choices = (java.util.List<Map<String, Object>>) response.get("choices");
-            if (choices != null && !choices.isEmpty()) {
-                var message = (Map<String, Object>) choices.get(0).get("message");
-                return message != null ? (String) message.get("content") : "";
-            }
-            return "";
-
+            return completeText(userMessage).block();
         } catch (WebClientResponseException e) {
             log.error("Cerebras API Error: {} - {}", e.getRawStatusCode(), e.getResponseBodyAsString());
             return "Cerebras API Error: " + e.getRawStatusCode() + " - " + e.getResponseBodyAsString();
@@ -98,6 +77,35 @@ public class CerebrasService {
         }
     }
 
+    /**
+     * Non-blocking completion that propagates errors, used behind the resilience layer
+     * so a failing Cerebras call can be counted and failed over.
+     */
+    public Mono<String> completeText(String userMessage) {
+        Map<String, Object> requestBody = Map.of(
+                "model", model,
+                "messages", new Map[]{Map.of("role", "user", "content", userMessage)},
+                "temperature", 0,
+                "max_tokens", 512,
+                "top_p", 1,
+                "stream", false
+        );
+
+        return webClient.post()
+                .uri("/chat/completions")
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToMono(Map.class)
+                .map(response -> {
+                    var choices = (java.util.List<Map<String, Object>>) response.get("choices");
+                    if (choices != null && !choices.isEmpty()) {
+                        var message = (Map<String, Object>) choices.get(0).get("message");
+                        return message != null && message.get("content") != null ? (String) message.get("content") : "";
+                    }
+                    return "";
+                });
+    }
+
     public Flux<String> generateTextStream(String userMessage) {
         try {
             Map<String, Object> requestBody = Map.of(
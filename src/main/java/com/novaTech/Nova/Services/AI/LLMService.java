@@ -57,6 +57,25 @@ public class LLMService {
 
     // Hugging Face text generation (NON-STREAMING)
     public Mono<String> generateText(String prompt) {
+        return completeText(prompt)
+                .doOnSuccess(resp -> log.info("Text generation successful: {}", resp))
+                .retryWhen(Retry.backoff(2, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(5))
+                        .filter(throwable -> !(throwable instanceof WebClientResponseException.Forbidden)))
+                .timeout(Duration.ofSeconds(30))
+                .onErrorResume(error -> {
+                    if (error instanceof WebClientResponseException.Forbidden) {
+                        return Mono.just("Error: API access forbidden. Please check your API key and model access permissions.");
+                    }
+                    return Mono.just("Error: " + error.getMessage());
+                });
+    }
+
+    /**
+     * Single text generation attempt with no retries or error-to-text mapping.
+     * Failures are propagated so the resilience layer can count them and fail over.
+     */
+    public Mono<String> completeText(String prompt) {
         if (prompt == null || prompt.trim().isEmpty()) {
             return Mono.error(new IllegalArgumentException("Prompt must not be null or empty"));
         }
@@ -73,7 +92,7 @@ public class LLMService {
                 .bodyValue(body)
                 .retrieve()
                 .bodyToMono(Map.class)
-                .map(response -> {
+                .handle((response, sink) -> {
                     try {
                         log.info("Full API response: {}", response);
 
@@ -81,15 +100,16 @@ public class LLMService {
                         if (choices != null && !choices.isEmpty()) {
                             Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
                             if (message != null && message.containsKey("content")) {
-                                return message.get("content").toString();
+                                sink.next(message.get("content").toString());
+                                return;
                             }
                         }
                     } catch (Exception e) {
                         log.error("Error parsing Hugging Face response", e);
                     }
-                    return "Error: No content returned from API";
+                    sink.error(new IllegalStateException("No content returned from API"));
                 })
-                .doOnSuccess(resp -> log.info("Text generation successful: {}", resp))
+                .cast(String.class)
                 .doOnError(error -> {
                     if (error instanceof WebClientResponseException) {
                         WebClientResponseException webError = (WebClientResponseException) error;
@@ -99,21 +119,19 @@ public class LLMService {
                     } else {
                         log.error("Error generating text", error);
                     }
-                })
-                .retryWhen(Retry.backoff(2, Duration.ofSeconds(1))
-                        .maxBackoff(Duration.ofSeconds(5))
-                        .filter(throwable -> !(throwable instanceof WebClientResponseException.Forbidden)))
-                .timeout(Duration.ofSeconds(30))
-                .onErrorResume(error -> {
-                    if (error instanceof WebClientResponseException.Forbidden) {
-                        return Mono.just("Error: API access forbidden. Please check your API key and model access permissions.");
-                    }
-                    return Mono.just("Error: " + error.getMessage());
                 });
     }
 
     // Hugging Face text generation (STREAMING)
     public Flux<String> generateTextStream(String prompt) {
+        return completeTextStream(prompt)
+                .onErrorResume(error -> Flux.just("Error: " + error.getMessage()));
+    }
+
+    /**
+     * Streaming generation that propagates errors instead of turning them into a text chunk.
+     */
+    public Flux<String> completeTextStream(String prompt) {
         if (prompt == null || prompt.trim().isEmpty()) {
             return Flux.error(new IllegalArgumentException("Prompt must not be null or empty"));
         }
@@ -147,8 +165,7 @@ public class LLMService {
                 })
                 .filter(s -> !s.isEmpty())
                 .doOnNext(chunk -> log.debug("Stream chunk: {}", chunk))
-                .doOnError(error -> log.error("Streaming error", error))
-                .onErrorResume(error -> Flux.just("Error: " + error.getMessage()));
+                .doOnError(error -> log.error("Streaming error", error));
     }
 
     private String extractContentFromChunk(String jsonChunk) {
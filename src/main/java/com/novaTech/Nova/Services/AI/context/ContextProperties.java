@@ -0,0 +1,37 @@
+package com.novaTech.Nova.Services.AI.context;
+
+import com.novaTech.Nova.Entities.Enums.Model;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ai.context")
+public class ContextProperties {
+    // prompt token budget per model (history + summary), the reply budget is on top of this
+    private Map<Model, Integer> budgetTokens = new EnumMap<>(Map.of(
+            Model.LLM, 3000,
+            Model.CEREBRAS, 6000
+    ));
+    // used for models without their own entry
+    private int defaultBudgetTokens = 3000;
+
+    // most recent messages looked at when packing the prompt
+    private int maxMessagesScanned = 100;
+
+    // rolling summary of turns that no longer fit in the budget
+    private boolean summaryEnabled = true;
+    private int summaryMaxTokens = 400;
+    // only refresh once this many tokens of older turns are not yet in the summary
+    private int summaryRefreshThresholdTokens = 600;
+    // older turns are folded into the summary in batches of at most this many tokens
+    private int summaryBatchTokens = 2500;
+
+    public int budgetFor(Model model) {
+        return model != null ? budgetTokens.getOrDefault(model, defaultBudgetTokens) : defaultBudgetTokens;
+    }
+}
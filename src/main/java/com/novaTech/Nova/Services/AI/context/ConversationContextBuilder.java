@@ -0,0 +1,135 @@
+package com.novaTech.Nova.Services.AI.context;
+
+import com.novaTech.Nova.Entities.AI.Chat;
+import com.novaTech.Nova.Entities.AI.Message;
+import com.novaTech.Nova.Entities.AI.Repo.MessageRepository;
+import com.novaTech.Nova.Entities.Enums.Model;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Builds the chat prompt from as many recent messages as fit in the model's token budget,
+ * newest first, with the rolling summary standing in for everything older.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConversationContextBuilder {
+
+    // role label, separator and newline around each message
+    private static final int MESSAGE_OVERHEAD_TOKENS = 4;
+
+    private final MessageRepository messageRepository;
+    private final ConversationSummaryService summaryService;
+    private final TokenEstimator tokenEstimator;
+    private final ContextProperties properties;
+
+    /**
+     * Estimated prompt tokens for a message body, stored on {@link Message#getTokenCount()}.
+     */
+    public int countTokens(String content) {
+        return tokenEstimator.estimate(content);
+    }
+
+    public String buildPrompt(Chat chat, Model model) {
+        int scanLimit = properties.getMaxMessagesScanned();
+        List<Message> recent = messageRepository.findByChatOrderByCreatedAtDescIdDesc(chat, PageRequest.of(0, scanLimit));
+        if (recent.isEmpty()) {
+            return "";
+        }
+
+        int budget = properties.budgetFor(model);
+        int fit = pack(recent, budget);
+        boolean olderDropped = fit < recent.size() || recent.size() == scanLimit;
+
+        // The summary only earns its tokens once older turns are actually left out
+        String summary = properties.isSummaryEnabled() && olderDropped ? chat.getContextSummary() : null;
+        int summaryTokens = 0;
+        if (summary != null && !summary.isBlank()) {
+            summaryTokens = tokenEstimator.estimate(summary) + MESSAGE_OVERHEAD_TOKENS;
+            fit = pack(recent, budget - summaryTokens);
+        } else {
+            summary = null;
+        }
+
+        StringBuilder prompt = new StringBuilder();
+        if (summary != null) {
+            prompt.append("Summary of earlier conversation:\n").append(summary).append("\n\n");
+        }
+
+        if (fit == 0) {
+            // The newest message alone is over budget: keep it, cut down to what is left
+            Message newest = recent.get(0);
+            int available = Math.max(budget - summaryTokens - MESSAGE_OVERHEAD_TOKENS, MESSAGE_OVERHEAD_TOKENS);
+            appendMessage(prompt, newest, tokenEstimator.truncateToTokens(newest.getContent(), available));
+            fit = 1;
+        } else {
+            for (int i = fit - 1; i >= 0; i--) {
+                appendMessage(prompt, recent.get(i), recent.get(i).getContent());
+            }
+        }
+
+        if (properties.isSummaryEnabled() && olderDropped) {
+            scheduleSummaryRefresh(chat, model, recent, fit, recent.size() == scanLimit);
+        }
+
+        log.debug("Built prompt for chat {} with {} of {} scanned messages (budget {} tokens, summary {})",
+                chat.getId(), fit, recent.size(), budget, summary != null);
+        return prompt.toString();
+    }
+
+    /**
+     * Number of newest messages (from index 0) whose combined cost fits in the budget.
+     */
+    private int pack(List<Message> newestFirst, int budget) {
+        int used = 0;
+        int count = 0;
+        for (Message message : newestFirst) {
+            int cost = tokensOf(message) + MESSAGE_OVERHEAD_TOKENS;
+            if (used + cost > budget) {
+                break;
+            }
+            used += cost;
+            count++;
+        }
+        return count;
+    }
+
+    private void scheduleSummaryRefresh(Chat chat, Model model, List<Message> newestFirst, int included, boolean moreUnscanned) {
+        long summarizedUpTo = chat.getSummarizedUpToMessageId() != null ? chat.getSummarizedUpToMessageId() : 0L;
+        Long oldestIncludedId = newestFirst.get(included - 1).getId();
+
+        int unsummarizedTokens = 0;
+        for (int i = included; i < newestFirst.size(); i++) {
+            Message message = newestFirst.get(i);
+            if (message.getId() > summarizedUpTo) {
+                unsummarizedTokens += tokensOf(message);
+            }
+        }
+        boolean unscannedBacklog = moreUnscanned
+                && newestFirst.get(newestFirst.size() - 1).getId() > summarizedUpTo;
+
+        if (unscannedBacklog || unsummarizedTokens >= properties.getSummaryRefreshThresholdTokens()) {
+            summaryService.refreshAsync(chat.getId(), oldestIncludedId, model);
+        }
+    }
+
+    // Backfills the count for rows saved before token counts were recorded
+    private int tokensOf(Message message) {
+        if (message.getTokenCount() == null) {
+            message.setTokenCount(tokenEstimator.estimate(message.getContent()));
+        }
+        return message.getTokenCount();
+    }
+
+    private void appendMessage(StringBuilder prompt, Message message, String content) {
+        prompt.append(message.getRole().name())
+                .append(": ")
+                .append(content)
+                .append("\n");
+    }
+}
@@ -0,0 +1,164 @@
+package com.novaTech.Nova.Services.AI.context;
+
+import com.novaTech.Nova.Entities.AI.Chat;
+import com.novaTech.Nova.Entities.AI.Message;
+import com.novaTech.Nova.Entities.AI.Repo.ChatRepository;
+import com.novaTech.Nova.Entities.AI.Repo.MessageRepository;
+import com.novaTech.Nova.Entities.Enums.Model;
+import com.novaTech.Nova.Services.AI.AiCompletionService;
+import com.novaTech.Nova.Services.AI.resilience.AiProvider;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains the rolling per-chat summary of turns that dropped out of the prompt window.
+ *
+ * The summary is folded forward incrementally: each refresh only reads the messages after
+ * {@code Chat.summarizedUpToMessageId}, so a long chat is never re-summarized from scratch.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConversationSummaryService {
+
+    private static final int PENDING_PAGE_SIZE = 50;
+
+    private final ChatRepository chatRepository;
+    private final MessageRepository messageRepository;
+    private final AiCompletionService aiCompletionService;
+    private final TokenEstimator tokenEstimator;
+    private final ContextProperties properties;
+
+    // chats with a refresh already running on this node
+    private final Set<Long> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Fold every message older than {@code beforeMessageId} that is not yet summarized
+     * into the chat's summary. Runs off the request thread; concurrent calls for the same
+     * chat are dropped since the running one will pick their messages up anyway.
+     */
+    @Async
+    public void refreshAsync(Long chatId, Long beforeMessageId, Model model) {
+        if (!refreshing.add(chatId)) {
+            return;
+        }
+        try {
+            refresh(chatId, beforeMessageId, model);
+        } catch (Exception e) {
+            log.warn("Context summary refresh failed for chat {}: {}", chatId, e.getMessage());
+        } finally {
+            refreshing.remove(chatId);
+        }
+    }
+
+    private void refresh(Long chatId, Long beforeMessageId, Model model) {
+        Chat chat = chatRepository.findById(chatId).orElse(null);
+        if (chat == null) {
+            return;
+        }
+
+        String summary = chat.getContextSummary();
+        long summarizedUpTo = chat.getSummarizedUpToMessageId() != null ? chat.getSummarizedUpToMessageId() : 0L;
+
+        while (true) {
+            List<Message> pending = messageRepository.findByChat_IdAndIdGreaterThanAndIdLessThanOrderByIdAsc(
+                    chatId, summarizedUpTo, beforeMessageId, PageRequest.of(0, PENDING_PAGE_SIZE));
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            List<Message> batch = nextBatch(pending);
+            String folded = fold(summary, batch, model);
+            long batchEnd = batch.get(batch.size() - 1).getId();
+
+            // Conditional on the cursor we started from, so a clearChat in between wins
+            if (chatRepository.updateContextSummary(chatId, folded, summarizedUpTo, batchEnd) == 0) {
+                log.debug("Context summary for chat {} changed concurrently, dropping refresh", chatId);
+                return;
+            }
+
+            summary = folded;
+            summarizedUpTo = batchEnd;
+            log.debug("Folded {} messages into summary of chat {} (up to message {})", batch.size(), chatId, batchEnd);
+        }
+    }
+
+    private List<Message> nextBatch(List<Message> pending) {
+        List<Message> batch = new ArrayList<>();
+        int tokens = 0;
+        for (Message message : pending) {
+            int messageTokens = tokensOf(message);
+            if (!batch.isEmpty() && tokens + messageTokens > properties.getSummaryBatchTokens()) {
+                break;
+            }
+            batch.add(message);
+            tokens += messageTokens;
+        }
+        return batch;
+    }
+
+    private String fold(String summary, List<Message> batch, Model model) {
+        int maxWords = properties.getSummaryMaxTokens() * 3 / 4;
+        int perMessageTokens = Math.max(64, properties.getSummaryBatchTokens() / batch.size());
+
+        StringBuilder prompt = new StringBuilder()
+                .append("You maintain a running summary of a conversation between a user and an assistant. ")
+                .append("Update the summary with the new turns below. Keep facts, decisions, names, numbers ")
+                .append("and open questions; drop greetings and filler. Reply with the updated summary only, ")
+                .append("in at most ").append(maxWords).append(" words.\n\n")
+                .append("Current summary:\n")
+                .append(summary == null || summary.isBlank() ? "(none)" : summary)
+                .append("\n\nNew turns:\n");
+        for (Message message : batch) {
+            prompt.append(message.getRole().name())
+                    .append(": ")
+                    .append(tokenEstimator.truncateToTokens(message.getContent(), perMessageTokens))
+                    .append("\n");
+        }
+
+        try {
+            String updated = aiCompletionService.complete(AiProvider.fromModel(model), prompt.toString()).block();
+            if (updated != null && !updated.isBlank()) {
+                return tokenEstimator.truncateToTokens(updated.trim(), properties.getSummaryMaxTokens() * 3 / 2);
+            }
+        } catch (Exception e) {
+            log.warn("Summary generation failed, using extractive fallback: {}", e.getMessage());
+        }
+        return extractiveFold(summary, batch);
+    }
+
+    /**
+     * Provider-free fallback: append the first sentence of each turn and keep the newest part.
+     */
+    private String extractiveFold(String summary, List<Message> batch) {
+        StringBuilder sb = new StringBuilder(summary != null ? summary : "");
+        for (Message message : batch) {
+            String content = message.getContent().strip();
+            int end = content.indexOf(". ");
+            String first = end > 0 ? content.substring(0, end + 1) : content;
+            if (first.length() > 200) {
+                first = first.substring(0, 197) + "...";
+            }
+            if (!sb.isEmpty()) {
+                sb.append("\n");
+            }
+            sb.append("- ").append(message.getRole().name().toLowerCase()).append(": ").append(first);
+        }
+
+        String text = sb.toString();
+        int maxChars = properties.getSummaryMaxTokens() * 4;
+        return text.length() <= maxChars ? text : text.substring(text.length() - maxChars);
+    }
+
+    private int tokensOf(Message message) {
+        return message.getTokenCount() != null ? message.getTokenCount() : tokenEstimator.estimate(message.getContent());
+    }
+}
@@ -0,0 +1,55 @@
+package com.novaTech.Nova.Services.AI.context;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Cheap token count estimate without a tokenizer dependency.
+ *
+ * BPE vocabularies average roughly 4 characters per token on English prose, while
+ * short-word or code-heavy text lands closer to 1.3 tokens per word; taking the larger
+ * of the two keeps the estimate on the safe side of the model's context window.
+ */
+@Component
+public class TokenEstimator {
+
+    private static final double TOKENS_PER_WORD = 1.3;
+    private static final int CHARS_PER_TOKEN = 4;
+
+    public int estimate(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            boolean whitespace = Character.isWhitespace(text.charAt(i));
+            if (!whitespace && !inWord) {
+                words++;
+            }
+            inWord = !whitespace;
+        }
+
+        int byChars = (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+        int byWords = (int) Math.ceil(words * TOKENS_PER_WORD);
+        return Math.max(byChars, byWords);
+    }
+
+    /**
+     * Cuts text down to roughly {@code maxTokens}, keeping the beginning and the end
+     * (the question in a pasted document usually sits at one of the two).
+     */
+    public String truncateToTokens(String text, int maxTokens) {
+        if (text == null || maxTokens <= 0) {
+            return "";
+        }
+        if (estimate(text) <= maxTokens) {
+            return text;
+        }
+
+        int maxChars = Math.max(0, maxTokens * CHARS_PER_TOKEN - 32);
+        int head = maxChars * 2 / 3;
+        int tail = maxChars - head;
+        return text.substring(0, head) + "\n...[truncated]...\n" + text.substring(text.length() - tail);
+    }
+}
@@ -0,0 +1,17 @@
+package com.novaTech.Nova.Services.AI.resilience;
+
+import com.novaTech.Nova.Entities.Enums.Model;
+
+/**
+ * Upstream AI providers guarded by {@link AiResilienceService}.
+ * Each one gets its own circuit breaker, bulkhead and latency window.
+ */
+public enum AiProvider {
+    LLM,          // HuggingFace text generation (LLMService)
+    CEREBRAS,     // Cerebras chat completions (CerebrasService)
+    DOCUMENT_AI;  // HuggingFace router used for document processing
+
+    public static AiProvider fromModel(Model model) {
+        return model == Model.CEREBRAS ? CEREBRAS : LLM;
+    }
+}
@@ -0,0 +1,31 @@
+package com.novaTech.Nova.Services.AI.resilience;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * /actuator/aiproviders - circuit breaker state and recent latency percentiles per provider.
+ * Full latency histograms are published under the ai.provider.latency metric.
+ */
+@Component
+@Endpoint(id = "aiproviders")
+@RequiredArgsConstructor
+public class AiProvidersEndpoint {
+
+    private final AiResilienceService resilienceService;
+
+    @ReadOperation
+    public Map<String, Object> providers() {
+        return resilienceService.snapshot();
+    }
+
+    @ReadOperation
+    public Map<String, Object> provider(@Selector String name) {
+        return resilienceService.snapshot(AiProvider.valueOf(name.toUpperCase()));
+    }
+}
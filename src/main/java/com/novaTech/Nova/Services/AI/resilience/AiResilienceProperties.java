@@ -0,0 +1,50 @@
+package com.novaTech.Nova.Services.AI.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ai.resilience")
+public class AiResilienceProperties {
+    // when disabled calls go straight to the provider
+    private boolean enabled = true;
+
+    // rolling window of the last N calls the breaker looks at
+    private int windowSize = 50;
+    // breaker only trips once this many calls are in the window
+    private int minimumCalls = 10;
+    // percentage of failed calls that opens the breaker
+    private int failureRateThreshold = 50;
+    // calls slower than this count as slow
+    private long slowCallThresholdMs = 20_000;
+    // percentage of slow calls that opens the breaker
+    private int slowCallRateThreshold = 80;
+    // how long the breaker stays open before letting trial calls through
+    private long openStateSeconds = 30;
+    // trial calls allowed while half-open
+    private int halfOpenPermittedCalls = 3;
+
+    // bulkhead, calls above this are rejected instead of queued
+    private int maxConcurrentCalls = 20;
+    // hard timeout of a single provider attempt
+    private long callTimeoutSeconds = 30;
+
+    // fire a second request at the next provider once the primary passes its p95
+    private boolean hedgingEnabled = false;
+    // never hedge earlier than this, even when p95 is very low
+    private long hedgeMinDelayMs = 1_500;
+    // number of latency samples kept per provider for p95 estimation
+    private int latencyWindowSize = 200;
+
+    // providers tried in order when the primary fails or is unavailable
+    private Map<AiProvider, List<AiProvider>> failoverChain = new EnumMap<>(Map.of(
+            AiProvider.LLM, List.of(AiProvider.CEREBRAS),
+            AiProvider.CEREBRAS, List.of(AiProvider.LLM)
+    ));
+}
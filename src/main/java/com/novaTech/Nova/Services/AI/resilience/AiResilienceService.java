@@ -0,0 +1,345 @@
+package com.novaTech.Nova.Services.AI.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Resilience layer in front of the AI providers.
+ *
+ * Every provider call goes through a circuit breaker and a bulkhead, so an outage
+ * rejects calls immediately instead of parking request threads on 30-90s timeouts.
+ * On top of that, {@link #execute} walks the configured failover chain and can
+ * optionally hedge a slow primary with the next provider once it passes its p95.
+ */
+@Slf4j
+@Service
+public class AiResilienceService {
+
+    private final AiResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<AiProvider, ProviderGuard> guards = new EnumMap<>(AiProvider.class);
+
+    public AiResilienceService(AiResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        for (AiProvider provider : AiProvider.values()) {
+            ProviderGuard guard = new ProviderGuard(provider);
+            guards.put(provider, guard);
+
+            Gauge.builder("ai.provider.circuit.state", guard.breaker, b -> b.getState().ordinal())
+                    .description("0 = closed, 1 = open, 2 = half-open")
+                    .tag("provider", provider.name())
+                    .register(meterRegistry);
+            Gauge.builder("ai.provider.inflight", guard, g -> g.permits - g.bulkhead.availablePermits())
+                    .tag("provider", provider.name())
+                    .register(meterRegistry);
+        }
+
+        log.info("AI resilience initialized - enabled: {}, window: {}, failureRate: {}%, open: {}s, hedging: {}, failover: {}",
+                properties.isEnabled(), properties.getWindowSize(), properties.getFailureRateThreshold(),
+                properties.getOpenStateSeconds(), properties.isHedgingEnabled(), properties.getFailoverChain());
+    }
+
+    // ========================
+    // CALL WITH FAILOVER (+ HEDGING)
+    // ========================
+
+    /**
+     * Runs {@code call} against {@code primary}, then down the failover chain until one provider answers.
+     * The function receives the provider it should talk to.
+     */
+    public <T> Mono<T> execute(AiProvider primary, Function<AiProvider, Mono<T>> call) {
+        if (!properties.isEnabled()) {
+            return Mono.defer(() -> call.apply(primary));
+        }
+        return attempt(chainFor(primary), 0, call);
+    }
+
+    private <T> Mono<T> attempt(List<AiProvider> chain, int index, Function<AiProvider, Mono<T>> call) {
+        AiProvider provider = chain.get(index);
+        Mono<T> primaryCall = protect(provider, () -> call.apply(provider));
+
+        AtomicBoolean hedged = new AtomicBoolean(false);
+        Mono<T> result = primaryCall;
+
+        long hedgeDelay = hedgeDelayMs(provider);
+        if (properties.isHedgingEnabled() && hedgeDelay > 0 && index + 1 < chain.size()) {
+            AiProvider hedgeProvider = chain.get(index + 1);
+            // a primary that fails before the hedge fires goes straight to failover instead
+            Sinks.Empty<Void> primaryFailed = Sinks.empty();
+            Mono<T> hedgeCall = Mono.delay(Duration.ofMillis(hedgeDelay))
+                    .takeUntilOther(primaryFailed.asMono())
+                    .flatMap(tick -> {
+                        hedged.set(true);
+                        log.info("{} exceeded its p95 ({} ms), hedging with {}", provider, hedgeDelay, hedgeProvider);
+                        counter("ai.provider.hedged", provider).increment();
+                        return protect(hedgeProvider, () -> call.apply(hedgeProvider));
+                    });
+            result = Mono.firstWithValue(
+                    primaryCall.doOnError(error -> primaryFailed.tryEmitEmpty()),
+                    hedgeCall);
+        }
+
+        return result.onErrorResume(error -> {
+            int next = hedged.get() ? index + 2 : index + 1;
+            if (next >= chain.size()) {
+                log.error("All AI providers failed for chain {}: {}", chain, error.getMessage());
+                return Mono.error(error);
+            }
+            log.warn("{} failed ({}), failing over to {}", provider, error.getMessage(), chain.get(next));
+            counter("ai.provider.failover", provider).increment();
+            return attempt(chain, next, call);
+        });
+    }
+
+    /**
+     * Streaming variant. Failover only happens while nothing has been emitted yet,
+     * a stream that broke half-way is not restarted on another provider.
+     */
+    public Flux<String> executeStream(AiProvider primary, Function<AiProvider, Flux<String>> call) {
+        if (!properties.isEnabled()) {
+            return Flux.defer(() -> call.apply(primary));
+        }
+        return attemptStream(chainFor(primary), 0, call);
+    }
+
+    private Flux<String> attemptStream(List<AiProvider> chain, int index, Function<AiProvider, Flux<String>> call) {
+        AiProvider provider = chain.get(index);
+        AtomicBoolean emitted = new AtomicBoolean(false);
+
+        Flux<String> stream = protectStream(provider, () -> call.apply(provider))
+                .doOnNext(chunk -> emitted.set(true));
+
+        if (index + 1 >= chain.size()) {
+            return stream;
+        }
+        return stream.onErrorResume(error -> !emitted.get(), error -> {
+            log.warn("{} stream failed before first chunk ({}), failing over to {}",
+                    provider, error.getMessage(), chain.get(index + 1));
+            counter("ai.provider.failover", provider).increment();
+            return attemptStream(chain, index + 1, call);
+        });
+    }
+
+    // ========================
+    // SINGLE PROVIDER GUARDS
+    // ========================
+
+    /**
+     * Guards a single provider call with its breaker, bulkhead and timeout, without failover.
+     */
+    public <T> Mono<T> protect(AiProvider provider, Supplier<Mono<T>> call) {
+        return protect(provider, Duration.ofSeconds(properties.getCallTimeoutSeconds()), call);
+    }
+
+    /**
+     * Same as {@link #protect(AiProvider, Supplier)} with a caller-specific timeout,
+     * for calls that are legitimately slower than the default (document summarization).
+     */
+    public <T> Mono<T> protect(AiProvider provider, Duration timeout, Supplier<Mono<T>> call) {
+        if (!properties.isEnabled()) {
+            return Mono.defer(call).timeout(timeout);
+        }
+        ProviderGuard guard = guards.get(provider);
+
+        return Mono.defer(() -> {
+            ProviderUnavailableException rejection = guard.tryAcquire();
+            if (rejection != null) {
+                return Mono.error(rejection);
+            }
+
+            long start = System.nanoTime();
+            // deferred, so a supplier that throws still ends up in doFinally and frees the permit
+            return Mono.defer(call)
+                    .timeout(timeout)
+                    .switchIfEmpty(Mono.error(() -> new IllegalStateException(provider + " returned an empty response")))
+                    .doOnSuccess(value -> guard.onSuccess(System.nanoTime() - start))
+                    .doOnError(error -> guard.onError(System.nanoTime() - start, error))
+                    .doOnCancel(guard.breaker::releasePermission)
+                    .doFinally(signal -> guard.bulkhead.release());
+        });
+    }
+
+    /**
+     * Streaming guard. Latency is measured as time to first chunk, which is what users wait on.
+     */
+    public Flux<String> protectStream(AiProvider provider, Supplier<Flux<String>> call) {
+        if (!properties.isEnabled()) {
+            return Flux.defer(call);
+        }
+        ProviderGuard guard = guards.get(provider);
+
+        return Flux.defer(() -> {
+            ProviderUnavailableException rejection = guard.tryAcquire();
+            if (rejection != null) {
+                return Flux.error(rejection);
+            }
+
+            long start = System.nanoTime();
+            AtomicBoolean recorded = new AtomicBoolean(false);
+            return Flux.defer(call)
+                    .timeout(Duration.ofSeconds(properties.getCallTimeoutSeconds()))
+                    .doOnNext(chunk -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            guard.onSuccess(System.nanoTime() - start);
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            guard.onSuccess(System.nanoTime() - start);
+                        }
+                    })
+                    .doOnError(error -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            guard.onError(System.nanoTime() - start, error);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (!recorded.get()) {
+                            guard.breaker.releasePermission();
+                        }
+                    })
+                    .doFinally(signal -> guard.bulkhead.release());
+        });
+    }
+
+    // ========================
+    // INTROSPECTION
+    // ========================
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> providers = new LinkedHashMap<>();
+        guards.forEach((provider, guard) -> providers.put(provider.name(), guard.snapshot()));
+        return providers;
+    }
+
+    public Map<String, Object> snapshot(AiProvider provider) {
+        return guards.get(provider).snapshot();
+    }
+
+    public boolean isCallPermitted(AiProvider provider) {
+        return guards.get(provider).breaker.getState() != ProviderCircuitBreaker.State.OPEN;
+    }
+
+    // ========================
+    // HELPERS
+    // ========================
+
+    private List<AiProvider> chainFor(AiProvider primary) {
+        List<AiProvider> chain = new ArrayList<>();
+        chain.add(primary);
+        for (AiProvider fallback : properties.getFailoverChain().getOrDefault(primary, List.of())) {
+            if (!chain.contains(fallback)) {
+                chain.add(fallback);
+            }
+        }
+        return chain;
+    }
+
+    private long hedgeDelayMs(AiProvider provider) {
+        LatencyWindow window = guards.get(provider).latencies;
+        if (window.size() < properties.getMinimumCalls()) {
+            return -1; // not enough data for a meaningful p95
+        }
+        return Math.max(properties.getHedgeMinDelayMs(), window.percentile(0.95));
+    }
+
+    private Counter counter(String name, AiProvider provider) {
+        return meterRegistry.counter(name, "provider", provider.name());
+    }
+
+    /**
+     * Per-provider state: breaker, bulkhead, latency window and meters.
+     */
+    private class ProviderGuard {
+
+        private final AiProvider provider;
+        private final ProviderCircuitBreaker breaker;
+        private final int permits;
+        private final Semaphore bulkhead;
+        private final LatencyWindow latencies;
+        private final Timer successTimer;
+        private final Timer failureTimer;
+
+        private ProviderGuard(AiProvider provider) {
+            this.provider = provider;
+            this.breaker = new ProviderCircuitBreaker(provider, properties);
+            this.permits = Math.max(1, properties.getMaxConcurrentCalls());
+            this.bulkhead = new Semaphore(permits);
+            this.latencies = new LatencyWindow(properties.getLatencyWindowSize());
+            this.successTimer = latencyTimer(provider, "success");
+            this.failureTimer = latencyTimer(provider, "failure");
+        }
+
+        // returns null when the call may proceed
+        private ProviderUnavailableException tryAcquire() {
+            if (!breaker.tryAcquirePermission()) {
+                counter("ai.provider.rejected", provider).increment();
+                return new ProviderUnavailableException(provider, "circuit breaker is open");
+            }
+            if (!bulkhead.tryAcquire()) {
+                breaker.releasePermission();
+                counter("ai.provider.rejected", provider).increment();
+                return new ProviderUnavailableException(provider, "too many concurrent calls");
+            }
+            return null;
+        }
+
+        private void onSuccess(long nanos) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            successTimer.record(nanos, TimeUnit.NANOSECONDS);
+            latencies.record(millis);
+            breaker.onResult(false, millis >= properties.getSlowCallThresholdMs());
+        }
+
+        private void onError(long nanos, Throwable error) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            failureTimer.record(nanos, TimeUnit.NANOSECONDS);
+            breaker.onResult(true, millis >= properties.getSlowCallThresholdMs());
+            log.debug("{} call failed after {} ms: {}", provider, millis, error.getMessage());
+        }
+
+        private Map<String, Object> snapshot() {
+            Map<String, Object> snapshot = breaker.snapshot();
+            snapshot.put("inFlight", permits - bulkhead.availablePermits());
+            snapshot.put("latencySamples", latencies.size());
+            snapshot.put("p50Ms", latencies.percentile(0.50));
+            snapshot.put("p95Ms", latencies.percentile(0.95));
+            snapshot.put("p99Ms", latencies.percentile(0.99));
+            snapshot.put("successCount", successTimer.count());
+            snapshot.put("failureCount", failureTimer.count());
+            snapshot.put("failover", properties.getFailoverChain().getOrDefault(provider, List.of()));
+            return snapshot;
+        }
+
+        private Timer latencyTimer(AiProvider provider, String outcome) {
+            return Timer.builder("ai.provider.latency")
+                    .description("Latency of AI provider calls")
+                    .tag("provider", provider.name())
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.novaTech.Nova.Services.AI.resilience;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size ring of recent latencies, used to pick the hedge delay.
+ * Micrometer keeps the long-term histograms; this only answers "what is p95 right now".
+ */
+class LatencyWindow {
+
+    private final long[] samples;
+    private int head;
+    private int size;
+
+    LatencyWindow(int capacity) {
+        this.samples = new long[Math.max(1, capacity)];
+    }
+
+    synchronized void record(long millis) {
+        samples[head] = millis;
+        head = (head + 1) % samples.length;
+        if (size < samples.length) {
+            size++;
+        }
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    // returns -1 when there are no samples yet
+    synchronized long percentile(double quantile) {
+        if (size == 0) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(quantile * size) - 1;
+        return sorted[Math.max(0, Math.min(index, size - 1))];
+    }
+}
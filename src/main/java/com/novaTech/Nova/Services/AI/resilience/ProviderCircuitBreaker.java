@@ -0,0 +1,152 @@
+package com.novaTech.Nova.Services.AI.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Count-based circuit breaker for a single provider.
+ * Trips on either the failure rate or the slow-call rate of the last {@code windowSize} calls.
+ */
+@Slf4j
+class ProviderCircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final AiProvider provider;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final int slowCallRateThreshold;
+    private final long openStateNanos;
+    private final int halfOpenPermittedCalls;
+
+    // ring buffer of the last windowSize outcomes
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int head;
+    private int size;
+    private int failureCount;
+    private int slowCount;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenInFlight;
+    private int halfOpenSuccesses;
+    private long notPermittedCount;
+
+    ProviderCircuitBreaker(AiProvider provider, AiResilienceProperties properties) {
+        this.provider = provider;
+        this.windowSize = Math.max(1, properties.getWindowSize());
+        this.minimumCalls = Math.max(1, Math.min(properties.getMinimumCalls(), windowSize));
+        this.failureRateThreshold = properties.getFailureRateThreshold();
+        this.slowCallRateThreshold = properties.getSlowCallRateThreshold();
+        this.openStateNanos = TimeUnit.SECONDS.toNanos(properties.getOpenStateSeconds());
+        this.halfOpenPermittedCalls = Math.max(1, properties.getHalfOpenPermittedCalls());
+        this.failed = new boolean[windowSize];
+        this.slow = new boolean[windowSize];
+    }
+
+    synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openStateNanos) {
+                notPermittedCount++;
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight + halfOpenSuccesses >= halfOpenPermittedCalls) {
+                notPermittedCount++;
+                return false;
+            }
+            halfOpenInFlight++;
+        }
+        return true;
+    }
+
+    // called when an admitted call is cancelled without producing an outcome
+    synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenInFlight > 0) {
+            halfOpenInFlight--;
+        }
+    }
+
+    synchronized void onResult(boolean failure, boolean slowCall) {
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight > 0) {
+                halfOpenInFlight--;
+            }
+            if (failure) {
+                transitionTo(State.OPEN);
+            } else if (++halfOpenSuccesses >= halfOpenPermittedCalls) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            // late result of a call admitted before the breaker opened
+            return;
+        }
+
+        if (size == windowSize) {
+            if (failed[head]) failureCount--;
+            if (slow[head]) slowCount--;
+        } else {
+            size++;
+        }
+        failed[head] = failure;
+        slow[head] = slowCall;
+        if (failure) failureCount++;
+        if (slowCall) slowCount++;
+        head = (head + 1) % windowSize;
+
+        if (size >= minimumCalls
+                && (failureRate() >= failureRateThreshold || slowCallRate() >= slowCallRateThreshold)) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    synchronized Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("state", state.name());
+        snapshot.put("bufferedCalls", size);
+        snapshot.put("failedCalls", failureCount);
+        snapshot.put("slowCalls", slowCount);
+        snapshot.put("failureRate", failureRate());
+        snapshot.put("slowCallRate", slowCallRate());
+        snapshot.put("notPermittedCalls", notPermittedCount);
+        return snapshot;
+    }
+
+    private float failureRate() {
+        return size == 0 ? 0f : failureCount * 100f / size;
+    }
+
+    private float slowCallRate() {
+        return size == 0 ? 0f : slowCount * 100f / size;
+    }
+
+    private void transitionTo(State next) {
+        log.warn("Circuit breaker for {} changed state {} -> {} (failureRate: {}%, slowCallRate: {}%)",
+                provider, state, next, failureRate(), slowCallRate());
+        state = next;
+        halfOpenInFlight = 0;
+        halfOpenSuccesses = 0;
+        if (next == State.OPEN) {
+            openedAt = System.nanoTime();
+        }
+        if (next != State.HALF_OPEN) {
+            head = 0;
+            size = 0;
+            failureCount = 0;
+            slowCount = 0;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.novaTech.Nova.Services.AI.resilience;
+
+/**
+ * Thrown when a provider call is rejected without being attempted
+ * (circuit open or too many concurrent calls).
+ */
+public class ProviderUnavailableException extends RuntimeException {
+
+    private final AiProvider provider;
+
+    public ProviderUnavailableException(AiProvider provider, String reason) {
+        super("AI provider " + provider + " unavailable: " + reason);
+        this.provider = provider;
+    }
+
+    public AiProvider getProvider() {
+        return provider;
+    }
+}
@@ -0,0 +1,345 @@
+package com.novaTech.Nova.Services.AI.retrieval;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Immutable BM25 inverted index over the chunks of one document.
+ *
+ * Chunks are kept as character offsets into the document text rather than copies of it.
+ * The term dictionary is a sorted array (binary search on lookup) and the postings of every
+ * term are packed into one byte array as varint (chunk-delta, term-frequency) pairs.
+ */
+public final class Bm25Index {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "has", "have",
+            "he", "her", "his", "if", "in", "into", "is", "it", "its", "of", "on", "or", "our",
+            "she", "so", "than", "that", "the", "their", "them", "then", "there", "these", "they",
+            "this", "to", "was", "we", "were", "what", "when", "where", "which", "who", "why",
+            "will", "with", "you", "your", "do", "does", "did", "can", "could", "would", "should",
+            "about", "how", "not", "no", "all", "any", "been", "being", "i", "me", "my"
+    );
+
+    private final int[] chunkStarts;
+    private final int[] chunkEnds;
+    private final int[] chunkLengths;
+    private final double averageChunkLength;
+
+    private final String[] terms;
+    private final int[] documentFrequencies;
+    private final int[] postingOffsets;
+    private final byte[] postings;
+
+    private Bm25Index(int[] chunkStarts, int[] chunkEnds, int[] chunkLengths,
+                      String[] terms, int[] documentFrequencies, int[] postingOffsets, byte[] postings) {
+        this.chunkStarts = chunkStarts;
+        this.chunkEnds = chunkEnds;
+        this.chunkLengths = chunkLengths;
+        this.terms = terms;
+        this.documentFrequencies = documentFrequencies;
+        this.postingOffsets = postingOffsets;
+        this.postings = postings;
+
+        long total = 0;
+        for (int length : chunkLengths) {
+            total += length;
+        }
+        this.averageChunkLength = chunkLengths.length > 0 ? Math.max(1.0, (double) total / chunkLengths.length) : 1.0;
+    }
+
+    public record ScoredChunk(int chunk, int start, int end, double score) {
+    }
+
+    // =========================================================
+    // BUILD
+    // =========================================================
+
+    public static Bm25Index build(String text, int chunkWords, int overlapWords) {
+        int[][] bounds = TextChunker.chunk(text, chunkWords, overlapWords);
+        int[] starts = bounds[0];
+        int[] ends = bounds[1];
+        int[] lengths = new int[starts.length];
+
+        // term -> [chunk, tf, chunk, tf, ...] in increasing chunk order
+        Map<String, IntList> raw = new HashMap<>();
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (int chunk = 0; chunk < starts.length; chunk++) {
+            frequencies.clear();
+            List<String> tokens = tokenize(text, starts[chunk], ends[chunk]);
+            lengths[chunk] = tokens.size();
+            for (String token : tokens) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                IntList list = raw.computeIfAbsent(entry.getKey(), k -> new IntList());
+                list.add(chunk);
+                list.add(entry.getValue());
+            }
+        }
+
+        String[] terms = raw.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+
+        int[] documentFrequencies = new int[terms.length];
+        int[] postingOffsets = new int[terms.length + 1];
+        ByteArrayOutputStream packed = new ByteArrayOutputStream();
+        for (int t = 0; t < terms.length; t++) {
+            IntList list = raw.get(terms[t]);
+            documentFrequencies[t] = list.size / 2;
+            postingOffsets[t] = packed.size();
+            int previous = 0;
+            for (int p = 0; p < list.size; p += 2) {
+                writeVarint(packed, list.values[p] - previous);
+                writeVarint(packed, list.values[p + 1]);
+                previous = list.values[p];
+            }
+        }
+        postingOffsets[terms.length] = packed.size();
+
+        return new Bm25Index(starts, ends, lengths, terms, documentFrequencies, postingOffsets, packed.toByteArray());
+    }
+
+    // =========================================================
+    // SEARCH
+    // =========================================================
+
+    /**
+     * Top {@code k} chunks for the query, best first. Chunks without any query term are left out.
+     */
+    public List<ScoredChunk> search(String query, int k, double k1, double b) {
+        int chunkCount = chunkStarts.length;
+        if (chunkCount == 0 || query == null || k <= 0) {
+            return List.of();
+        }
+
+        double[] scores = new double[chunkCount];
+        boolean matched = false;
+
+        for (String term : new LinkedHashSet<>(tokenize(query, 0, query.length()))) {
+            int t = Arrays.binarySearch(terms, term);
+            if (t < 0) {
+                continue;
+            }
+            matched = true;
+
+            int df = documentFrequencies[t];
+            double idf = Math.log(1 + (chunkCount - df + 0.5) / (df + 0.5));
+
+            int position = postingOffsets[t];
+            int end = postingOffsets[t + 1];
+            int chunk = 0;
+            while (position < end) {
+                int delta = 0;
+                int shift = 0;
+                byte current;
+                do {
+                    current = postings[position++];
+                    delta |= (current & 0x7F) << shift;
+                    shift += 7;
+                } while ((current & 0x80) != 0);
+
+                int tf = 0;
+                shift = 0;
+                do {
+                    current = postings[position++];
+                    tf |= (current & 0x7F) << shift;
+                    shift += 7;
+                } while ((current & 0x80) != 0);
+
+                chunk += delta;
+                double norm = k1 * (1 - b + b * chunkLengths[chunk] / averageChunkLength);
+                scores[chunk] += idf * (tf * (k1 + 1)) / (tf + norm);
+            }
+        }
+
+        if (!matched) {
+            return List.of();
+        }
+
+        PriorityQueue<Integer> top = new PriorityQueue<>(k + 1, (x, y) -> Double.compare(scores[x], scores[y]));
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            if (scores[chunk] <= 0) {
+                continue;
+            }
+            top.offer(chunk);
+            if (top.size() > k) {
+                top.poll();
+            }
+        }
+
+        List<ScoredChunk> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            int chunk = top.poll();
+            result.add(new ScoredChunk(chunk, chunkStarts[chunk], chunkEnds[chunk], scores[chunk]));
+        }
+        result.sort((x, y) -> Double.compare(y.score(), x.score()));
+        return result;
+    }
+
+    public int chunkCount() {
+        return chunkStarts.length;
+    }
+
+    public int chunkStart(int chunk) {
+        return chunkStarts[chunk];
+    }
+
+    public int chunkEnd(int chunk) {
+        return chunkEnds[chunk];
+    }
+
+    /**
+     * Rough heap footprint, used as the weight in the decoded-index cache.
+     */
+    public long estimatedBytes() {
+        long bytes = 128L + postings.length + 16L * chunkStarts.length + 12L * terms.length;
+        for (String term : terms) {
+            bytes += 40L + term.length();
+        }
+        return bytes;
+    }
+
+    // =========================================================
+    // SERIALIZATION
+    // =========================================================
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(postings.length / 2 + 1024);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            out.writeInt(FORMAT_VERSION);
+
+            out.writeInt(chunkStarts.length);
+            for (int chunk = 0; chunk < chunkStarts.length; chunk++) {
+                out.writeInt(chunkStarts[chunk]);
+                out.writeInt(chunkEnds[chunk]);
+                out.writeInt(chunkLengths[chunk]);
+            }
+
+            out.writeInt(terms.length);
+            for (int t = 0; t < terms.length; t++) {
+                out.writeUTF(terms[t]);
+                out.writeInt(documentFrequencies[t]);
+                out.writeInt(postingOffsets[t]);
+            }
+            out.writeInt(postingOffsets[terms.length]);
+
+            out.writeInt(postings.length);
+            out.write(postings);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize search index", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static Bm25Index fromBytes(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data)))) {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException("Unsupported search index format version: " + version);
+            }
+
+            int chunks = in.readInt();
+            int[] starts = new int[chunks];
+            int[] ends = new int[chunks];
+            int[] lengths = new int[chunks];
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                starts[chunk] = in.readInt();
+                ends[chunk] = in.readInt();
+                lengths[chunk] = in.readInt();
+            }
+
+            int termCount = in.readInt();
+            String[] terms = new String[termCount];
+            int[] documentFrequencies = new int[termCount];
+            int[] postingOffsets = new int[termCount + 1];
+            for (int t = 0; t < termCount; t++) {
+                terms[t] = in.readUTF();
+                documentFrequencies[t] = in.readInt();
+                postingOffsets[t] = in.readInt();
+            }
+            postingOffsets[termCount] = in.readInt();
+
+            byte[] postings = new byte[in.readInt()];
+            in.readFully(postings);
+
+            return new Bm25Index(starts, ends, lengths, terms, documentFrequencies, postingOffsets, postings);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read search index", e);
+        }
+    }
+
+    // =========================================================
+    // TOKENIZATION
+    // =========================================================
+
+    /**
+     * Lowercased letter/digit runs with stop words dropped and plurals folded to the singular.
+     */
+    static List<String> tokenize(String text, int from, int to) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder(16);
+        for (int i = from; i <= to; i++) {
+            char c = i < to ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+                continue;
+            }
+            if (current.length() >= 2 && current.length() <= 40) {
+                String token = current.toString();
+                if (!STOP_WORDS.contains(token)) {
+                    tokens.add(stem(token));
+                }
+            }
+            current.setLength(0);
+        }
+        return tokens;
+    }
+
+    private static String stem(String token) {
+        int length = token.length();
+        if (length > 4 && token.endsWith("ies")) {
+            return token.substring(0, length - 3) + "y";
+        }
+        if (length > 3 && token.endsWith("s") && !token.endsWith("ss") && !token.endsWith("us")) {
+            return token.substring(0, length - 1);
+        }
+        return token;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static final class IntList {
+        private int[] values = new int[8];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.novaTech.Nova.Services.AI.retrieval;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.novaTech.Nova.Entities.Document;
+import com.novaTech.Nova.Entities.DocumentSearchIndex;
+import com.novaTech.Nova.Entities.repo.DocumentSearchIndexRepository;
+import com.novaTech.Nova.Services.cacheData.CacheIntrospectionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Local retrieval for document Q&A: a BM25 index over fixed-size chunks of the extracted
+ * text is built at upload and persisted next to the document, and each question pulls only
+ * its best-matching chunks into the prompt instead of the start of the file.
+ */
+@Slf4j
+@Service
+public class DocumentRetrievalService {
+
+    private static final String CHUNK_SEPARATOR = "\n...\n";
+
+    private final DocumentSearchIndexRepository indexRepository;
+    private final RetrievalProperties properties;
+
+    // Decoded indexes by document id, bounded by estimated heap size
+    private final Cache<Long, Bm25Index> indexes;
+
+    public DocumentRetrievalService(DocumentSearchIndexRepository indexRepository, RetrievalProperties properties,
+                                    CacheIntrospectionService cacheIntrospection) {
+        this.indexRepository = indexRepository;
+        this.properties = properties;
+        this.indexes = Caffeine.newBuilder()
+                .maximumWeight(properties.getCacheMaxBytes())
+                .weigher((Long id, Bm25Index index) -> (int) Math.min(Integer.MAX_VALUE, index.estimatedBytes()))
+                .recordStats()
+                .build();
+        cacheIntrospection.registerNativeCache("documentSearchIndexes", indexes);
+    }
+
+    /**
+     * Chunk and index the document's extracted text, replacing any previous index.
+     */
+    public void indexDocument(Document document) {
+        indexes.put(document.getId(), buildAndStore(document));
+    }
+
+    private Bm25Index buildAndStore(Document document) {
+        String text = document.getExtractedText();
+        long start = System.currentTimeMillis();
+
+        Bm25Index index = Bm25Index.build(text, properties.getChunkWords(), properties.getChunkOverlapWords());
+        byte[] data = index.toBytes();
+        indexRepository.upsert(document.getId(), data, text.length(), index.chunkCount(), LocalDateTime.now());
+
+        log.info("Indexed document {}: {} chunks, {} KB stored, {} ms",
+                document.getId(), index.chunkCount(), data.length / 1024, System.currentTimeMillis() - start);
+        return index;
+    }
+
+    /**
+     * The parts of the document most relevant to the query, in document order and at most
+     * {@code ai.retrieval.max-context-chars} long. Short documents are returned whole.
+     */
+    public String retrieveContext(Document document, String query) {
+        String text = document.getExtractedText();
+        if (text == null || text.length() <= properties.getMaxContextChars()) {
+            return text;
+        }
+
+        Bm25Index index = indexes.get(document.getId(), id -> loadOrBuild(document));
+        List<Bm25Index.ScoredChunk> hits = index.search(query, properties.getTopK(), properties.getK1(), properties.getB());
+
+        List<int[]> ranges = new ArrayList<>();
+        if (hits.isEmpty()) {
+            // Nothing matched: the opening of the document is the best guess
+            log.debug("No retrieval hits in document {} for query, using leading chunks", document.getId());
+            for (int chunk = 0; chunk < Math.min(properties.getTopK(), index.chunkCount()); chunk++) {
+                ranges.add(new int[]{index.chunkStart(chunk), index.chunkEnd(chunk)});
+            }
+        } else {
+            // Keep the best chunks that fit the budget, then restore reading order
+            int budget = properties.getMaxContextChars();
+            for (Bm25Index.ScoredChunk hit : hits) {
+                int length = hit.end() - hit.start();
+                if (length > budget && !ranges.isEmpty()) {
+                    continue;
+                }
+                ranges.add(new int[]{hit.start(), hit.end()});
+                budget -= length + CHUNK_SEPARATOR.length();
+            }
+        }
+        ranges.sort(Comparator.comparingInt(range -> range[0]));
+
+        StringBuilder context = new StringBuilder();
+        int coveredUpTo = -1;
+        for (int[] range : ranges) {
+            if (range[1] <= coveredUpTo) {
+                continue;
+            }
+            if (range[0] <= coveredUpTo) {
+                // Overlapping neighbours: continue the previous chunk instead of repeating text
+                context.append(text, coveredUpTo, range[1]);
+            } else {
+                if (!context.isEmpty()) {
+                    context.append(CHUNK_SEPARATOR);
+                }
+                context.append(text, range[0], range[1]);
+            }
+            coveredUpTo = range[1];
+        }
+
+        if (context.length() > properties.getMaxContextChars()) {
+            context.setLength(properties.getMaxContextChars());
+        }
+
+        log.debug("Retrieved {} chars from {} chunks of document {} (text length {})",
+                context.length(), ranges.size(), document.getId(), text.length());
+        return context.toString();
+    }
+
+    public void deleteIndex(Long documentId) {
+        indexRepository.deleteByDocumentId(documentId);
+        indexes.invalidate(documentId);
+    }
+
+    private Bm25Index loadOrBuild(Document document) {
+        Optional<DocumentSearchIndex> stored = indexRepository.findByDocumentId(document.getId());
+        if (stored.isPresent() && stored.get().getTextLength() == document.getExtractedText().length()) {
+            try {
+                return Bm25Index.fromBytes(stored.get().getIndexData());
+            } catch (RuntimeException e) {
+                log.warn("Stored index for document {} is unreadable, rebuilding: {}", document.getId(), e.getMessage());
+            }
+        }
+
+        // Documents uploaded before indexing existed, or whose text changed since
+        return buildAndStore(document);
+    }
+}
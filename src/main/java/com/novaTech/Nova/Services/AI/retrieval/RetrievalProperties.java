@@ -0,0 +1,25 @@
+package com.novaTech.Nova.Services.AI.retrieval;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ai.retrieval")
+public class RetrievalProperties {
+    // chunking at upload
+    private int chunkWords = 180;
+    private int chunkOverlapWords = 30;
+
+    // retrieval per question
+    private int topK = 6;
+    private int maxContextChars = 6000;
+
+    // BM25 parameters
+    private double k1 = 1.2;
+    private double b = 0.75;
+
+    // decoded indexes kept in memory
+    private long cacheMaxBytes = 64L * 1024 * 1024;
+}
@@ -0,0 +1,85 @@
+package com.novaTech.Nova.Services.AI.retrieval;
+
+import java.util.Arrays;
+
+/**
+ * Splits text into overlapping word windows, returned as character offsets into the text.
+ * A window's end is pulled back to a sentence boundary when one is close to the limit.
+ */
+final class TextChunker {
+
+    private TextChunker() {
+    }
+
+    /**
+     * @return {@code [starts, ends]}, character offsets of each chunk (end exclusive)
+     */
+    static int[][] chunk(String text, int chunkWords, int overlapWords) {
+        int[] wordStarts = new int[64];
+        int[] wordEnds = new int[64];
+        int words = 0;
+
+        int i = 0;
+        int length = text.length();
+        while (i < length) {
+            while (i < length && Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            if (i >= length) {
+                break;
+            }
+            int start = i;
+            while (i < length && !Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            if (words == wordStarts.length) {
+                wordStarts = Arrays.copyOf(wordStarts, words * 2);
+                wordEnds = Arrays.copyOf(wordEnds, words * 2);
+            }
+            wordStarts[words] = start;
+            wordEnds[words] = i;
+            words++;
+        }
+
+        if (words == 0) {
+            return new int[][]{new int[0], new int[0]};
+        }
+
+        int step = Math.max(1, chunkWords - overlapWords);
+        int capacity = words / step + 2;
+        int[] starts = new int[capacity];
+        int[] ends = new int[capacity];
+        int chunks = 0;
+
+        int first = 0;
+        while (first < words) {
+            int last = Math.min(first + chunkWords, words);
+
+            if (last < words) {
+                int earliest = first + chunkWords * 4 / 5;
+                for (int w = last - 1; w >= earliest; w--) {
+                    char c = text.charAt(wordEnds[w] - 1);
+                    if (c == '.' || c == '!' || c == '?') {
+                        last = w + 1;
+                        break;
+                    }
+                }
+            }
+
+            if (chunks == starts.length) {
+                starts = Arrays.copyOf(starts, chunks * 2);
+                ends = Arrays.copyOf(ends, chunks * 2);
+            }
+            starts[chunks] = wordStarts[first];
+            ends[chunks] = wordEnds[last - 1];
+            chunks++;
+
+            if (last >= words) {
+                break;
+            }
+            first = Math.max(last - overlapWords, first + 1);
+        }
+
+        return new int[][]{Arrays.copyOf(starts, chunks), Arrays.copyOf(ends, chunks)};
+    }
+}
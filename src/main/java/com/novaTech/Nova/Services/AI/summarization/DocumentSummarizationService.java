@@ -0,0 +1,349 @@
+package com.novaTech.Nova.Services.AI.summarization;
+
+import com.novaTech.Nova.DTO.AiModelResponse;
+import com.novaTech.Nova.DTO.SummaryProgressEvent;
+import com.novaTech.Nova.Services.AI.context.TokenEstimator;
+import com.novaTech.Nova.Services.HuggingFaceAiService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Map-reduce summarization for documents of any length.
+ *
+ * The text is split into token-bounded sections that are summarized in parallel (map), the
+ * partial summaries are merged in groups until they fit one prompt (hierarchical reduce), and
+ * a final call writes the summary in the requested style. Section and merge results are
+ * style-independent and cached by a hash of their prompt, so re-running a document or asking
+ * for another style only pays for the final call.
+ *
+ * All summarization calls on the node share one queueing limit below the provider bulkhead,
+ * so a burst of large documents waits for its turn instead of having sections rejected.
+ */
+@Slf4j
+@Service
+public class DocumentSummarizationService {
+
+    public static final String CHUNK_SUMMARY_CACHE = "documentChunkSummaries";
+
+    private static final String MAP_PROMPT =
+            "Summarize this section of a larger document as concise bullet points. Keep key facts, " +
+            "figures, names, decisions and conclusions. Do not add an introduction.\n\nSection:\n";
+
+    private static final String REDUCE_PROMPT =
+            "These are summaries of consecutive parts of one document. Merge them into a single list of " +
+            "concise bullet points, removing repetition and keeping key facts, figures and conclusions.\n\nSummaries:\n";
+
+    private static final String FALLBACK_SUFFIX = " (Auto-generated summary - AI model unavailable)";
+
+    private static final Sinks.EmitFailureHandler EMIT_RETRY = Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1));
+
+    private final HuggingFaceAiService aiService;
+    private final TokenEstimator tokenEstimator;
+    private final SummarizationProperties properties;
+    private final CacheManager cacheManager;
+    private final String summarizationModel;
+    private final SummarizationCallLimiter callLimiter;
+
+    public DocumentSummarizationService(HuggingFaceAiService aiService,
+                                        TokenEstimator tokenEstimator,
+                                        SummarizationProperties properties,
+                                        CacheManager cacheManager,
+                                        @Value("${huggingface.models.summarization}") String summarizationModel) {
+        this.aiService = aiService;
+        this.tokenEstimator = tokenEstimator;
+        this.properties = properties;
+        this.cacheManager = cacheManager;
+        this.summarizationModel = summarizationModel;
+        this.callLimiter = new SummarizationCallLimiter(properties.getNodeConcurrency());
+    }
+
+    // =========================================================
+    // PUBLIC API
+    // =========================================================
+
+    /**
+     * Summarize the text, blocking until done. {@code style} is an optional output instruction.
+     */
+    public AiModelResponse summarize(String text, String style) {
+        return summarize(text, style, event -> { }).block();
+    }
+
+    /**
+     * Summarize the text, emitting progress events and finally a DONE event with the summary.
+     */
+    public Flux<SummaryProgressEvent> summarizeStream(String text, String style) {
+        return Flux.defer(() -> {
+            Sinks.Many<SummaryProgressEvent> progress = Sinks.many().unicast().onBackpressureBuffer();
+
+            Mono<SummaryProgressEvent> done = summarize(text, style, event -> progress.emitNext(event, EMIT_RETRY))
+                    .map(response -> SummaryProgressEvent.builder()
+                            .stage("DONE")
+                            .summary(response.getResponse())
+                            .build())
+                    .doFinally(signal -> progress.emitComplete(EMIT_RETRY));
+
+            return Flux.merge(progress.asFlux(), done);
+        });
+    }
+
+    /**
+     * Shrink the text to roughly {@code targetTokens} of notes covering the whole document,
+     * for prompts (like multi-feature analysis) that need the full document but not its length.
+     */
+    public String condense(String text, int targetTokens) {
+        if (tokenEstimator.estimate(text) <= targetTokens) {
+            return text;
+        }
+        List<String> notes = condense(split(text), targetTokens, event -> { }).block();
+        return notes != null ? String.join("\n\n", notes) : text;
+    }
+
+    // =========================================================
+    // PIPELINE
+    // =========================================================
+
+    private Mono<AiModelResponse> summarize(String text, String style, Consumer<SummaryProgressEvent> progress) {
+        List<String> sections = split(text);
+        log.info("Summarizing {} chars in {} sections", text.length(), sections.size());
+
+        progress.accept(SummaryProgressEvent.builder()
+                .stage("STARTED")
+                .level(0)
+                .completed(0)
+                .total(sections.size())
+                .build());
+
+        if (sections.size() == 1) {
+            return finalSummary(sections, style, true);
+        }
+        return condense(sections, properties.getReduceInputTokens(), progress)
+                .flatMap(notes -> finalSummary(notes, style, false));
+    }
+
+    /**
+     * Map every section to a partial summary, then reduce until the parts fit {@code budgetTokens}.
+     */
+    private Mono<List<String>> condense(List<String> sections, int budgetTokens, Consumer<SummaryProgressEvent> progress) {
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger cached = new AtomicInteger();
+        int total = sections.size();
+
+        return Flux.fromIterable(sections)
+                .flatMapSequential(section -> cachedCompletion(MAP_PROMPT + section, section, cached)
+                        .doOnNext(partial -> progress.accept(SummaryProgressEvent.builder()
+                                .stage("MAP")
+                                .level(0)
+                                .completed(completed.incrementAndGet())
+                                .total(total)
+                                .cachedParts(cached.get())
+                                .build())), properties.getMapConcurrency())
+                .collectList()
+                .flatMap(partials -> reduce(partials, budgetTokens, 1, progress));
+    }
+
+    private Mono<List<String>> reduce(List<String> parts, int budgetTokens, int level, Consumer<SummaryProgressEvent> progress) {
+        if (tokenEstimator.estimate(String.join("\n\n", parts)) <= budgetTokens) {
+            return Mono.just(parts);
+        }
+        if (level > properties.getMaxReduceLevels()) {
+            log.warn("Summary still over budget after {} reduce levels, truncating", properties.getMaxReduceLevels());
+            return Mono.just(List.of(tokenEstimator.truncateToTokens(String.join("\n\n", parts), budgetTokens)));
+        }
+
+        List<String> groups = group(parts, Math.min(budgetTokens, properties.getReduceInputTokens()));
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger cached = new AtomicInteger();
+
+        return Flux.fromIterable(groups)
+                .flatMapSequential(group -> cachedCompletion(REDUCE_PROMPT + group, group, cached)
+                        .doOnNext(merged -> progress.accept(SummaryProgressEvent.builder()
+                                .stage("REDUCE")
+                                .level(level)
+                                .completed(completed.incrementAndGet())
+                                .total(groups.size())
+                                .cachedParts(cached.get())
+                                .build())), properties.getMapConcurrency())
+                .collectList()
+                .flatMap(merged -> reduce(merged, budgetTokens, level + 1, progress));
+    }
+
+    private Mono<AiModelResponse> finalSummary(List<String> notes, String style, boolean rawText) {
+        String joined = String.join("\n\n", notes);
+        String instruction = style != null && !style.isBlank()
+                ? "Output style: " + style.trim()
+                : "Keep it concise: 2-3 sentences for a short text, a few short paragraphs for a long one.";
+        String prompt = (rawText
+                ? "Summarize the following document. " + instruction + "\n\nDocument:\n"
+                : "Write a summary of the whole document from these notes on its consecutive parts. "
+                        + instruction + "\n\nNotes:\n")
+                + joined;
+
+        String key = cacheKey(prompt, properties.getFinalMaxTokens());
+        String hit = cacheGet(key);
+        if (hit != null) {
+            return Mono.just(response(hit, summarizationModel));
+        }
+
+        return callLimiter.run(() -> aiService.summarizeAsync(prompt, properties.getFinalMaxTokens()))
+                .doOnNext(summary -> cachePut(key, summary))
+                .map(summary -> response(summary, summarizationModel))
+                .onErrorResume(error -> {
+                    log.error("Final summarization failed, falling back to extractive summary: {}", error.getMessage());
+                    AiModelResponse fallback = response(extractive(joined) + FALLBACK_SUFFIX, "Extractive Fallback");
+                    fallback.setDegraded(true);
+                    return Mono.just(fallback);
+                });
+    }
+
+    /**
+     * Style-independent intermediate step, served from the chunk summary cache when possible.
+     * Falls back to an extractive summary of the input so one failed section can't sink the
+     * whole document; fallbacks are not cached.
+     */
+    private Mono<String> cachedCompletion(String prompt, String source, AtomicInteger cachedCounter) {
+        String key = cacheKey(prompt, properties.getPartialMaxTokens());
+        String hit = cacheGet(key);
+        if (hit != null) {
+            cachedCounter.incrementAndGet();
+            return Mono.just(hit);
+        }
+
+        return callLimiter.run(() -> aiService.summarizeAsync(prompt, properties.getPartialMaxTokens()))
+                .doOnNext(summary -> cachePut(key, summary))
+                .onErrorResume(error -> {
+                    log.warn("Partial summary failed, using extractive fallback: {}", error.getMessage());
+                    return Mono.just(extractive(source));
+                });
+    }
+
+    // =========================================================
+    // SPLITTING
+    // =========================================================
+
+    /**
+     * Split on paragraphs, then sentences, packing units into sections of at most
+     * {@code chunkTokens}. A single overlong sentence is hard-cut.
+     */
+    private List<String> split(String text) {
+        int limit = properties.getChunkTokens();
+        List<String> sections = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int currentTokens = 0;
+
+        for (String paragraph : text.split("\\n\\s*\\n")) {
+            List<String> units = tokenEstimator.estimate(paragraph) <= limit
+                    ? List.of(paragraph)
+                    : sentences(paragraph, limit);
+
+            for (String unit : units) {
+                int unitTokens = tokenEstimator.estimate(unit);
+                if (currentTokens + unitTokens > limit && !current.isEmpty()) {
+                    sections.add(current.toString().trim());
+                    current.setLength(0);
+                    currentTokens = 0;
+                }
+                current.append(unit).append("\n\n");
+                currentTokens += unitTokens;
+            }
+        }
+        if (!current.toString().isBlank()) {
+            sections.add(current.toString().trim());
+        }
+        return sections.isEmpty() ? List.of(text) : sections;
+    }
+
+    private List<String> sentences(String paragraph, int limit) {
+        int maxChars = limit * 3;
+        List<String> units = new ArrayList<>();
+        for (String sentence : paragraph.split("(?<=[.!?])\\s+")) {
+            for (int start = 0; start < sentence.length(); start += maxChars) {
+                units.add(sentence.substring(start, Math.min(sentence.length(), start + maxChars)));
+            }
+        }
+        return units;
+    }
+
+    private List<String> group(List<String> parts, int groupTokens) {
+        List<String> groups = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int currentTokens = 0;
+        for (String part : parts) {
+            int partTokens = tokenEstimator.estimate(part);
+            if (currentTokens + partTokens > groupTokens && !current.isEmpty()) {
+                groups.add(current.toString().trim());
+                current.setLength(0);
+                currentTokens = 0;
+            }
+            current.append(part).append("\n\n");
+            currentTokens += partTokens;
+        }
+        if (!current.isEmpty()) {
+            groups.add(current.toString().trim());
+        }
+        return groups;
+    }
+
+    // =========================================================
+    // HELPERS
+    // =========================================================
+
+    private String extractive(String text) {
+        StringBuilder summary = new StringBuilder();
+        int count = 0;
+        for (String sentence : text.split("(?<=[.!?])\\s+")) {
+            if (sentence.length() > 20) {
+                summary.append(sentence.trim()).append(' ');
+                if (++count == 4) {
+                    break;
+                }
+            }
+        }
+        String result = summary.toString().trim();
+        return result.isEmpty() ? text.substring(0, Math.min(200, text.length())) + "..." : result;
+    }
+
+    private AiModelResponse response(String summary, String model) {
+        return AiModelResponse.builder()
+                .response(summary)
+                .modelUsed(model)
+                .build();
+    }
+
+    private String cacheKey(String prompt, int maxTokens) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(prompt.getBytes(StandardCharsets.UTF_8));
+            return summarizationModel + ":" + maxTokens + ":" + HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String cacheGet(String key) {
+        Cache cache = cacheManager.getCache(CHUNK_SUMMARY_CACHE);
+        return cache != null ? cache.get(key, String.class) : null;
+    }
+
+    private void cachePut(String key, String summary) {
+        Cache cache = cacheManager.getCache(CHUNK_SUMMARY_CACHE);
+        if (cache != null) {
+            cache.put(key, summary);
+        }
+    }
+}
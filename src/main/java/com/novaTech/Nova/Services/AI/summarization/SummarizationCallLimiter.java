@@ -0,0 +1,83 @@
+package com.novaTech.Nova.Services.AI.summarization;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Node-wide cap on summarization calls in flight. Calls over the cap wait in FIFO order
+ * instead of reaching the provider bulkhead, which rejects rather than queues.
+ * A caller that cancels while waiting gives up its place without starting the call.
+ */
+class SummarizationCallLimiter {
+
+    private final int limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+
+    SummarizationCallLimiter(int limit) {
+        this.limit = Math.max(1, limit);
+    }
+
+    <T> Mono<T> run(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            Sinks.One<T> result = Sinks.one();
+            AtomicBoolean cancelled = new AtomicBoolean();
+            AtomicReference<Disposable> running = new AtomicReference<>();
+
+            waiting.add(() -> {
+                if (cancelled.get()) {
+                    // Only ever run from drain(), which moves on to the next caller
+                    inFlight.decrementAndGet();
+                    return;
+                }
+                running.set(Mono.defer(call)
+                        .doFinally(signal -> release())
+                        .subscribe(result::tryEmitValue, result::tryEmitError, result::tryEmitEmpty));
+                if (cancelled.get()) {
+                    running.get().dispose();
+                }
+            });
+            drain();
+
+            return result.asMono().doOnCancel(() -> {
+                cancelled.set(true);
+                Disposable started = running.get();
+                if (started != null) {
+                    started.dispose();
+                }
+            });
+        });
+    }
+
+    private void release() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    private void drain() {
+        while (!waiting.isEmpty()) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Runnable next = waiting.poll();
+            if (next == null) {
+                // Another thread took it, give the slot back and look again
+                inFlight.decrementAndGet();
+                continue;
+            }
+            next.run();
+        }
+    }
+}
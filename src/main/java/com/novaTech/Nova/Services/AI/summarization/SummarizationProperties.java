@@ -0,0 +1,30 @@
+package com.novaTech.Nova.Services.AI.summarization;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ai.summarization")
+public class SummarizationProperties {
+    // token size of the sections summarized in the map stage
+    private int chunkTokens = 1500;
+
+    // parallel calls per summarization, kept below the provider bulkhead
+    private int mapConcurrency = 4;
+
+    // calls in flight across all summarizations on this node, the rest wait their turn;
+    // kept below the DOCUMENT_AI bulkhead so single-shot document calls still get through
+    private int nodeConcurrency = 16;
+
+    // partial summaries are merged in groups of at most this many tokens
+    private int reduceInputTokens = 3000;
+
+    // reply limits
+    private int partialMaxTokens = 250;
+    private int finalMaxTokens = 400;
+
+    // safety net against a reduce that does not shrink
+    private int maxReduceLevels = 5;
+}
@@ -0,0 +1,42 @@
+package com.novaTech.Nova.Services;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers side effects (cache updates, peer notifications, WebSocket pushes) until the current
+ * transaction has committed, so a rolled-back change is never seen outside it.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Run the action once the current transaction commits, or right away when there is none.
+     * Nothing runs if the transaction rolls back.
+     */
+    public static void run(Runnable action) {
+        if (!runIfInTransaction(action)) {
+            action.run();
+        }
+    }
+
+    /**
+     * Run the action once the current transaction commits; does nothing outside a transaction.
+     *
+     * @return whether a transaction was active
+     */
+    public static boolean runIfInTransaction(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+        return true;
+    }
+}
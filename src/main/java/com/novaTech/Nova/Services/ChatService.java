@@ -3,6 +3,8 @@ package com.novaTech.Nova.Services;
 import com.novaTech.Nova.DTO.ChatHistoryResponse;
 import com.novaTech.Nova.DTO.ChatRequest;
 import com.novaTech.Nova.DTO.ChatResponse;
+import com.novaTech.Nova.DTO.ChatSummaryResponse;
+import com.novaTech.Nova.DTO.CursorPage;
 import com.novaTech.Nova.DTO.MessageResponse;
 import com.novaTech.Nova.Entities.AI.Chat;
 import com.novaTech.Nova.Entities.AI.Message;
@@ -10,21 +12,30 @@ import com.novaTech.Nova.Entities.AI.Repo.ChatRepository;
 import com.novaTech.Nova.Entities.AI.Repo.MessageRepository;
 import com.novaTech.Nova.Entities.Enums.Model;
 import com.novaTech.Nova.Entities.User;
-import com.novaTech.Nova.Services.AI.CerebrasService;
-import com.novaTech.Nova.Services.AI.LLMService;
+import com.novaTech.Nova.Services.AI.AiCompletionService;
 import com.novaTech.Nova.Services.AI.SearchService;
+import com.novaTech.Nova.Services.AI.context.ConversationContextBuilder;
+import com.novaTech.Nova.Services.AI.resilience.AiProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,9 +46,11 @@ public class ChatService {
 
     private final ChatRepository chatRepository;
     private final MessageRepository messageRepository;
-    private final LLMService llmService;
-    private final CerebrasService cerebrasService;
     private final SearchService searchService;
+    private final AiCompletionService aiCompletionService;
+    private final ConversationContextBuilder contextBuilder;
+
+    private static final int MAX_PAGE_SIZE = 100;
 
     /**
      * Process a chat message - creates chat if needed, saves messages, gets AI response
@@ -63,17 +76,17 @@ public class ChatService {
         Message userMessage = saveMessage(chat, request.getMessage(), Message.MessageRole.USER);
 
         // 3. Build context from chat history
-        String prompt = buildPromptWithContext(chat);
+        String prompt = buildPromptWithContext(chat, request.getModel());
 
         // 4. Get AI response based on selected model
         if (request.getModel() == Model.LLM) {
-            return llmService.generateText(prompt)
+            return generateWithFailover(AiProvider.LLM, prompt)
                     .flatMap(aiResponse -> {
                         // 5. Save AI response
                         Message assistantMessage = saveMessage(chat, aiResponse, Message.MessageRole.ASSISTANT);
 
                         // 6. Update chat title if it's the first message
-                        if (chat.getMessages().size() == 2) {
+                        if (chat.getMessageCount() == 2) {
                             updateChatTitle(chat, request.getMessage());
                         }
 
@@ -84,33 +97,31 @@ public class ChatService {
                                 .response(aiResponse)
                                 .messageId(assistantMessage.getId())
                                 .timestamp(assistantMessage.getCreatedAt())
-                                .messageCount(chat.getMessages().size())
+                                .messageCount(chat.getMessageCount())
                                 .build());
                     });
 
         } else if (request.getModel() == Model.CEREBRAS) {
-            return Mono.fromSupplier(() -> {
-                // Generate AI response using CerebrasService
-                String aiResponse = cerebrasService.generateText(prompt);
-
-                // Save AI response
-                Message assistantMessage = saveMessage(chat, aiResponse, Message.MessageRole.ASSISTANT);
+            return generateWithFailover(AiProvider.CEREBRAS, prompt)
+                    .map(aiResponse -> {
+                        // Save AI response
+                        Message assistantMessage = saveMessage(chat, aiResponse, Message.MessageRole.ASSISTANT);
 
-                // Update chat title if it's the first message
-                if (chat.getMessages().size() == 2) {
-                    updateChatTitle(chat, request.getMessage());
-                }
+                        // Update chat title if it's the first message
+                        if (chat.getMessageCount() == 2) {
+                            updateChatTitle(chat, request.getMessage());
+                        }
 
-                // Build and return ChatResponse
-                return ChatResponse.builder()
-                        .chatId(chat.getId())
-                        .title(chat.getTitle())
-                        .response(aiResponse)
-                        .messageId(assistantMessage.getId())
-                        .timestamp(assistantMessage.getCreatedAt())
-                        .messageCount(chat.getMessages().size())
-                        .build();
-            });
+                        // Build and return ChatResponse
+                        return ChatResponse.builder()
+                                .chatId(chat.getId())
+                                .title(chat.getTitle())
+                                .response(aiResponse)
+                                .messageId(assistantMessage.getId())
+                                .timestamp(assistantMessage.getCreatedAt())
+                                .messageCount(chat.getMessageCount())
+                                .build();
+                    });
 
         } else if (request.getModel() == Model.SEARCH) {
             return Mono.fromSupplier(() -> {
@@ -121,7 +132,7 @@ public class ChatService {
                 Message assistantMessage = saveMessage(chat, searchResults, Message.MessageRole.ASSISTANT);
 
                 // Update chat title if it's the first message
-                if (chat.getMessages().size() == 2) {
+                if (chat.getMessageCount() == 2) {
                     updateChatTitle(chat, request.getMessage());
                 }
 
@@ -132,17 +143,17 @@ public class ChatService {
                         .response(searchResults)
                         .messageId(assistantMessage.getId())
                         .timestamp(assistantMessage.getCreatedAt())
-                        .messageCount(chat.getMessages().size())
+                        .messageCount(chat.getMessageCount())
                         .build();
             });
 
         } else {
             // Default to LLM
-            return llmService.generateText(prompt)
+            return generateWithFailover(AiProvider.LLM, prompt)
                     .flatMap(aiResponse -> {
                         Message assistantMessage = saveMessage(chat, aiResponse, Message.MessageRole.ASSISTANT);
 
-                        if (chat.getMessages().size() == 2) {
+                        if (chat.getMessageCount() == 2) {
                             updateChatTitle(chat, request.getMessage());
                         }
 
@@ -152,7 +163,7 @@ public class ChatService {
                                 .response(aiResponse)
                                 .messageId(assistantMessage.getId())
                                 .timestamp(assistantMessage.getCreatedAt())
-                                .messageCount(chat.getMessages().size())
+                                .messageCount(chat.getMessageCount())
                                 .build());
                     });
         }
@@ -178,13 +189,13 @@ public class ChatService {
         Message userMessage = saveMessage(chat, request.getMessage(), Message.MessageRole.USER);
 
         // 3. Build context
-        String prompt = buildPromptWithContext(chat);
+        String prompt = buildPromptWithContext(chat, request.getModel());
 
         // 4. Stream AI response and collect it
         StringBuilder fullResponse = new StringBuilder();
 
         if (request.getModel() == Model.LLM) {
-            return llmService.generateTextStream(prompt)
+            return streamWithFailover(AiProvider.LLM, prompt)
                     .doOnNext(chunk -> {
                         fullResponse.append(chunk);
                         log.debug("Streaming chunk: {}", chunk);
@@ -194,7 +205,7 @@ public class ChatService {
                         saveMessage(chat, fullResponse.toString(), Message.MessageRole.ASSISTANT);
 
                         // Update title if first message
-                        if (chat.getMessages().size() == 2) {
+                        if (chat.getMessageCount() == 2) {
                             updateChatTitle(chat, request.getMessage());
                         }
 
@@ -204,7 +215,7 @@ public class ChatService {
         } else if (request.getModel() == Model.CEREBRAS) {
             StringBuilder fullResponse1 = new StringBuilder();
 
-            return cerebrasService.generateTextStream(prompt)
+            return streamWithFailover(AiProvider.CEREBRAS, prompt)
                     .doOnNext(chunk -> {
                         fullResponse1.append(chunk);
                         log.debug("Streaming chunk: {}", chunk);
@@ -214,7 +225,7 @@ public class ChatService {
                         saveMessage(chat, fullResponse1.toString(), Message.MessageRole.ASSISTANT);
 
                         // Update chat title if first message
-                        if (chat.getMessages().size() == 2) {
+                        if (chat.getMessageCount() == 2) {
                             updateChatTitle(chat, request.getMessage());
                         }
 
@@ -234,7 +245,7 @@ public class ChatService {
                         saveMessage(chat, searchResponse.toString(), Message.MessageRole.ASSISTANT);
 
                         // Update chat title if first message
-                        if (chat.getMessages().size() == 2) {
+                        if (chat.getMessageCount() == 2) {
                             updateChatTitle(chat, request.getMessage());
                         }
 
@@ -243,7 +254,7 @@ public class ChatService {
 
         } else {
             // Default to LLM
-            return llmService.generateTextStream(prompt)
+            return streamWithFailover(AiProvider.LLM, prompt)
                     .doOnNext(chunk -> {
                         fullResponse.append(chunk);
                         log.debug("Streaming chunk: {}", chunk);
@@ -251,7 +262,7 @@ public class ChatService {
                     .doOnComplete(() -> {
                         saveMessage(chat, fullResponse.toString(), Message.MessageRole.ASSISTANT);
 
-                        if (chat.getMessages().size() == 2) {
+                        if (chat.getMessageCount() == 2) {
                             updateChatTitle(chat, request.getMessage());
                         }
 
@@ -260,6 +271,29 @@ public class ChatService {
         }
     }
 
+    /**
+     * Generate a reply on the given provider, failing over along the configured chain.
+     * When every provider fails the error is returned as text, like LLMService always did.
+     */
+    private Mono<String> generateWithFailover(AiProvider provider, String prompt) {
+        return aiCompletionService.complete(provider, prompt)
+                .onErrorResume(error -> {
+                    log.error("AI generation failed on all providers: {}", error.getMessage());
+                    return Mono.just("Error: " + error.getMessage());
+                });
+    }
+
+    /**
+     * Streaming counterpart of {@link #generateWithFailover}.
+     */
+    private Flux<String> streamWithFailover(AiProvider provider, String prompt) {
+        return aiCompletionService.stream(provider, prompt)
+                .onErrorResume(error -> {
+                    log.error("AI streaming failed on all providers: {}", error.getMessage());
+                    return Flux.just("Error: " + error.getMessage());
+                });
+    }
+
     /**
      * Get or create a chat for the user
      */
@@ -288,6 +322,7 @@ public class ChatService {
                 .title("New Chat")
                 .isActive(true)
                 .model(model)
+                .messageCount(0)
                 .build();
 
         return chatRepository.save(chat);
@@ -301,37 +336,27 @@ public class ChatService {
                 .chat(chat)
                 .content(content)
                 .role(role)
+                .tokenCount(contextBuilder.countTokens(content))
                 .build();
 
         Message saved = messageRepository.save(message);
-        chatRepository.save(chat);
+
+        // Count in the database (atomic) and mirror on the entity so later saves write the same values
+        chatRepository.recordMessage(chat.getId(), saved.getCreatedAt());
+        chat.setMessageCount((chat.getMessageCount() != null ? chat.getMessageCount() : 0) + 1);
+        chat.setLastMessageAt(saved.getCreatedAt());
+        chat.setUpdatedAt(saved.getCreatedAt());
 
         log.info("Saved {} message to chat {}", role, chat.getId());
         return saved;
     }
 
     /**
-     * Build prompt with conversation context (last 10 messages)
+     * Build prompt with conversation context: recent messages within the model's token
+     * budget, plus the rolling summary of older turns
      */
-    private String buildPromptWithContext(Chat chat) {
-        List<Message> recentMessages = messageRepository
-                .findTop10ByChatOrderByCreatedAtDesc(chat);
-
-        if (recentMessages.isEmpty()) {
-            return "";
-        }
-
-        // Reverse to get chronological order
-        StringBuilder contextBuilder = new StringBuilder();
-        for (int i = recentMessages.size() - 1; i >= 0; i--) {
-            Message msg = recentMessages.get(i);
-            contextBuilder.append(msg.getRole().name())
-                    .append(": ")
-                    .append(msg.getContent())
-                    .append("\n");
-        }
-
-        return contextBuilder.toString();
+    private String buildPromptWithContext(Chat chat, Model model) {
+        return contextBuilder.buildPrompt(chat, model);
     }
 
     /**
@@ -346,24 +371,81 @@ public class ChatService {
     }
 
     /**
-     * Get all chats for a user
+     * Get all chats for a user (one projection query, no messages loaded)
      */
     @Transactional(readOnly = true)
     @Cacheable(key = "'user:' + #user.id + '_chats'")
     public List<ChatHistoryResponse> getUserChats(User user) {
-        List<Chat> chats = chatRepository.findByUserAndIsActiveTrueOrderByUpdatedAtDesc(user);
-
-        return chats.stream()
-                .map(chat -> ChatHistoryResponse.builder()
-                        .chatId(chat.getId())
-                        .title(chat.getTitle())
-                        .createdAt(chat.getCreatedAt())
-                        .updatedAt(chat.getUpdatedAt())
-                        .messageCount(chat.getMessages().size())
-                        .build())
+        return chatRepository.findSummaries(user.getId(), Pageable.unpaged()).stream()
+                .map(this::toHistoryResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * One page of the user's chats, most recently active first
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ChatSummaryResponse> getUserChatsPage(User user, String cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        PageRequest page = PageRequest.of(0, size + 1);
+
+        List<ChatSummaryResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = chatRepository.findSummaries(user.getId(), page);
+        } else {
+            int separator = cursor.lastIndexOf('_');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            try {
+                rows = chatRepository.findSummariesAfter(user.getId(),
+                        LocalDateTime.parse(cursor.substring(0, separator)),
+                        Long.parseLong(cursor.substring(separator + 1)),
+                        page);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<ChatSummaryResponse> items = hasMore ? rows.subList(0, size) : rows;
+        ChatSummaryResponse last = items.isEmpty() ? null : items.get(items.size() - 1);
+
+        return CursorPage.<ChatSummaryResponse>builder()
+                .items(items)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? last.getUpdatedAt() + "_" + last.getChatId() : null)
+                .build();
+    }
+
+    /**
+     * One page of a chat's messages, oldest first within the page. Without a cursor this is
+     * the latest page; pass {@code nextCursor} to scroll further back.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<MessageResponse> getChatMessages(Long chatId, User user, Long before, int limit) {
+        chatRepository.findByIdAndUserAndIsActiveTrue(chatId, user)
+                .orElseThrow(() -> new RuntimeException("Chat not found"));
+
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<Message> rows = before == null
+                ? messageRepository.findByChat_IdOrderByIdDesc(chatId, page)
+                : messageRepository.findByChat_IdAndIdLessThanOrderByIdDesc(chatId, before, page);
+
+        boolean hasMore = rows.size() > size;
+        List<MessageResponse> items = new ArrayList<>(size);
+        for (int i = Math.min(rows.size(), size) - 1; i >= 0; i--) {
+            items.add(MessageResponse.fromEntity(rows.get(i)));
+        }
+
+        return CursorPage.<MessageResponse>builder()
+                .items(items)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? String.valueOf(items.get(0).getId()) : null)
+                .build();
+    }
+
     /**
      * Get specific chat with full message history
      */
@@ -419,44 +501,73 @@ public class ChatService {
         Chat chat = chatRepository.findByIdAndUserAndIsActiveTrue(chatId, user)
                 .orElseThrow(() -> new RuntimeException("Chat not found"));
 
-        messageRepository.deleteAll(chat.getMessages());
-        chat.getMessages().clear();
+        // Move the summary cursor past the deleted messages so an in-flight refresh can't restore them
+        Long maxMessageId = messageRepository.findMaxIdByChatId(chatId);
+        Long lastMessageId = maxMessageId != null ? maxMessageId : chat.getSummarizedUpToMessageId();
+
+        messageRepository.deleteByChatId(chatId);
+        chat.setMessageCount(0);
+        chat.setLastMessageAt(null);
         chat.setTitle("New Chat");
+        chat.setContextSummary(null);
+        chat.setSummarizedUpToMessageId(lastMessageId);
         chatRepository.save(chat);
         log.info("Cleared all messages from chat {}", chatId);
     }
 
     /**
-     * Get all chat history for a user with message details
+     * Get all chat history for a user, every chat with all of its messages.
+     *
+     * @deprecated loads every message the user has; page through the chats with
+     * {@link #getUserChatsPage} (GET /api/v1/chat/chats) and through each chat's messages with
+     * {@link #getChatMessages} (GET /api/v1/chat/{chatId}/messages) instead
      */
+    @Deprecated
     @Transactional(readOnly = true)
     @Cacheable(key = "'user:' + #user.id + '_chatHistory'")
     public List<ChatHistoryResponse> getUserChatHistory(User user) {
         log.info("Fetching chat history for user: {}", user.getId());
 
-        List<Chat> chats = chatRepository.findByUserAndIsActiveTrueOrderByUpdatedAtDesc(user);
-
+        List<ChatHistoryResponse> chats = getUserChats(user);
         if (chats.isEmpty()) {
             log.info("No chat history found for user: {}", user.getId());
             return List.of();
         }
 
-        return chats.stream()
-                .map(chat -> {
-                    List<MessageResponse> messages = chat.getMessages().stream()
-                            .map(MessageResponse::fromEntity)
-                            .collect(Collectors.toList());
-
-                    return ChatHistoryResponse.builder()
-                            .chatId(chat.getId())
-                            .title(chat.getTitle())
-                            .createdAt(chat.getCreatedAt())
-                            .updatedAt(chat.getUpdatedAt())
-                            .messageCount(messages.size())
-                            .messages(messages)
-                            .build();
-                })
-                .collect(Collectors.toList());
+        // One query for the messages of all chats instead of one per chat
+        Map<Long, List<MessageResponse>> messagesByChat = messageRepository
+                .findByChat_IdInOrderByCreatedAtAscIdAsc(chats.stream().map(ChatHistoryResponse::getChatId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(message -> message.getChat().getId(),
+                        Collectors.mapping(MessageResponse::fromEntity, Collectors.toList())));
+
+        chats.forEach(chat -> chat.setMessages(messagesByChat.getOrDefault(chat.getChatId(), List.of())));
+        return chats;
+    }
+
+    /**
+     * Backfill the message counters of chats created before they existed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMessageCounters() {
+        try {
+            int updated = chatRepository.backfillMessageCounters();
+            if (updated > 0) {
+                log.info("Backfilled message counters on {} chats", updated);
+            }
+        } catch (Exception e) {
+            log.warn("Message counter backfill failed: {}", e.getMessage());
+        }
+    }
+
+    ChatHistoryResponse toHistoryResponse(ChatSummaryResponse summary) {
+        return ChatHistoryResponse.builder()
+                .chatId(summary.getChatId())
+                .title(summary.getTitle())
+                .createdAt(summary.getCreatedAt())
+                .updatedAt(summary.getUpdatedAt())
+                .messageCount(summary.getMessageCount())
+                .build();
     }
 
     /**
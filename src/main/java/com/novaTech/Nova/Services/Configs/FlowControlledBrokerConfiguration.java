@@ -0,0 +1,65 @@
+package com.novaTech.Nova.Services.Configs;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.config.annotation.DelegatingWebSocketMessageBrokerConfiguration;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+/**
+ * What {@code @EnableWebSocketMessageBroker} imports, with every session given the
+ * flow-controlled outbound queues of {@link OutboundFlowControl}. The broker itself is
+ * configured in {@link WebSocketConfig}.
+ */
+@Configuration
+public class FlowControlledBrokerConfiguration extends DelegatingWebSocketMessageBrokerConfiguration {
+
+    private OutboundFlowControl flowControl;
+
+    @Autowired
+    public void setFlowControl(OutboundFlowControl flowControl) {
+        this.flowControl = flowControl;
+    }
+
+    @Bean
+    @Override
+    public WebSocketHandler subProtocolWebSocketHandler(AbstractSubscribableChannel clientInboundChannel,
+                                                        AbstractSubscribableChannel clientOutboundChannel) {
+        return new FlowControlledWebSocketHandler(clientInboundChannel, clientOutboundChannel, flowControl);
+    }
+
+    static class FlowControlledWebSocketHandler extends SubProtocolWebSocketHandler {
+
+        private final OutboundFlowControl flowControl;
+
+        FlowControlledWebSocketHandler(SubscribableChannel clientInboundChannel,
+                                       SubscribableChannel clientOutboundChannel,
+                                       OutboundFlowControl flowControl) {
+            super(clientInboundChannel, clientOutboundChannel);
+            this.flowControl = flowControl;
+        }
+
+        @Override
+        public void handleMessage(Message<?> message) throws MessagingException {
+            flowControl.handling(message, () -> super.handleMessage(message));
+        }
+
+        @Override
+        protected WebSocketSession decorateSession(WebSocketSession session) {
+            return flowControl.decorate(session, getSendTimeLimit());
+        }
+
+        @Override
+        public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+            super.afterConnectionClosed(session, closeStatus);
+            flowControl.sessionClosed(session.getId());
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.novaTech.Nova.Services.Configs;
+
+import com.novaTech.Nova.Services.Configs.OutboundFlowControl.FrameType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Takes the place of Spring's ConcurrentWebSocketSessionDecorator: one thread at a time writes
+ * to the client while other threads only queue their frame and return.
+ *
+ * Chat and control frames share one FIFO queue and are always written before ephemeral frames.
+ * A full ephemeral queue drops its oldest frame; a full chat queue drops its oldest chat frame
+ * or closes the session, per the overflow policy. A write running longer than the send time
+ * limit closes the session.
+ */
+@Slf4j
+final class FlowControlledSession extends WebSocketSessionDecorator {
+
+    private record Frame(WebSocketMessage<?> message, FrameType type) {
+    }
+
+    private final int sendTimeLimit;
+    private final OutboundFlowControl flowControl;
+
+    // chat and control frames, in order
+    private final Queue<Frame> chat = new ConcurrentLinkedQueue<>();
+    private final Queue<Frame> ephemeral = new ConcurrentLinkedQueue<>();
+    private final Map<FrameType, AtomicInteger> queued = new EnumMap<>(FrameType.class);
+
+    private final Lock flushLock = new ReentrantLock();
+    private volatile long sendStartTime;
+    private volatile boolean limitExceeded;
+
+    FlowControlledSession(WebSocketSession delegate, int sendTimeLimit, OutboundFlowControl flowControl) {
+        super(delegate);
+        this.sendTimeLimit = sendTimeLimit;
+        this.flowControl = flowControl;
+        for (FrameType type : FrameType.values()) {
+            queued.put(type, new AtomicInteger());
+        }
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (limitExceeded || !isOpen()) {
+            return;
+        }
+
+        enqueue(new Frame(message, flowControl.currentFrameType()));
+        do {
+            if (!tryFlush()) {
+                checkSendTime();
+                break;
+            }
+        } while (hasQueued() && !limitExceeded);
+    }
+
+    int queued(FrameType type) {
+        return queued.get(type).get();
+    }
+
+    void discardQueued() {
+        while (poll() != null) {
+            // drained one by one so the counts stay right next to a running flush
+        }
+    }
+
+    // =========================================================
+    // HELPERS
+    // =========================================================
+
+    private void enqueue(Frame frame) throws SessionLimitExceededException {
+        WebSocketFlowControlProperties properties = flowControl.getProperties();
+        if (frame.type() == FrameType.EPHEMERAL) {
+            ephemeral.add(frame);
+            if (queued.get(FrameType.EPHEMERAL).incrementAndGet() > properties.getEphemeralQueueCapacity()) {
+                // The newer frame of the same kind makes the oldest one stale anyway
+                removeOldest(ephemeral, FrameType.EPHEMERAL);
+            }
+            return;
+        }
+
+        chat.add(frame);
+        queued.get(frame.type()).incrementAndGet();
+        if (queued(FrameType.CHAT) <= properties.getChatQueueCapacity()) {
+            return;
+        }
+        if (properties.getOverflowPolicy() == WebSocketFlowControlProperties.OverflowPolicy.DROP_OLDEST) {
+            removeOldest(chat, FrameType.CHAT);
+            return;
+        }
+        limitExceeded("overflow", "Outbound queue of session " + getId() + " is full");
+    }
+
+    private void removeOldest(Queue<Frame> queue, FrameType type) {
+        for (Iterator<Frame> frames = queue.iterator(); frames.hasNext(); ) {
+            if (frames.next().type() == type) {
+                frames.remove();
+                queued.get(type).decrementAndGet();
+                flowControl.dropped(type);
+                return;
+            }
+        }
+    }
+
+    private boolean tryFlush() throws IOException {
+        if (!flushLock.tryLock()) {
+            return false;
+        }
+        try {
+            Frame frame;
+            while (!limitExceeded && (frame = poll()) != null) {
+                sendStartTime = System.currentTimeMillis();
+                getDelegate().sendMessage(frame.message());
+                sendStartTime = 0;
+            }
+            return true;
+        } finally {
+            sendStartTime = 0;
+            flushLock.unlock();
+        }
+    }
+
+    private Frame poll() {
+        Frame frame = chat.poll();
+        if (frame == null) {
+            frame = ephemeral.poll();
+        }
+        if (frame != null) {
+            queued.get(frame.type()).decrementAndGet();
+        }
+        return frame;
+    }
+
+    private boolean hasQueued() {
+        return !chat.isEmpty() || !ephemeral.isEmpty();
+    }
+
+    private void checkSendTime() throws SessionLimitExceededException {
+        long started = sendStartTime;
+        if (started > 0 && System.currentTimeMillis() - started > sendTimeLimit) {
+            limitExceeded("send-timeout", "Write to session " + getId() + " exceeded " + sendTimeLimit + " ms");
+        }
+    }
+
+    private void limitExceeded(String reason, String message) throws SessionLimitExceededException {
+        limitExceeded = true;
+        discardQueued();
+        flowControl.disconnected(reason);
+        log.debug("{}, closing it", message);
+        // SubProtocolWebSocketHandler closes the session
+        throw new SessionLimitExceededException(message, CloseStatus.SESSION_NOT_RELIABLE);
+    }
+}
@@ -0,0 +1,129 @@
+package com.novaTech.Nova.Services.Configs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-session outbound queues for WebSocket clients, so a slow client only delays itself.
+ *
+ * Each session gets a {@link FlowControlledSession}: frames queue up while a write to the
+ * client is in progress, chat and control frames are written before ephemeral ones, and the
+ * queues are bounded by {@code websocket.flow-control.*-queue-capacity}. Metrics, tagged by
+ * frame type: {@code websocket.outbound.queued}, {@code websocket.outbound.dropped} and
+ * {@code websocket.outbound.disconnects} (tagged by reason).
+ */
+@Component
+public class OutboundFlowControl {
+
+    public enum FrameType {
+        // CONNECTED, RECEIPT, ERROR, heart-beats: never dropped
+        CONTROL,
+        CHAT,
+        // typing, presence
+        EPHEMERAL;
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final WebSocketFlowControlProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, FlowControlledSession> sessions = new ConcurrentHashMap<>();
+    private final Map<FrameType, Counter> dropped = new EnumMap<>(FrameType.class);
+
+    // type of the frame the outbound channel is handling on this thread
+    private final ThreadLocal<FrameType> currentFrame = new ThreadLocal<>();
+
+    public OutboundFlowControl(WebSocketFlowControlProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        for (FrameType type : FrameType.values()) {
+            dropped.put(type, meterRegistry.counter("websocket.outbound.dropped", "type", type.tag()));
+            Gauge.builder("websocket.outbound.queued", sessions, all -> queued(all, type))
+                    .tag("type", type.tag())
+                    .register(meterRegistry);
+        }
+    }
+
+    public WebSocketFlowControlProperties getProperties() {
+        return properties;
+    }
+
+    public WebSocketSession decorate(WebSocketSession session, int sendTimeLimit) {
+        FlowControlledSession decorated = new FlowControlledSession(session, sendTimeLimit, this);
+        sessions.put(session.getId(), decorated);
+        return decorated;
+    }
+
+    public void sessionClosed(String sessionId) {
+        FlowControlledSession session = sessions.remove(sessionId);
+        if (session != null) {
+            session.discardQueued();
+        }
+    }
+
+    /**
+     * Run the outbound channel's handling of the message with its frame type known to the session
+     */
+    public void handling(Message<?> message, Runnable send) {
+        currentFrame.set(classify(message));
+        try {
+            send.run();
+        } finally {
+            currentFrame.remove();
+        }
+    }
+
+    FrameType currentFrameType() {
+        FrameType type = currentFrame.get();
+        return type != null ? type : FrameType.CHAT;
+    }
+
+    void dropped(FrameType type) {
+        dropped.get(type).increment();
+    }
+
+    void disconnected(String reason) {
+        meterRegistry.counter("websocket.outbound.disconnects", "reason", reason).increment();
+    }
+
+    // =========================================================
+    // HELPERS
+    // =========================================================
+
+    private FrameType classify(Message<?> message) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return FrameType.CONTROL;
+        }
+        // /user destinations arrive resolved to the session, with the subscribed one kept aside
+        String destination = SimpMessageHeaderAccessor.getFirstNativeHeader(
+                SimpMessageHeaderAccessor.ORIGINAL_DESTINATION, message.getHeaders());
+        if (destination == null) {
+            destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        }
+        if (destination != null) {
+            for (String prefix : properties.getEphemeralDestinations()) {
+                if (destination.startsWith(prefix)) {
+                    return FrameType.EPHEMERAL;
+                }
+            }
+        }
+        return FrameType.CHAT;
+    }
+
+    private static double queued(Map<String, FlowControlledSession> sessions, FrameType type) {
+        return sessions.values().stream().mapToInt(session -> session.queued(type)).sum();
+    }
+}
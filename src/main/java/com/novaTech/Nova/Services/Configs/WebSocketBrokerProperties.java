@@ -0,0 +1,34 @@
+package com.novaTech.Nova.Services.Configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "websocket.broker")
+public class WebSocketBrokerProperties {
+
+    public enum Mode {
+        // in-memory broker: subscriptions and /user destinations only exist in this node
+        SIMPLE,
+        // relay /topic and /queue to an external STOMP broker shared by all nodes
+        RELAY
+    }
+
+    private Mode mode = Mode.SIMPLE;
+
+    private String relayHost = "localhost";
+    private int relayPort = 61613;
+    private String clientLogin = "guest";
+    private String clientPasscode = "guest";
+    private String systemLogin = "guest";
+    private String systemPasscode = "guest";
+    // empty = the broker's default
+    private String virtualHost = "";
+
+    // RELAY only: messages to /user destinations not connected here are re-sent on this topic
+    // so the node holding the session delivers them, and nodes share their user registries
+    private String userDestinationBroadcast = "/topic/unresolved-user-destination";
+    private String userRegistryBroadcast = "/topic/simp-user-registry";
+}
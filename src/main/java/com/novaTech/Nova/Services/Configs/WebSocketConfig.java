@@ -3,34 +3,62 @@ package com.novaTech.Nova.Services.Configs;
 import com.novaTech.Nova.Entities.User;
 import com.novaTech.Nova.Entities.repo.UserRepo;
 import com.novaTech.Nova.Security.TokenService;
+import com.novaTech.Nova.Services.MessagingChatService.PresenceProperties;
+import com.novaTech.Nova.Services.MessagingChatService.PresenceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
 import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.socket.config.annotation.*;
 
+// the broker is enabled by FlowControlledBrokerConfiguration
 @Configuration
-@EnableWebSocketMessageBroker
 @RequiredArgsConstructor
 @Slf4j
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final TokenService tokenService;
     private final UserRepo userRepo;
+    private final PresenceProperties presenceProperties;
+    private final WebSocketBrokerProperties brokerProperties;
+    private final WebSocketFlowControlProperties flowControlProperties;
+    // resolved lazily: PresenceService sends through the broker configured here
+    private final ObjectProvider<PresenceService> presenceService;
+
+    private TaskScheduler heartbeatScheduler;
+
+    @Autowired
+    public void setHeartbeatScheduler(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler heartbeatScheduler) {
+        this.heartbeatScheduler = heartbeatScheduler;
+    }
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Enable simple broker for server-to-client messages
-        config.enableSimpleBroker("/topic", "/queue");
+        // Broker for server-to-client messages; heart-beats close dead connections
+        long heartbeat = presenceProperties.getHeartbeatMs();
+        if (brokerProperties.getMode() == WebSocketBrokerProperties.Mode.RELAY) {
+            configureBrokerRelay(config, heartbeat);
+        } else {
+            config.enableSimpleBroker("/topic", "/queue")
+                    .setHeartbeatValue(new long[]{heartbeat, heartbeat})
+                    .setTaskScheduler(heartbeatScheduler);
+        }
 
         // Prefix for client-to-server messages
         config.setApplicationDestinationPrefixes("/app");
@@ -39,6 +67,29 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         config.setUserDestinationPrefix("/user");
     }
 
+    /**
+     * All nodes share one external STOMP broker, so a message sent on any node reaches
+     * subscribers on every node. /user destinations of users connected elsewhere are
+     * broadcast and delivered by the node that holds the session.
+     */
+    private void configureBrokerRelay(MessageBrokerRegistry config, long heartbeat) {
+        StompBrokerRelayRegistration relay = config.enableStompBrokerRelay("/topic", "/queue")
+                .setRelayHost(brokerProperties.getRelayHost())
+                .setRelayPort(brokerProperties.getRelayPort())
+                .setClientLogin(brokerProperties.getClientLogin())
+                .setClientPasscode(brokerProperties.getClientPasscode())
+                .setSystemLogin(brokerProperties.getSystemLogin())
+                .setSystemPasscode(brokerProperties.getSystemPasscode())
+                .setSystemHeartbeatSendInterval(heartbeat)
+                .setSystemHeartbeatReceiveInterval(heartbeat)
+                .setUserDestinationBroadcast(brokerProperties.getUserDestinationBroadcast())
+                .setUserRegistryBroadcast(brokerProperties.getUserRegistryBroadcast());
+        if (!brokerProperties.getVirtualHost().isBlank()) {
+            relay.setVirtualHost(brokerProperties.getVirtualHost());
+        }
+        log.info("WebSocket broker relay to {}:{}", brokerProperties.getRelayHost(), brokerProperties.getRelayPort());
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         // Native WebSocket endpoint - NO SockJS
@@ -51,11 +102,35 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 );
     }
 
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(flowControlProperties.getSendTimeLimitMs())
+                .setMessageSizeLimit(flowControlProperties.getMessageSizeLimit());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(flowControlProperties.getOutboundCorePoolSize())
+                .maxPoolSize(flowControlProperties.getOutboundMaxPoolSize())
+                .queueCapacity(flowControlProperties.getOutboundQueueCapacity());
+    }
+
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(flowControlProperties.getInboundCorePoolSize())
+                .maxPoolSize(flowControlProperties.getInboundMaxPoolSize())
+                .queueCapacity(flowControlProperties.getInboundQueueCapacity());
         registration.interceptors(new ChannelInterceptor() {
             @Override
             public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                // Any frame, heart-beats included, shows the session is alive
+                String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+                if (sessionId != null) {
+                    presenceService.getObject().sessionActive(sessionId);
+                }
+
                 StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
 
                 if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())) {
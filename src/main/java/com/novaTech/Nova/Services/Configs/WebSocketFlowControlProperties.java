@@ -0,0 +1,45 @@
+package com.novaTech.Nova.Services.Configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "websocket.flow-control")
+public class WebSocketFlowControlProperties {
+
+    public enum OverflowPolicy {
+        // close the session; the client reconnects and reloads what it missed
+        DISCONNECT,
+        // drop the session's oldest queued chat frame
+        DROP_OLDEST
+    }
+
+    // threads handling frames from clients
+    private int inboundCorePoolSize = 8;
+    private int inboundMaxPoolSize = 16;
+    private int inboundQueueCapacity = 10000;
+
+    // threads writing frames to clients; a slow client holds at most one of them
+    private int outboundCorePoolSize = 8;
+    private int outboundMaxPoolSize = 16;
+    private int outboundQueueCapacity = 10000;
+
+    // a write to one client taking longer than this closes the session
+    private int sendTimeLimitMs = 10000;
+    // largest frame accepted from a client
+    private int messageSizeLimit = 64 * 1024;
+
+    // frames waiting for a slow client, per session; chat and control frames go first
+    private int chatQueueCapacity = 500;
+    private int ephemeralQueueCapacity = 50;
+    // what to do when the chat queue of a session is full; ephemeral frames are always dropped
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DISCONNECT;
+
+    // frames to these destinations (typing, presence) are ephemeral
+    private List<String> ephemeralDestinations = new ArrayList<>(List.of("/user/queue/presence", "/queue/presence"));
+}
@@ -0,0 +1,220 @@
+package com.novaTech.Nova.Services;
+
+import com.novaTech.Nova.DTO.CursorPage;
+import com.novaTech.Nova.DTO.ProjectSummaryDTO;
+import com.novaTech.Nova.DTO.TaskSummaryDTO;
+import com.novaTech.Nova.Entities.Enums.ProjectStatus;
+import com.novaTech.Nova.Entities.Enums.TaskStatus;
+import com.novaTech.Nova.Entities.Project;
+import com.novaTech.Nova.Entities.Task;
+import com.novaTech.Nova.Entities.repo.ProjectRepo;
+import com.novaTech.Nova.Entities.repo.TaskRepo;
+import com.novaTech.Nova.Entities.repo.TeamMemberRepository;
+import com.novaTech.Nova.Entities.repo.TeamProjectRepo;
+import com.novaTech.Nova.Entities.repo.TeamTaskRepo;
+import com.novaTech.Nova.Exceptions.UnauthorizedException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Deadline queries for personal and team work: overdue, due today and due in the next N days.
+ *
+ * Every window is a date range [from, to) evaluated by the database on the
+ * (owner, status, due date) indexes, over open items only, and returned as summary projections.
+ * Pages are keyset-paged by (due date, id) with a "&lt;date&gt;_&lt;id&gt;" cursor. The dashboard
+ * overdue lists and NotificationScheduler use the same windows and status sets.
+ */
+@Service
+@RequiredArgsConstructor
+public class DeadlineService {
+
+    public static final Set<TaskStatus> OPEN_TASK_STATUSES =
+            EnumSet.complementOf(EnumSet.of(TaskStatus.DONE, TaskStatus.COMPLETED, TaskStatus.CANCELLED));
+    public static final Set<ProjectStatus> OPEN_PROJECT_STATUSES =
+            EnumSet.complementOf(EnumSet.of(ProjectStatus.COMPLETED, ProjectStatus.ARCHIVED));
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_WINDOW_DAYS = 365;
+    private static final int NOTIFICATION_BATCH_SIZE = 500;
+
+    // lower bound of the overdue window and the "before the first row" keyset position
+    private static final LocalDate EARLIEST = LocalDate.of(1900, 1, 1);
+    private static final UUID FIRST_ID = new UUID(0, 0);
+    private static final Position START = new Position(EARLIEST.minusDays(1), FIRST_ID);
+
+    private final TaskRepo taskRepo;
+    private final ProjectRepo projectRepo;
+    private final TeamTaskRepo teamTaskRepo;
+    private final TeamProjectRepo teamProjectRepo;
+    private final TeamMemberRepository teamMemberRepository;
+
+    public enum Window {
+        OVERDUE,
+        TODAY,
+        UPCOMING
+    }
+
+    /**
+     * Due dates in [from, to)
+     */
+    public record Range(LocalDate from, LocalDate to) {
+    }
+
+    /**
+     * The date range of a window; {@code days} is only used for UPCOMING (tomorrow onwards)
+     */
+    public static Range range(Window window, int days, LocalDate today) {
+        return switch (window) {
+            case OVERDUE -> new Range(EARLIEST, today);
+            case TODAY -> new Range(today, today.plusDays(1));
+            case UPCOMING -> new Range(today.plusDays(1), today.plusDays(1 + Math.max(1, Math.min(days, MAX_WINDOW_DAYS))));
+        };
+    }
+
+    // =========================================================
+    // PERSONAL
+    // =========================================================
+
+    public CursorPage<TaskSummaryDTO> personalTasks(UUID userId, Window window, int days, String cursor, int limit) {
+        Range range = range(window, days, LocalDate.now());
+        return page(cursor, limit, (after, pageable) -> taskRepo.findDeadlines(userId, OPEN_TASK_STATUSES,
+                range.from(), range.to(), after.due(), after.id(), pageable), TaskSummaryDTO::getDueDate, TaskSummaryDTO::getId);
+    }
+
+    public CursorPage<ProjectSummaryDTO> personalProjects(UUID userId, Window window, int days, String cursor, int limit) {
+        Range range = range(window, days, LocalDate.now());
+        return page(cursor, limit, (after, pageable) -> projectRepo.findDeadlines(userId, OPEN_PROJECT_STATUSES,
+                range.from(), range.to(), after.due(), after.id(), pageable), ProjectSummaryDTO::getDueDate, ProjectSummaryDTO::getId);
+    }
+
+    /**
+     * Every open task of the user in the window, in due date order
+     */
+    public List<TaskSummaryDTO> allPersonalTasks(UUID userId, Window window, int days) {
+        Range range = range(window, days, LocalDate.now());
+        return taskRepo.findDeadlines(userId, OPEN_TASK_STATUSES, range.from(), range.to(),
+                START.due(), START.id(), Pageable.unpaged());
+    }
+
+    /**
+     * Every open project of the user in the window, in end date order
+     */
+    public List<ProjectSummaryDTO> allPersonalProjects(UUID userId, Window window, int days) {
+        Range range = range(window, days, LocalDate.now());
+        return projectRepo.findDeadlines(userId, OPEN_PROJECT_STATUSES, range.from(), range.to(),
+                START.due(), START.id(), Pageable.unpaged());
+    }
+
+    // =========================================================
+    // TEAM
+    // =========================================================
+
+    /**
+     * Open tasks assigned to the user in the team
+     */
+    public CursorPage<TaskSummaryDTO> teamTasks(UUID userId, UUID teamId, Window window, int days, String cursor, int limit) {
+        requireMember(teamId, userId);
+        Range range = range(window, days, LocalDate.now());
+        return page(cursor, limit, (after, pageable) -> teamTaskRepo.findDeadlines(userId, teamId, OPEN_TASK_STATUSES,
+                range.from(), range.to(), after.due(), after.id(), pageable), TaskSummaryDTO::getDueDate, TaskSummaryDTO::getId);
+    }
+
+    /**
+     * Open projects of the team
+     */
+    public CursorPage<ProjectSummaryDTO> teamProjects(UUID userId, UUID teamId, Window window, int days, String cursor, int limit) {
+        requireMember(teamId, userId);
+        Range range = range(window, days, LocalDate.now());
+        return page(cursor, limit, (after, pageable) -> teamProjectRepo.findDeadlines(teamId, OPEN_PROJECT_STATUSES,
+                range.from(), range.to(), after.due(), after.id(), pageable), ProjectSummaryDTO::getDueDate, ProjectSummaryDTO::getId);
+    }
+
+    // =========================================================
+    // NOTIFICATIONS
+    // =========================================================
+
+    /**
+     * Open tasks of all users due on the date, with their user loaded, in batches
+     */
+    public void forEachTaskDueOn(LocalDate date, Consumer<Task> action) {
+        UUID after = FIRST_ID;
+        List<Task> batch;
+        do {
+            batch = taskRepo.findDueOn(date, OPEN_TASK_STATUSES, after, PageRequest.of(0, NOTIFICATION_BATCH_SIZE));
+            batch.forEach(action);
+            after = batch.isEmpty() ? after : batch.get(batch.size() - 1).getId();
+        } while (batch.size() == NOTIFICATION_BATCH_SIZE);
+    }
+
+    /**
+     * Open projects of all users ending on the date, with their user loaded, in batches
+     */
+    public void forEachProjectDueOn(LocalDate date, Consumer<Project> action) {
+        UUID after = FIRST_ID;
+        List<Project> batch;
+        do {
+            batch = projectRepo.findDueOn(date, OPEN_PROJECT_STATUSES, after, PageRequest.of(0, NOTIFICATION_BATCH_SIZE));
+            batch.forEach(action);
+            after = batch.isEmpty() ? after : batch.get(batch.size() - 1).getId();
+        } while (batch.size() == NOTIFICATION_BATCH_SIZE);
+    }
+
+    // =========================================================
+    // HELPERS
+    // =========================================================
+
+    private record Position(LocalDate due, UUID id) {
+    }
+
+    private interface PageQuery<T> {
+        List<T> fetch(Position after, Pageable pageable);
+    }
+
+    private <T> CursorPage<T> page(String cursor, int limit, PageQuery<T> query,
+                                   Function<T, LocalDate> dueOf, Function<T, UUID> idOf) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<T> rows = query.fetch(parseCursor(cursor), PageRequest.of(0, size + 1));
+
+        boolean hasMore = rows.size() > size;
+        List<T> items = hasMore ? rows.subList(0, size) : rows;
+        T last = items.isEmpty() ? null : items.get(items.size() - 1);
+
+        return CursorPage.<T>builder()
+                .items(items)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? dueOf.apply(last) + "_" + idOf.apply(last) : null)
+                .build();
+    }
+
+    private static Position parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        int separator = cursor.indexOf('_');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        try {
+            return new Position(LocalDate.parse(cursor.substring(0, separator)), UUID.fromString(cursor.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private void requireMember(UUID teamId, UUID userId) {
+        if (!teamMemberRepository.existsByTeamIdAndUserIdAndIsActiveTrue(teamId, userId)) {
+            throw new UnauthorizedException("Not a member of team " + teamId);
+        }
+    }
+}
@@ -2,13 +2,20 @@ package com.novaTech.Nova.Services;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.File;
+
 public interface DocumentExtractionService {
 
     /**
-     * Extract text from PDF or Word document
+     * Extract text from a PDF, Word, PowerPoint or Excel document
      */
     String extractText(MultipartFile file) throws Exception;
 
+    /**
+     * Extract text from a supported document stored on disk (file type taken from fileName)
+     */
+    String extractText(File file, String fileName) throws Exception;
+
     /**
      * Check if file is PDF
      */
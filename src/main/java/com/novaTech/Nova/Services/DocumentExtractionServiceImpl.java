@@ -1,24 +1,31 @@
 package com.novaTech.Nova.Services;
 
+import com.novaTech.Nova.Services.extraction.BoundedTextBuilder;
+import com.novaTech.Nova.Services.extraction.ExtractionProperties;
+import com.novaTech.Nova.Services.extraction.OfficeTextExtractor;
+import com.novaTech.Nova.Services.extraction.PdfTextExtractor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.text.PDFTextStripper;
-import org.apache.poi.xwpf.usermodel.XWPFDocument;
-import org.apache.poi.xwpf.usermodel.XWPFParagraph;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class DocumentExtractionServiceImpl implements DocumentExtractionService {
 
-    private static final List<String> SUPPORTED_EXTENSIONS = Arrays.asList("pdf", "docx", "doc");
+    private static final List<String> SUPPORTED_EXTENSIONS = Arrays.asList("pdf", "docx", "doc", "xlsx", "pptx");
+
+    private final PdfTextExtractor pdfTextExtractor;
+    private final OfficeTextExtractor officeTextExtractor;
+    private final ExtractionProperties extractionProperties;
 
     @Override
     public String extractText(MultipartFile file) throws Exception {
@@ -27,19 +34,48 @@ public class DocumentExtractionServiceImpl implements DocumentExtractionService
         if (!isValidFileType(file)) {
             log.warn("Invalid file type for file: {}", file.getOriginalFilename());
             throw new IllegalArgumentException(
-                    "Unsupported file type. Please upload PDF or DOCX files only."
+                    "Unsupported file type. Please upload PDF, Word, PowerPoint or Excel files only."
             );
         }
 
-        if (isPdfFile(file)) {
-            log.debug("Detected PDF file: {}", file.getOriginalFilename());
-            return extractTextFromPdf(file);
-        } else if (isWordFile(file)) {
-            log.debug("Detected Word file: {}", file.getOriginalFilename());
-            return extractTextFromWord(file);
-        } else {
-            log.warn("Unsupported file type encountered: {}", file.getOriginalFilename());
-            throw new IllegalArgumentException("Unsupported file type");
+        // Parse from a temp file instead of a byte array so the upload never sits whole on the heap
+        Path scratchDir = Path.of(extractionProperties.getScratchDir());
+        Files.createDirectories(scratchDir);
+        Path tempFile = Files.createTempFile(scratchDir, "upload-", "." + getFileExtension(file).toLowerCase());
+        try {
+            file.transferTo(tempFile);
+            return extractText(tempFile.toFile(), file.getOriginalFilename());
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Override
+    public String extractText(File file, String fileName) throws Exception {
+        log.info("Extracting text from stored file: {}", fileName);
+
+        String extension = fileName != null && fileName.lastIndexOf('.') >= 0
+                ? fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase()
+                : "";
+
+        try {
+            switch (extension) {
+                case "pdf":
+                    return extractPdfText(file);
+                case "docx":
+                case "doc":
+                    return logged("Word document", officeTextExtractor.extractDocx(file));
+                case "xlsx":
+                    return logged("spreadsheet", officeTextExtractor.extractXlsx(file));
+                case "pptx":
+                    return logged("presentation", officeTextExtractor.extractPptx(file));
+                default:
+                    log.warn("Unsupported file type encountered: {}", fileName);
+                    throw new IllegalArgumentException("Unsupported file type");
+            }
+        } catch (IOException e) {
+            log.error("Error extracting text from {}: {}", fileName, e.getMessage(), e);
+            throw new Exception("Failed to extract text from " + extension.toUpperCase() + " file: " + e.getMessage(), e);
         }
     }
 
@@ -86,54 +122,25 @@ public class DocumentExtractionServiceImpl implements DocumentExtractionService
         return extension;
     }
 
-    private String extractTextFromPdf(MultipartFile file) throws Exception {
-        log.debug("Starting PDF text extraction: {}", file.getOriginalFilename());
-        try (InputStream inputStream = file.getInputStream()) {
-            byte[] pdfBytes = inputStream.readAllBytes();
-            log.debug("Read {} bytes from PDF file", pdfBytes.length);
-
-            try (PDDocument document = Loader.loadPDF(pdfBytes)) {
-                PDFTextStripper stripper = new PDFTextStripper();
-                stripper.setSortByPosition(true);
-
-                String text = stripper.getText(document);
-
-                log.info("Successfully extracted {} characters from PDF with {} pages",
-                        text.length(), document.getNumberOfPages());
+    private String extractPdfText(File file) throws IOException {
+        BoundedTextBuilder text = new BoundedTextBuilder(extractionProperties.getMaxTextChars());
 
-                return text.trim();
+        int pages = pdfTextExtractor.extract(file, (page, pageText) -> {
+            if (!text.append(pageText)) {
+                log.warn("PDF text reached the {} character limit at page {}, stopping",
+                        extractionProperties.getMaxTextChars(), page);
+                return false;
             }
-        } catch (IOException e) {
-            log.error("Error extracting text from PDF: {}", e.getMessage(), e);
-            throw new Exception("Failed to extract text from PDF: " + e.getMessage(), e);
-        }
-    }
-
-    private String extractTextFromWord(MultipartFile file) throws Exception {
-        log.debug("Starting Word text extraction: {}", file.getOriginalFilename());
-        try (InputStream inputStream = file.getInputStream();
-             XWPFDocument document = new XWPFDocument(inputStream)) {
-
-            StringBuilder text = new StringBuilder();
-            List<XWPFParagraph> paragraphs = document.getParagraphs();
+            return true;
+        });
 
-            log.debug("Word document contains {} paragraphs", paragraphs.size());
+        log.info("Successfully extracted {} characters from PDF with {} pages", text.length(), pages);
 
-            for (XWPFParagraph paragraph : paragraphs) {
-                String paragraphText = paragraph.getText();
-                if (paragraphText != null && !paragraphText.trim().isEmpty()) {
-                    text.append(paragraphText).append("\n");
-                }
-            }
-
-            String extractedText = text.toString().trim();
-            log.info("Successfully extracted {} characters from Word document with {} paragraphs",
-                    extractedText.length(), paragraphs.size());
+        return text.toString().trim();
+    }
 
-            return extractedText;
-        } catch (Exception e) {
-            log.error("Error extracting text from Word document: {}", e.getMessage(), e);
-            throw new Exception("Failed to extract text from Word document: " + e.getMessage(), e);
-        }
+    private String logged(String kind, String text) {
+        log.info("Successfully extracted {} characters from {}", text.length(), kind);
+        return text.trim();
     }
 }
@@ -4,8 +4,11 @@ package com.novaTech.Nova.Services;
 import com.novaTech.Nova.DTO.DocumentProcessRequest;
 import com.novaTech.Nova.DTO.DocumentProcessResponse;
 import com.novaTech.Nova.DTO.ProcessingHistoryResponse;
+import com.novaTech.Nova.DTO.SummaryProgressEvent;
+import com.novaTech.Nova.Entities.Document;
 import com.novaTech.Nova.Entities.User;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 
@@ -21,6 +24,23 @@ public interface DocumentProcessingService {
      */
     DocumentProcessResponse processExistingDocument(Long documentId, DocumentProcessRequest request, User user);
 
+    /**
+     * Check the inputs a functionality needs; returns the error message, or null when valid
+     */
+    String validateRequest(DocumentProcessRequest request);
+
+    /**
+     * Run the AI functionality on a document with extracted text, without recording history
+     * (processing jobs record the result on their own history entry). Identical earlier runs on
+     * the same text are served from the content cache; the user must own the document.
+     */
+    DocumentProcessResponse runFunctionality(Document document, DocumentProcessRequest request, User user) throws Exception;
+
+    /**
+     * Map-reduce summary of an existing document with progress events (ensures document belongs to user)
+     */
+    Flux<SummaryProgressEvent> summarizeDocumentStream(Long documentId, String style, User user) throws Exception;
+
     /**
      * Get processing history for a specific document (ensures document belongs to user)
      */
@@ -6,16 +6,22 @@ import com.novaTech.Nova.Entities.Enums.FunctionalityType;
 import com.novaTech.Nova.Entities.ProcessingHistory;
 import com.novaTech.Nova.Entities.User;
 import com.novaTech.Nova.Entities.repo.ProcessingHistoryRepository;
+import com.novaTech.Nova.Services.AI.retrieval.DocumentRetrievalService;
+import com.novaTech.Nova.Services.AI.summarization.DocumentSummarizationService;
+import com.novaTech.Nova.Services.contentCache.ContentCacheService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -26,9 +32,15 @@ public class DocumentProcessingServiceImpl implements DocumentProcessingService
     private final DocumentService documentService;
     private final HuggingFaceAiService aiService;
     private final ProcessingHistoryRepository historyRepository;
+    private final DocumentRetrievalService retrievalService;
+    private final DocumentSummarizationService summarizationService;
+    private final ContentCacheService contentCacheService;
 
+    // notes handed to multi-feature analysis, which caps its input at 1500 words
+    private static final int MULTI_FEATURE_NOTES_TOKENS = 1800;
+
+    // Not transactional: the upload commits on its own and no DB connection is held across the AI call
     @Override
-    @Transactional
     public DocumentProcessResponse processDocument(MultipartFile file, DocumentProcessRequest request, User user) {
         try {
             log.info("Starting processDocument for user: {}", user.getUsername());
@@ -50,7 +62,7 @@ public class DocumentProcessingServiceImpl implements DocumentProcessingService
             log.debug("Document retrieved successfully. ID: {}, Name: {}",
                     document.getId(), document.getFileName());
 
-            return executeAiProcessing(document, request);
+            return executeAiProcessing(document, request, user);
 
         } catch (Exception e) {
             log.error("Error in processDocument for user: {}", user.getUsername(), e);
@@ -59,7 +71,6 @@ public class DocumentProcessingServiceImpl implements DocumentProcessingService
     }
 
     @Override
-    @Transactional
     public DocumentProcessResponse processExistingDocument(Long documentId, DocumentProcessRequest request, User user) {
         try {
             log.info("Processing existing document ID: {} for user: {}", documentId, user.getUsername());
@@ -68,7 +79,7 @@ public class DocumentProcessingServiceImpl implements DocumentProcessingService
             Document document = documentService.getDocumentById(documentId, user);
             log.debug("Existing document retrieved. ID: {}, Name: {}", document.getId(), document.getFileName());
 
-            return executeAiProcessing(document, request);
+            return executeAiProcessing(document, request, user);
 
         } catch (Exception e) {
             log.error("Error in processExistingDocument for user: {}", user.getUsername(), e);
@@ -76,12 +87,54 @@ public class DocumentProcessingServiceImpl implements DocumentProcessingService
         }
     }
 
-    private DocumentProcessResponse executeAiProcessing(Document document, DocumentProcessRequest request) {
+    @Override
+    public Flux<SummaryProgressEvent> summarizeDocumentStream(Long documentId, String style, User user) throws Exception {
+        // Ensure document belongs to this user
+        Document document = documentService.getDocumentById(documentId, user);
         String extractedText = document.getExtractedText();
-        FunctionalityType functionality = request.getFunctionality();
 
-        log.info("Executing AI processing. Document ID: {}, Functionality: {}, Text length: {}",
-                document.getId(), functionality, extractedText.length());
+        if (extractedText == null || extractedText.trim().isEmpty()) {
+            log.warn("Document ID: {} has no extracted text", document.getId());
+            return Flux.just(SummaryProgressEvent.builder()
+                    .stage("ERROR")
+                    .error("Document has no text content to process")
+                    .build());
+        }
+
+        log.info("Streaming map-reduce summary of document ID: {} for user: {}", documentId, user.getUsername());
+
+        return summarizationService.summarizeStream(extractedText, style)
+                .concatMap(event -> {
+                    if (!"DONE".equals(event.getStage())) {
+                        return Mono.just(event);
+                    }
+                    // The save blocks on JDBC, so keep it off the thread emitting the stream
+                    return Mono.fromCallable(() -> historyRepository.save(ProcessingHistory.builder()
+                                    .document(document)
+                                    .functionalityType(FunctionalityType.SUMMARIZATION.name())
+                                    .inputPrompt(style)
+                                    .aiResponse(event.getSummary())
+                                    .processedAt(LocalDateTime.now())
+                                    .success(true)
+                                    .build()))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .map(history -> {
+                                event.setProcessingId(history.getId());
+                                return event;
+                            });
+                })
+                .onErrorResume(error -> {
+                    log.error("Streaming summary failed for document ID: {}", documentId, error);
+                    return Flux.just(SummaryProgressEvent.builder()
+                            .stage("ERROR")
+                            .error("Summarization failed: " + error.getMessage())
+                            .build());
+                });
+    }
+
+    private DocumentProcessResponse executeAiProcessing(Document document, DocumentProcessRequest request, User user) {
+        String extractedText = document.getExtractedText();
+        FunctionalityType functionality = request.getFunctionality();
 
         // ✅ Validate extracted text
         if (extractedText == null || extractedText.trim().isEmpty()) {
@@ -89,6 +142,15 @@ public class DocumentProcessingServiceImpl implements DocumentProcessingService
             return buildErrorResponse("Document has no text content to process");
         }
 
+        log.info("Executing AI processing. Document ID: {}, Functionality: {}, Text length: {}",
+                document.getId(), functionality, extractedText.length());
+
+        String validationError = validateRequest(request);
+        if (validationError != null) {
+            log.warn("Invalid {} request for document ID: {}: {}", functionality, document.getId(), validationError);
+            return buildErrorResponse(validationError);
+        }
+
         ProcessingHistory history = ProcessingHistory.builder()
                 .document(document)
                 .functionalityType(functionality.name())
@@ -98,89 +160,20 @@ public class DocumentProcessingServiceImpl implements DocumentProcessingService
                 .build();
 
         try {
-            AiModelResponse aiResponse;
-            Map<String, Object> resultData = new HashMap<>();
-
-            // Route to appropriate AI model
-            switch (functionality) {
-                case SUMMARIZATION:
-                    log.info("Calling AI summarization for document ID: {}", document.getId());
-                    aiResponse = aiService.summarize(extractedText);
-                    resultData.put("summary", aiResponse.getResponse());
-                    log.info("Summarization completed. Model: {}, Response length: {}",
-                            aiResponse.getModelUsed(), aiResponse.getResponse().length());
-                    break;
-
-                case QUESTION_ANSWERING:
-                    log.info("Calling AI question answering for document ID: {}", document.getId());
-                    if (request.getQuestion() == null || request.getQuestion().trim().isEmpty()) {
-                        log.warn("Q&A requested without question for document ID: {}", document.getId());
-                        return buildErrorResponse("Question is required for Q&A functionality");
-                    }
-                    aiResponse = aiService.answerQuestion(request.getQuestion(), extractedText);
-                    resultData.put("question", request.getQuestion());
-                    resultData.put("answer", aiResponse.getResponse());
-                    if (aiResponse.getConfidenceScore() != null) {
-                        resultData.put("confidence", aiResponse.getConfidenceScore());
-                    }
-                    log.info("Q&A completed. Model: {}, Confidence: {}",
-                            aiResponse.getModelUsed(), aiResponse.getConfidenceScore());
-                    break;
-
-                case CHAT:
-                    log.info("Calling AI chat for document ID: {}", document.getId());
-                    if (request.getCustomPrompt() == null || request.getCustomPrompt().trim().isEmpty()) {
-                        log.warn("Chat requested without prompt for document ID: {}", document.getId());
-                        return buildErrorResponse("Custom prompt is required for chat functionality");
-                    }
-                    aiResponse = aiService.chat(request.getCustomPrompt(), extractedText);
-                    resultData.put("prompt", request.getCustomPrompt());
-                    resultData.put("response", aiResponse.getResponse());
-                    log.info("Chat completed. Model: {}, Response length: {}",
-                            aiResponse.getModelUsed(), aiResponse.getResponse().length());
-                    break;
-
-                case MULTI_FEATURE:
-                    log.info("Calling AI multi-feature analysis for document ID: {}", document.getId());
-                    aiResponse = aiService.multiFeatureAnalysis(extractedText, request.getCustomPrompt());
-                    resultData.put("analysis", aiResponse.getResponse());
-                    if (request.getCustomPrompt() != null) {
-                        resultData.put("additionalFocus", request.getCustomPrompt());
-                    }
-                    log.info("Multi-feature analysis completed. Model: {}, Response length: {}",
-                            aiResponse.getModelUsed(), aiResponse.getResponse().length());
-                    break;
-
-                default:
-                    log.warn("Unsupported functionality type: {}", functionality);
-                    return buildErrorResponse("Unsupported functionality type: " + functionality);
-            }
-
-            // Add common data
-            resultData.put("documentId", document.getId());
-            resultData.put("documentName", document.getFileName());
-            resultData.put("extractedTextLength", extractedText.length());
-            resultData.put("model", aiResponse.getModelUsed());
+            DocumentProcessResponse result = runFunctionality(document, request, user);
 
             // Save successful history
-            history.setAiResponse(aiResponse.getResponse());
-            history.setConfidenceScore(aiResponse.getConfidenceScore());
+            history.setAiResponse(result.getPrimaryResponse());
+            history.setConfidenceScore((Double) result.getData().get("confidence"));
             history.setSuccess(true);
             history = historyRepository.save(history);
 
             log.info("AI processing completed successfully. Document ID: {}, Processing ID: {}, Model: {}",
-                    document.getId(), history.getId(), aiResponse.getModelUsed());
+                    document.getId(), history.getId(), result.getModelUsed());
 
-            return DocumentProcessResponse.builder()
-                    .success(true)
-                    .message("Document processed successfully")
-                    .documentId(document.getId())
-                    .processingId(history.getId())
-                    .functionality(functionality)
-                    .modelUsed(aiResponse.getModelUsed())
-                    .data(resultData)
-                    .processedAt(history.getProcessedAt())
-                    .build();
+            result.setProcessingId(history.getId());
+            result.setProcessedAt(history.getProcessedAt());
+            return result;
 
         } catch (Exception e) {
             log.error("Error in AI processing for document ID: {}. Error: {}",
@@ -195,6 +188,123 @@ public class DocumentProcessingServiceImpl implements DocumentProcessingService
         }
     }
 
+    @Override
+    public String validateRequest(DocumentProcessRequest request) {
+        if (request.getFunctionality() == null) {
+            return "Functionality type is required";
+        }
+        if (request.getFunctionality() == FunctionalityType.QUESTION_ANSWERING
+                && (request.getQuestion() == null || request.getQuestion().trim().isEmpty())) {
+            return "Question is required for Q&A functionality";
+        }
+        if (request.getFunctionality() == FunctionalityType.CHAT
+                && (request.getCustomPrompt() == null || request.getCustomPrompt().trim().isEmpty())) {
+            return "Custom prompt is required for chat functionality";
+        }
+        return null;
+    }
+
+    @Override
+    public DocumentProcessResponse runFunctionality(Document document, DocumentProcessRequest request, User user) throws Exception {
+        String extractedText = document.getExtractedText();
+        FunctionalityType functionality = request.getFunctionality();
+
+        // Same text, functionality and question as an earlier run: skip the model
+        Optional<ContentCacheService.CachedResult> cached = contentCacheService.findResult(document, user, request);
+        if (cached.isPresent()) {
+            log.info("Serving cached {} result for document ID: {}", functionality, document.getId());
+            Map<String, Object> resultData = new HashMap<>(cached.get().data());
+            resultData.put("documentId", document.getId());
+            resultData.put("documentName", document.getFileName());
+            resultData.put("extractedTextLength", extractedText.length());
+            resultData.put("cached", true);
+
+            return DocumentProcessResponse.builder()
+                    .success(true)
+                    .message("Document processed successfully")
+                    .documentId(document.getId())
+                    .functionality(functionality)
+                    .modelUsed(cached.get().modelUsed())
+                    .data(resultData)
+                    .processedAt(LocalDateTime.now())
+                    .build();
+        }
+
+        AiModelResponse aiResponse;
+        Map<String, Object> resultData = new HashMap<>();
+
+        // Route to appropriate AI model
+        switch (functionality) {
+            case SUMMARIZATION:
+                log.info("Calling AI summarization for document ID: {}", document.getId());
+                aiResponse = summarizationService.summarize(extractedText, request.getCustomPrompt());
+                resultData.put("summary", aiResponse.getResponse());
+                log.info("Summarization completed. Model: {}, Response length: {}",
+                        aiResponse.getModelUsed(), aiResponse.getResponse().length());
+                break;
+
+            case QUESTION_ANSWERING:
+                log.info("Calling AI question answering for document ID: {}", document.getId());
+                aiResponse = aiService.answerQuestion(request.getQuestion(),
+                        retrievalService.retrieveContext(document, request.getQuestion()));
+                resultData.put("question", request.getQuestion());
+                resultData.put("answer", aiResponse.getResponse());
+                if (aiResponse.getConfidenceScore() != null) {
+                    resultData.put("confidence", aiResponse.getConfidenceScore());
+                }
+                log.info("Q&A completed. Model: {}, Confidence: {}",
+                        aiResponse.getModelUsed(), aiResponse.getConfidenceScore());
+                break;
+
+            case CHAT:
+                log.info("Calling AI chat for document ID: {}", document.getId());
+                aiResponse = aiService.chat(request.getCustomPrompt(),
+                        retrievalService.retrieveContext(document, request.getCustomPrompt()));
+                resultData.put("prompt", request.getCustomPrompt());
+                resultData.put("response", aiResponse.getResponse());
+                log.info("Chat completed. Model: {}, Response length: {}",
+                        aiResponse.getModelUsed(), aiResponse.getResponse().length());
+                break;
+
+            case MULTI_FEATURE:
+                log.info("Calling AI multi-feature analysis for document ID: {}", document.getId());
+                aiResponse = aiService.multiFeatureAnalysis(
+                        summarizationService.condense(extractedText, MULTI_FEATURE_NOTES_TOKENS),
+                        request.getCustomPrompt());
+                resultData.put("analysis", aiResponse.getResponse());
+                if (request.getCustomPrompt() != null) {
+                    resultData.put("additionalFocus", request.getCustomPrompt());
+                }
+                log.info("Multi-feature analysis completed. Model: {}, Response length: {}",
+                        aiResponse.getModelUsed(), aiResponse.getResponse().length());
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unsupported functionality type: " + functionality);
+        }
+
+        // Add common data
+        resultData.put("documentId", document.getId());
+        resultData.put("documentName", document.getFileName());
+        resultData.put("extractedTextLength", extractedText.length());
+        resultData.put("model", aiResponse.getModelUsed());
+
+        // Fallbacks are not cached, so the next request tries the model again
+        if (!aiResponse.isDegraded()) {
+            contentCacheService.storeResult(document, request, resultData, aiResponse.getModelUsed());
+        }
+
+        return DocumentProcessResponse.builder()
+                .success(true)
+                .message("Document processed successfully")
+                .documentId(document.getId())
+                .functionality(functionality)
+                .modelUsed(aiResponse.getModelUsed())
+                .data(resultData)
+                .processedAt(LocalDateTime.now())
+                .build();
+    }
+
     @Override
     public List<ProcessingHistoryResponse> getDocumentHistory(Long documentId, User user) throws Exception {
         log.info("Fetching processing history for document ID: {} and user: {}",
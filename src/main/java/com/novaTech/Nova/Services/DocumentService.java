@@ -14,6 +14,21 @@ public interface DocumentService {
      */
     DocumentUploadResponse uploadDocument(MultipartFile file, User user) throws Exception;
 
+    /**
+     * Register an uploaded document whose text is extracted later by a processing job
+     */
+    Document createPendingDocument(MultipartFile file, User user);
+
+    /**
+     * Store the extracted text of a pending document and index it
+     */
+    Document completeExtraction(Document document, String extractedText);
+
+    /**
+     * Mark a pending document as failed
+     */
+    void markExtractionFailed(Document document);
+
     /**
      * Get document by ID (ensures it belongs to the user)
      */
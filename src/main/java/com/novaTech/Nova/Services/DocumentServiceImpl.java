@@ -4,6 +4,8 @@ import com.novaTech.Nova.DTO.DocumentUploadResponse;
 import com.novaTech.Nova.Entities.Document;
 import com.novaTech.Nova.Entities.User;
 import com.novaTech.Nova.Entities.repo.DocumentRepository;
+import com.novaTech.Nova.Services.AI.retrieval.DocumentRetrievalService;
+import com.novaTech.Nova.Services.contentCache.ContentCacheService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheConfig;
@@ -14,6 +16,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -26,6 +29,8 @@ public class DocumentServiceImpl implements DocumentService {
     private final DocumentRepository documentRepository;
     private final DocumentExtractionService extractionService;
     private final EmailService emailService;
+    private final DocumentRetrievalService retrievalService;
+    private final ContentCacheService contentCacheService;
 
     @Override
     @Transactional
@@ -47,12 +52,25 @@ public class DocumentServiceImpl implements DocumentService {
             log.debug("Validating file type for: {}", file.getOriginalFilename());
             if (!extractionService.isValidFileType(file)) {
                 log.warn("Unsupported file type: {} for user: {}", file.getOriginalFilename(), user.getUsername());
-                throw new IllegalArgumentException("Unsupported file type. Only PDF and DOCX files are allowed.");
+                throw new IllegalArgumentException("Unsupported file type. Only PDF, DOCX, PPTX and XLSX files are allowed.");
             }
 
-            // Extract text
-            log.debug("Starting text extraction for file: {}", file.getOriginalFilename());
-            String extractedText = extractionService.extractText(file);
+            // Extract text, unless the same file was extracted before (by anyone)
+            String fileHash;
+            try (InputStream in = file.getInputStream()) {
+                fileHash = ContentCacheService.sha256(in);
+            }
+
+            String extractedText = contentCacheService.findExtractedText(fileHash).orElse(null);
+            if (extractedText != null) {
+                log.info("Reusing extracted text for file: {} (same content uploaded before)", file.getOriginalFilename());
+            } else {
+                log.debug("Starting text extraction for file: {}", file.getOriginalFilename());
+                extractedText = extractionService.extractText(file);
+                if (extractedText != null && !extractedText.trim().isEmpty()) {
+                    contentCacheService.storeExtractedText(fileHash, extractedText);
+                }
+            }
 
             if (extractedText == null || extractedText.trim().isEmpty()) {
                 log.warn("Text extraction returned empty result for file: {}", file.getOriginalFilename());
@@ -68,6 +86,8 @@ public class DocumentServiceImpl implements DocumentService {
                     .fileType(extractionService.getFileExtension(file))
                     .fileSize(file.getSize())
                     .extractedText(extractedText)
+                    .fileHash(fileHash)
+                    .contentHash(ContentCacheService.sha256(extractedText))
                     .uploadedAt(LocalDateTime.now())
                     .status("COMPLETED")
                     .build();
@@ -77,6 +97,12 @@ public class DocumentServiceImpl implements DocumentService {
             // Save to database
             document = documentRepository.save(document);
 
+            // Build the Q&A retrieval index now; if this fails it is rebuilt on first question
+            try {
+                retrievalService.indexDocument(document);
+            } catch (Exception e) {
+                log.warn("Indexing failed for document {}: {}", document.getId(), e.getMessage());
+            }
 
             log.info("Document uploaded successfully with ID: {} for user: {}", document.getId(), user.getUsername());
 
@@ -101,6 +127,65 @@ public class DocumentServiceImpl implements DocumentService {
         }
     }
 
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(key = "'user:' + #user.id + '_documents'"),
+            @CacheEvict(key = "'user:' + #user.id + '_documentCount'")
+    })
+    public Document createPendingDocument(MultipartFile file, User user) {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("File is empty");
+        }
+        if (!extractionService.isValidFileType(file)) {
+            throw new IllegalArgumentException("Unsupported file type. Only PDF, DOCX, PPTX and XLSX files are allowed.");
+        }
+
+        Document document = documentRepository.save(Document.builder()
+                .user(user)
+                .fileName(file.getOriginalFilename())
+                .fileType(extractionService.getFileExtension(file))
+                .fileSize(file.getSize())
+                .uploadedAt(LocalDateTime.now())
+                .status("UPLOADED")
+                .build());
+
+        log.info("Registered pending document {} ({}) for user: {}", document.getId(), document.getFileName(), user.getUsername());
+        return document;
+    }
+
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(key = "'doc:' + #document.id + '_user:' + #document.user.id"),
+            @CacheEvict(key = "'user:' + #document.user.id + '_documents'"),
+            @CacheEvict(key = "'user:' + #document.user.id + '_status:' + 'COMPLETED' + '_documents'")
+    })
+    public Document completeExtraction(Document document, String extractedText) {
+        document.setExtractedText(extractedText);
+        document.setContentHash(ContentCacheService.sha256(extractedText));
+        document.setStatus("COMPLETED");
+        Document saved = documentRepository.save(document);
+
+        try {
+            retrievalService.indexDocument(saved);
+        } catch (Exception e) {
+            log.warn("Indexing failed for document {}: {}", saved.getId(), e.getMessage());
+        }
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(key = "'doc:' + #document.id + '_user:' + #document.user.id"),
+            @CacheEvict(key = "'user:' + #document.user.id + '_documents'")
+    })
+    public void markExtractionFailed(Document document) {
+        document.setStatus("FAILED");
+        documentRepository.save(document);
+    }
+
     @Override
     @Transactional(readOnly = true)
     @Cacheable(key = "'doc:' + #id + '_user:' + #user.id")
@@ -134,6 +219,7 @@ public class DocumentServiceImpl implements DocumentService {
     public void deleteDocument(Long id, User user) throws Exception {
         log.debug("Attempting to delete document with ID: {} for user: {}", id, user.getUsername());
         Document document = getDocumentById(id, user);
+        retrievalService.deleteIndex(document.getId());
         documentRepository.delete(document);
         log.info("Document deleted with ID: {} for user: {}", id, user.getUsername());
     }
@@ -2,6 +2,7 @@ package com.novaTech.Nova.Services;
 
 import com.novaTech.Nova.DTO.ChatHistoryResponse;
 import com.novaTech.Nova.DTO.ChatResponse;
+import com.novaTech.Nova.DTO.ChatSummaryResponse;
 import com.novaTech.Nova.DTO.ExternalChatRequest;
 import com.novaTech.Nova.DTO.MessageResponse;
 import com.novaTech.Nova.Entities.AI.Chat;
@@ -14,6 +15,8 @@ import com.novaTech.Nova.Services.AI.ExternalApiService;
 import com.novaTech.Nova.Services.AI.UpdatedExternalApiService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
@@ -33,6 +36,9 @@ public class ExternalChatService {
     private final MessageRepository messageRepository;
     private final UpdatedExternalApiService externalApiService;
 
+    private static final int MAX_SEARCH_CHATS = 50;
+    private static final int MAX_SEARCH_MESSAGES = 500;
+
     /**
      * Process external API chat message (non-streaming)
      * FOR MULTI-PARAM EXTERNAL APIs: NETFLIX, SPOTIFY, WORKOUT, NUTRITION, EXERCISE, WEATHER, etc.
@@ -81,7 +87,7 @@ public class ExternalChatService {
                 .doOnComplete(() -> {
                     saveMessage(chat, fullResponse.toString(), Message.MessageRole.ASSISTANT);
 
-                    if (chat.getMessages().size() == 2) {
+                    if (chat.getMessageCount() == 2) {
                         updateChatTitle(chat, request.getMessage());
                     }
 
@@ -244,7 +250,7 @@ public class ExternalChatService {
     private ChatResponse buildChatResponseSync(Chat chat, String apiResponse, String firstMessage) {
         Message assistantMessage = saveMessage(chat, apiResponse, Message.MessageRole.ASSISTANT);
 
-        if (chat.getMessages().size() == 2) {
+        if (chat.getMessageCount() == 2) {
             updateChatTitle(chat, firstMessage);
         }
 
@@ -254,7 +260,7 @@ public class ExternalChatService {
                 .response(apiResponse)
                 .messageId(assistantMessage.getId())
                 .timestamp(assistantMessage.getCreatedAt())
-                .messageCount(chat.getMessages().size())
+                .messageCount(chat.getMessageCount())
                 .build();
     }
 
@@ -277,6 +283,7 @@ public class ExternalChatService {
                 .title("New Chat")
                 .isActive(true)
                 .model(model)
+                .messageCount(0)
                 .build();
 
         return chatRepository.save(chat);
@@ -290,7 +297,11 @@ public class ExternalChatService {
                 .build();
 
         Message saved = messageRepository.save(message);
-        chatRepository.save(chat);
+
+        chatRepository.recordMessage(chat.getId(), saved.getCreatedAt());
+        chat.setMessageCount((chat.getMessageCount() != null ? chat.getMessageCount() : 0) + 1);
+        chat.setLastMessageAt(saved.getCreatedAt());
+        chat.setUpdatedAt(saved.getCreatedAt());
 
         log.info("Saved {} message to chat {}", role, chat.getId());
         return saved;
@@ -304,17 +315,10 @@ public class ExternalChatService {
         chatRepository.save(chat);
     }
 
+    @Transactional(readOnly = true)
     public List<ChatHistoryResponse> getUserExternalChats(User user) {
-        List<Chat> chats = chatRepository.findByUserAndIsActiveTrueOrderByUpdatedAtDesc(user);
-
-        return chats.stream()
-                .map(chat -> ChatHistoryResponse.builder()
-                        .chatId(chat.getId())
-                        .title(chat.getTitle())
-                        .createdAt(chat.getCreatedAt())
-                        .updatedAt(chat.getUpdatedAt())
-                        .messageCount(chat.getMessages().size())
-                        .build())
+        return chatRepository.findSummaries(user.getId(), Pageable.unpaged()).stream()
+                .map(summary -> toHistoryResponse(summary, null))
                 .collect(Collectors.toList());
     }
 
@@ -336,58 +340,47 @@ public class ExternalChatService {
                 .build();
     }
 
-    // general chat search
+    // general chat search: matching chats with their matching messages, both bounded
+    @Transactional(readOnly = true)
     public List<ChatHistoryResponse> generalSearchOfChats(String keyword, User user) {
-        List<Chat> chats = chatRepository.searchChats(user, keyword);
+        List<ChatSummaryResponse> chats = chatRepository.searchSummaries(user.getId(), keyword,
+                PageRequest.of(0, MAX_SEARCH_CHATS));
 
         if (chats.isEmpty()) {
             return new ArrayList<>();
         }
 
+        List<Long> chatIds = chats.stream().map(ChatSummaryResponse::getChatId).collect(Collectors.toList());
+        Map<Long, List<MessageResponse>> matches = messageRepository
+                .findMatching(chatIds, keyword, PageRequest.of(0, MAX_SEARCH_MESSAGES)).stream()
+                .collect(Collectors.groupingBy(message -> message.getChat().getId(),
+                        Collectors.mapping(MessageResponse::fromEntity, Collectors.toList())));
+
         return chats.stream()
-                .map(chat -> {
-                    List<MessageResponse> messages = chat.getMessages().stream()
-                            .map(MessageResponse::fromEntity)
-                            .collect(Collectors.toList());
-
-                    return ChatHistoryResponse.builder()
-                            .chatId(chat.getId())
-                            .title(chat.getTitle())
-                            .createdAt(chat.getCreatedAt())
-                            .updatedAt(chat.getUpdatedAt())
-                            .messageCount(messages.size())
-                            .messages(messages)
-                            .build();
-                })
+                .map(summary -> toHistoryResponse(summary,
+                        matches.getOrDefault(summary.getChatId(), new ArrayList<>())))
                 .collect(Collectors.toList());
     }
 
-    // now to searh chats by title
+    // now to searh chats by title; messages are fetched per chat through the paged endpoint
+    @Transactional(readOnly = true)
     public List<ChatHistoryResponse> searchChatsByTitle(String title, User user) {
-        List<Chat> chats = chatRepository.findByUserAndIsActiveTrueAndTitleContainingIgnoreCaseOrderByUpdatedAtDesc(user, title);
-
-        if (chats.isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        return chats.stream()
-                .map(chat -> {
-                    List<MessageResponse> messages = chat.getMessages().stream()
-                            .map(MessageResponse::fromEntity)
-                            .collect(Collectors.toList());
-
-                    return ChatHistoryResponse.builder()
-                            .chatId(chat.getId())
-                            .title(chat.getTitle())
-                            .createdAt(chat.getCreatedAt())
-                            .updatedAt(chat.getUpdatedAt())
-                            .messageCount(messages.size())
-                            .messages(messages)
-                            .build();
-                })
+        return chatRepository.searchSummariesByTitle(user.getId(), title).stream()
+                .map(summary -> toHistoryResponse(summary, null))
                 .collect(Collectors.toList());
     }
 
+    private ChatHistoryResponse toHistoryResponse(ChatSummaryResponse summary, List<MessageResponse> messages) {
+        return ChatHistoryResponse.builder()
+                .chatId(summary.getChatId())
+                .title(summary.getTitle())
+                .createdAt(summary.getCreatedAt())
+                .updatedAt(summary.getUpdatedAt())
+                .messageCount(summary.getMessageCount())
+                .messages(messages)
+                .build();
+    }
+
     @Transactional
     public void deleteExternalChat(Long chatId, User user) {
         Chat chat = chatRepository.findByIdAndUserAndIsActiveTrue(chatId, user)
@@ -403,8 +396,9 @@ public class ExternalChatService {
         Chat chat = chatRepository.findByIdAndUserAndIsActiveTrue(chatId, user)
                 .orElseThrow(() -> new RuntimeException("Chat not found"));
 
-        messageRepository.deleteAll(chat.getMessages());
-        chat.getMessages().clear();
+        messageRepository.deleteByChatId(chatId);
+        chat.setMessageCount(0);
+        chat.setLastMessageAt(null);
         chat.setTitle("New Chat");
         chatRepository.save(chat);
         log.info("Cleared all messages from external chat {}", chatId);
@@ -2,6 +2,7 @@ package com.novaTech.Nova.Services;
 
 
 import com.novaTech.Nova.DTO.AiModelResponse;
+import reactor.core.publisher.Mono;
 
 public interface HuggingFaceAiService {
 
@@ -11,7 +12,12 @@ public interface HuggingFaceAiService {
     AiModelResponse summarize(String text) throws Exception;
 
     /**
-     * Answer question about context using RoBERTa model
+     * Non-blocking single completion on the summarization model (map-reduce steps)
+     */
+    Mono<String> summarizeAsync(String prompt, int maxTokens);
+
+    /**
+     * Answer question from context (the retrieved chunks of the document)
      */
     AiModelResponse answerQuestion(String question, String context) throws Exception;
 
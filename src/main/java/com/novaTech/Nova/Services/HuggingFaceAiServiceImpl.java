@@ -3,12 +3,15 @@ package com.novaTech.Nova.Services;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.novaTech.Nova.DTO.AiModelResponse;
+import com.novaTech.Nova.Services.AI.resilience.AiProvider;
+import com.novaTech.Nova.Services.AI.resilience.AiResilienceService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
 import java.time.Duration;
@@ -36,13 +39,16 @@ public class HuggingFaceAiServiceImpl implements HuggingFaceAiService {
 
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
+    private final AiResilienceService resilienceService;
 
     public HuggingFaceAiServiceImpl(
             WebClient.Builder webClientBuilder,
             ObjectMapper objectMapper,
+            AiResilienceService resilienceService,
             @Value("${huggingface.api.key}") String apiKey,
             @Value("${huggingface.api.router-url:https://router.huggingface.co}") String hfRouterBase) {
         this.objectMapper = objectMapper;
+        this.resilienceService = resilienceService;
         this.webClient = webClientBuilder
                 .baseUrl(hfRouterBase)
                 .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
@@ -103,17 +109,55 @@ public class HuggingFaceAiServiceImpl implements HuggingFaceAiService {
             return AiModelResponse.builder()
                     .response(fallbackSummary + " (Auto-generated summary - AI model unavailable)")
                     .modelUsed("Extractive Fallback")
+                    .degraded(true)
                     .build();
         }
     }
 
+    @Override
+    public Mono<String> summarizeAsync(String prompt, int maxTokens) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("role", "user");
+        message.put("content", prompt);
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("model", summarizationModel);
+        payload.put("messages", new Object[]{message});
+        payload.put("max_tokens", maxTokens);
+        payload.put("temperature", 0.3);
+
+        return resilienceService.protect(AiProvider.DOCUMENT_AI, Duration.ofSeconds(90), () -> webClient.post()
+                        .uri("/v1/chat/completions")
+                        .bodyValue(payload)
+                        .retrieve()
+                        .bodyToMono(String.class)
+                        .retryWhen(Retry.fixedDelay(2, Duration.ofSeconds(5))
+                                .filter(throwable ->
+                                        throwable instanceof org.springframework.web.reactive.function.client.WebClientResponseException.ServiceUnavailable)))
+                .handle((response, sink) -> {
+                    try {
+                        JsonNode choices = objectMapper.readTree(response).path("choices");
+                        if (choices.isArray() && choices.size() > 0) {
+                            String content = choices.get(0).path("message").path("content").asText("");
+                            if (!content.isBlank()) {
+                                sink.next(content.trim());
+                                return;
+                            }
+                        }
+                        sink.error(new IllegalStateException("Summarization model returned no content"));
+                    } catch (Exception e) {
+                        sink.error(new IllegalStateException("Unreadable summarization response: " + e.getMessage(), e));
+                    }
+                });
+    }
+
     @Override
     public AiModelResponse answerQuestion(String question, String context) throws Exception {
         log.info("Answering question: {}", question);
 
-        // Use a larger context window for QA — relevance extraction is helpful
-        // but we want enough context to actually find the answer
-        String relevantContext = extractRelevantContext(question, context, 1200);
+        // Context is already narrowed to the best-matching chunks by DocumentRetrievalService,
+        // the word cap only guards callers that pass raw text
+        String relevantContext = truncateText(context, 1200);
         log.debug("Relevant context length: {} words", relevantContext.split("\\s+").length);
 
         // Use a clear system + user message structure so the model understands its role
@@ -147,6 +191,7 @@ public class HuggingFaceAiServiceImpl implements HuggingFaceAiService {
         JsonNode rootNode = objectMapper.readTree(response);
 
         String answer;
+        boolean degraded = false;
         if (rootNode.has("choices") &&
                 rootNode.get("choices").isArray() &&
                 rootNode.get("choices").size() > 0) {
@@ -157,6 +202,7 @@ public class HuggingFaceAiServiceImpl implements HuggingFaceAiService {
         } else {
             log.warn("QA model returned unexpected format: {}", response);
             answer = "I couldn't find a clear answer in the document for that question.";
+            degraded = true;
         }
 
         log.info("QA completed. Answer length: {} chars", answer.length());
@@ -165,6 +211,7 @@ public class HuggingFaceAiServiceImpl implements HuggingFaceAiService {
                 .response(answer)
                 .confidenceScore(0.85)
                 .modelUsed(chatModel)  // reflects the actual model used
+                .degraded(degraded)
                 .build();
     }
 
@@ -203,12 +250,14 @@ public class HuggingFaceAiServiceImpl implements HuggingFaceAiService {
         JsonNode rootNode = objectMapper.readTree(response);
 
         String chatResponse;
+        boolean degraded = false;
         if (rootNode.has("choices") && rootNode.get("choices").isArray() && rootNode.get("choices").size() > 0) {
             JsonNode firstChoice = rootNode.get("choices").get(0);
             chatResponse = firstChoice.get("message").get("content").asText();
         } else {
             log.error("Unexpected chat response format: {}", response);
             chatResponse = "I'm having trouble generating a response. Please try again.";
+            degraded = true;
         }
 
         log.info("Chat completed. Response length: {}", chatResponse.length());
@@ -216,6 +265,7 @@ public class HuggingFaceAiServiceImpl implements HuggingFaceAiService {
         return AiModelResponse.builder()
                 .response(chatResponse)
                 .modelUsed(chatModel)
+                .degraded(degraded)
                 .build();
     }
 
@@ -248,12 +298,14 @@ public class HuggingFaceAiServiceImpl implements HuggingFaceAiService {
         JsonNode rootNode = objectMapper.readTree(response);
 
         String analysis;
+        boolean degraded = false;
         if (rootNode.has("choices") && rootNode.get("choices").isArray() && rootNode.get("choices").size() > 0) {
             JsonNode firstChoice = rootNode.get("choices").get(0);
             analysis = firstChoice.get("message").get("content").asText();
         } else {
             log.error("Unexpected analysis response format: {}", response);
             analysis = "Analysis could not be completed. Please try again.";
+            degraded = true;
         }
 
         log.info("Multi-feature analysis completed. Response length: {}", analysis.length());
@@ -261,6 +313,7 @@ public class HuggingFaceAiServiceImpl implements HuggingFaceAiService {
         return AiModelResponse.builder()
                 .response(analysis)
                 .modelUsed(chatModel)
+                .degraded(degraded)
                 .build();
     }
 
@@ -269,15 +322,16 @@ public class HuggingFaceAiServiceImpl implements HuggingFaceAiService {
             log.debug("Making API call to: {}{}", hfRouterBase, endpoint);
             log.debug("Payload: {}", objectMapper.writeValueAsString(payload));
 
-            String response = webClient.post()
-                    .uri(endpoint)
-                    .bodyValue(payload)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .retryWhen(Retry.fixedDelay(2, Duration.ofSeconds(5))
-                            .filter(throwable ->
-                                    throwable instanceof org.springframework.web.reactive.function.client.WebClientResponseException.ServiceUnavailable))
-                    .timeout(Duration.ofSeconds(timeoutSeconds))
+            // Breaker + bulkhead: while the router is down this fails immediately instead of
+            // holding the request thread for the full timeout
+            String response = resilienceService.protect(AiProvider.DOCUMENT_AI, Duration.ofSeconds(timeoutSeconds), () -> webClient.post()
+                            .uri(endpoint)
+                            .bodyValue(payload)
+                            .retrieve()
+                            .bodyToMono(String.class)
+                            .retryWhen(Retry.fixedDelay(2, Duration.ofSeconds(5))
+                                    .filter(throwable ->
+                                            throwable instanceof org.springframework.web.reactive.function.client.WebClientResponseException.ServiceUnavailable)))
                     .block();
 
             log.debug("Response received successfully");
@@ -316,50 +370,6 @@ public class HuggingFaceAiServiceImpl implements HuggingFaceAiService {
         return result;
     }
 
-    private String extractRelevantContext(String question, String context, int maxWords) {
-        if (context == null || context.isEmpty()) {
-            return context;
-        }
-
-        String lowerQuestion = question.toLowerCase();
-        String[] questionWords = lowerQuestion.split("\\s+");
-        String[] sentences = context.split("[.!?]\\s+");
-
-        Map<String, Double> sentenceScores = new HashMap<>();
-        for (String sentence : sentences) {
-            String lowerSentence = sentence.toLowerCase();
-            double score = 0.0;
-
-            for (String word : questionWords) {
-                if (word.length() > 3 && lowerSentence.contains(word)) {
-                    score += 1.0;
-                }
-            }
-
-            if (score > 0) {
-                sentenceScores.put(sentence, score);
-            }
-        }
-
-        if (sentenceScores.isEmpty()) {
-            return truncateText(context, maxWords);
-        }
-
-        StringBuilder relevantContext = new StringBuilder();
-        sentenceScores.entrySet().stream()
-                .sorted((a, b) -> Double.compare(b.getValue(), a.getValue()))
-                .limit(5)
-                .forEach(entry -> relevantContext.append(entry.getKey()).append(". "));
-
-        String result = relevantContext.toString();
-
-        if (result.split("\\s+").length > maxWords) {
-            return truncateText(result, maxWords);
-        }
-
-        return result;
-    }
-
     private String truncateText(String text, int maxWords) {
         if (text == null || text.isEmpty()) {
             log.debug("truncateText called with empty text");
@@ -0,0 +1,96 @@
+package com.novaTech.Nova.Services.MessagingChatService;
+
+import com.novaTech.Nova.Entities.repo.ChatRoomRepository;
+import com.novaTech.Nova.Entities.repo.TeamChatRoomRepository;
+import com.novaTech.Nova.Services.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Write-behind buffer for the lastMessageAt of chat rooms.
+ *
+ * Every message used to update its room row, so all senders of a busy team waited on one
+ * row lock. Sends now only record the time in memory; every
+ * {@code chat.rooms.activity-flush-interval-ms} the latest time per room is written with one
+ * UPDATE for private rooms and one for team rooms. Room lists ordered by lastMessageAt can lag
+ * by up to one interval, and times not yet flushed are lost if the node dies.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatRoomActivity {
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final TeamChatRoomRepository teamChatRoomRepository;
+
+    // latest message time per room id since the last flush
+    private final Map<Long, LocalDateTime> privateRooms = new ConcurrentHashMap<>();
+    private final Map<Long, LocalDateTime> teamRooms = new ConcurrentHashMap<>();
+
+    public void privateMessageSent(Long roomId, LocalDateTime sentAt) {
+        AfterCommit.run(() -> record(privateRooms, roomId, sentAt));
+    }
+
+    public void teamMessageSent(Long roomId, LocalDateTime sentAt) {
+        AfterCommit.run(() -> record(teamRooms, roomId, sentAt));
+    }
+
+    @Scheduled(fixedDelayString = "${chat.rooms.activity-flush-interval-ms:250}")
+    public void flush() {
+        flush(privateRooms, "chat_rooms", chatRoomRepository::updateLastMessageTimes);
+        flush(teamRooms, "team_chat_rooms", teamChatRoomRepository::updateLastMessageTimes);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // =========================================================
+    // HELPERS
+    // =========================================================
+
+    private static void record(Map<Long, LocalDateTime> rooms, Long roomId, LocalDateTime sentAt) {
+        rooms.merge(roomId, sentAt, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    private void flush(Map<Long, LocalDateTime> rooms, String table,
+                       BiFunction<Long[], LocalDateTime[], Integer> update) {
+        if (rooms.isEmpty()) {
+            return;
+        }
+        // Take each room out atomically; a send racing with this lands in the next flush
+        List<Long> ids = new ArrayList<>(rooms.size());
+        List<LocalDateTime> times = new ArrayList<>(rooms.size());
+        for (Long roomId : new ArrayList<>(rooms.keySet())) {
+            LocalDateTime sentAt = rooms.remove(roomId);
+            if (sentAt != null) {
+                ids.add(roomId);
+                times.add(sentAt);
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        try {
+            update.apply(ids.toArray(Long[]::new), times.toArray(LocalDateTime[]::new));
+        } catch (RuntimeException e) {
+            log.warn("Failed to update last message time of {} rooms in {}, retrying next flush: {}",
+                    ids.size(), table, e.getMessage());
+            for (int i = 0; i < ids.size(); i++) {
+                record(rooms, ids.get(i), times.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.novaTech.Nova.Services.MessagingChatService;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.novaTech.Nova.Entities.chats.ChatRoom;
+import com.novaTech.Nova.Entities.chats.TeamChatRoom;
+import com.novaTech.Nova.Entities.repo.ChatRoomRepository;
+import com.novaTech.Nova.Entities.repo.TeamChatRoomRepository;
+import com.novaTech.Nova.Services.AfterCommit;
+import com.novaTech.Nova.Services.cacheData.CacheIntrospectionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Resolves the chat room of a user pair or a team to its id, so sending a message doesn't
+ * look the room up every time.
+ *
+ * Room ids never change once a room exists, so entries need no invalidation across nodes.
+ * A room created inside a transaction is only remembered after that transaction commits.
+ */
+@Slf4j
+@Service
+public class ChatRoomDirectory {
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final TeamChatRoomRepository teamChatRoomRepository;
+    private final Cache<String, Long> privateRooms;
+    private final Cache<UUID, Long> teamRooms;
+
+    public ChatRoomDirectory(ChatRoomRepository chatRoomRepository,
+                             TeamChatRoomRepository teamChatRoomRepository,
+                             CacheIntrospectionService cacheIntrospection,
+                             ChatRoomProperties properties) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.teamChatRoomRepository = teamChatRoomRepository;
+        this.privateRooms = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxCachedRooms())
+                .recordStats()
+                .build();
+        this.teamRooms = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxCachedRooms())
+                .recordStats()
+                .build();
+
+        cacheIntrospection.registerNativeCache("privateChatRoomIds", privateRooms);
+        cacheIntrospection.registerNativeCache("teamChatRoomIds", teamRooms);
+    }
+
+    /**
+     * Id of the chat room between two users, creating the room if they have none
+     */
+    public Long privateRoomId(UUID user1, UUID user2) {
+        // Ensure consistent order of user IDs
+        UUID userId1 = user1.compareTo(user2) < 0 ? user1 : user2;
+        UUID userId2 = user1.compareTo(user2) < 0 ? user2 : user1;
+        String key = userId1 + ":" + userId2;
+
+        Long roomId = privateRooms.getIfPresent(key);
+        if (roomId != null) {
+            return roomId;
+        }
+        roomId = chatRoomRepository.findIdByUsers(userId1, userId2).orElse(null);
+        if (roomId != null) {
+            privateRooms.put(key, roomId);
+            return roomId;
+        }
+
+        ChatRoom created = chatRoomRepository.save(ChatRoom.builder()
+                .user1Id(userId1)
+                .user2Id(userId2)
+                .build());
+        AfterCommit.run(() -> privateRooms.put(key, created.getId()));
+        log.debug("Created chat room {} for users {} and {}", created.getId(), userId1, userId2);
+        return created.getId();
+    }
+
+    /**
+     * Id of the team's active chat room, creating the room if the team has none
+     */
+    public Long teamRoomId(UUID teamId) {
+        Long roomId = teamRooms.getIfPresent(teamId);
+        if (roomId != null) {
+            return roomId;
+        }
+        roomId = teamChatRoomRepository.findActiveRoomId(teamId).orElse(null);
+        if (roomId != null) {
+            teamRooms.put(teamId, roomId);
+            return roomId;
+        }
+
+        TeamChatRoom created = teamChatRoomRepository.save(TeamChatRoom.builder()
+                .teamId(teamId)
+                .build());
+        AfterCommit.run(() -> teamRooms.put(teamId, created.getId()));
+        log.debug("Created chat room {} for team {}", created.getId(), teamId);
+        return created.getId();
+    }
+
+    /**
+     * Forget a team's room once the team is deleted
+     */
+    public void forgetTeamRoom(UUID teamId) {
+        teamRooms.invalidate(teamId);
+    }
+}
@@ -0,0 +1,16 @@
+package com.novaTech.Nova.Services.MessagingChatService;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chat.rooms")
+public class ChatRoomProperties {
+    // resolved room ids kept in memory, per kind (private pairs and teams)
+    private long maxCachedRooms = 100000;
+
+    // lastMessageAt of busy rooms is collected for this long and written in one statement per kind
+    private long activityFlushIntervalMs = 250;
+}
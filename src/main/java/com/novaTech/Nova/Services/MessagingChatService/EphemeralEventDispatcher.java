@@ -0,0 +1,90 @@
+package com.novaTech.Nova.Services.MessagingChatService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Low-priority outbound path for events that are only useful while fresh (typing, presence).
+ *
+ * Callers only enqueue; one low-priority thread sends, so these frames never hold up chat
+ * messages, which are still sent directly by the threads handling them. When the queue is
+ * full the event is dropped and counted in {@code chat.ephemeral.dropped}: the next event of
+ * the same kind replaces it anyway.
+ */
+@Slf4j
+@Service
+public class EphemeralEventDispatcher {
+
+    private record Event(String destination, Message<?> frame) {
+    }
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final BlockingQueue<Event> queue;
+    private final Counter dropped;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public EphemeralEventDispatcher(SimpMessagingTemplate messagingTemplate,
+                                    EphemeralEventProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.dropped = meterRegistry.counter("chat.ephemeral.dropped");
+        meterRegistry.gauge("chat.ephemeral.queued", queue, BlockingQueue::size);
+    }
+
+    /**
+     * @return false if the event was dropped
+     */
+    public boolean send(String destination, Message<?> frame) {
+        if (queue.offer(new Event(destination, frame))) {
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "ws-ephemeral");
+        worker.setDaemon(true);
+        worker.setPriority(Thread.MIN_PRIORITY);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                Event event = queue.poll(1, TimeUnit.SECONDS);
+                if (event != null) {
+                    messagingTemplate.send(event.destination(), event.frame());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.debug("Failed to send ephemeral event: {}", e.getMessage());
+            }
+        }
+    }
+}
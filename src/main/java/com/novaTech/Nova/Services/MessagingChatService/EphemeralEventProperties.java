@@ -0,0 +1,26 @@
+package com.novaTech.Nova.Services.MessagingChatService;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chat.ephemeral")
+public class EphemeralEventProperties {
+    // typing, presence: frames waiting for the low-priority sender; more are dropped
+    private int queueCapacity = 10000;
+
+    // at most one typing frame per sender and chat in this interval
+    private long typingIntervalMs = 2000;
+
+    // a sender who reported typing and then went quiet this long is sent as stopped
+    private long typingTimeoutMs = 6000;
+
+    // how often pending typing frames are checked
+    private long tickMs = 250;
+
+    // team member ids used to fan out team typing frames are reloaded after this long
+    private long teamMembersTtlMs = 30000;
+    private int teamMembersMaxTeams = 10000;
+}
@@ -0,0 +1,165 @@
+package com.novaTech.Nova.Services.MessagingChatService;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.novaTech.Nova.Entities.repo.FriendshipRepository;
+import com.novaTech.Nova.Services.AfterCommit;
+import com.novaTech.Nova.Services.cacheData.CacheIntrospectionService;
+import com.novaTech.Nova.Services.cacheData.CacheInvalidationBus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Accepted friendships held in memory as one sorted UUID array per user, so a friendship
+ * check is a binary search instead of a database query.
+ *
+ * A user's friend set is loaded on first use and kept under an LRU-style size bound. Accept,
+ * remove and reject update the sets of both users after the transaction commits, and tell the
+ * other nodes to drop theirs over the {@link CacheInvalidationBus}, since their copies would
+ * otherwise keep the old answer.
+ */
+@Slf4j
+@Service
+public class FriendshipGraph implements CacheInvalidationBus.LocalCache {
+
+    private static final String NAME = "friendGraph";
+    private static final UUID[] NONE = new UUID[0];
+
+    private final FriendshipRepository friendshipRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final Cache<UUID, UUID[]> friendsByUser;
+
+    public FriendshipGraph(FriendshipRepository friendshipRepository,
+                           CacheInvalidationBus invalidationBus,
+                           CacheIntrospectionService cacheIntrospection,
+                           FriendshipGraphProperties properties) {
+        this.friendshipRepository = friendshipRepository;
+        this.invalidationBus = invalidationBus;
+        this.friendsByUser = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxUsers())
+                .expireAfterAccess(properties.getExpireAfterAccess())
+                .recordStats()
+                .build();
+
+        cacheIntrospection.registerNativeCache(NAME, friendsByUser);
+        invalidationBus.register(NAME, this);
+    }
+
+    // =========================================================
+    // QUERIES
+    // =========================================================
+
+    public boolean areFriends(UUID user1, UUID user2) {
+        if (user1 == null || user2 == null || user1.equals(user2)) {
+            return false;
+        }
+        // Use whichever side is already loaded before loading one
+        UUID[] friends = friendsByUser.getIfPresent(user1);
+        if (friends != null) {
+            return Arrays.binarySearch(friends, user2) >= 0;
+        }
+        friends = friendsByUser.getIfPresent(user2);
+        if (friends != null) {
+            return Arrays.binarySearch(friends, user1) >= 0;
+        }
+        return Arrays.binarySearch(friendsOf(user1), user2) >= 0;
+    }
+
+    /**
+     * The user's friends in UUID order; the array must not be modified
+     */
+    public UUID[] friendsOf(UUID userId) {
+        return friendsByUser.get(userId, this::load);
+    }
+
+    // =========================================================
+    // UPDATES
+    // =========================================================
+
+    public void friendshipAccepted(UUID user1, UUID user2) {
+        AfterCommit.run(() -> {
+            friendsByUser.asMap().computeIfPresent(user1, (id, friends) -> with(friends, user2));
+            friendsByUser.asMap().computeIfPresent(user2, (id, friends) -> with(friends, user1));
+        });
+        broadcast(user1, user2);
+    }
+
+    public void friendshipEnded(UUID user1, UUID user2) {
+        AfterCommit.run(() -> {
+            friendsByUser.asMap().computeIfPresent(user1, (id, friends) -> without(friends, user2));
+            friendsByUser.asMap().computeIfPresent(user2, (id, friends) -> without(friends, user1));
+        });
+        broadcast(user1, user2);
+    }
+
+    // =========================================================
+    // LOCAL INVALIDATION (from other nodes)
+    // =========================================================
+
+    @Override
+    public void invalidateLocal(Object key) {
+        try {
+            friendsByUser.invalidate(UUID.fromString(String.valueOf(key)));
+        } catch (IllegalArgumentException e) {
+            friendsByUser.invalidateAll();
+        }
+    }
+
+    @Override
+    public void invalidateLocalTag(String tag) {
+        friendsByUser.invalidateAll();
+    }
+
+    @Override
+    public void invalidateLocalAll() {
+        friendsByUser.invalidateAll();
+    }
+
+    // =========================================================
+    // HELPERS
+    // =========================================================
+
+    private UUID[] load(UUID userId) {
+        List<UUID> ids = friendshipRepository.findFriendIds(userId);
+        if (ids.isEmpty()) {
+            return NONE;
+        }
+        UUID[] friends = ids.stream().distinct().toArray(UUID[]::new);
+        Arrays.sort(friends);
+        log.debug("Loaded {} friends of user {}", friends.length, userId);
+        return friends;
+    }
+
+    private static UUID[] with(UUID[] friends, UUID friend) {
+        int index = Arrays.binarySearch(friends, friend);
+        if (index >= 0) {
+            return friends;
+        }
+        int insertAt = -index - 1;
+        UUID[] updated = new UUID[friends.length + 1];
+        System.arraycopy(friends, 0, updated, 0, insertAt);
+        updated[insertAt] = friend;
+        System.arraycopy(friends, insertAt, updated, insertAt + 1, friends.length - insertAt);
+        return updated;
+    }
+
+    private static UUID[] without(UUID[] friends, UUID friend) {
+        int index = Arrays.binarySearch(friends, friend);
+        if (index < 0) {
+            return friends;
+        }
+        UUID[] updated = new UUID[friends.length - 1];
+        System.arraycopy(friends, 0, updated, 0, index);
+        System.arraycopy(friends, index + 1, updated, index, friends.length - index - 1);
+        return updated;
+    }
+
+    private void broadcast(UUID user1, UUID user2) {
+        invalidationBus.publishEvict(NAME, user1.toString());
+        invalidationBus.publishEvict(NAME, user2.toString());
+    }
+}
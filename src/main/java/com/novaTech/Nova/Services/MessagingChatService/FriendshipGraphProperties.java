@@ -0,0 +1,17 @@
+package com.novaTech.Nova.Services.MessagingChatService;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chat.friend-graph")
+public class FriendshipGraphProperties {
+    // users whose friend sets are kept in memory; least recently used sets are dropped first
+    private long maxUsers = 50000;
+    // a friend set not read for this long is dropped and reloaded on next use
+    private Duration expireAfterAccess = Duration.ofHours(1);
+}
@@ -15,7 +15,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,6 +29,7 @@ public class FriendshipService {
     private final FriendshipRepository friendshipRepository;
     private final UserRepo userRepository;
     private final WebSocketMessageService webSocketMessageService;
+    private final FriendshipGraph friendshipGraph;
 
     /**
      * Find user by username or email
@@ -98,6 +102,7 @@ public class FriendshipService {
         friendship.setRespondedAt(LocalDateTime.now());
 
         Friendship saved = friendshipRepository.save(friendship);
+        friendshipGraph.friendshipAccepted(friendship.getRequesterId(), friendship.getAddresseeId());
 
         // Notify requester
         webSocketMessageService.sendFriendAccepted(friendship.getRequesterId(), saved);
@@ -118,9 +123,13 @@ public class FriendshipService {
             throw new UnauthorizedException("Not authorized to reject this friend request");
         }
 
+        boolean wasAccepted = friendship.getStatus() == FriendshipStatus.ACCEPTED;
         friendship.setStatus(FriendshipStatus.DECLINED);
         friendship.setRespondedAt(LocalDateTime.now());
         friendshipRepository.save(friendship);
+        if (wasAccepted) {
+            friendshipGraph.friendshipEnded(friendship.getRequesterId(), friendship.getAddresseeId());
+        }
 
         log.info("Friend request rejected: {}", friendshipId);
     }
@@ -147,6 +156,7 @@ public class FriendshipService {
         }
 
         friendshipRepository.delete(friendship);
+        friendshipGraph.friendshipEnded(userId, friendId);
         log.info("Friendship removed between {} and {}", userId, friendId);
     }
 
@@ -155,14 +165,12 @@ public class FriendshipService {
      */
     public List<FriendshipDTO> getFriendsWithDetails(UUID userId) {
         List<Friendship> friendships = friendshipRepository.findByUserIdAndStatus(userId, FriendshipStatus.ACCEPTED);
+        Map<UUID, User> users = usersById(friendships.stream()
+                .map(friendship -> otherUser(friendship, userId))
+                .collect(Collectors.toSet()));
 
         return friendships.stream().map(friendship -> {
-            UUID friendId = friendship.getRequesterId().equals(userId)
-                    ? friendship.getAddresseeId()
-                    : friendship.getRequesterId();
-
-            User friend = userRepository.findById(friendId)
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found: " + friendId));
+            User friend = requireUser(users, otherUser(friendship, userId));
 
             return FriendshipDTO.builder()
                     .friendshipId(friendship.getId())
@@ -179,10 +187,12 @@ public class FriendshipService {
      */
     public List<FriendRequestDTO> getPendingRequestsWithDetails(UUID userId) {
         List<Friendship> requests = friendshipRepository.findByAddresseeIdAndStatus(userId, FriendshipStatus.PENDING);
+        Map<UUID, User> users = usersById(requests.stream()
+                .map(Friendship::getRequesterId)
+                .collect(Collectors.toSet()));
 
         return requests.stream().map(friendship -> {
-            User requester = userRepository.findById(friendship.getRequesterId())
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found: " + friendship.getRequesterId()));
+            User requester = requireUser(users, friendship.getRequesterId());
 
             return FriendRequestDTO.builder()
                     .friendshipId(friendship.getId())
@@ -199,10 +209,12 @@ public class FriendshipService {
      */
     public List<FriendRequestDTO> getSentRequestsWithDetails(UUID userId) {
         List<Friendship> requests = friendshipRepository.findByRequesterIdAndStatus(userId, FriendshipStatus.PENDING);
+        Map<UUID, User> users = usersById(requests.stream()
+                .map(Friendship::getAddresseeId)
+                .collect(Collectors.toSet()));
 
         return requests.stream().map(friendship -> {
-            User addressee = userRepository.findById(friendship.getAddresseeId())
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found: " + friendship.getAddresseeId()));
+            User addressee = requireUser(users, friendship.getAddresseeId());
 
             return FriendRequestDTO.builder()
                     .friendshipId(friendship.getId())
@@ -230,9 +242,7 @@ public class FriendshipService {
      * Check if users are friends
      */
     public boolean areFriends(UUID user1, UUID user2) {
-        return friendshipRepository.findByUsers(user1, user2)
-                .map(f -> f.getStatus() == FriendshipStatus.ACCEPTED)
-                .orElse(false);
+        return friendshipGraph.areFriends(user1, user2);
     }
 
     /**
@@ -246,6 +256,33 @@ public class FriendshipService {
         return friendshipRepository.findByAddresseeIdAndStatus(userId, FriendshipStatus.PENDING);
     }
 
+    // ===== Helpers =====
+
+    private static UUID otherUser(Friendship friendship, UUID userId) {
+        return friendship.getRequesterId().equals(userId)
+                ? friendship.getAddresseeId()
+                : friendship.getRequesterId();
+    }
+
+    /**
+     * Load all users of a page in one query instead of one per row
+     */
+    private Map<UUID, User> usersById(Set<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    private static User requireUser(Map<UUID, User> users, UUID id) {
+        User user = users.get(id);
+        if (user == null) {
+            throw new ResourceNotFoundException("User not found: " + id);
+        }
+        return user;
+    }
+
     // ===== DTOs =====
 
     @lombok.Data
@@ -0,0 +1,158 @@
+package com.novaTech.Nova.Services.MessagingChatService;
+
+import com.novaTech.Nova.DTO.CursorPage;
+import com.novaTech.Nova.DTO.InboxEntryDTO;
+import com.novaTech.Nova.Entities.chats.PrivateMessage;
+import com.novaTech.Nova.Entities.repo.InboxEntryRepository;
+import com.novaTech.Nova.Services.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read model of each user's private conversations: one row per (user, room) with the latest
+ * message and the unread count, kept up to date on send, read, edit and delete so the inbox is
+ * one indexed query instead of a COUNT per friend.
+ *
+ * Every change is also pushed to the affected user on /queue/inbox: "inbox_message" for a new
+ * message (with unreadIncrement, so sends don't read the row back) and "inbox_update" with the
+ * whole entry otherwise. Pushes go out after the change's transaction commits, so clients never
+ * see a delta that was rolled back. Pages are keyset-paged by (last message time, room id) descending with
+ * a "&lt;time&gt;_&lt;roomId&gt;" cursor.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InboxService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int PREVIEW_LENGTH = 200;
+
+    // "before the first row" keyset position
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final InboxEntryRepository inboxEntryRepository;
+    private final WebSocketMessageService webSocketMessageService;
+
+    // =========================================================
+    // QUERIES
+    // =========================================================
+
+    public CursorPage<InboxEntryDTO> getInbox(UUID userId, String cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        LocalDateTime beforeAt = LATEST;
+        Long beforeRoomId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            int separator = cursor.lastIndexOf('_');
+            try {
+                beforeAt = LocalDateTime.parse(cursor.substring(0, separator));
+                beforeRoomId = Long.parseLong(cursor.substring(separator + 1));
+            } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        List<InboxEntryDTO> rows = inboxEntryRepository.findPage(userId, beforeAt, beforeRoomId, PageRequest.of(0, size + 1));
+        boolean hasMore = rows.size() > size;
+        List<InboxEntryDTO> items = hasMore ? rows.subList(0, size) : rows;
+        InboxEntryDTO last = items.isEmpty() ? null : items.get(items.size() - 1);
+
+        return CursorPage.<InboxEntryDTO>builder()
+                .items(items)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? last.getLastMessageAt() + "_" + last.getChatRoomId() : null)
+                .build();
+    }
+
+    // =========================================================
+    // UPDATES (called inside the change's transaction)
+    // =========================================================
+
+    public void messageSent(PrivateMessage message) {
+        String preview = preview(message.getContent());
+        inboxEntryRepository.recordMessage(message.getSenderId(), message.getChatRoomId(), message.getReceiverId(),
+                message.getId(), preview, message.getSenderId(), message.getSentAt(), 0);
+        inboxEntryRepository.recordMessage(message.getReceiverId(), message.getChatRoomId(), message.getSenderId(),
+                message.getId(), preview, message.getSenderId(), message.getSentAt(), 1);
+
+        AfterCommit.run(() -> {
+            webSocketMessageService.sendInboxMessage(message.getSenderId(), message, message.getReceiverId(), preview, 0);
+            webSocketMessageService.sendInboxMessage(message.getReceiverId(), message, message.getSenderId(), preview, 1);
+        });
+    }
+
+    public void conversationRead(UUID userId, Long chatRoomId) {
+        boolean unreadChanged = inboxEntryRepository.recountUnread(userId, chatRoomId) > 0;
+        if (unreadChanged) {
+            pushEntry(userId, chatRoomId);
+        }
+    }
+
+    public void messageEdited(PrivateMessage message) {
+        // Only the latest message is shown
+        if (inboxEntryRepository.updatePreview(message.getChatRoomId(), message.getId(), preview(message.getContent())) > 0) {
+            pushEntry(message.getSenderId(), message.getChatRoomId());
+            pushEntry(message.getReceiverId(), message.getChatRoomId());
+        }
+    }
+
+    public void messageDeleted(PrivateMessage message) {
+        Long chatRoomId = message.getChatRoomId();
+        if (inboxEntryRepository.replaceDeletedLastMessage(chatRoomId, message.getId()) == 0) {
+            // Not the latest message, or none is left to show
+            inboxEntryRepository.updatePreview(chatRoomId, message.getId(), null);
+        }
+        inboxEntryRepository.recountUnread(message.getReceiverId(), chatRoomId);
+
+        pushEntry(message.getSenderId(), chatRoomId);
+        pushEntry(message.getReceiverId(), chatRoomId);
+    }
+
+    // =========================================================
+    // BACKFILL
+    // =========================================================
+
+    /**
+     * Build the inbox once from existing conversations when the table is first created. Runs
+     * after the read cursors are seeded, since unread counts come from them.
+     */
+    @Order(1)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            if (!inboxEntryRepository.hasEntries()) {
+                int created = inboxEntryRepository.backfill();
+                log.info("Built {} inbox entries from existing conversations", created);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to build inbox entries from existing conversations: {}", e.getMessage());
+        }
+    }
+
+    // =========================================================
+    // HELPERS
+    // =========================================================
+
+    private void pushEntry(UUID userId, Long chatRoomId) {
+        // Read inside the transaction to see its own changes, send once they are committed
+        inboxEntryRepository.findEntry(userId, chatRoomId)
+                .ifPresent(entry -> AfterCommit.run(() -> webSocketMessageService.sendInboxUpdate(userId, entry)));
+    }
+
+    private static String preview(String content) {
+        if (content == null) {
+            return null;
+        }
+        return content.length() > PREVIEW_LENGTH ? content.substring(0, PREVIEW_LENGTH) : content;
+    }
+}
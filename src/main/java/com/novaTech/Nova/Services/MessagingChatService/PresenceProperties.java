@@ -0,0 +1,20 @@
+package com.novaTech.Nova.Services.MessagingChatService;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "chat.presence")
+public class PresenceProperties {
+    // STOMP heart-beat the broker sends and expects; a connection silent for longer is closed
+    // and its user goes offline
+    private long heartbeatMs = 10000;
+
+    // presence changes are collected for this long and sent as one frame per recipient
+    private long broadcastIntervalMs = 250;
+
+    // status and lastSeenAt are written to user_presence this often, in one statement
+    private long persistIntervalMs = 30000;
+}
@@ -0,0 +1,364 @@
+package com.novaTech.Nova.Services.MessagingChatService;
+
+import com.novaTech.Nova.DTO.PresenceDTO;
+import com.novaTech.Nova.Entities.Enums.PresenceStatus;
+import com.novaTech.Nova.Entities.models.UserPresence;
+import com.novaTech.Nova.Entities.repo.TeamMemberRepository;
+import com.novaTech.Nova.Entities.repo.UserPresenceRepository;
+import com.novaTech.Nova.Exceptions.BadRequestException;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Who is online, kept in memory from the STOMP sessions of this node.
+ * Users connected to another node (broker relay mode) are seen through the shared
+ * {@link SimpUserRegistry} as plain ONLINE; their node owns and broadcasts their changes.
+ *
+ * A user is online while they have at least one connected session; the broker's heart-beats
+ * close dead connections, so a lost client goes offline within a few heart-beat intervals.
+ * Any inbound frame, heart-beats included, moves the user's lastSeenAt forward.
+ *
+ * Status changes are collected and sent every {@code chat.presence.broadcast-interval-ms}
+ * as one "presence" frame per online friend or teammate, on their /queue/presence. Status
+ * and lastSeenAt are written to user_presence every {@code chat.presence.persist-interval-ms}
+ * in one statement, never per event.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PresenceService {
+
+    private final UserPresenceRepository presenceRepository;
+    private final TeamMemberRepository teamMemberRepository;
+    private final FriendshipGraph friendshipGraph;
+    private final WebSocketMessageService webSocketMessageService;
+    private final SimpUserRegistry userRegistry;
+
+    private final Map<String, UUID> sessionUsers = new ConcurrentHashMap<>();
+    private final Map<UUID, OnlineUser> online = new ConcurrentHashMap<>();
+
+    // users whose status changed since the last broadcast
+    private final Set<UUID> changed = ConcurrentHashMap.newKeySet();
+    // users whose presence changed since the last write, and when those who left were last seen
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, LocalDateTime> wentOffline = new ConcurrentHashMap<>();
+
+    private static final class OnlineUser {
+        final Set<String> sessions = ConcurrentHashMap.newKeySet();
+        volatile PresenceStatus chosenStatus;
+        volatile String customStatus;
+        volatile LocalDateTime lastSeenAt = LocalDateTime.now();
+
+        PresenceStatus status() {
+            return chosenStatus != null ? chosenStatus : PresenceStatus.ONLINE;
+        }
+    }
+
+    // =========================================================
+    // SESSION EVENTS
+    // =========================================================
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        UUID userId = userId(event.getUser());
+        String sessionId = StompHeaderAccessor.wrap(event.getMessage()).getSessionId();
+        if (userId == null || sessionId == null) {
+            return;
+        }
+
+        sessionUsers.put(sessionId, userId);
+        boolean[] cameOnline = {false};
+        online.compute(userId, (id, user) -> {
+            if (user == null) {
+                user = new OnlineUser();
+                cameOnline[0] = true;
+            }
+            user.sessions.add(sessionId);
+            user.lastSeenAt = LocalDateTime.now();
+            return user;
+        });
+        wentOffline.remove(userId);
+        dirty.add(userId);
+        if (cameOnline[0]) {
+            changed.add(userId);
+            log.debug("User {} is online", userId);
+        }
+    }
+
+    @EventListener
+    public void onDisconnected(SessionDisconnectEvent event) {
+        String sessionId = event.getSessionId();
+        UUID userId = sessionId != null ? sessionUsers.remove(sessionId) : null;
+        if (userId == null) {
+            return;
+        }
+
+        boolean[] wentAway = {false};
+        online.computeIfPresent(userId, (id, user) -> {
+            user.sessions.remove(sessionId);
+            if (user.sessions.isEmpty()) {
+                wentAway[0] = true;
+                return null;
+            }
+            return user;
+        });
+        if (wentAway[0]) {
+            wentOffline.put(userId, LocalDateTime.now());
+            dirty.add(userId);
+            changed.add(userId);
+            log.debug("User {} is offline", userId);
+        }
+    }
+
+    /**
+     * Any inbound frame of the session, heart-beats included
+     */
+    public void sessionActive(String sessionId) {
+        UUID userId = sessionUsers.get(sessionId);
+        OnlineUser user = userId != null ? online.get(userId) : null;
+        if (user != null) {
+            user.lastSeenAt = LocalDateTime.now();
+            dirty.add(userId);
+        }
+    }
+
+    // =========================================================
+    // STATUS
+    // =========================================================
+
+    /**
+     * Set a status other than ONLINE (BUSY, AWAY, ...) while connected; ONLINE clears it
+     */
+    public PresenceDTO setStatus(UUID userId, PresenceStatus status, String customStatus) {
+        OnlineUser user = online.get(userId);
+        if (user == null) {
+            throw new BadRequestException("Connect to the WebSocket before setting a status");
+        }
+
+        user.chosenStatus = status == PresenceStatus.ONLINE ? null : status;
+        user.customStatus = customStatus;
+        dirty.add(userId);
+        changed.add(userId);
+        return snapshot(userId, user);
+    }
+
+    /**
+     * Current presence of the users: live for those online here, ONLINE for those connected
+     * to another node, last stored state otherwise
+     */
+    public List<PresenceDTO> getPresence(Collection<UUID> userIds) {
+        List<PresenceDTO> result = new ArrayList<>(userIds.size());
+        List<UUID> offline = new ArrayList<>();
+        for (UUID userId : userIds) {
+            OnlineUser user = online.get(userId);
+            if (user != null) {
+                result.add(snapshot(userId, user));
+            } else {
+                offline.add(userId);
+            }
+        }
+        if (!offline.isEmpty()) {
+            Map<UUID, UserPresence> stored = presenceRepository.findByUserIdIn(offline).stream()
+                    .collect(Collectors.toMap(UserPresence::getUserId, Function.identity()));
+            for (UUID userId : offline) {
+                UserPresence presence = stored.get(userId);
+                result.add(PresenceDTO.builder()
+                        .userId(userId)
+                        .status(connectedElsewhere(userId) ? PresenceStatus.ONLINE : PresenceStatus.OFFLINE)
+                        .lastSeenAt(presence != null ? presence.getLastSeenAt() : null)
+                        .build());
+            }
+        }
+        return result;
+    }
+
+    public List<PresenceDTO> getFriendsPresence(UUID userId) {
+        return getPresence(List.of(friendshipGraph.friendsOf(userId)));
+    }
+
+    public boolean isOnline(UUID userId) {
+        return online.containsKey(userId) || connectedElsewhere(userId);
+    }
+
+    // =========================================================
+    // BROADCAST
+    // =========================================================
+
+    @Scheduled(fixedDelayString = "${chat.presence.broadcast-interval-ms:250}")
+    public void broadcastChanges() {
+        if (changed.isEmpty()) {
+            return;
+        }
+        List<UUID> users = drain(changed);
+        try {
+            Map<UUID, List<UUID>> teammates = teamMemberRepository.findTeammates(users).stream()
+                    .collect(Collectors.groupingBy(TeamMemberRepository.Teammate::getUserId,
+                            Collectors.mapping(TeamMemberRepository.Teammate::getTeammateId, Collectors.toList())));
+
+            // One frame per online recipient with every change they can see
+            Map<UUID, List<PresenceDTO>> frames = new HashMap<>();
+            for (UUID userId : users) {
+                PresenceDTO update = current(userId);
+                if (update.getStatus() == PresenceStatus.OFFLINE && connectedElsewhere(userId)) {
+                    // Left this node but still connected to another
+                    continue;
+                }
+                Set<UUID> audience = new HashSet<>(List.of(friendshipGraph.friendsOf(userId)));
+                audience.addAll(teammates.getOrDefault(userId, List.of()));
+                for (UUID recipient : audience) {
+                    if (isOnline(recipient)) {
+                        frames.computeIfAbsent(recipient, id -> new ArrayList<>()).add(update);
+                    }
+                }
+            }
+            webSocketMessageService.sendPresenceUpdates(frames);
+        } catch (RuntimeException e) {
+            log.warn("Failed to broadcast presence of {} users, retrying next run: {}", users.size(), e.getMessage());
+            changed.addAll(users);
+        }
+    }
+
+    // =========================================================
+    // PERSISTENCE
+    // =========================================================
+
+    /**
+     * user_presence.user_id used to be a BIGINT. With Flyway disabled V003 never runs and
+     * ddl-auto=update leaves column types alone, so every persist run would fail: convert it
+     * here, and refuse to start on a type that can't be converted.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureUserIdColumnIsUuid() {
+        String type = presenceRepository.findUserIdColumnType().orElse(null);
+        if (type == null || type.equalsIgnoreCase("uuid")) {
+            return;
+        }
+        if (!type.equalsIgnoreCase("bigint")) {
+            throw new IllegalStateException("user_presence.user_id is " + type + ", expected uuid");
+        }
+        log.warn("Converting user_presence.user_id from bigint to uuid, dropping its old rows");
+        presenceRepository.convertUserIdToUuid();
+    }
+
+    @Scheduled(fixedDelayString = "${chat.presence.persist-interval-ms:30000}")
+    public void persist() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<UUID> users = drain(dirty);
+        List<PresenceDTO> rows = new ArrayList<>(users.size());
+        for (UUID userId : users) {
+            OnlineUser user = online.get(userId);
+            LocalDateTime leftAt = wentOffline.remove(userId);
+            if (user != null) {
+                rows.add(snapshot(userId, user));
+            } else if (leftAt != null) {
+                rows.add(PresenceDTO.builder().userId(userId).status(PresenceStatus.OFFLINE).lastSeenAt(leftAt).build());
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            presenceRepository.upsertAll(
+                    rows.stream().map(PresenceDTO::getUserId).toArray(UUID[]::new),
+                    rows.stream().map(row -> row.getStatus().name()).toArray(String[]::new),
+                    rows.stream().map(PresenceDTO::getCustomStatus).toArray(String[]::new),
+                    rows.stream().map(PresenceDTO::getLastSeenAt).toArray(LocalDateTime[]::new));
+        } catch (RuntimeException e) {
+            log.warn("Failed to write presence of {} users, retrying next run: {}", rows.size(), e.getMessage());
+            rows.stream()
+                    .filter(row -> row.getStatus() == PresenceStatus.OFFLINE)
+                    .forEach(row -> wentOffline.putIfAbsent(row.getUserId(), row.getLastSeenAt()));
+            dirty.addAll(users);
+        }
+    }
+
+    @PreDestroy
+    public void persistOnShutdown() {
+        // Everyone connected here goes offline with this node
+        LocalDateTime now = LocalDateTime.now();
+        online.keySet().forEach(userId -> {
+            wentOffline.put(userId, now);
+            dirty.add(userId);
+        });
+        online.clear();
+        sessionUsers.clear();
+        persist();
+    }
+
+    // =========================================================
+    // HELPERS
+    // =========================================================
+
+    private PresenceDTO current(UUID userId) {
+        OnlineUser user = online.get(userId);
+        if (user != null) {
+            return snapshot(userId, user);
+        }
+        return PresenceDTO.builder()
+                .userId(userId)
+                .status(PresenceStatus.OFFLINE)
+                .lastSeenAt(wentOffline.getOrDefault(userId, LocalDateTime.now()))
+                .build();
+    }
+
+    private boolean connectedElsewhere(UUID userId) {
+        return !online.containsKey(userId) && userRegistry.getUser(userId.toString()) != null;
+    }
+
+    private static PresenceDTO snapshot(UUID userId, OnlineUser user) {
+        return PresenceDTO.builder()
+                .userId(userId)
+                .status(user.status())
+                .customStatus(user.customStatus)
+                .lastSeenAt(user.lastSeenAt)
+                .build();
+    }
+
+    private static List<UUID> drain(Set<UUID> set) {
+        // Remove one by one so an id added meanwhile is kept for the next run
+        List<UUID> drained = new ArrayList<>(set.size());
+        for (UUID id : set) {
+            if (set.remove(id)) {
+                drained.add(id);
+            }
+        }
+        return drained;
+    }
+
+    private static UUID userId(Principal principal) {
+        if (principal == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(principal.getName());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
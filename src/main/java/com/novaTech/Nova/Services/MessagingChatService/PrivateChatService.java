@@ -1,18 +1,19 @@
 package com.novaTech.Nova.Services.MessagingChatService;
 
-import com.novaTech.Nova.Entities.Enums.FriendshipStatus;
-import com.novaTech.Nova.Entities.Enums.MessageStatus;
 import com.novaTech.Nova.Entities.User;
-import com.novaTech.Nova.Entities.chats.ChatRoom;
+import com.novaTech.Nova.Entities.chats.ChatReadCursor;
 import com.novaTech.Nova.Entities.chats.PrivateMessage;
-import com.novaTech.Nova.Entities.repo.ChatRoomRepository;
-import com.novaTech.Nova.Entities.repo.FriendshipRepository;
+import com.novaTech.Nova.Entities.repo.ChatReadCursorRepository;
 import com.novaTech.Nova.Entities.repo.PrivateMessageRepository;
 import com.novaTech.Nova.Entities.repo.UserRepo;
 import com.novaTech.Nova.Exceptions.ResourceNotFoundException;
 import com.novaTech.Nova.Exceptions.UnauthorizedException;
+import com.novaTech.Nova.Services.AfterCommit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,10 +27,13 @@ import java.util.UUID;
 public class PrivateChatService {
 
     private final PrivateMessageRepository messageRepository;
-    private final ChatRoomRepository chatRoomRepository;
-    private final FriendshipRepository friendshipRepository;
+    private final ChatReadCursorRepository readCursorRepository;
+    private final ChatRoomDirectory chatRoomDirectory;
+    private final ChatRoomActivity chatRoomActivity;
+    private final FriendshipGraph friendshipGraph;
     private final UserRepo userRepository;
     private final WebSocketMessageService webSocketMessageService;
+    private final InboxService inboxService;
 
     /**
      * Find user by username or email
@@ -71,11 +75,11 @@ public class PrivateChatService {
         }
 
         // Get or create chat room
-        ChatRoom chatRoom = getOrCreateChatRoom(senderId, receiverId);
+        Long chatRoomId = chatRoomDirectory.privateRoomId(senderId, receiverId);
 
         // Create message
         PrivateMessage message = PrivateMessage.builder()
-                .chatRoomId(chatRoom.getId())
+                .chatRoomId(chatRoomId)
                 .senderId(senderId)
                 .receiverId(receiverId)
                 .content(content)
@@ -86,9 +90,9 @@ public class PrivateChatService {
 
         PrivateMessage saved = messageRepository.save(message);
 
-        // Update chat room timestamp
-        chatRoom.setLastMessageAt(LocalDateTime.now());
-        chatRoomRepository.save(chatRoom);
+        // Update chat room timestamp (written in batches, see ChatRoomActivity)
+        chatRoomActivity.privateMessageSent(chatRoomId, LocalDateTime.now());
+        inboxService.messageSent(saved);
 
         // Send via WebSocket
         webSocketMessageService.sendPrivateMessage(receiverId, saved);
@@ -113,8 +117,8 @@ public class PrivateChatService {
             throw new UnauthorizedException("Users are not friends");
         }
 
-        ChatRoom chatRoom = getOrCreateChatRoom(user1, user2);
-        return messageRepository.findByChatRoomIdAndIsDeletedFalseOrderBySentAtAsc(chatRoom.getId());
+        Long chatRoomId = chatRoomDirectory.privateRoomId(user1, user2);
+        return messageRepository.findByChatRoomIdAndIsDeletedFalseOrderBySentAtAsc(chatRoomId);
     }
 
     /**
@@ -132,6 +136,9 @@ public class PrivateChatService {
         return findUserByUsernameOrEmail(identifier);
     }
 
+    /**
+     * Mark a message, and every earlier one in its conversation, as read
+     */
     @Transactional
     public void markAsRead(Long messageId, UUID userId) {
         PrivateMessage message = messageRepository.findById(messageId)
@@ -141,12 +148,33 @@ public class PrivateChatService {
             throw new UnauthorizedException("Not authorized");
         }
 
-        message.setStatus(MessageStatus.READ);
-        message.setReadAt(LocalDateTime.now());
-        messageRepository.save(message);
+        markReadUpTo(userId, message.getSenderId(), message.getChatRoomId(), messageId);
+    }
+
+    /**
+     * Mark the conversation with a friend as read up to a message (or entirely, if upToMessageId
+     * is null) with one cursor update and at most one read receipt to the friend
+     */
+    @Transactional
+    public ReadStateDTO markConversationRead(UUID userId, UUID friendId, Long upToMessageId) {
+        if (!areFriends(userId, friendId)) {
+            throw new UnauthorizedException("Users are not friends");
+        }
 
-        // Notify sender via WebSocket
-        webSocketMessageService.sendReadReceipt(message.getSenderId(), messageId);
+        Long chatRoomId = chatRoomDirectory.privateRoomId(userId, friendId);
+        markReadUpTo(userId, friendId, chatRoomId, upToMessageId != null ? upToMessageId : Long.MAX_VALUE);
+        return readState(userId, friendId, chatRoomId);
+    }
+
+    /**
+     * The user's read position and unread count in the conversation with a friend
+     */
+    public ReadStateDTO getReadState(UUID userId, UUID friendId) {
+        if (!areFriends(userId, friendId)) {
+            throw new UnauthorizedException("Users are not friends");
+        }
+
+        return readState(userId, friendId, chatRoomDirectory.privateRoomId(userId, friendId));
     }
 
     @Transactional
@@ -161,6 +189,7 @@ public class PrivateChatService {
         message.setContent(newContent);
         message.setEditedAt(LocalDateTime.now());
         PrivateMessage updated = messageRepository.save(message);
+        inboxService.messageEdited(updated);
 
         // Notify receiver via WebSocket
         webSocketMessageService.sendMessageUpdate(message.getReceiverId(), updated);
@@ -178,7 +207,8 @@ public class PrivateChatService {
         }
 
         message.setIsDeleted(true);
-        messageRepository.save(message);
+        messageRepository.saveAndFlush(message);
+        inboxService.messageDeleted(message);
 
         // Notify receiver via WebSocket
         webSocketMessageService.sendMessageDeletion(message.getReceiverId(), messageId);
@@ -196,30 +226,65 @@ public class PrivateChatService {
      * Original search messages method
      */
     public List<PrivateMessage> searchMessages(UUID user1, UUID user2, String searchTerm) {
-        ChatRoom chatRoom = getOrCreateChatRoom(user1, user2);
-        return messageRepository.searchInChatRoom(chatRoom.getId(), searchTerm);
+        Long chatRoomId = chatRoomDirectory.privateRoomId(user1, user2);
+        return messageRepository.searchInChatRoom(chatRoomId, searchTerm);
+    }
+
+    /**
+     * Carry reads recorded as per-message READ status over to the read cursors, so messages
+     * read before the cursors existed don't show up as unread. Runs once, while there are no
+     * cursors yet, and before the inbox backfill.
+     */
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedReadCursors() {
+        try {
+            if (!readCursorRepository.hasCursors()) {
+                int seeded = readCursorRepository.seedFromReadStatus();
+                log.info("Seeded {} read cursors from messages already marked read", seeded);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to seed read cursors from messages already marked read: {}", e.getMessage());
+        }
+    }
+
+    private void markReadUpTo(UUID userId, UUID friendId, Long chatRoomId, Long upToMessageId) {
+        // Only messages actually sent to the user can be read
+        Long lastReadMessageId = messageRepository.findLatestReceivedId(chatRoomId, userId, upToMessageId);
+        if (lastReadMessageId == null) {
+            return;
+        }
+
+        // One receipt for the whole range, and none if the cursor was already there
+        if (readCursorRepository.advance(userId, chatRoomId, lastReadMessageId, LocalDateTime.now()) > 0) {
+            AfterCommit.run(() -> webSocketMessageService.sendReadReceipt(friendId, chatRoomId, userId, lastReadMessageId));
+            inboxService.conversationRead(userId, chatRoomId);
+        }
+    }
+
+    private ReadStateDTO readState(UUID userId, UUID friendId, Long chatRoomId) {
+        Long lastReadMessageId = readCursorRepository.findByUserIdAndChatRoomId(userId, chatRoomId)
+                .map(ChatReadCursor::getLastReadMessageId)
+                .orElse(null);
+
+        return ReadStateDTO.builder()
+                .chatRoomId(chatRoomId)
+                .lastReadMessageId(lastReadMessageId)
+                .unreadCount(messageRepository.countUnreadFromFriend(chatRoomId, userId, friendId))
+                .build();
     }
 
     private boolean areFriends(UUID user1, UUID user2) {
-        return friendshipRepository.findByUsers(user1, user2)
-                .map(f -> f.getStatus() == FriendshipStatus.ACCEPTED)
-                .orElse(false);
-    }
-
-    private ChatRoom getOrCreateChatRoom(UUID user1, UUID user2) {
-        // Ensure consistent order of user IDs
-        UUID userId1 = user1.compareTo(user2) < 0 ? user1 : user2;
-        UUID userId2 = user1.compareTo(user2) < 0 ? user2 : user1;
-
-        // Try to find an existing chat room
-        return chatRoomRepository.findByUsers(userId1, userId2)
-                .orElseGet(() -> {
-                    // Create new chat room if not found
-                    ChatRoom chatRoom = ChatRoom.builder()
-                            .user1Id(userId1)
-                            .user2Id(userId2)
-                            .build();
-                    return chatRoomRepository.save(chatRoom);
-                });
+        return friendshipGraph.areFriends(user1, user2);
+    }
+
+    // ===== DTOs =====
+
+    @lombok.Data
+    @lombok.Builder
+    public static class ReadStateDTO {
+        private Long chatRoomId;
+        private Long lastReadMessageId;
+        private Long unreadCount;
     }
 }
\ No newline at end of file
@@ -1,9 +1,6 @@
 package com.novaTech.Nova.Services.MessagingChatService;
 
-import com.novaTech.Nova.Entities.TeamMember;
-import com.novaTech.Nova.Entities.chats.TeamChatRoom;
 import com.novaTech.Nova.Entities.chats.TeamMessage;
-import com.novaTech.Nova.Entities.repo.TeamChatRoomRepository;
 import com.novaTech.Nova.Entities.repo.TeamMemberRepository;
 import com.novaTech.Nova.Entities.repo.TeamMessageRepository;
 import com.novaTech.Nova.Exceptions.ResourceNotFoundException;
@@ -23,7 +20,8 @@ import java.util.UUID;
 public class TeamChatService {
     
     private final TeamMessageRepository messageRepository;
-    private final TeamChatRoomRepository chatRoomRepository;
+    private final ChatRoomDirectory chatRoomDirectory;
+    private final ChatRoomActivity chatRoomActivity;
     private final TeamMemberRepository memberRepository;
     private final WebSocketMessageService webSocketMessageService;
     
@@ -39,12 +37,12 @@ public class TeamChatService {
         }
         
         // Get or create chat room
-        TeamChatRoom chatRoom = getOrCreateTeamChatRoom(teamId);
+        Long chatRoomId = chatRoomDirectory.teamRoomId(teamId);
         
         // Create message
         TeamMessage message = TeamMessage.builder()
                 .teamId(teamId)
-                .chatRoomId(chatRoom.getId())
+                .chatRoomId(chatRoomId)
                 .senderId(senderId)
                 .content(content)
                 .mentionedUserIds(mentionedUserIds)
@@ -56,17 +54,15 @@ public class TeamChatService {
         
         TeamMessage saved = messageRepository.save(message);
         
-        // Update chat room timestamp
-        chatRoom.setLastMessageAt(LocalDateTime.now());
-        chatRoomRepository.save(chatRoom);
+        // Update chat room timestamp (written in batches, see ChatRoomActivity)
+        chatRoomActivity.teamMessageSent(chatRoomId, LocalDateTime.now());
         
         // Broadcast to all team members via WebSocket
-        List<TeamMember> members = memberRepository.findByTeamIdAndIsActiveTrue(teamId);
-        members.forEach(member -> {
-            if (!member.getUser().getId().equals(senderId)) {
-                webSocketMessageService.sendTeamMessage(member.getUser().getId(), saved);
-            }
-        });
+        List<UUID> recipients = memberRepository.findByTeamIdAndIsActiveTrue(teamId).stream()
+                .map(member -> member.getUser().getId())
+                .filter(memberId -> !memberId.equals(senderId))
+                .toList();
+        webSocketMessageService.sendTeamMessage(recipients, saved);
         
         log.info("Team message sent successfully: {}", saved.getId());
         return saved;
@@ -127,20 +123,10 @@ public class TeamChatService {
         return memberRepository.existsByTeamIdAndUserIdAndIsActiveTrue(teamId, userId);
     }
     
-    private TeamChatRoom getOrCreateTeamChatRoom(UUID teamId) {
-        return chatRoomRepository.findByTeamIdAndIsActiveTrue(teamId)
-                .orElseGet(() -> {
-                    TeamChatRoom chatRoom = TeamChatRoom.builder()
-                            .teamId(teamId)
-                            .build();
-                    return chatRoomRepository.save(chatRoom);
-                });
-    }
-    
     private void broadcastToTeam(UUID teamId, TeamMessage message, String action) {
-        List<TeamMember> members = memberRepository.findByTeamIdAndIsActiveTrue(teamId);
-        members.forEach(member -> {
-            webSocketMessageService.sendTeamMessageUpdate(member.getUser().getId(), message, action);
-        });
+        List<UUID> recipients = memberRepository.findByTeamIdAndIsActiveTrue(teamId).stream()
+                .map(member -> member.getUser().getId())
+                .toList();
+        webSocketMessageService.sendTeamMessageUpdate(recipients, message, action);
     }
 }
\ No newline at end of file
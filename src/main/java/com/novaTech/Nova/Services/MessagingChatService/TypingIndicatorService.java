@@ -0,0 +1,177 @@
+package com.novaTech.Nova.Services.MessagingChatService;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.novaTech.Nova.Entities.repo.TeamMemberRepository;
+import com.novaTech.Nova.Services.cacheData.CacheIntrospectionService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Throttles typing indicators per (sender, chat): clients may report every keystroke, but
+ * recipients get at most one frame per {@code chat.ephemeral.typing-interval-ms}.
+ *
+ * The first "typing" is sent at once and repeated at most once per interval while the sender
+ * keeps typing. "Stopped" is sent on the trailing edge, once the interval since the last frame
+ * has passed, or on its own after {@code chat.ephemeral.typing-timeout-ms} without events.
+ * Frames go through the {@link EphemeralEventDispatcher} and may be dropped under load.
+ *
+ * Team frames go to the team's member ids, cached for {@code chat.ephemeral.team-members-ttl-ms}
+ * and loaded off the inbound STOMP thread; a frame for a team not cached yet is sent once its
+ * members are loaded.
+ */
+@Slf4j
+@Service
+public class TypingIndicatorService {
+
+    private static final String TEAM_MEMBERS_CACHE = "typingTeamMembers";
+
+    private final FriendshipGraph friendshipGraph;
+    private final WebSocketMessageService webSocketMessageService;
+    private final EphemeralEventProperties properties;
+
+    private final Map<Key, State> states = new ConcurrentHashMap<>();
+
+    private final ExecutorService memberLoader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "typing-members");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AsyncLoadingCache<UUID, Set<UUID>> teamMembers;
+
+    public TypingIndicatorService(FriendshipGraph friendshipGraph,
+                                  TeamMemberRepository memberRepository,
+                                  WebSocketMessageService webSocketMessageService,
+                                  EphemeralEventProperties properties,
+                                  CacheIntrospectionService cacheIntrospection) {
+        this.friendshipGraph = friendshipGraph;
+        this.webSocketMessageService = webSocketMessageService;
+        this.properties = properties;
+        this.teamMembers = Caffeine.newBuilder()
+                .maximumSize(properties.getTeamMembersMaxTeams())
+                .expireAfterWrite(Duration.ofMillis(properties.getTeamMembersTtlMs()))
+                .executor(memberLoader)
+                .recordStats()
+                .buildAsync(teamId -> Set.copyOf(memberRepository.findActiveUserIds(teamId)));
+
+        cacheIntrospection.registerNativeCache(TEAM_MEMBERS_CACHE, teamMembers.synchronous());
+    }
+
+    // a private chat with receiverId, or a team chat with teamId
+    private record Key(UUID senderId, UUID receiverId, UUID teamId) {
+    }
+
+    // only changed inside compute on its key
+    private static final class State {
+        long lastEventAt;
+        long lastSentAt;
+        boolean sentTyping;
+        // the frame to send once the interval allows, or null
+        Boolean pending;
+    }
+
+    public void privateTyping(UUID senderId, UUID receiverId, boolean typing) {
+        if (friendshipGraph.areFriends(senderId, receiverId)) {
+            report(new Key(senderId, receiverId, null), typing);
+        }
+    }
+
+    public void teamTyping(UUID senderId, UUID teamId, boolean typing) {
+        report(new Key(senderId, null, teamId), typing);
+    }
+
+    @Scheduled(fixedDelayString = "${chat.ephemeral.tick-ms:250}")
+    public void sendPending() {
+        long now = System.currentTimeMillis();
+        for (Key key : states.keySet()) {
+            Boolean[] frame = {null};
+            states.computeIfPresent(key, (k, state) -> {
+                if (state.sentTyping && state.pending == null && now - state.lastEventAt >= properties.getTypingTimeoutMs()) {
+                    // The client never said it stopped
+                    state.pending = false;
+                }
+                if (state.pending != null && now - state.lastSentAt >= properties.getTypingIntervalMs()) {
+                    frame[0] = state.pending;
+                    markSent(state, state.pending, now);
+                }
+                // Nothing shown and nothing to send: forget the chat
+                return state.sentTyping || state.pending != null ? state : null;
+            });
+            if (frame[0] != null) {
+                deliver(key, frame[0]);
+            }
+        }
+    }
+
+    // =========================================================
+    // HELPERS
+    // =========================================================
+
+    private void report(Key key, boolean typing) {
+        long now = System.currentTimeMillis();
+        boolean[] sendNow = {false};
+        states.compute(key, (k, state) -> {
+            if (state == null) {
+                state = new State();
+            }
+            state.lastEventAt = now;
+            if (!typing && !state.sentTyping) {
+                // Recipients never saw this sender typing
+                state.pending = null;
+            } else if (now - state.lastSentAt >= properties.getTypingIntervalMs()) {
+                markSent(state, typing, now);
+                sendNow[0] = true;
+            } else {
+                state.pending = typing;
+            }
+            return state;
+        });
+        if (sendNow[0]) {
+            deliver(key, typing);
+        }
+    }
+
+    private static void markSent(State state, boolean typing, long now) {
+        state.lastSentAt = now;
+        state.sentTyping = typing;
+        state.pending = null;
+    }
+
+    private void deliver(Key key, boolean typing) {
+        if (key.receiverId() != null) {
+            webSocketMessageService.sendTypingIndicator(List.of(key.receiverId()), key.senderId(), null, typing);
+            return;
+        }
+        // Completes at once when cached, otherwise on the loader thread
+        teamMembers.get(key.teamId()).whenComplete((members, error) -> {
+            if (error != null) {
+                log.warn("Could not load members of team {} for a typing frame: {}", key.teamId(), error.getMessage());
+                return;
+            }
+            if (!members.contains(key.senderId())) {
+                states.remove(key);
+                return;
+            }
+            List<UUID> recipients = members.stream()
+                    .filter(recipient -> !recipient.equals(key.senderId()))
+                    .toList();
+            webSocketMessageService.sendTypingIndicator(recipients, key.senderId(), key.teamId(), typing);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        memberLoader.shutdownNow();
+    }
+}
@@ -1,146 +1,196 @@
 package com.novaTech.Nova.Services.MessagingChatService;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.novaTech.Nova.DTO.InboxEntryDTO;
+import com.novaTech.Nova.DTO.PresenceDTO;
+import com.novaTech.Nova.DTO.RealtimeEvents.FriendshipEvent;
+import com.novaTech.Nova.DTO.RealtimeEvents.InboxMessage;
+import com.novaTech.Nova.DTO.RealtimeEvents.InboxUpdate;
+import com.novaTech.Nova.DTO.RealtimeEvents.MeetingEvent;
+import com.novaTech.Nova.DTO.RealtimeEvents.MeetingInvitation;
+import com.novaTech.Nova.DTO.RealtimeEvents.MessageChanged;
+import com.novaTech.Nova.DTO.RealtimeEvents.MessageDeleted;
+import com.novaTech.Nova.DTO.RealtimeEvents.PrivateMessageEvent;
+import com.novaTech.Nova.DTO.RealtimeEvents.ReadReceipt;
+import com.novaTech.Nova.DTO.RealtimeEvents.TeamMessageEvent;
+import com.novaTech.Nova.DTO.RealtimeEvents.Typing;
+import com.novaTech.Nova.Entities.chats.PrivateMessage;
+import com.novaTech.Nova.Entities.chats.TeamMessage;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+/**
+ * Every event is serialized once into a JSON frame (see {@link com.novaTech.Nova.DTO.RealtimeEvents})
+ * and the same bytes are sent to each recipient, instead of converting the payload per send.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class WebSocketMessageService {
-    
+
+    private static final byte[] PRESENCE_START = "{\"type\":\"presence\",\"updates\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PRESENCE_END = "]}".getBytes(StandardCharsets.UTF_8);
+
     private final SimpMessagingTemplate messagingTemplate;
     private final ObjectMapper objectMapper;
+    // typing and presence: low priority, dropped under load
+    private final EphemeralEventDispatcher ephemeralEvents;
+
+    public WebSocketMessageService(SimpMessagingTemplate messagingTemplate,
+                                   ObjectMapper objectMapper,
+                                   EphemeralEventDispatcher ephemeralEvents) {
+        this.messagingTemplate = messagingTemplate;
+        // Same JSON as the REST API, without null fields
+        this.objectMapper = objectMapper.copy().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        this.ephemeralEvents = ephemeralEvents;
+    }
     
     // Private Chat Messages
-    public void sendPrivateMessage(UUID userId, Object message) {
-        String destination = "/user/" + userId + "/queue/messages";
-        messagingTemplate.convertAndSend(destination, message);
+    public void sendPrivateMessage(UUID userId, PrivateMessage message) {
+        send(userId, "/queue/messages", encode(PrivateMessageEvent.of(message)));
         log.debug("Sent private message to user {}", userId);
     }
     
-    public void sendReadReceipt(UUID userId, Long messageId) {
-        Map<String, Object> payload = Map.of(
-            "type", "read_receipt",
-            "messageId", messageId
-        );
-        messagingTemplate.convertAndSend("/user/" + userId + "/queue/notifications", payload);
+    /**
+     * The reader has read every message of the room up to and including messageId
+     */
+    public void sendReadReceipt(UUID userId, Long chatRoomId, UUID readerId, Long messageId) {
+        send(userId, "/queue/notifications", encode(new ReadReceipt(chatRoomId, readerId, messageId)));
     }
     
-    public void sendMessageUpdate(UUID userId, Object message) {
-        Map<String, Object> payload = Map.of(
-            "type", "message_update",
-            "message", message
-        );
-        messagingTemplate.convertAndSend("/user/" + userId + "/queue/messages", payload);
+    public void sendMessageUpdate(UUID userId, PrivateMessage message) {
+        send(userId, "/queue/messages", encode(new MessageChanged("message_update", PrivateMessageEvent.of(message))));
     }
     
     public void sendMessageDeletion(UUID userId, Long messageId) {
-        Map<String, Object> payload = Map.of(
-            "type", "message_delete",
-            "messageId", messageId
-        );
-        messagingTemplate.convertAndSend("/user/" + userId + "/queue/messages", payload);
+        send(userId, "/queue/messages", encode(new MessageDeleted(messageId)));
+    }
+    
+    // Inbox (see InboxService)
+    public void sendInboxMessage(UUID userId, PrivateMessage message, UUID peerId, String preview, int unreadIncrement) {
+        send(userId, "/queue/inbox", encode(new InboxMessage(message, peerId, preview, unreadIncrement)));
+    }
+    
+    public void sendInboxUpdate(UUID userId, InboxEntryDTO entry) {
+        send(userId, "/queue/inbox", encode(new InboxUpdate(entry)));
     }
     
     // Typing Indicators
-    public void sendTypingIndicator(UUID userId, Long typingUserId, boolean isTyping) {
-        Map<String, Object> payload = Map.of(
-            "type", "typing",
-            "userId", typingUserId,
-            "isTyping", isTyping
-        );
-        messagingTemplate.convertAndSend("/user/" + userId + "/queue/presence", payload);
+    public void sendTypingIndicator(Collection<UUID> userIds, UUID typingUserId, UUID teamId, boolean isTyping) {
+        Message<byte[]> frame = encode(new Typing(typingUserId, teamId, isTyping));
+        for (UUID userId : userIds) {
+            ephemeralEvents.send("/user/" + userId + "/queue/presence", frame);
+        }
     }
     
     // Friend Requests
     public void sendFriendRequest(UUID userId, Object friendship) {
-        Map<String, Object> payload = Map.of(
-            "type", "friend_request",
-            "friendship", friendship
-        );
-        messagingTemplate.convertAndSend("/user/" + userId + "/queue/notifications", payload);
+        send(userId, "/queue/notifications", encode(new FriendshipEvent("friend_request", friendship)));
     }
     
     public void sendFriendAccepted(UUID userId, Object friendship) {
-        Map<String, Object> payload = Map.of(
-            "type", "friend_accepted",
-            "friendship", friendship
-        );
-        messagingTemplate.convertAndSend("/user/" + userId + "/queue/notifications", payload);
+        send(userId, "/queue/notifications", encode(new FriendshipEvent("friend_accepted", friendship)));
     }
     
     // Team Messages
-    public void sendTeamMessage(UUID userId, Object message) {
-        messagingTemplate.convertAndSend("/user/" + userId + "/queue/team-messages", message);
+    public void sendTeamMessage(Collection<UUID> userIds, TeamMessage message) {
+        Message<byte[]> frame = encode(TeamMessageEvent.of(message));
+        for (UUID userId : userIds) {
+            send(userId, "/queue/team-messages", frame);
+        }
     }
     
-    public void sendTeamMessageUpdate(UUID userId, Object message, String action) {
-        Map<String, Object> payload = Map.of(
-            "type", "team_message_" + action,
-            "message", message
-        );
-        messagingTemplate.convertAndSend("/user/" + userId + "/queue/team-messages", payload);
+    public void sendTeamMessageUpdate(Collection<UUID> userIds, TeamMessage message, String action) {
+        Message<byte[]> frame = encode(new MessageChanged("team_message_" + action, TeamMessageEvent.of(message)));
+        for (UUID userId : userIds) {
+            send(userId, "/queue/team-messages", frame);
+        }
     }
     
     // Meeting Events
     public void sendMeetingInvitation(UUID userId, Object meeting) {
-        Map<String, Object> payload = Map.of(
-            "type", "meeting_invitation",
-            "meeting", meeting
-        );
-        messagingTemplate.convertAndSend("/user/" + userId + "/queue/notifications", payload);
+        send(userId, "/queue/notifications", encode(new MeetingInvitation(meeting)));
     }
     
     public void sendWaitingRoomNotification(UUID hostId, UUID waitingUserId) {
-        Map<String, Object> payload = Map.of(
-            "type", "waiting_room",
-            "userId", waitingUserId
-        );
-        messagingTemplate.convertAndSend("/user/" + hostId + "/queue/meeting-events", payload);
+        send(hostId, "/queue/meeting-events", encode(new MeetingEvent("waiting_room", null, waitingUserId)));
     }
     
     public void sendAdmissionNotification(UUID userId, Long meetingId) {
-        Map<String, Object> payload = Map.of(
-            "type", "admitted",
-            "meetingId", meetingId
-        );
-        messagingTemplate.convertAndSend("/user/" + userId + "/queue/meeting-events", payload);
+        send(userId, "/queue/meeting-events", encode(new MeetingEvent("admitted", meetingId, null)));
     }
     
     public void sendMeetingEvent(UUID userId, Long meetingId, String event, UUID eventUserId) {
-        Map<String, Object> payload = Map.of(
-            "type", event,
-            "meetingId", meetingId,
-            "userId", eventUserId
-        );
-        messagingTemplate.convertAndSend("/user/" + userId + "/queue/meeting-events", payload);
+        send(userId, "/queue/meeting-events", encode(new MeetingEvent(event, meetingId, eventUserId)));
     }
     
     public void sendMeetingMessage(UUID userId, Object message) {
-        messagingTemplate.convertAndSend("/user/" + userId + "/queue/meeting-chat", message);
+        send(userId, "/queue/meeting-chat", encode(message));
     }
     
     public void sendPrivateMeetingMessage(UUID userId, Object message) {
-        Map<String, Object> payload = Map.of(
-            "type", "private_message",
-            "message", message
-        );
-        messagingTemplate.convertAndSend("/user/" + userId + "/queue/meeting-chat", payload);
-    }
-    
-    // Presence Updates
-    public void sendPresenceUpdate(UUID userId, String status) {
-        Map<String, Object> payload = Map.of(
-            "type", "presence_update",
-            "userId", userId,
-            "status", status
-        );
-        messagingTemplate.convertAndSend("/topic/presence", payload);
-    }
-}
\ No newline at end of file
+        send(userId, "/queue/meeting-chat", encode(new MessageChanged("private_message", message)));
+    }
+    
+    /**
+     * Presence Updates (only to the user's friends and teammates, see PresenceService): one
+     * frame per recipient, with each update serialized once however many recipients see it
+     */
+    public void sendPresenceUpdates(Map<UUID, List<PresenceDTO>> updatesByRecipient) {
+        Map<PresenceDTO, byte[]> encoded = new IdentityHashMap<>();
+        updatesByRecipient.forEach((userId, updates) -> {
+            ByteArrayOutputStream json = new ByteArrayOutputStream();
+            json.writeBytes(PRESENCE_START);
+            for (int i = 0; i < updates.size(); i++) {
+                if (i > 0) {
+                    json.write(',');
+                }
+                json.writeBytes(encoded.computeIfAbsent(updates.get(i), this::toJson));
+            }
+            json.writeBytes(PRESENCE_END);
+            ephemeralEvents.send("/user/" + userId + "/queue/presence", frame(json.toByteArray()));
+        });
+    }
+
+    // =========================================================
+    // HELPERS
+    // =========================================================
+
+    private void send(UUID userId, String queue, Message<byte[]> frame) {
+        messagingTemplate.send("/user/" + userId + queue, frame);
+    }
+
+    private Message<byte[]> encode(Object event) {
+        return frame(toJson(event));
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new MessageConversionException("Could not serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    // Immutable, so one frame can be sent to many destinations: each send copies the headers only
+    private static Message<byte[]> frame(byte[] json) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(json, accessor.getMessageHeaders());
+    }
+}
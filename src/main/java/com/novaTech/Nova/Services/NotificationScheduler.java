@@ -1,26 +1,19 @@
 package com.novaTech.Nova.Services;
 
-import com.novaTech.Nova.Entities.Enums.ProjectStatus;
-import com.novaTech.Nova.Entities.Enums.TaskStatus;
-import com.novaTech.Nova.Entities.Project;
-import com.novaTech.Nova.Entities.Task;
-import com.novaTech.Nova.Entities.repo.ProjectRepo;
-import com.novaTech.Nova.Entities.repo.TaskRepo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationScheduler {
 
-    private final ProjectRepo projectRepo;
-    private final TaskRepo taskRepo;
+    private final DeadlineService deadlineService;
     private final NotificationService notificationService;
 
     @Scheduled(cron = "0 0 8 * * ?")
@@ -43,28 +36,23 @@ public class NotificationScheduler {
         log.info("Daily notification scheduler finished.");
     }
 
+    // Only projects ending exactly three days out get the reminder, so each is reminded once
     private void processProjectsDueSoon(LocalDate today, LocalDate threeDaysFromNow) {
         try {
-            List<Project> projects = projectRepo.findByEndDateBetweenAndStatusNot(
-                    today.plusDays(1),
-                    threeDaysFromNow,
-                    ProjectStatus.COMPLETED
-            );
-            log.info("Found {} projects due in 1-3 days.", projects.size());
-
-            for (Project project : projects) {
-                if (project.getEndDate().equals(threeDaysFromNow)) {
-                    try {
-                        notificationService.sendProjectDueSoonEmail(project.getUser(), project);
-                        log.debug("Sent 'due soon' email for project: {}", project.getTitle());
-                    } catch (Exception e) {
-                        log.error("Failed to send 'due soon' email for project: {} to user: {}. Error: {}",
-                                project.getTitle(),
-                                project.getUser().getEmail(),
-                                e.getMessage());
-                    }
+            AtomicInteger count = new AtomicInteger();
+            deadlineService.forEachProjectDueOn(threeDaysFromNow, project -> {
+                count.incrementAndGet();
+                try {
+                    notificationService.sendProjectDueSoonEmail(project.getUser(), project);
+                    log.debug("Sent 'due soon' email for project: {}", project.getTitle());
+                } catch (Exception e) {
+                    log.error("Failed to send 'due soon' email for project: {} to user: {}. Error: {}",
+                            project.getTitle(),
+                            project.getUser().getEmail(),
+                            e.getMessage());
                 }
-            }
+            });
+            log.info("Found {} projects due in 3 days.", count.get());
         } catch (Exception e) {
             log.error("Error processing projects due soon: {}", e.getMessage(), e);
         }
@@ -72,10 +60,9 @@ public class NotificationScheduler {
 
     private void processProjectsDueToday(LocalDate today) {
         try {
-            List<Project> projects = projectRepo.findByEndDateAndStatusNot(today, ProjectStatus.COMPLETED);
-            log.info("Found {} projects due today.", projects.size());
-
-            for (Project project : projects) {
+            AtomicInteger count = new AtomicInteger();
+            deadlineService.forEachProjectDueOn(today, project -> {
+                count.incrementAndGet();
                 try {
                     notificationService.sendProjectDueDateEmail(project.getUser(), project);
                     log.debug("Sent 'due today' email for project: {}", project.getTitle());
@@ -85,7 +72,8 @@ public class NotificationScheduler {
                             project.getUser().getEmail(),
                             e.getMessage());
                 }
-            }
+            });
+            log.info("Found {} projects due today.", count.get());
         } catch (Exception e) {
             log.error("Error processing projects due today: {}", e.getMessage(), e);
         }
@@ -93,12 +81,9 @@ public class NotificationScheduler {
 
     private void processOverdueProjects(LocalDate today) {
         try {
-            LocalDate yesterday = today.minusDays(1);
-            List<Project> projects = projectRepo.findByEndDateAndStatusNot(yesterday, ProjectStatus.COMPLETED);
-
-            log.info("Found {} newly overdue projects.", projects.size());
-
-            for (Project project : projects) {
+            AtomicInteger count = new AtomicInteger();
+            deadlineService.forEachProjectDueOn(today.minusDays(1), project -> {
+                count.incrementAndGet();
                 try {
                     notificationService.sendProjectOverdueEmail(project.getUser(), project);
                     log.debug("Sent 'overdue' email for project: {}", project.getTitle());
@@ -108,34 +93,30 @@ public class NotificationScheduler {
                             project.getUser().getEmail(),
                             e.getMessage());
                 }
-            }
+            });
+            log.info("Found {} newly overdue projects.", count.get());
         } catch (Exception e) {
             log.error("Error processing overdue projects: {}", e.getMessage(), e);
         }
     }
 
+    // Only tasks due exactly three days out get the reminder, so each is reminded once
     private void processTasksDueSoon(LocalDate today, LocalDate threeDaysFromNow) {
         try {
-            List<Task> tasks = taskRepo.findByDueDateBetweenAndStatusNot(
-                    today.plusDays(1),
-                    threeDaysFromNow,
-                    TaskStatus.DONE
-            );
-            log.info("Found {} tasks due in 1-3 days.", tasks.size());
-
-            for (Task task : tasks) {
-                if (task.getDueDate().equals(threeDaysFromNow)) {
-                    try {
-                        notificationService.sendTaskDueSoonEmail(task.getUser(), task);
-                        log.debug("Sent 'due soon' email for task: {}", task.getTitle());
-                    } catch (Exception e) {
-                        log.error("Failed to send 'due soon' email for task: {} to user: {}. Error: {}",
-                                task.getTitle(),
-                                task.getUser().getEmail(),
-                                e.getMessage());
-                    }
+            AtomicInteger count = new AtomicInteger();
+            deadlineService.forEachTaskDueOn(threeDaysFromNow, task -> {
+                count.incrementAndGet();
+                try {
+                    notificationService.sendTaskDueSoonEmail(task.getUser(), task);
+                    log.debug("Sent 'due soon' email for task: {}", task.getTitle());
+                } catch (Exception e) {
+                    log.error("Failed to send 'due soon' email for task: {} to user: {}. Error: {}",
+                            task.getTitle(),
+                            task.getUser().getEmail(),
+                            e.getMessage());
                 }
-            }
+            });
+            log.info("Found {} tasks due in 3 days.", count.get());
         } catch (Exception e) {
             log.error("Error processing tasks due soon: {}", e.getMessage(), e);
         }
@@ -143,10 +124,9 @@ public class NotificationScheduler {
 
     private void processTasksDueToday(LocalDate today) {
         try {
-            List<Task> tasks = taskRepo.findByDueDateAndStatusNot(today, TaskStatus.DONE);
-            log.info("Found {} tasks due today.", tasks.size());
-
-            for (Task task : tasks) {
+            AtomicInteger count = new AtomicInteger();
+            deadlineService.forEachTaskDueOn(today, task -> {
+                count.incrementAndGet();
                 try {
                     notificationService.sendTaskDueDateEmail(task.getUser(), task);
                     log.debug("Sent 'due today' email for task: {}", task.getTitle());
@@ -156,7 +136,8 @@ public class NotificationScheduler {
                             task.getUser().getEmail(),
                             e.getMessage());
                 }
-            }
+            });
+            log.info("Found {} tasks due today.", count.get());
         } catch (Exception e) {
             log.error("Error processing tasks due today: {}", e.getMessage(), e);
         }
@@ -164,12 +145,9 @@ public class NotificationScheduler {
 
     private void processOverdueTasks(LocalDate today) {
         try {
-            LocalDate yesterday = today.minusDays(1);
-            List<Task> tasks = taskRepo.findByDueDateAndStatusNot(yesterday, TaskStatus.DONE);
-
-            log.info("Found {} newly overdue tasks.", tasks.size());
-
-            for (Task task : tasks) {
+            AtomicInteger count = new AtomicInteger();
+            deadlineService.forEachTaskDueOn(today.minusDays(1), task -> {
+                count.incrementAndGet();
                 try {
                     notificationService.sendTaskOverdueEmail(task.getUser(), task);
                     log.debug("Sent 'overdue' email for task: {}", task.getTitle());
@@ -179,9 +157,10 @@ public class NotificationScheduler {
                             task.getUser().getEmail(),
                             e.getMessage());
                 }
-            }
+            });
+            log.info("Found {} newly overdue tasks.", count.get());
         } catch (Exception e) {
             log.error("Error processing overdue tasks: {}", e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+}
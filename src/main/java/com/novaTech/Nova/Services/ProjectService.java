@@ -9,6 +9,7 @@ import com.novaTech.Nova.Entities.Enums.ProjectStatus;
 import com.novaTech.Nova.Entities.repo.ProjectDocumentRepo;
 import com.novaTech.Nova.Entities.repo.ProjectRepo;
 import com.novaTech.Nova.Entities.repo.UserRepo;
+import com.novaTech.Nova.Services.cacheData.DashboardCache;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
@@ -39,6 +40,8 @@ public class ProjectService {
     private final ProjectDocumentRepo projectDocumentRepo;
     private final UserRepo userRepo;
     private final EmailService emailService;
+    private final DashboardCache dashboardCache;
+    private final DeadlineService deadlineService;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -80,6 +83,7 @@ public class ProjectService {
 
         Project savedProject = projectRepo.save(project);
         entityManager.flush();
+        dashboardCache.evictProjects(ownerId);
 
         log.info("Project created successfully - ID: {}, Name: {}", savedProject.getId(), savedProject.getTitle());
 
@@ -144,6 +148,7 @@ public class ProjectService {
 
         Project updatedProject = projectRepo.save(project);
         entityManager.flush();
+        dashboardCache.evictProjects(ownerId);
 
         log.info("Project updated successfully - ID: {}", updatedProject.getId());
 
@@ -281,6 +286,7 @@ public class ProjectService {
         String projectName = project.getTitle();
 
         projectRepo.delete(project);
+        dashboardCache.evictProjects(ownerId);
         log.info("Project deleted successfully - ID: {}", projectId);
 
         log.info("Sending project deletion email to: {}", owner.getEmail());
@@ -431,49 +437,38 @@ public class ProjectService {
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(key = "'user:' + #userId + '_projectCount'")
     public long getProjectCount(UUID userId) {
-        User user = userRepo.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return projectRepo.countByUser(user);
+        return dashboardCache.get(userId, DashboardCache.PROJECT_COUNT, () -> {
+            User user = userRepo.findById(userId)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            return projectRepo.countByUser(user);
+        });
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(key = "'user:' + #userId + '_completedProjectCount'")
     public long getCompletedProjectCount(UUID userId) {
-        User user = userRepo.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return projectRepo.countByUserAndStatus(user, ProjectStatus.COMPLETED);
+        return dashboardCache.get(userId, DashboardCache.COMPLETED_PROJECT_COUNT, () -> {
+            User user = userRepo.findById(userId)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            return projectRepo.countByUserAndStatus(user, ProjectStatus.COMPLETED);
+        });
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(key = "'user:' + #userId + '_inProgressProjectCount'")
     public long getInProgressProjectCount(UUID userId) {
-        User user = userRepo.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return projectRepo.countByUserAndStatus(user, ProjectStatus.ACTIVE);
+        return dashboardCache.get(userId, DashboardCache.IN_PROGRESS_PROJECT_COUNT, () -> {
+            User user = userRepo.findById(userId)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            return projectRepo.countByUserAndStatus(user, ProjectStatus.ACTIVE);
+        });
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(key = "'user:' + #userId + '_overdueProjects'")
     public List<ProjectSummaryDTO> viewOverdueProjects(UUID userId) {
-        log.info("Fetching overdue projects for user ID: {}", userId);
-        User user = userRepo.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        return projectRepo.findByUser(user).stream()
-                .filter(project -> project.getEndDate() != null && project.getEndDate().isBefore(LocalDate.now()))
-                .map(project -> {
-                    long daysLeft = ChronoUnit.DAYS.between(LocalDate.now(), project.getEndDate());
-                    return ProjectSummaryDTO.builder()
-                            .id(project.getId())
-                            .name(project.getTitle())
-                            .description(project.getDescription())
-                            .dueDate(project.getEndDate())
-                            .daysLeft(daysLeft)
-                            .build();
-                })
-                .collect(Collectors.toList());
+        return dashboardCache.get(userId, DashboardCache.OVERDUE_PROJECTS, () -> {
+            log.info("Fetching overdue projects for user ID: {}", userId);
+            return deadlineService.allPersonalProjects(userId, DeadlineService.Window.OVERDUE, 0);
+        });
     }
 
 
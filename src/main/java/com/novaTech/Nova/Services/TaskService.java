@@ -8,6 +8,7 @@ import com.novaTech.Nova.Entities.User;
 import com.novaTech.Nova.Entities.repo.ProjectRepo;
 import com.novaTech.Nova.Entities.repo.TaskRepo;
 import com.novaTech.Nova.Entities.repo.UserRepo;
+import com.novaTech.Nova.Services.cacheData.DashboardCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheConfig;
@@ -35,14 +36,14 @@ public class TaskService {
     private final UserRepo userRepo;
     private final TaskRepo taskRepo;
     private final EmailService emailService;
+    private final DashboardCache dashboardCache;
+    private final DeadlineService deadlineService;
 
     // to create a task for a user
     @Transactional
     @Caching(
             evict = {
-                    @CacheEvict(key = "'user:' + #userId + '_tasks'"),
-                    @CacheEvict(key = "'user:' + #userId + '_taskCount'"),
-                    @CacheEvict(key = "'user:' + #userId + '_completedTaskCount'")
+                    @CacheEvict(key = "'user:' + #userId + '_tasks'")
             }
     )
     public TaskResponseDTO createUserTask(UUID userId, TaskCreationDTO dto){
@@ -69,6 +70,7 @@ public class TaskService {
                 .build();
 
         taskRepo.save(task);
+        dashboardCache.evictTasks(userId);
         log.info("Task created successfully with ID: {}", task.getId());
 
         // Send task creation email
@@ -454,9 +456,7 @@ public class TaskService {
     }
 
     @Caching(evict = {
-            @CacheEvict(key = "'user:' + #userId + '_tasks'"),
-            @CacheEvict(key = "'user:' + #userId + '_taskCount'"),
-            @CacheEvict(key = "'user:' + #userId + '_completedTaskCount'")
+            @CacheEvict(key = "'user:' + #userId + '_tasks'")
     })
     public TaskResponseDTO updateUserTask(UUID taskId, UUID userId, TaskUpdateDTO dto) {
         log.info("Updating task with ID: {} for user with ID: {}", taskId, userId);
@@ -485,6 +485,7 @@ public class TaskService {
         task.setUpdatedAt(LocalDateTime.now());
 
         taskRepo.save(task);
+        dashboardCache.evictTasks(userId);
         log.info("Task updated successfully with ID: {}", task.getId());
 
         return TaskResponseDTO.builder()
@@ -502,9 +503,7 @@ public class TaskService {
     }
 
     @Caching(evict = {
-            @CacheEvict(key = "'user:' + #userId + '_tasks'"),
-            @CacheEvict(key = "'user:' + #userId + '_taskCount'"),
-            @CacheEvict(key = "'user:' + #userId + '_completedTaskCount'")
+            @CacheEvict(key = "'user:' + #userId + '_tasks'")
     })
     public void deleteUserTask(UUID taskId, UUID userId) {
         log.info("Deleting task with ID: {} for user with ID: {}", taskId, userId);
@@ -516,6 +515,7 @@ public class TaskService {
         }
 
         taskRepo.delete(task);
+        dashboardCache.evictTasks(userId);
         log.info("Task deleted successfully with ID: {}", taskId);
     }
 
@@ -617,41 +617,27 @@ public class TaskService {
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(key = "'user:' + #userId + '_taskCount'")
     public long getTaskCount(UUID userId) {
-        return taskRepo.countByUserId(userId);
+        return dashboardCache.get(userId, DashboardCache.TASK_COUNT, () -> taskRepo.countByUserId(userId));
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(key = "'user:' + #userId + '_completedTaskCount'")
     public long getCompletedTaskCount(UUID userId) {
-        return taskRepo.countByUserIdAndStatus(userId, TaskStatus.DONE);
+        return dashboardCache.get(userId, DashboardCache.COMPLETED_TASK_COUNT,
+                () -> taskRepo.countByUserIdAndStatus(userId, TaskStatus.DONE));
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(key = "'user:' + #userId + '_inProgressTaskCount'")
     public long getInProgressTaskCount(UUID userId) {
-        return taskRepo.countByUserIdAndStatus(userId, TaskStatus.IN_PROGRESS);
+        return dashboardCache.get(userId, DashboardCache.IN_PROGRESS_TASK_COUNT,
+                () -> taskRepo.countByUserIdAndStatus(userId, TaskStatus.IN_PROGRESS));
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(key = "'user:' + #userId + '_overdueTaskCount'")
     public List<TaskSummaryDTO> viewOverdueTasks(UUID userId) {
-        log.info("Fetching overdue tasks for user ID: {}", userId);
-        List<Task> tasks = taskRepo.findByUserId(userId);
-
-        return tasks.stream()
-                .filter(task -> task.getDueDate() != null && task.getDueDate().isBefore(LocalDate.now()))
-                .map(task -> {
-                    long daysLeft = ChronoUnit.DAYS.between(LocalDate.now(), task.getDueDate());
-                    return TaskSummaryDTO.builder()
-                            .id(task.getId())
-                            .title(task.getTitle())
-                            .description(task.getDescription())
-                            .dueDate(task.getDueDate())
-                            .daysLeft(daysLeft)
-                            .build();
-                })
-                .collect(Collectors.toList());
+        return dashboardCache.get(userId, DashboardCache.OVERDUE_TASKS, () -> {
+            log.info("Fetching overdue tasks for user ID: {}", userId);
+            return deadlineService.allPersonalTasks(userId, DeadlineService.Window.OVERDUE, 0);
+        });
     }
 }
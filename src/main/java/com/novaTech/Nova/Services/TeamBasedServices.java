@@ -8,6 +8,8 @@ import com.novaTech.Nova.Entities.Enums.TaskStatus;
 import com.novaTech.Nova.Entities.Enums.TaskPriority;
 import com.novaTech.Nova.Entities.Enums.TeamStatus;
 import com.novaTech.Nova.Entities.repo.*;
+import com.novaTech.Nova.Services.cacheData.CacheTagService;
+import com.novaTech.Nova.Services.cacheData.CacheTags;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.PersistenceContext;
@@ -42,6 +44,7 @@ public class TeamBasedServices {
     private final TeamTaskRepo teamTaskRepo;
     private final TeamReminderRepo teamReminderRepo;
     private final EmailService emailService;
+    private final CacheTagService cacheTagService;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -338,8 +341,7 @@ public class TeamBasedServices {
     @Caching(evict = {
             @CacheEvict(key = "'project:' + #projectId"),
             @CacheEvict(key = "'project:' + #projectId + '_documents'", cacheNames = "projectDocuments"),
-            @CacheEvict(key = "'project:' + #projectId + '_tasks'", cacheNames = "teamTasks"),
-            @CacheEvict(allEntries = true, cacheNames = "teamProjects")
+            @CacheEvict(key = "'project:' + #projectId + '_tasks'", cacheNames = "teamTasks")
     })
     public void deleteProject(UUID projectId, UUID userId, UUID teamId) {
         log.info("Deleting project ID: {} for user ID: {} in team ID: {}", projectId, userId, teamId);
@@ -366,6 +368,9 @@ public class TeamBasedServices {
         }
 
         teamProjectRepo.delete(project);
+
+        // Only this team's project lists and the lists that contain the project
+        cacheTagService.evictTags("teamProjects", CacheTags.project(projectId), CacheTags.team(teamId));
         log.info("Project deleted successfully - ID: {}", projectId);
     }
 
@@ -519,7 +524,8 @@ public class TeamBasedServices {
     @Caching(evict = {
             @CacheEvict(cacheNames = "teamTasks", key = "'project:' + #projectId + '_tasks'"),
             @CacheEvict(cacheNames = "teamTasks", key = "'user:' + #userId + '_team:' + #teamId + '_tasks'"),
-            @CacheEvict(cacheNames = "teamTasks", allEntries = true, condition = "#dto.assignedToUserId != null")
+            @CacheEvict(cacheNames = "teamTasks", key = "'user:' + #dto.assignedToUserId + '_team:' + #teamId + '_tasks'",
+                    condition = "#dto.assignedToUserId != null")
     })
     public TeamTaskResponseDTO createTask(UUID projectId, UUID userId, UUID teamId, TeamTaskCreateDTO dto) {
         User user = userRepo.findById(userId)
@@ -576,7 +582,8 @@ public class TeamBasedServices {
     @Transactional
     @Caching(evict = {
             @CacheEvict(cacheNames = "teamTasks", key = "'task:' + #taskId"),
-            @CacheEvict(cacheNames = "teamTasks", allEntries = true)
+            @CacheEvict(cacheNames = "teamTasks", key = "'user:' + #dto.assignedToUserId + '_team:' + #teamId + '_tasks'",
+                    condition = "#dto.assignedToUserId != null")
     })
     public TeamTaskResponseDTO updateTask(UUID taskId, UUID userId, UUID teamId, TeamTaskUpdateDTO dto) {
         log.info("Updating task ID: {} by user ID: {} in team ID: {}", taskId, userId, teamId);
@@ -632,6 +639,9 @@ public class TeamBasedServices {
         task.setUpdatedAt(LocalDateTime.now());
         TeamTask updatedTask = teamTaskRepo.save(task);
 
+        // Lists holding the task (its project, its previous assignee); the new assignee is evicted by key
+        cacheTagService.evictTags("teamTasks", CacheTags.task(taskId));
+
         if (statusChanged && task.getAssignedTo() != null) {
             sendTaskStatusChangeEmail(task.getAssignedTo(), task, oldStatus, task.getStatus());
         }
@@ -642,10 +652,7 @@ public class TeamBasedServices {
 
     // FIX: added teamId parameter for ownership validation
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(cacheNames = "teamTasks", key = "'task:' + #taskId"),
-            @CacheEvict(cacheNames = "teamTasks", allEntries = true)
-    })
+    @CacheEvict(cacheNames = "teamTasks", key = "'task:' + #taskId")
     public String deleteTask(UUID taskId, UUID userId, UUID teamId) {
         log.info("Deleting task ID: {} by user ID: {} in team ID: {}", taskId, userId, teamId);
 
@@ -673,6 +680,7 @@ public class TeamBasedServices {
         }
 
         teamTaskRepo.delete(task);
+        cacheTagService.evictTags("teamTasks", CacheTags.task(taskId));
         log.info("Task deleted successfully - ID: {}", taskId);
         return "Task deleted successfully";
     }
@@ -801,9 +809,6 @@ public class TeamBasedServices {
     }
 
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(cacheNames = "teamReminders", allEntries = true)
-    })
     public TeamReminderResponseDTO updateReminder(UUID reminderId, UUID userId, TeamReminderUpdateDTO dto) {
         TeamReminder reminder = teamReminderRepo.findById(reminderId)
                 .orElseThrow(() -> new RuntimeException("Reminder not found"));
@@ -820,12 +825,18 @@ public class TeamBasedServices {
         if (dto.getIsActive() != null) reminder.setActive(dto.getIsActive());
 
         TeamReminder updated = teamReminderRepo.save(reminder);
+
+        // Lists holding the reminder, plus the owner's, project's and task's lists it may join when reactivated
+        cacheTagService.evictTags("teamReminders",
+                CacheTags.reminder(reminderId),
+                CacheTags.user(userId),
+                reminder.getTeamProject() != null ? CacheTags.project(reminder.getTeamProject().getId()) : null,
+                reminder.getTeamTask() != null ? CacheTags.task(reminder.getTeamTask().getId()) : null);
         log.info("Reminder updated - ID: {}", updated.getId());
         return buildReminderResponse(updated);
     }
 
     @Transactional
-    @CacheEvict(cacheNames = "teamReminders", allEntries = true)
     public String deleteReminder(UUID reminderId, UUID userId) {
         TeamReminder reminder = teamReminderRepo.findById(reminderId)
                 .orElseThrow(() -> new RuntimeException("Reminder not found"));
@@ -835,6 +846,7 @@ public class TeamBasedServices {
         }
 
         teamReminderRepo.delete(reminder);
+        cacheTagService.evictTags("teamReminders", CacheTags.reminder(reminderId));
         log.info("Reminder deleted - ID: {}", reminderId);
         return "Reminder deleted successfully";
     }
@@ -9,6 +9,8 @@ import com.novaTech.Nova.Entities.User;
 import com.novaTech.Nova.Entities.repo.TeamMemberRepository;
 import com.novaTech.Nova.Entities.repo.TeamRepository;
 import com.novaTech.Nova.Entities.repo.UserRepo;
+import com.novaTech.Nova.Services.MessagingChatService.ChatRoomDirectory;
+import com.novaTech.Nova.Services.cacheData.DashboardCache;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +21,7 @@ import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -33,6 +36,8 @@ public class UserService {
     private final TeamRepository teamRepository;
     private final TeamMemberRepository teamMemberRepository;
     private final EmailService emailService;
+    private final DashboardCache dashboardCache;
+    private final ChatRoomDirectory chatRoomDirectory;
 
     // to search for users , that is active users by thier username
     @Transactional(readOnly = true)
@@ -236,6 +241,7 @@ public class UserService {
             );
             log.info("Team member added email sent successfully to: {}", memberUser.getEmail());
 
+        dashboardCache.evictStats(memberUser.getId());
         log.info("Successfully added user {} to team {}", memberUser.getId(), teamId);
 
         return mapToResponse(team);
@@ -262,6 +268,25 @@ public class UserService {
         return mapToResponse(team);
     }
 
+    // everything the dashboard shows, from one aggregate query
+    @Transactional(readOnly = true)
+    public DashboardStatsDTO getDashboardStats(UUID userId) {
+        return dashboardCache.get(userId, DashboardCache.STATS, () -> {
+            UserRepo.DashboardCounts counts = userRepo.dashboardCounts(userId, LocalDate.now());
+            return DashboardStatsDTO.builder()
+                    .totalProjects(counts.getTotalProjects())
+                    .completedProjects(counts.getCompletedProjects())
+                    .inProgressProjects(counts.getInProgressProjects())
+                    .overdueProjects(counts.getOverdueProjects())
+                    .totalTasks(counts.getTotalTasks())
+                    .completedTasks(counts.getCompletedTasks())
+                    .inProgressTasks(counts.getInProgressTasks())
+                    .overdueTasks(counts.getOverdueTasks())
+                    .teams(counts.getTeams())
+                    .build();
+        });
+    }
+
     // number of teams joined by a user
     @Cacheable(key = "'user:' + #userId + '_teamCount'")
     public int numberOfTeamsJoined(UUID userId){
@@ -309,6 +334,8 @@ public class UserService {
         }
 
         teamRepository.delete(team);
+        team.getMembers().forEach(member -> dashboardCache.evictStats(member.getUser().getId()));
+        chatRoomDirectory.forgetTeamRoom(teamId);
         log.info("Team with id {} deleted by user {}", teamId, userId);
     }
 
@@ -352,6 +379,7 @@ public class UserService {
 
         team.getMembers().remove(memberToRemove);
         teamRepository.save(team);
+        dashboardCache.evictStats(memberId);
 
         // Send email to the removed member
             log.info("Sending team member removed email to: {}", removedUser.getEmail());
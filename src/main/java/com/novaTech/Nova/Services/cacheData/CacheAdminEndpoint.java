@@ -0,0 +1,46 @@
+package com.novaTech.Nova.Services.cacheData;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /actuator/cacheadmin - stats of every cache, sample and hot keys of one cache, and
+ * invalidation by key or key prefix. Restricted to admins in SecurityConfig.
+ * Hit/miss/eviction/load metrics are published under cache.* in /actuator/metrics.
+ */
+@Component
+@Endpoint(id = "cacheadmin")
+@RequiredArgsConstructor
+public class CacheAdminEndpoint {
+
+    private static final int DEFAULT_SAMPLE = 20;
+    private static final int MAX_SAMPLE = 500;
+
+    private final CacheIntrospectionService introspectionService;
+
+    @ReadOperation
+    public List<Map<String, Object>> caches() {
+        return introspectionService.listCaches();
+    }
+
+    @ReadOperation
+    public Map<String, Object> cache(@Selector String manager, @Selector String name, @Nullable Integer sample) {
+        int size = sample == null ? DEFAULT_SAMPLE : Math.max(1, Math.min(sample, MAX_SAMPLE));
+        return introspectionService.describeCache(manager, name, size);
+    }
+
+    @DeleteOperation
+    public Map<String, Object> invalidate(@Selector String manager, @Selector String name,
+                                          @Nullable String key, @Nullable String prefix) {
+        int removed = introspectionService.invalidate(manager, name, key, prefix);
+        return Map.of("manager", manager, "name", name, "removed", removed);
+    }
+}
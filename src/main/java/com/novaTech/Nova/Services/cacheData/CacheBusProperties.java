@@ -0,0 +1,31 @@
+package com.novaTech.Nova.Services.cacheData;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache.bus")
+public class CacheBusProperties {
+    // broadcast evictions of the primary caches to other nodes over PostgreSQL LISTEN/NOTIFY
+    private boolean enabled = true;
+    private String channel = "cache_invalidation";
+
+    // evictions are collected for this long and sent as one notification per batch
+    private long flushIntervalMs = 50;
+
+    // more keys than this for one cache in a batch are sent as a clear of that cache
+    private int maxKeysPerCache = 100;
+
+    private long reconnectDelayMs = 5000;
+
+    // caches whose entries are also kept in the shared database tier (empty = none)
+    private List<String> l2Caches = new ArrayList<>();
+    private Duration l2Ttl = Duration.ofMinutes(30);
+    private String l2PurgeCron = "0 */10 * * * *";
+}
@@ -1,6 +1,7 @@
 package com.novaTech.Nova.Services.cacheData;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
@@ -15,65 +16,213 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
+import java.time.Duration;
 import java.util.Arrays;
-import java.util.concurrent.TimeUnit;
-
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
 @Configuration
 @EnableCaching
 public class CacheConfig implements CachingConfigurer {
 
+    private static final List<String> CACHE_NAMES = List.of(
+            // User & Authentication
+            "users",
+            "auth-tokens",
+
+            // Teams
+            "teams",
+
+            // Projects
+            "teamProjects",
+            "projects",
+            "projectDocuments",
+
+            // Tasks
+            "teamTasks",
+            "userTasks",
+
+            // Reminders
+            "teamReminders",
+
+            // Documents
+            "documents",
+            "documentViews",
+            "documentChunkSummaries",
+
+            // Chat & AI
+            "chats",
+
+            // Dashboard counts and overdue lists (refresh-ahead, see DashboardCache)
+            "dashboard",
+
+            // Admin
+            "adminCache",
+
+            // Search & Temporary Data
+            "search-results",
+            "shortLivedCache"
+    );
+
+    // caches whose entries are indexed by CacheTags for CacheTagService
+    public static final Set<String> TAGGED_CACHES = Set.of("teamProjects", "teamTasks", "teamReminders");
+
+    private final CacheSpecProperties cacheSpecs;
+    private final CacheInvalidationBus invalidationBus;
+    private final SharedCacheStore sharedCacheStore;
+
+    // background reloads of refresh-after-write caches; a refresh per key is never queued twice
+    private final ExecutorService refreshExecutor = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "cache-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CacheConfig(CacheSpecProperties cacheSpecs, CacheInvalidationBus invalidationBus, SharedCacheStore sharedCacheStore) {
+        this.cacheSpecs = cacheSpecs;
+        this.invalidationBus = invalidationBus;
+        this.sharedCacheStore = sharedCacheStore;
+    }
+
     /**
-     * Primary cache manager using Caffeine for better performance and TTL support
+     * Primary cache manager using Caffeine, with bound and expiry per cache from {@code cache.*}.
+     * Weight-bounded caches split the heap budget by their budget-share and weigh entries by
+     * estimated bytes, so large values (document content) cannot outgrow the heap.
+     * Evictions are broadcast to the other nodes (see {@link CacheInvalidationBus}).
+     * Caches with refresh-after-write are served stale while one reload per key runs in the
+     * background, and write expiry is jittered so entries loaded together do not expire together.
      */
     @Bean
     @Primary
     @Override
     public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
-                // User & Authentication
-                "users",
-                "auth-tokens",
+        long budget = heapBudget();
+        int totalShares = CACHE_NAMES.stream()
+                .map(this::specFor)
+                .filter(CacheConfig::isWeighted)
+                .mapToInt(CacheSpecProperties.Spec::getBudgetShare)
+                .sum();
+
+        Map<String, Caffeine<Object, Object>> builders = new LinkedHashMap<>();
+        Map<String, CacheTagIndex> tagIndexes = new HashMap<>();
+        Map<String, RefreshAheadLoader> refreshLoaders = new HashMap<>();
+        StringBuilder report = new StringBuilder();
+        for (String name : CACHE_NAMES) {
+            CacheSpecProperties.Spec spec = specFor(name);
+            Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+
+            if (TAGGED_CACHES.contains(name)) {
+                // Expired and size-evicted keys leave the tag index; explicit evictions untag in TwoLevelCache
+                CacheTagIndex tagIndex = new CacheTagIndex();
+                tagIndexes.put(name, tagIndex);
+                builder.evictionListener((key, value, cause) -> tagIndex.untag(key));
+            }
 
-                // Teams
-                "teams",
+            String bound;
+            if (isWeighted(spec)) {
+                long maxBytes = budget * spec.getBudgetShare() / totalShares;
+                builder.maximumWeight(maxBytes).weigher(new CacheValueWeigher());
+                bound = (maxBytes / (1024 * 1024)) + " MB";
+            } else {
+                builder.maximumSize(spec.getMaximumSize());
+                bound = spec.getMaximumSize() + " entries";
+            }
 
-                // Projects
-                "teamProjects",
-                "projects",
-                "projectDocuments",
+            String expiry = "none";
+            boolean jittered = spec.getJitterPercent() != null && spec.getJitterPercent() > 0
+                    && spec.getExpireAfterWrite() != null && spec.getExpireAfterAccess() == null;
+            if (jittered) {
+                builder.expireAfter(new JitteredExpiry(spec.getExpireAfterWrite(), spec.getJitterPercent()));
+                expiry = "write+" + spec.getExpireAfterWrite() + " -" + spec.getJitterPercent() + "%";
+            } else if (spec.getExpireAfterWrite() != null) {
+                builder.expireAfterWrite(spec.getExpireAfterWrite());
+                expiry = "write+" + spec.getExpireAfterWrite();
+            }
+            if (spec.getExpireAfterAccess() != null) {
+                builder.expireAfterAccess(spec.getExpireAfterAccess());
+                expiry = (expiry.equals("none") ? "" : expiry + ", ") + "access+" + spec.getExpireAfterAccess();
+            }
+            if (spec.getRefreshAfterWrite() != null) {
+                RefreshAheadLoader loader = new RefreshAheadLoader();
+                refreshLoaders.put(name, loader);
+                builder.refreshAfterWrite(spec.getRefreshAfterWrite())
+                        .executor(refreshExecutor)
+                        .evictionListener((key, value, cause) -> loader.forget(key));
+                expiry += ", refresh+" + spec.getRefreshAfterWrite();
+            }
 
-                // Tasks
-                "teamTasks",
-                "userTasks",
+            builders.put(name, builder);
+            report.append(String.format("%n  %-24s %-14s %s", name, bound, expiry));
+        }
 
-                // Reminders
-                "teamReminders",
+        log.info("Cache limits (heap budget {} MB of {} MB max heap):{}",
+                budget / (1024 * 1024), Runtime.getRuntime().maxMemory() / (1024 * 1024), report);
 
-                // Documents
-                "documents",
-                "documentViews",
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected com.github.benmanes.caffeine.cache.Cache<Object, Object> createNativeCaffeineCache(String name) {
+                RefreshAheadLoader loader = refreshLoaders.get(name);
+                return loader != null ? builders.get(name).build(loader) : builders.get(name).build();
+            }
 
-                // Chat & AI
-                "chats",
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name,
+                                                                         com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                if (cache instanceof com.github.benmanes.caffeine.cache.LoadingCache<Object, Object> loading
+                        && refreshLoaders.containsKey(name)) {
+                    return new RefreshingCache(name, loading, isAllowNullValues(), invalidationBus, refreshLoaders.get(name));
+                }
+                return new TwoLevelCache(name, cache, isAllowNullValues(), invalidationBus,
+                        sharedCacheStore.isShared(name) ? sharedCacheStore : null, tagIndexes.get(name));
+            }
+        };
+        cacheManager.setAllowNullValues(false);
 
-                // Admin
-                "adminCache",
+        // Fixed set of caches; an unknown cache name is an error rather than an unbounded cache
+        cacheManager.setCacheNames(CACHE_NAMES);
 
-                // Search & Temporary Data
-                "search-results",
-                "shortLivedCache"
-        );
+        return cacheManager;
+    }
 
-        // Configure Caffeine with TTL and size limits
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .maximumSize(10_000)                    // Max 10,000 entries per cache
-                .expireAfterWrite(30, TimeUnit.MINUTES) // Default TTL: 30 minutes
-                .recordStats());                        // Enable cache statistics
+    private CacheSpecProperties.Spec specFor(String name) {
+        CacheSpecProperties.Spec defaults = cacheSpecs.getDefaults();
+        CacheSpecProperties.Spec spec = cacheSpecs.getSpecs().get(name);
+        if (spec == null) {
+            return defaults;
+        }
 
-        // Allow dynamic cache creation for unknown cache names
-        cacheManager.setAllowNullValues(false);
+        boolean ownBound = spec.getBudgetShare() != null || spec.getMaximumSize() != null;
+        boolean ownExpiry = spec.getExpireAfterWrite() != null || spec.getExpireAfterAccess() != null;
+        return new CacheSpecProperties.Spec(
+                ownBound ? spec.getBudgetShare() : defaults.getBudgetShare(),
+                ownBound ? spec.getMaximumSize() : defaults.getMaximumSize(),
+                ownExpiry ? spec.getExpireAfterWrite() : defaults.getExpireAfterWrite(),
+                ownExpiry ? spec.getExpireAfterAccess() : defaults.getExpireAfterAccess(),
+                spec.getRefreshAfterWrite() != null ? spec.getRefreshAfterWrite() : defaults.getRefreshAfterWrite(),
+                spec.getJitterPercent() != null ? spec.getJitterPercent() : defaults.getJitterPercent());
+    }
 
-        return cacheManager;
+    private static boolean isWeighted(CacheSpecProperties.Spec spec) {
+        if (spec.getBudgetShare() != null && spec.getBudgetShare() > 0) {
+            return true;
+        }
+        if (spec.getMaximumSize() == null) {
+            throw new IllegalStateException("Cache spec needs a positive budget-share or a maximum-size");
+        }
+        return false;
+    }
+
+    private long heapBudget() {
+        if (cacheSpecs.getHeapBudgetBytes() > 0) {
+            return cacheSpecs.getHeapBudgetBytes();
+        }
+        return Runtime.getRuntime().maxMemory() / 100 * cacheSpecs.getHeapBudgetPercent();
     }
 
     /**
@@ -86,7 +235,9 @@ public class CacheConfig implements CachingConfigurer {
 
         cacheManager.setCaffeine(Caffeine.newBuilder()
                 .maximumSize(1_000)
-                .expireAfterWrite(5, TimeUnit.MINUTES) // 5-minute TTL for time-sensitive data
+                // 5-minute TTL for time-sensitive data, jittered so entries don't expire together
+                .expireAfter(new JitteredExpiry(Duration.ofMinutes(5), cacheSpecs.getDefaults().getJitterPercent() != null
+                        ? cacheSpecs.getDefaults().getJitterPercent() : 0))
                 .recordStats());
 
         cacheManager.setAllowNullValues(false);
@@ -0,0 +1,252 @@
+package com.novaTech.Nova.Services.cacheData;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * One view over every cache in the application: the caches of all {@link CacheManager} beans
+ * and the Caffeine caches services keep for themselves (rate limit buckets, search indexes).
+ *
+ * Caches are addressed as (manager, cache). Managers are named like the {@code cache.manager}
+ * metric tag Spring Boot gives them (bean name without the CacheManager suffix, e.g. "cache",
+ * "shortLived"); self-managed caches are under {@value #NATIVE_MANAGER}. Spring Boot publishes the
+ * hit/miss/eviction/load metrics of manager caches; this service adds those of native caches
+ * and an estimated-weight gauge for every weight-bounded cache.
+ */
+@Slf4j
+@Service
+public class CacheIntrospectionService {
+
+    public static final String NATIVE_MANAGER = "native";
+
+    private static final String CACHE_MANAGER_SUFFIX = "CacheManager";
+    private static final int MAX_KEY_LENGTH = 200;
+
+    private final Map<String, CacheManager> cacheManagers;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, com.github.benmanes.caffeine.cache.Cache<?, ?>> nativeCaches = new ConcurrentSkipListMap<>();
+
+    public CacheIntrospectionService(Map<String, CacheManager> cacheManagers, MeterRegistry meterRegistry) {
+        this.cacheManagers = new LinkedHashMap<>();
+        cacheManagers.forEach((beanName, manager) -> this.cacheManagers.put(managerName(beanName), manager));
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Make a self-managed Caffeine cache visible to metrics and the cacheadmin endpoint.
+     * The cache should be built with {@code recordStats()}.
+     */
+    public void registerNativeCache(String name, com.github.benmanes.caffeine.cache.Cache<?, ?> cache) {
+        nativeCaches.put(name, cache);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name, "cache.manager", NATIVE_MANAGER);
+        registerWeightGauge(NATIVE_MANAGER, name, cache);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerWeightGauges() {
+        cacheManagers.forEach((managerName, manager) -> manager.getCacheNames().forEach(cacheName -> {
+            Cache cache = manager.getCache(cacheName);
+            if (cache instanceof CaffeineCache caffeine) {
+                registerWeightGauge(managerName, cacheName, caffeine.getNativeCache());
+            }
+        }));
+    }
+
+    // =========================================================
+    // INTROSPECTION
+    // =========================================================
+
+    public List<Map<String, Object>> listCaches() {
+        List<Map<String, Object>> caches = new ArrayList<>();
+        cacheManagers.forEach((managerName, manager) -> manager.getCacheNames().forEach(cacheName ->
+                describe(managerName, cacheName, manager.getCache(cacheName)).ifPresent(caches::add)));
+        nativeCaches.forEach((name, cache) -> caches.add(describeCaffeine(NATIVE_MANAGER, name, cache)));
+        return caches;
+    }
+
+    /**
+     * Stats of one cache with a sample of its keys and, for size- or weight-bounded Caffeine
+     * caches, the keys Caffeine considers hottest (most likely to be retained).
+     */
+    public Map<String, Object> describeCache(String managerName, String cacheName, int sampleSize) {
+        Object nativeCache = nativeCache(managerName, cacheName);
+        Map<String, Object> details;
+        List<String> hotKeys = List.of();
+        List<String> sample;
+
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            details = describeCaffeine(managerName, cacheName, caffeine);
+            sample = sampleKeys(caffeine.asMap(), sampleSize);
+            hotKeys = caffeine.policy().eviction()
+                    .map(eviction -> eviction.hottest(sampleSize).keySet().stream().map(this::render).toList())
+                    .orElse(List.of());
+        } else if (nativeCache instanceof ConcurrentMap<?, ?> map) {
+            details = describeMap(managerName, cacheName, map);
+            sample = sampleKeys(map, sampleSize);
+        } else {
+            throw new IllegalArgumentException("Cache " + managerName + "/" + cacheName + " cannot be inspected");
+        }
+
+        details.put("sampleKeys", sample);
+        details.put("hotKeys", hotKeys);
+        return details;
+    }
+
+    /**
+     * Remove the entries whose key (as a string) equals {@code key} or starts with {@code prefix};
+     * everything when neither is given.
+     *
+     * @return the number of entries removed
+     */
+    public int invalidate(String managerName, String cacheName, String key, String prefix) {
+        Object nativeCache = nativeCache(managerName, cacheName);
+        Map<?, ?> entries;
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            entries = caffeine.asMap();
+        } else if (nativeCache instanceof ConcurrentMap<?, ?> map) {
+            entries = map;
+        } else {
+            throw new IllegalArgumentException("Cache " + managerName + "/" + cacheName + " cannot be invalidated");
+        }
+
+        Predicate<String> matches = key != null
+                ? key::equals
+                : prefix != null ? candidate -> candidate.startsWith(prefix) : candidate -> true;
+        List<Object> matching = entries.keySet().stream()
+                .filter(candidate -> matches.test(String.valueOf(candidate)))
+                .map(candidate -> (Object) candidate)
+                .toList();
+
+        // Evict through the Spring cache where there is one, so other nodes drop the entries too
+        Cache springCache = NATIVE_MANAGER.equals(managerName) ? null : cacheManagers.get(managerName).getCache(cacheName);
+        if (springCache != null && key == null && prefix == null) {
+            springCache.clear();
+        } else if (springCache != null) {
+            matching.forEach(springCache::evict);
+        } else {
+            matching.forEach(entries::remove);
+        }
+
+        log.info("Invalidated {} entries of cache {}/{} (key: {}, prefix: {})", matching.size(), managerName, cacheName, key, prefix);
+        return matching.size();
+    }
+
+    // =========================================================
+    // HELPERS
+    // =========================================================
+
+    private Object nativeCache(String managerName, String cacheName) {
+        if (NATIVE_MANAGER.equals(managerName)) {
+            com.github.benmanes.caffeine.cache.Cache<?, ?> cache = nativeCaches.get(cacheName);
+            if (cache == null) {
+                throw new IllegalArgumentException("Unknown cache: " + managerName + "/" + cacheName);
+            }
+            return cache;
+        }
+
+        CacheManager manager = cacheManagers.get(managerName);
+        Cache cache = manager != null ? manager.getCache(cacheName) : null;
+        if (cache == null) {
+            throw new IllegalArgumentException("Unknown cache: " + managerName + "/" + cacheName);
+        }
+        return cache.getNativeCache();
+    }
+
+    private Optional<Map<String, Object>> describe(String managerName, String cacheName, Cache cache) {
+        if (cache == null) {
+            return Optional.empty();
+        }
+        Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return Optional.of(describeCaffeine(managerName, cacheName, caffeine));
+        }
+        if (nativeCache instanceof ConcurrentMap<?, ?> map) {
+            return Optional.of(describeMap(managerName, cacheName, map));
+        }
+        return Optional.empty();
+    }
+
+    private Map<String, Object> describeCaffeine(String managerName, String cacheName,
+                                                 com.github.benmanes.caffeine.cache.Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        Map<String, Object> details = header(managerName, cacheName, "caffeine");
+        details.put("size", cache.estimatedSize());
+        cache.policy().eviction().ifPresent(eviction -> {
+            details.put(eviction.isWeighted() ? "maximumWeightBytes" : "maximumSize", eviction.getMaximum());
+            eviction.weightedSize().ifPresent(weight -> details.put("weightBytes", weight));
+        });
+        details.put("hitCount", stats.hitCount());
+        details.put("missCount", stats.missCount());
+        details.put("hitRate", stats.hitRate());
+        details.put("evictionCount", stats.evictionCount());
+        details.put("evictionWeight", stats.evictionWeight());
+        details.put("loadCount", stats.loadCount());
+        details.put("averageLoadMillis", TimeUnit.NANOSECONDS.toMillis((long) stats.averageLoadPenalty()));
+        return details;
+    }
+
+    private Map<String, Object> describeMap(String managerName, String cacheName, ConcurrentMap<?, ?> map) {
+        Map<String, Object> details = header(managerName, cacheName, "concurrentMap");
+        details.put("size", map.size());
+        return details;
+    }
+
+    private static Map<String, Object> header(String managerName, String cacheName, String type) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("manager", managerName);
+        details.put("name", cacheName);
+        details.put("type", type);
+        return details;
+    }
+
+    private List<String> sampleKeys(Map<?, ?> entries, int sampleSize) {
+        return entries.keySet().stream().limit(sampleSize).map(this::render).toList();
+    }
+
+    private String render(Object key) {
+        String text = String.valueOf(key);
+        return text.length() > MAX_KEY_LENGTH ? text.substring(0, MAX_KEY_LENGTH) + "..." : text;
+    }
+
+    private void registerWeightGauge(String managerName, String cacheName, com.github.benmanes.caffeine.cache.Cache<?, ?> cache) {
+        boolean weighted = cache.policy().eviction().map(Policy.Eviction::isWeighted).orElse(false);
+        if (!weighted) {
+            return;
+        }
+        Gauge.builder("cache.weight", cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                        .orElse(0L))
+                .description("Estimated bytes held by the cache")
+                .baseUnit("bytes")
+                .tags("cache", cacheName, "cache.manager", managerName)
+                .register(meterRegistry);
+    }
+
+    private static String managerName(String beanName) {
+        if (beanName.length() > CACHE_MANAGER_SUFFIX.length()
+                && beanName.toLowerCase().endsWith(CACHE_MANAGER_SUFFIX.toLowerCase())) {
+            return beanName.substring(0, beanName.length() - CACHE_MANAGER_SUFFIX.length());
+        }
+        return beanName;
+    }
+}
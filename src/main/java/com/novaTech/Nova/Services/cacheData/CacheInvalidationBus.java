@@ -0,0 +1,346 @@
+package com.novaTech.Nova.Services.cacheData;
+
+import com.novaTech.Nova.Services.AfterCommit;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the local caches of all nodes consistent by broadcasting evictions over PostgreSQL
+ * LISTEN/NOTIFY.
+ *
+ * Evictions made on this node are queued (after commit when a transaction is active), coalesced
+ * per cache and sent every {@code cache.bus.flush-interval-ms} as one notification per batch.
+ * Too many keys for one cache in a batch become a clear of that cache. Notifications from peers
+ * are applied to the local caches directly, so they are not broadcast again.
+ *
+ * One thread owns a dedicated connection (outside the pool) and both sends and listens on it.
+ * When that connection is lost, notifications may have been missed, so after reconnecting all
+ * local caches are cleared. With a non-PostgreSQL database the bus stays off and caches are
+ * node-local as before.
+ */
+@Slf4j
+@Service
+public class CacheInvalidationBus {
+
+    // NOTIFY payloads must stay below 8000 bytes
+    private static final int MAX_PAYLOAD_BYTES = 7000;
+
+    private final CacheBusProperties properties;
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectMapper objectMapper;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, LocalCache> localCaches = new ConcurrentHashMap<>();
+
+    // evictions waiting for the next flush, guarded by "this"
+    private Map<String, Set<String>> pendingKeys = new HashMap<>();
+    private Map<String, Set<String>> pendingTags = new HashMap<>();
+    private Set<String> pendingClears = new HashSet<>();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public CacheInvalidationBus(CacheBusProperties properties,
+                                DataSourceProperties dataSourceProperties,
+                                ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.dataSourceProperties = dataSourceProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * The node-local side of a cache, which notifications from peers are applied to
+     */
+    public interface LocalCache {
+        void invalidateLocal(Object key);
+
+        void invalidateLocalTag(String tag);
+
+        void invalidateLocalAll();
+    }
+
+    public void register(String cacheName, LocalCache cache) {
+        localCaches.put(cacheName, cache);
+    }
+
+    // =========================================================
+    // PUBLISHING
+    // =========================================================
+
+    public void publishEvict(String cacheName, Object key) {
+        // Peers match keys as strings; other key types can only be invalidated by clearing
+        if (key instanceof String text) {
+            afterCommit(() -> enqueue(cacheName, text));
+        } else {
+            publishClear(cacheName);
+        }
+    }
+
+    public void publishClear(String cacheName) {
+        afterCommit(() -> enqueue(cacheName, null));
+    }
+
+    /**
+     * Peers evict whatever they have cached under the tag (see {@link CacheTagIndex})
+     */
+    public void publishEvictTag(String cacheName, String tag) {
+        afterCommit(() -> enqueueTag(cacheName, tag));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!running) {
+            return;
+        }
+        // Peers must not reload the old value before this transaction is visible to them
+        AfterCommit.run(action);
+    }
+
+    private synchronized void enqueue(String cacheName, String key) {
+        if (pendingClears.contains(cacheName)) {
+            return;
+        }
+        if (key == null) {
+            queueClear(cacheName);
+            return;
+        }
+        Set<String> keys = pendingKeys.computeIfAbsent(cacheName, name -> new LinkedHashSet<>());
+        keys.add(key);
+        if (keys.size() > properties.getMaxKeysPerCache()) {
+            queueClear(cacheName);
+        }
+    }
+
+    private synchronized void enqueueTag(String cacheName, String tag) {
+        if (pendingClears.contains(cacheName)) {
+            return;
+        }
+        Set<String> tags = pendingTags.computeIfAbsent(cacheName, name -> new LinkedHashSet<>());
+        tags.add(tag);
+        if (tags.size() > properties.getMaxKeysPerCache()) {
+            queueClear(cacheName);
+        }
+    }
+
+    private void queueClear(String cacheName) {
+        pendingKeys.remove(cacheName);
+        pendingTags.remove(cacheName);
+        pendingClears.add(cacheName);
+    }
+
+    // =========================================================
+    // LIFECYCLE
+    // =========================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        String url = dataSourceProperties.determineUrl();
+        if (!properties.isEnabled() || url == null || !url.startsWith("jdbc:postgresql:")) {
+            log.info("Cache invalidation bus disabled; caches are local to this node");
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "cache-invalidation-bus");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Cache invalidation bus started on channel '{}' as node {}", properties.getChannel(), nodeId);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void run() {
+        Connection connection = null;
+        boolean connectedBefore = false;
+
+        while (running) {
+            try {
+                if (connection == null) {
+                    connection = connect();
+                    if (connectedBefore) {
+                        // Anything sent while we were disconnected is lost
+                        localCaches.values().forEach(LocalCache::invalidateLocalAll);
+                        log.warn("Cache invalidation bus reconnected; cleared {} local caches", localCaches.size());
+                    }
+                    connectedBefore = true;
+                }
+
+                flush(connection);
+
+                PGNotification[] notifications = connection.unwrap(PGConnection.class)
+                        .getNotifications((int) properties.getFlushIntervalMs());
+                if (notifications != null) {
+                    for (PGNotification notification : notifications) {
+                        apply(notification.getParameter());
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Cache invalidation bus connection failed: {}", e.getMessage());
+                close(connection);
+                connection = null;
+                sleep(properties.getReconnectDelayMs());
+            }
+        }
+        close(connection);
+    }
+
+    private Connection connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + properties.getChannel());
+        }
+        return connection;
+    }
+
+    // =========================================================
+    // WIRE FORMAT
+    // =========================================================
+
+    /**
+     * Send the queued evictions as {"n": node, "e": [{"c": cache, "k": key}, {"c": cache, "g": tag},
+     * {"c": cache}]}, split into as many notifications as the payload limit needs. An entry
+     * with neither "k" nor "g" means clear.
+     */
+    private void flush(Connection connection) throws SQLException {
+        Map<String, Set<String>> keys;
+        Map<String, Set<String>> tags;
+        Set<String> clears;
+        synchronized (this) {
+            if (pendingKeys.isEmpty() && pendingTags.isEmpty() && pendingClears.isEmpty()) {
+                return;
+            }
+            keys = pendingKeys;
+            tags = pendingTags;
+            clears = pendingClears;
+            pendingKeys = new HashMap<>();
+            pendingTags = new HashMap<>();
+            pendingClears = new HashSet<>();
+        }
+
+        List<ObjectNode> entries = new ArrayList<>();
+        clears.forEach(cacheName -> entries.add(objectMapper.createObjectNode().put("c", cacheName)));
+        keys.forEach((cacheName, cacheKeys) -> cacheKeys.forEach(key ->
+                entries.add(objectMapper.createObjectNode().put("c", cacheName).put("k", key))));
+        tags.forEach((cacheName, cacheTags) -> cacheTags.forEach(tag ->
+                entries.add(objectMapper.createObjectNode().put("c", cacheName).put("g", tag))));
+
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            ArrayNode batch = objectMapper.createArrayNode();
+            int batchBytes = 0;
+            for (ObjectNode entry : entries) {
+                int entryBytes = entry.toString().getBytes(StandardCharsets.UTF_8).length + 1;
+                if (entryBytes > MAX_PAYLOAD_BYTES) {
+                    // oversized key or tag: clear the cache instead
+                    entry.remove("k");
+                    entry.remove("g");
+                    entryBytes = entry.toString().getBytes(StandardCharsets.UTF_8).length + 1;
+                }
+                if (batchBytes + entryBytes > MAX_PAYLOAD_BYTES) {
+                    send(statement, batch);
+                    batch = objectMapper.createArrayNode();
+                    batchBytes = 0;
+                }
+                batch.add(entry);
+                batchBytes += entryBytes;
+            }
+            send(statement, batch);
+        } catch (SQLException e) {
+            // Requeue; the peers see them after reconnect, or clear everything if they lost theirs too
+            synchronized (this) {
+                clears.forEach(cacheName -> enqueue(cacheName, null));
+                keys.forEach((cacheName, cacheKeys) -> cacheKeys.forEach(key -> enqueue(cacheName, key)));
+                tags.forEach((cacheName, cacheTags) -> cacheTags.forEach(tag -> enqueueTag(cacheName, tag)));
+            }
+            throw e;
+        }
+        log.debug("Broadcast {} cache invalidations", entries.size());
+    }
+
+    private void send(PreparedStatement statement, ArrayNode batch) throws SQLException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        ObjectNode payload = objectMapper.createObjectNode().put("n", nodeId);
+        payload.set("e", batch);
+        statement.setString(1, properties.getChannel());
+        statement.setString(2, payload.toString());
+        statement.execute();
+    }
+
+    private void apply(String payload) {
+        try {
+            JsonNode message = objectMapper.readTree(payload);
+            if (nodeId.equals(message.path("n").asText())) {
+                return; // our own notification
+            }
+            for (JsonNode entry : message.path("e")) {
+                LocalCache cache = localCaches.get(entry.path("c").asText());
+                if (cache == null) {
+                    continue;
+                }
+                if (entry.hasNonNull("k")) {
+                    cache.invalidateLocal(entry.get("k").asText());
+                } else if (entry.hasNonNull("g")) {
+                    cache.invalidateLocalTag(entry.get("g").asText());
+                } else {
+                    cache.invalidateLocalAll();
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    private static void close(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // already broken
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.novaTech.Nova.Services.cacheData;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache")
+public class CacheSpecProperties {
+    // heap shared by all weight-bounded caches; <= 0 bytes means heap-budget-percent of -Xmx
+    private long heapBudgetBytes = 0;
+    private int heapBudgetPercent = 20;
+
+    // applied to every cache of the primary manager that has no entry under specs
+    private Spec defaults = new Spec(1, null, Duration.ofMinutes(30), null, null, 10);
+
+    // per-cache overrides by cache name, e.g. cache.specs[documentViews].budget-share=4
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+
+    /**
+     * Bound and expiry of one cache. A cache is either weight-bounded by its share of the heap
+     * budget (estimated bytes) or size-bounded by entry count; a positive budget-share wins if
+     * both are set. A cache that sets neither bound, or neither expiry, takes it from the defaults.
+     *
+     * With refresh-after-write, an entry older than that is served while one background reload
+     * replaces it (see {@link RefreshingCache}). Jitter shortens each expire-after-write lifetime by
+     * a random amount up to this percentage; it is not applied together with expire-after-access.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Spec {
+        private Integer budgetShare;
+        private Long maximumSize;
+        private Duration expireAfterWrite;
+        private Duration expireAfterAccess;
+        private Duration refreshAfterWrite;
+        private Integer jitterPercent;
+    }
+}
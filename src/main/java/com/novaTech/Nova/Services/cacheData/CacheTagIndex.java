@@ -0,0 +1,68 @@
+package com.novaTech.Nova.Services.cacheData;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tag → keys index of one cache, so an eviction can target every entry that mentions a team,
+ * project, user, task or reminder instead of clearing the whole cache.
+ *
+ * The index only holds keys that are in the cache: the owning cache untags a key when it is
+ * evicted explicitly, and Caffeine's eviction listener does so when it expires or is pushed
+ * out by the size bound. Both maps therefore shrink with the cache.
+ */
+public class CacheTagIndex {
+
+    private final Map<String, Set<Object>> keysByTag = new ConcurrentHashMap<>();
+    private final Map<Object, Set<String>> tagsByKey = new ConcurrentHashMap<>();
+
+    /**
+     * Replace the tags of the key
+     */
+    public void tag(Object key, Set<String> tags) {
+        untag(key);
+        if (tags.isEmpty()) {
+            return;
+        }
+        tagsByKey.put(key, tags);
+        for (String tag : tags) {
+            keysByTag.compute(tag, (t, keys) -> {
+                Set<Object> updated = keys != null ? keys : ConcurrentHashMap.newKeySet();
+                updated.add(key);
+                return updated;
+            });
+        }
+    }
+
+    public void untag(Object key) {
+        Set<String> tags = tagsByKey.remove(key);
+        if (tags == null) {
+            return;
+        }
+        for (String tag : tags) {
+            keysByTag.computeIfPresent(tag, (t, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    /**
+     * Remove the tag and return the keys that carried it
+     */
+    public Collection<Object> removeTag(String tag) {
+        Set<Object> keys = keysByTag.remove(tag);
+        return keys != null ? keys : Set.of();
+    }
+
+    public void clear() {
+        keysByTag.clear();
+        tagsByKey.clear();
+    }
+
+    public int tagCount() {
+        return keysByTag.size();
+    }
+}
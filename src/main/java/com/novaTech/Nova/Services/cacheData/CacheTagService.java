@@ -0,0 +1,39 @@
+package com.novaTech.Nova.Services.cacheData;
+
+import com.novaTech.Nova.Services.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Tag-targeted eviction for the tagged caches (see {@link CacheConfig#TAGGED_CACHES}).
+ * Called from write methods in place of {@code @CacheEvict(allEntries = true)}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheTagService {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Evict the entries carrying any of the tags (null tags are ignored). The local eviction
+     * runs now and again after the current transaction commits, so a reader that reloads
+     * before the commit cannot leave the old data cached; peers are told once, after commit.
+     */
+    public void evictTags(String cacheName, String... tags) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (!(cache instanceof TwoLevelCache tagged)) {
+            throw new IllegalStateException("Cache " + cacheName + " does not support tags");
+        }
+
+        Arrays.stream(tags).filter(Objects::nonNull).forEach(tagged::evictTag);
+        AfterCommit.runIfInTransaction(() -> Arrays.stream(tags).filter(Objects::nonNull).forEach(tagged::invalidateLocalTag));
+        log.debug("Evicted tags {} from cache {}", Arrays.toString(tags), cacheName);
+    }
+}
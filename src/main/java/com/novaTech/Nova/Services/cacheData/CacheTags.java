@@ -0,0 +1,89 @@
+package com.novaTech.Nova.Services.cacheData;
+
+import com.novaTech.Nova.DTO.TeamProjectResponse;
+import com.novaTech.Nova.DTO.TeamProjectSummaryDto;
+import com.novaTech.Nova.DTO.TeamReminderResponseDTO;
+import com.novaTech.Nova.DTO.TeamTaskResponseDTO;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tags of cached team data. An entry is tagged with every id in its key
+ * ('user:{id}_team:{id}_tasks' → user:{id}, team:{id}) and with the ids of the items it holds,
+ * so a list is found by the tasks, projects and reminders in it.
+ */
+public final class CacheTags {
+
+    private static final Pattern KEY_IDS = Pattern.compile(
+            "(team|project|user|task|reminder):([0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12})");
+
+    private CacheTags() {
+    }
+
+    public static String team(UUID id) {
+        return "team:" + id;
+    }
+
+    public static String project(UUID id) {
+        return "project:" + id;
+    }
+
+    public static String user(UUID id) {
+        return "user:" + id;
+    }
+
+    public static String task(UUID id) {
+        return "task:" + id;
+    }
+
+    public static String reminder(UUID id) {
+        return "reminder:" + id;
+    }
+
+    public static Set<String> of(Object key, Object value) {
+        Set<String> tags = new HashSet<>();
+
+        Matcher matcher = KEY_IDS.matcher(String.valueOf(key));
+        while (matcher.find()) {
+            tags.add(matcher.group(1) + ":" + matcher.group(2).toLowerCase());
+        }
+
+        if (value instanceof Collection<?> items) {
+            items.forEach(item -> addItemTags(item, tags));
+        } else {
+            addItemTags(value, tags);
+        }
+        return tags;
+    }
+
+    private static void addItemTags(Object item, Set<String> tags) {
+        if (item instanceof TeamTaskResponseDTO task) {
+            add(tags, "task:", task.getId());
+            add(tags, "project:", task.getProjectId());
+            add(tags, "user:", task.getAssignedToId());
+            add(tags, "user:", task.getCreatedById());
+        } else if (item instanceof TeamReminderResponseDTO reminder) {
+            add(tags, "reminder:", reminder.getId());
+            add(tags, "project:", reminder.getProjectId());
+            add(tags, "task:", reminder.getTaskId());
+            add(tags, "user:", reminder.getUserId());
+            add(tags, "team:", reminder.getTeamId());
+        } else if (item instanceof TeamProjectResponse project) {
+            add(tags, "project:", project.getId());
+            add(tags, "team:", project.getTeamId());
+        } else if (item instanceof TeamProjectSummaryDto project) {
+            add(tags, "project:", project.getId());
+        }
+    }
+
+    private static void add(Set<String> tags, String prefix, UUID id) {
+        if (id != null) {
+            tags.add(prefix + id);
+        }
+    }
+}
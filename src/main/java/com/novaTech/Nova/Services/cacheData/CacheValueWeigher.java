@@ -0,0 +1,145 @@
+package com.novaTech.Nova.Services.cacheData;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.hibernate.Hibernate;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Weighs cache entries by their estimated heap size in bytes.
+ *
+ * The estimate follows strings, arrays, collections, maps and the fields of application
+ * objects (DTOs, entities) a few levels deep. JDK value types (dates, UUIDs, numbers) count as
+ * a fixed size, and lazy Hibernate associations that are not loaded count as a reference, so
+ * weighing never touches the database. It is meant to keep caches within a budget, not to be exact.
+ */
+public class CacheValueWeigher implements Weigher<Object, Object> {
+
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 8;
+    private static final int JDK_VALUE = 32;
+    private static final int MAX_DEPTH = 6;
+
+    // instance fields per application class, resolved once
+    private static final Map<Class<?>, Field[]> FIELDS = new ConcurrentHashMap<>();
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long bytes = estimate(key) + estimate(value);
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, bytes));
+    }
+
+    public static long estimate(Object value) {
+        return estimate(value, 0, Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    private static long estimate(Object value, int depth, Set<Object> seen) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof byte[] bytes) {
+            return OBJECT_HEADER + bytes.length;
+        }
+        if (value instanceof String text) {
+            // String object + backing array, counted as UTF-16 so non-Latin text is not undercounted
+            return OBJECT_HEADER + 24 + 2L * text.length();
+        }
+        if (value instanceof Enum<?> || value instanceof Boolean) {
+            return 0; // shared instances
+        }
+        if (isJdkValue(value.getClass())) {
+            return JDK_VALUE;
+        }
+        if (depth >= MAX_DEPTH || value instanceof HibernateProxy || !Hibernate.isInitialized(value) || !seen.add(value)) {
+            return REFERENCE;
+        }
+
+        if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            Class<?> component = value.getClass().getComponentType();
+            if (component.isPrimitive()) {
+                return OBJECT_HEADER + (long) length * primitiveSize(component);
+            }
+            long bytes = OBJECT_HEADER + (long) length * REFERENCE;
+            for (int i = 0; i < length; i++) {
+                bytes += estimate(Array.get(value, i), depth + 1, seen);
+            }
+            return bytes;
+        }
+        if (value instanceof Collection<?> collection) {
+            long bytes = OBJECT_HEADER * 2 + (long) collection.size() * (REFERENCE + OBJECT_HEADER);
+            for (Object element : collection) {
+                bytes += estimate(element, depth + 1, seen);
+            }
+            return bytes;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long bytes = OBJECT_HEADER * 2 + (long) map.size() * (REFERENCE * 3 + OBJECT_HEADER);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                bytes += estimate(entry.getKey(), depth + 1, seen) + estimate(entry.getValue(), depth + 1, seen);
+            }
+            return bytes;
+        }
+
+        long bytes = OBJECT_HEADER;
+        for (Field field : fields(value.getClass())) {
+            if (field.getType().isPrimitive()) {
+                bytes += primitiveSize(field.getType());
+                continue;
+            }
+            bytes += REFERENCE;
+            try {
+                bytes += estimate(field.get(value), depth + 1, seen);
+            } catch (IllegalAccessException e) {
+                // inaccessible field: count the reference only
+            }
+        }
+        return bytes;
+    }
+
+    private static boolean isJdkValue(Class<?> type) {
+        if (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) {
+            return false;
+        }
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.");
+    }
+
+    private static Field[] fields(Class<?> type) {
+        return FIELDS.computeIfAbsent(type, current -> {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = current; c != null && c != Object.class && !isJdkValue(c); c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && field.trySetAccessible()) {
+                        fields.add(field);
+                    }
+                }
+            }
+            return fields.toArray(new Field[0]);
+        });
+    }
+
+    private static int primitiveSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,84 @@
+package com.novaTech.Nova.Services.cacheData;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Per-user dashboard counts and overdue lists, kept in the refresh-ahead "dashboard" cache
+ * (see {@link RefreshingCache}). Entries are keyed "user:&lt;id&gt;_&lt;suffix&gt;".
+ */
+@Service
+public class DashboardCache {
+
+    public static final String CACHE_NAME = "dashboard";
+
+    public static final String PROJECT_COUNT = "projectCount";
+    public static final String COMPLETED_PROJECT_COUNT = "completedProjectCount";
+    public static final String IN_PROGRESS_PROJECT_COUNT = "inProgressProjectCount";
+    public static final String OVERDUE_PROJECTS = "overdueProjects";
+    public static final String TASK_COUNT = "taskCount";
+    public static final String COMPLETED_TASK_COUNT = "completedTaskCount";
+    public static final String IN_PROGRESS_TASK_COUNT = "inProgressTaskCount";
+    public static final String OVERDUE_TASKS = "overdueTasks";
+    public static final String STATS = "stats";
+
+    private static final String[] PROJECT_ENTRIES = {PROJECT_COUNT, COMPLETED_PROJECT_COUNT, IN_PROGRESS_PROJECT_COUNT, OVERDUE_PROJECTS, STATS};
+    private static final String[] TASK_ENTRIES = {TASK_COUNT, COMPLETED_TASK_COUNT, IN_PROGRESS_TASK_COUNT, OVERDUE_TASKS, STATS};
+
+    private final CacheManager cacheManager;
+
+    public DashboardCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * The cached value, loading it on a miss. The loader is also used for background refreshes,
+     * so it must only capture the user id and singleton beans.
+     */
+    public <T> T get(UUID userId, String entry, Callable<T> loader) {
+        try {
+            return cache().get(key(userId, entry), loader);
+        } catch (Cache.ValueRetrievalException e) {
+            // surface the loader's own exception (e.g. "User not found") as before
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public void evictProjects(UUID userId) {
+        evict(userId, PROJECT_ENTRIES);
+    }
+
+    public void evictTasks(UUID userId) {
+        evict(userId, TASK_ENTRIES);
+    }
+
+    public void evictStats(UUID userId) {
+        evict(userId, new String[]{STATS});
+    }
+
+    private void evict(UUID userId, String[] entries) {
+        Cache cache = cache();
+        for (String entry : entries) {
+            cache.evict(key(userId, entry));
+        }
+    }
+
+    private Cache cache() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            throw new IllegalStateException("Cache " + CACHE_NAME + " is not configured");
+        }
+        return cache;
+    }
+
+    private static String key(UUID userId, String entry) {
+        return "user:" + userId + "_" + entry;
+    }
+}
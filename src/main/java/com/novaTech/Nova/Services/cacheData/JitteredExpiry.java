@@ -0,0 +1,44 @@
+package com.novaTech.Nova.Services.cacheData;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Expire-after-write with each entry's lifetime shortened by a random amount of up to
+ * {@code jitterPercent} of the TTL, so entries written together (e.g. after a restart or a
+ * cache clear) do not all expire in the same instant. The configured TTL stays the upper bound.
+ */
+public class JitteredExpiry implements Expiry<Object, Object> {
+
+    private final long ttlNanos;
+    private final long maxJitterNanos;
+
+    public JitteredExpiry(Duration ttl, int jitterPercent) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxJitterNanos = ttlNanos / 100 * Math.min(Math.max(jitterPercent, 0), 100);
+    }
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+        return nextLifetime();
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+        return nextLifetime();
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+
+    private long nextLifetime() {
+        if (maxJitterNanos <= 0) {
+            return ttlNanos;
+        }
+        return ttlNanos - ThreadLocalRandom.current().nextLong(maxJitterNanos + 1);
+    }
+}
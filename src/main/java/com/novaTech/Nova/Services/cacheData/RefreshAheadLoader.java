@@ -0,0 +1,52 @@
+package com.novaTech.Nova.Services.cacheData;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loader of a refresh-after-write cache. Spring's cache abstraction has no loader per cache,
+ * so the value loader passed to {@link RefreshingCache#get(Object, Callable)} is remembered per
+ * key and used again when Caffeine refreshes the entry in the background.
+ *
+ * Loaders are dropped together with their entries. An entry without a loader (written by a
+ * plain put) is removed instead of refreshed, so the next read loads it again.
+ */
+public class RefreshAheadLoader implements CacheLoader<Object, Object> {
+
+    private final Map<Object, Callable<?>> loaders = new ConcurrentHashMap<>();
+
+    public void register(Object key, Callable<?> loader) {
+        loaders.put(key, loader);
+    }
+
+    public void forget(Object key) {
+        loaders.remove(key);
+    }
+
+    public void forgetAll() {
+        loaders.clear();
+    }
+
+    public int size() {
+        return loaders.size();
+    }
+
+    @Override
+    public Object load(Object key) throws Exception {
+        Callable<?> loader = loaders.get(key);
+        if (loader == null) {
+            throw new IllegalStateException("No loader registered for key " + key);
+        }
+        return loader.call();
+    }
+
+    @Override
+    public Object reload(Object key, Object oldValue) throws Exception {
+        Callable<?> loader = loaders.get(key);
+        // null removes the entry
+        return loader != null ? loader.call() : null;
+    }
+}
@@ -0,0 +1,42 @@
+package com.novaTech.Nova.Services.cacheData;
+
+import java.util.concurrent.Callable;
+
+/**
+ * {@link TwoLevelCache} backed by a Caffeine LoadingCache with refresh-after-write.
+ *
+ * Reads go through {@link #get(Object, Callable)}: on a miss, concurrent callers for the same
+ * key wait for one load instead of each hitting the database; once an entry is older than the
+ * refresh interval, the next read returns it immediately and one background reload per key
+ * replaces it. The value loader must not depend on the caller's transaction or request, since
+ * refreshes run on the cache's own threads. Use {@link DashboardCache} rather than
+ * {@code @Cacheable} for these caches, whose method invocations cannot be replayed.
+ */
+public class RefreshingCache extends TwoLevelCache {
+
+    private final RefreshAheadLoader loader;
+
+    public RefreshingCache(String name, com.github.benmanes.caffeine.cache.LoadingCache<Object, Object> cache,
+                           boolean allowNullValues, CacheInvalidationBus bus, RefreshAheadLoader loader) {
+        super(name, cache, allowNullValues, bus, null, null);
+        this.loader = loader;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        loader.register(key, valueLoader);
+        return super.get(key, valueLoader);
+    }
+
+    @Override
+    public void invalidateLocal(Object key) {
+        super.invalidateLocal(key);
+        loader.forget(key);
+    }
+
+    @Override
+    public void invalidateLocalAll() {
+        super.invalidateLocalAll();
+        loader.forgetAll();
+    }
+}
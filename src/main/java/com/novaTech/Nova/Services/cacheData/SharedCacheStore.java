@@ -0,0 +1,146 @@
+package com.novaTech.Nova.Services.cacheData;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.novaTech.Nova.Entities.repo.SharedCacheEntryRepository;
+import com.novaTech.Nova.Services.AfterCommit;
+import jakarta.persistence.Entity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Optional second cache tier in the database, shared by all nodes, for the caches listed in
+ * {@code cache.bus.l2-caches}. A node that misses locally reads the entry here before calling
+ * the cached method.
+ *
+ * Values are stored as JSON with type information, limited to application, java.lang, java.util
+ * and java.time types. JPA entities and values that can't be written as JSON are not stored
+ * (they stay local-only). Only string keys are shared.
+ */
+@Slf4j
+@Service
+public class SharedCacheStore {
+
+    private static final int MAX_KEY_LENGTH = 500;
+    private static final List<String> SHARED_TYPE_PREFIXES = List.of("com.novaTech.Nova.", "java.lang.", "java.util.", "java.time.");
+
+    private final SharedCacheEntryRepository repository;
+    private final CacheBusProperties properties;
+    private final ObjectMapper typedMapper;
+
+    public SharedCacheStore(SharedCacheEntryRepository repository, CacheBusProperties properties, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.properties = properties;
+        BasicPolymorphicTypeValidator.Builder typeValidator = BasicPolymorphicTypeValidator.builder();
+        SHARED_TYPE_PREFIXES.forEach(typeValidator::allowIfSubType);
+        this.typedMapper = objectMapper.copy()
+                .activateDefaultTyping(typeValidator.build(), ObjectMapper.DefaultTyping.NON_FINAL);
+    }
+
+    public boolean isShared(String cacheName) {
+        return properties.getL2Caches().contains(cacheName);
+    }
+
+    /**
+     * @return the shared value, or null on a miss
+     */
+    public Object find(String cacheName, Object key) {
+        if (!(key instanceof String text) || text.length() > MAX_KEY_LENGTH) {
+            return null;
+        }
+        try {
+            return repository.findLiveValue(cacheName, text, LocalDateTime.now())
+                    .map(this::read)
+                    .orElse(null);
+        } catch (Exception e) {
+            log.warn("Shared cache read failed for {}/{}: {}", cacheName, key, e.getMessage());
+            return null;
+        }
+    }
+
+    public void store(String cacheName, Object key, Object value) {
+        if (!(key instanceof String text) || text.length() > MAX_KEY_LENGTH || value == null || isEntity(value)) {
+            return;
+        }
+        try {
+            ObjectNode envelope = typedMapper.createObjectNode().put("t", value.getClass().getName());
+            envelope.set("v", typedMapper.valueToTree(value));
+            repository.upsert(cacheName, text, typedMapper.writeValueAsBytes(envelope),
+                    LocalDateTime.now().plus(properties.getL2Ttl()));
+        } catch (Exception e) {
+            // Not shareable (lazy entity state, unsupported type): keep it local-only
+            log.debug("Not sharing cache entry {}/{}: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    /**
+     * Delete now, and again after the current transaction commits so a peer that reloaded
+     * the old data in between cannot leave it behind.
+     */
+    public void evict(String cacheName, Object key) {
+        if (key instanceof String text) {
+            nowAndAfterCommit(() -> repository.deleteEntry(cacheName, text));
+        } else {
+            clear(cacheName);
+        }
+    }
+
+    public void clear(String cacheName) {
+        nowAndAfterCommit(() -> repository.deleteCache(cacheName));
+    }
+
+    @Scheduled(cron = "${cache.bus.l2-purge-cron:0 */10 * * * *}")
+    public void purgeExpired() {
+        if (properties.getL2Caches().isEmpty()) {
+            return;
+        }
+        int deleted = repository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired shared cache entries", deleted);
+        }
+    }
+
+    // =========================================================
+    // HELPERS
+    // =========================================================
+
+    private Object read(byte[] data) {
+        try {
+            JsonNode envelope = typedMapper.readTree(data);
+            String type = envelope.path("t").asText();
+            if (SHARED_TYPE_PREFIXES.stream().noneMatch(type::startsWith)) {
+                return null;
+            }
+            return typedMapper.treeToValue(envelope.get("v"), Class.forName(type));
+        } catch (Exception e) {
+            log.debug("Unreadable shared cache entry: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isEntity(Object value) {
+        Object sample = value instanceof Collection<?> collection && !collection.isEmpty()
+                ? collection.iterator().next()
+                : value;
+        return sample != null && sample.getClass().isAnnotationPresent(Entity.class);
+    }
+
+    private void nowAndAfterCommit(Runnable delete) {
+        Runnable safeDelete = () -> {
+            try {
+                delete.run();
+            } catch (Exception e) {
+                log.warn("Shared cache delete failed: {}", e.getMessage());
+            }
+        };
+        safeDelete.run();
+        AfterCommit.runIfInTransaction(safeDelete);
+    }
+}
@@ -0,0 +1,159 @@
+package com.novaTech.Nova.Services.cacheData;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * Caffeine cache that tells the other nodes about its evictions and, when the cache is
+ * shared, reads through to and writes through to the database tier on a local miss.
+ * Evictions received from peers are applied through {@link CacheInvalidationBus.LocalCache}
+ * and are not broadcast again.
+ *
+ * A tagged cache also indexes its entries by {@link CacheTags} so {@link #evictTag} can
+ * remove just the entries of one team, project, user, task or reminder.
+ */
+public class TwoLevelCache extends CaffeineCache implements CacheInvalidationBus.LocalCache {
+
+    private final CacheInvalidationBus bus;
+    private final SharedCacheStore sharedStore;
+    private final CacheTagIndex tagIndex;
+
+    /**
+     * @param sharedStore null for a cache that is local to each node
+     * @param tagIndex    null for an untagged cache
+     */
+    public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                         boolean allowNullValues, CacheInvalidationBus bus, SharedCacheStore sharedStore,
+                         CacheTagIndex tagIndex) {
+        super(name, cache, allowNullValues);
+        this.bus = bus;
+        this.sharedStore = sharedStore;
+        this.tagIndex = tagIndex;
+        bus.register(name, this);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        if (value == null && sharedStore != null) {
+            value = sharedStore.find(getName(), key);
+            if (value != null) {
+                getNativeCache().put(key, value);
+                tag(key, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        super.put(key, value);
+        tag(key, value);
+        if (sharedStore != null) {
+            sharedStore.store(getName(), key, value);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = super.putIfAbsent(key, value);
+        if (existing == null) {
+            tag(key, value);
+            if (sharedStore != null) {
+                sharedStore.store(getName(), key, value);
+            }
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        invalidateLocal(key);
+        broadcastEvict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = getNativeCache().asMap().containsKey(key);
+        invalidateLocal(key);
+        // peers may hold the key even when this node doesn't
+        broadcastEvict(key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        invalidateLocalAll();
+        broadcastClear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean notEmpty = !getNativeCache().asMap().isEmpty();
+        invalidateLocalAll();
+        broadcastClear();
+        return notEmpty;
+    }
+
+    /**
+     * Evict every entry tagged with the tag, here and on the other nodes
+     */
+    public void evictTag(String tag) {
+        invalidateLocalTag(tag);
+        if (sharedStore != null) {
+            // the shared tier has no tag index
+            sharedStore.clear(getName());
+        }
+        bus.publishEvictTag(getName(), tag);
+    }
+
+    // =========================================================
+    // LOCAL INVALIDATION
+    // =========================================================
+
+    @Override
+    public void invalidateLocal(Object key) {
+        getNativeCache().invalidate(key);
+        if (tagIndex != null) {
+            tagIndex.untag(key);
+        }
+    }
+
+    @Override
+    public void invalidateLocalTag(String tag) {
+        if (tagIndex == null) {
+            getNativeCache().invalidateAll();
+            return;
+        }
+        for (Object key : tagIndex.removeTag(tag)) {
+            invalidateLocal(key);
+        }
+    }
+
+    @Override
+    public void invalidateLocalAll() {
+        getNativeCache().invalidateAll();
+        if (tagIndex != null) {
+            tagIndex.clear();
+        }
+    }
+
+    private void tag(Object key, Object value) {
+        if (tagIndex != null) {
+            tagIndex.tag(key, CacheTags.of(key, value));
+        }
+    }
+
+    private void broadcastEvict(Object key) {
+        if (sharedStore != null) {
+            sharedStore.evict(getName(), key);
+        }
+        bus.publishEvict(getName(), key);
+    }
+
+    private void broadcastClear() {
+        if (sharedStore != null) {
+            sharedStore.clear(getName());
+        }
+        bus.publishClear(getName());
+    }
+}
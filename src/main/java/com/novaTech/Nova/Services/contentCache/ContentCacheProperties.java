@@ -0,0 +1,19 @@
+package com.novaTech.Nova.Services.contentCache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "document.content-cache")
+public class ContentCacheProperties {
+    private boolean enabled = true;
+
+    // entries expire this long after they were stored or last hit
+    private int extractionRetentionDays = 30;
+    private int resultRetentionDays = 7;
+
+    // texts / results longer than this are not cached
+    private int maxContentChars = 5_000_000;
+}
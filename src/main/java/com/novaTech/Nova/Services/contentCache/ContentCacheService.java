@@ -0,0 +1,199 @@
+package com.novaTech.Nova.Services.contentCache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.novaTech.Nova.DTO.DocumentProcessRequest;
+import com.novaTech.Nova.Entities.ContentCacheEntry;
+import com.novaTech.Nova.Entities.Document;
+import com.novaTech.Nova.Entities.Enums.ContentCacheKind;
+import com.novaTech.Nova.Entities.User;
+import com.novaTech.Nova.Entities.repo.ContentCacheEntryRepository;
+import com.novaTech.Nova.Exceptions.UnauthorizedException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Content-addressed store for extracted text and AI results, shared across documents and users.
+ *
+ * Extracted text is keyed by the SHA-256 of the file bytes, AI results by the SHA-256 of the
+ * extracted text together with the functionality and question/prompt. Access is checked on the
+ * way in: text is only returned for bytes the caller uploaded, and results only for a
+ * document the caller owns. Nothing here is looked up by a client-supplied hash.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentCacheService {
+
+    private static final TypeReference<Map<String, Object>> DATA_TYPE = new TypeReference<>() { };
+
+    // per-document fields of a result, filled in again for the document the result is served to
+    private static final String[] DOCUMENT_FIELDS = {"documentId", "documentName", "extractedTextLength", "cached"};
+
+    private final ContentCacheEntryRepository repository;
+    private final ContentCacheProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public record CachedResult(Map<String, Object> data, String modelUsed) {
+    }
+
+    // =========================================================
+    // EXTRACTED TEXT
+    // =========================================================
+
+    /**
+     * Text previously extracted from a file with these bytes
+     */
+    public Optional<String> findExtractedText(String fileHash) {
+        if (!properties.isEnabled() || fileHash == null) {
+            return Optional.empty();
+        }
+        return hit(fileHash, ContentCacheKind.EXTRACTED_TEXT, properties.getExtractionRetentionDays())
+                .map(ContentCacheEntry::getContent);
+    }
+
+    public void storeExtractedText(String fileHash, String text) {
+        if (fileHash != null) {
+            store(fileHash, ContentCacheKind.EXTRACTED_TEXT, text, null, properties.getExtractionRetentionDays());
+        }
+    }
+
+    // =========================================================
+    // AI RESULTS
+    // =========================================================
+
+    /**
+     * Result of an earlier identical request on the same text, if the user owns the document
+     */
+    public Optional<CachedResult> findResult(Document document, User user, DocumentProcessRequest request) {
+        requireOwner(document, user);
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+
+        return hit(resultKey(document, request), ContentCacheKind.AI_RESULT, properties.getResultRetentionDays())
+                .flatMap(entry -> {
+                    try {
+                        return Optional.of(new CachedResult(objectMapper.readValue(entry.getContent(), DATA_TYPE),
+                                entry.getModelUsed()));
+                    } catch (Exception e) {
+                        log.warn("Unreadable cached result {}: {}", entry.getCacheKey(), e.getMessage());
+                        return Optional.empty();
+                    }
+                });
+    }
+
+    public void storeResult(Document document, DocumentProcessRequest request, Map<String, Object> data, String modelUsed) {
+        Map<String, Object> shared = new HashMap<>(data);
+        for (String field : DOCUMENT_FIELDS) {
+            shared.remove(field);
+        }
+
+        try {
+            store(resultKey(document, request), ContentCacheKind.AI_RESULT,
+                    objectMapper.writeValueAsString(shared), modelUsed, properties.getResultRetentionDays());
+        } catch (Exception e) {
+            log.warn("Could not cache result for document {}: {}", document.getId(), e.getMessage());
+        }
+    }
+
+    // =========================================================
+    // HASHING
+    // =========================================================
+
+    public static String sha256(InputStream in) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[64 * 1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static String sha256(String text) {
+        return HexFormat.of().formatHex(newDigest().digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // =========================================================
+    // RETENTION
+    // =========================================================
+
+    @Scheduled(cron = "${document.content-cache.purge-cron:0 15 * * * *}")
+    public void purgeExpired() {
+        int deleted = repository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired content cache entries", deleted);
+        }
+    }
+
+    // =========================================================
+    // HELPERS
+    // =========================================================
+
+    private void requireOwner(Document document, User user) {
+        if (user == null || document.getUser() == null || !document.getUser().getId().equals(user.getId())) {
+            throw new UnauthorizedException("Not allowed to access document " + document.getId());
+        }
+    }
+
+    private String resultKey(Document document, DocumentProcessRequest request) {
+        String textHash = document.getContentHash() != null
+                ? document.getContentHash()
+                : sha256(document.getExtractedText());
+
+        return sha256(String.join("\u0000",
+                textHash,
+                request.getFunctionality().name(),
+                normalize(request.getQuestion()),
+                normalize(request.getCustomPrompt())));
+    }
+
+    private static String normalize(String input) {
+        return input == null ? "" : input.trim().replaceAll("\\s+", " ");
+    }
+
+    private Optional<ContentCacheEntry> hit(String key, ContentCacheKind kind, int retentionDays) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<ContentCacheEntry> entry = repository.findLive(key, kind, now);
+        entry.ifPresent(found -> {
+            repository.recordHit(found.getId(), now, now.plusDays(retentionDays));
+            log.debug("Content cache hit: {} {}", kind, key);
+        });
+        return entry;
+    }
+
+    private void store(String key, ContentCacheKind kind, String content, String modelUsed, int retentionDays) {
+        if (!properties.isEnabled() || content == null || content.length() > properties.getMaxContentChars()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            repository.upsert(key, kind.name(), content, modelUsed, now, now.plusDays(retentionDays));
+        } catch (Exception e) {
+            // The cache is an optimization; never fail the request over it
+            log.warn("Could not store content cache entry {} {}: {}", kind, key, e.getMessage());
+        }
+    }
+}
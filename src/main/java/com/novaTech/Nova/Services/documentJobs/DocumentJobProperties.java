@@ -0,0 +1,30 @@
+package com.novaTech.Nova.Services.documentJobs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "document.jobs")
+public class DocumentJobProperties {
+    // worker pool
+    private int workers = 4;
+    private int queueCapacity = 100;
+
+    // uploaded files waiting for extraction; use a shared volume when running several nodes
+    private String spoolDir = System.getProperty("java.io.tmpdir") + "/nova-document-jobs";
+
+    // a running job is taken over by another worker once its lease expires
+    private int leaseMinutes = 10;
+    private int maxAttempts = 3;
+    private int retryDelaySeconds = 30;
+
+    // how often queued / orphaned jobs are picked up from the database
+    private long pollIntervalMs = 5000;
+    private int pollBatchSize = 20;
+
+    // SSE subscribers re-read the job this often (covers jobs running on another node)
+    private long streamRefreshMs = 2000;
+    private int streamTimeoutMinutes = 30;
+}
@@ -0,0 +1,271 @@
+package com.novaTech.Nova.Services.documentJobs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.novaTech.Nova.DTO.DocumentProcessRequest;
+import com.novaTech.Nova.DTO.DocumentProcessResponse;
+import com.novaTech.Nova.Entities.Document;
+import com.novaTech.Nova.Entities.Enums.FunctionalityType;
+import com.novaTech.Nova.Entities.Enums.ProcessingJobStatus;
+import com.novaTech.Nova.Entities.ProcessingHistory;
+import com.novaTech.Nova.Entities.repo.ProcessingHistoryRepository;
+import com.novaTech.Nova.Services.DocumentExtractionService;
+import com.novaTech.Nova.Services.DocumentProcessingService;
+import com.novaTech.Nova.Services.DocumentService;
+import com.novaTech.Nova.Services.contentCache.ContentCacheService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs one document job through its remaining stages:
+ * QUEUED -> EXTRACTING -> PROCESSING -> COMPLETED / FAILED.
+ *
+ * Every transition is written to the job's ProcessingHistory row before the next stage
+ * starts, and no transaction is held across extraction or the AI call.
+ *
+ * The lease is renewed on a timer for as long as the job runs, and every write first checks
+ * that this worker still holds it, so a worker that stalled past its lease drops its result
+ * instead of overwriting the worker that took the job over.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DocumentJobRunner {
+
+    private final ProcessingHistoryRepository historyRepository;
+    private final DocumentService documentService;
+    private final DocumentExtractionService extractionService;
+    private final DocumentProcessingService processingService;
+    private final ContentCacheService contentCacheService;
+    private final DocumentJobProperties properties;
+    private final ObjectMapper objectMapper;
+
+    private final ScheduledExecutorService leaseRenewer = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "doc-job-lease");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Claim the job and run it. Returns quietly when another worker holds it or it is done.
+     */
+    public void run(Long jobId, Consumer<ProcessingHistory> onUpdate) {
+        LocalDateTime now = LocalDateTime.now();
+        if (historyRepository.claimJob(jobId, ProcessingJobStatus.EXTRACTING, now, now.plusMinutes(properties.getLeaseMinutes())) == 0) {
+            return;
+        }
+
+        ProcessingHistory job = historyRepository.findJobById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        Document document = job.getDocument();
+        log.info("Running document job {} (attempt {}) for document {}", jobId, job.getAttempts(), document.getId());
+
+        long renewEverySeconds = Math.max(1, properties.getLeaseMinutes() * 60L / 3);
+        ScheduledFuture<?> renewal = leaseRenewer.scheduleAtFixedRate(
+                () -> renewLeaseOnTimer(job), renewEverySeconds, renewEverySeconds, TimeUnit.SECONDS);
+        try {
+            if (job.getAttempts() > properties.getMaxAttempts()) {
+                fail(job, "Gave up after " + properties.getMaxAttempts() + " attempts", onUpdate);
+                return;
+            }
+
+            if (document.getExtractedText() == null) {
+                document = extract(job, document, onUpdate);
+            }
+            process(job, document, onUpdate);
+
+        } catch (LeaseLostException e) {
+            log.warn("Document job {} lost its lease, dropping this run{}", jobId, leaseLostReason(e));
+        } catch (Exception e) {
+            handleFailure(job, document, e, onUpdate);
+        } finally {
+            renewal.cancel(false);
+        }
+    }
+
+    private Document extract(ProcessingHistory job, Document document, Consumer<ProcessingHistory> onUpdate) throws Exception {
+        update(job, ProcessingJobStatus.EXTRACTING, 10, "Extracting text", onUpdate);
+
+        File spooled = job.getSpoolPath() != null ? new File(job.getSpoolPath()) : null;
+        if (spooled == null || !spooled.isFile()) {
+            throw new IllegalStateException("The uploaded file is no longer available, please upload it again");
+        }
+
+        String fileHash;
+        try (InputStream in = Files.newInputStream(spooled.toPath())) {
+            fileHash = ContentCacheService.sha256(in);
+        }
+        document.setFileHash(fileHash);
+
+        String text = contentCacheService.findExtractedText(fileHash).orElse(null);
+        if (text == null) {
+            text = extractionService.extractText(spooled, document.getFileName());
+            if (text == null || text.trim().isEmpty()) {
+                throw new IllegalStateException("No text could be extracted from the document");
+            }
+            contentCacheService.storeExtractedText(fileHash, text);
+        } else {
+            log.info("Job {} reuses extracted text of an identical earlier upload", job.getId());
+        }
+
+        Document extracted = documentService.completeExtraction(document, text);
+        deleteSpoolFile(job);
+        log.info("Job {} extracted {} characters from document {}", job.getId(), text.length(), document.getId());
+        return extracted;
+    }
+
+    private void process(ProcessingHistory job, Document document, Consumer<ProcessingHistory> onUpdate) throws Exception {
+        FunctionalityType functionality = FunctionalityType.valueOf(job.getFunctionalityType());
+        update(job, ProcessingJobStatus.PROCESSING, 50, "Running " + functionality, onUpdate);
+
+        DocumentProcessRequest request = DocumentProcessRequest.builder()
+                .functionality(functionality)
+                .question(job.getInputQuestion())
+                .customPrompt(job.getInputPrompt())
+                .build();
+        DocumentProcessResponse result = processingService.runFunctionality(document, request, document.getUser());
+
+        job.setJobStatus(ProcessingJobStatus.COMPLETED);
+        job.setProgress(100);
+        job.setStatusMessage("Completed");
+        job.setAiResponse(result.getPrimaryResponse());
+        job.setConfidenceScore((Double) result.getData().get("confidence"));
+        job.setResultData(objectMapper.writeValueAsString(result.getData()));
+        job.setSuccess(true);
+        job.setErrorMessage(null);
+        job.setLeaseUntil(null);
+        job.setProcessedAt(LocalDateTime.now());
+        job.setCompletedAt(job.getProcessedAt());
+        save(job, onUpdate);
+
+        log.info("Document job {} completed", job.getId());
+    }
+
+    /**
+     * Extraction failures and bad input are final; AI failures are retried with a growing delay.
+     */
+    private void handleFailure(ProcessingHistory job, Document document, Exception e, Consumer<ProcessingHistory> onUpdate) {
+        boolean extracting = job.getJobStatus() == ProcessingJobStatus.EXTRACTING;
+        boolean retryable = !extracting
+                && !(e instanceof IllegalArgumentException)
+                && job.getAttempts() < properties.getMaxAttempts();
+
+        try {
+            if (retryable) {
+                log.warn("Document job {} failed on attempt {}, will retry: {}", job.getId(), job.getAttempts(), e.getMessage());
+                job.setJobStatus(ProcessingJobStatus.QUEUED);
+                job.setStatusMessage("Retrying after error: " + e.getMessage());
+                job.setErrorMessage(e.getMessage());
+                job.setLeaseUntil(LocalDateTime.now().plusSeconds((long) properties.getRetryDelaySeconds() * job.getAttempts()));
+                save(job, onUpdate);
+                return;
+            }
+
+            log.error("Document job {} failed: {}", job.getId(), e.getMessage(), e);
+            if (extracting) {
+                documentService.markExtractionFailed(document);
+                deleteSpoolFile(job);
+            }
+            fail(job, e.getMessage(), onUpdate);
+        } catch (LeaseLostException lost) {
+            log.warn("Document job {} lost its lease, not recording its failure{}", job.getId(), leaseLostReason(lost));
+        } catch (Exception saveError) {
+            // Lease expiry hands the job to another worker
+            log.error("Could not record failure of document job {}: {}", job.getId(), saveError.getMessage());
+        }
+    }
+
+    private void fail(ProcessingHistory job, String reason, Consumer<ProcessingHistory> onUpdate) {
+        job.setJobStatus(ProcessingJobStatus.FAILED);
+        job.setStatusMessage("Failed");
+        job.setErrorMessage(reason);
+        job.setSuccess(false);
+        job.setLeaseUntil(null);
+        job.setProcessedAt(LocalDateTime.now());
+        job.setCompletedAt(job.getProcessedAt());
+        save(job, onUpdate);
+    }
+
+    private void update(ProcessingHistory job, ProcessingJobStatus status, int progress, String message,
+                        Consumer<ProcessingHistory> onUpdate) {
+        job.setJobStatus(status);
+        job.setProgress(progress);
+        job.setStatusMessage(message);
+        job.setLeaseUntil(LocalDateTime.now().plusMinutes(properties.getLeaseMinutes()));
+        save(job, onUpdate);
+    }
+
+    /**
+     * Write the job only while this worker still holds its lease
+     */
+    private void save(ProcessingHistory job, Consumer<ProcessingHistory> onUpdate) {
+        boolean owned;
+        try {
+            owned = renewLease(job);
+        } catch (Exception e) {
+            // Ownership can't be confirmed, so don't write; the lease hands the job on if needed
+            throw new LeaseLostException(e);
+        }
+        if (!owned) {
+            throw new LeaseLostException(null);
+        }
+        historyRepository.save(job);
+        onUpdate.accept(job);
+    }
+
+    private boolean renewLease(ProcessingHistory job) {
+        return historyRepository.renewLease(job.getId(), job.getAttempts(),
+                LocalDateTime.now().plusMinutes(properties.getLeaseMinutes())) > 0;
+    }
+
+    private void renewLeaseOnTimer(ProcessingHistory job) {
+        try {
+            renewLease(job);
+        } catch (Exception e) {
+            // A missed renewal is covered by the next one, well before the lease runs out
+            log.warn("Could not renew the lease of document job {}: {}", job.getId(), e.getMessage());
+        }
+    }
+
+    private void deleteSpoolFile(ProcessingHistory job) {
+        if (job.getSpoolPath() == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(Path.of(job.getSpoolPath()));
+        } catch (Exception e) {
+            log.warn("Could not delete spooled upload {}: {}", job.getSpoolPath(), e.getMessage());
+        }
+        job.setSpoolPath(null);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Jobs left running are re-run elsewhere once their lease expires
+        leaseRenewer.shutdownNow();
+    }
+
+    private static String leaseLostReason(LeaseLostException e) {
+        return e.getCause() != null ? " (ownership check failed: " + e.getCause().getMessage() + ")" : "";
+    }
+
+    private static class LeaseLostException extends RuntimeException {
+        LeaseLostException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.novaTech.Nova.Services.documentJobs;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.novaTech.Nova.DTO.DocumentJobResponse;
+import com.novaTech.Nova.DTO.DocumentProcessRequest;
+import com.novaTech.Nova.Entities.Document;
+import com.novaTech.Nova.Entities.Enums.FunctionalityType;
+import com.novaTech.Nova.Entities.Enums.ProcessingJobStatus;
+import com.novaTech.Nova.Entities.ProcessingHistory;
+import com.novaTech.Nova.Entities.User;
+import com.novaTech.Nova.Entities.repo.ProcessingHistoryRepository;
+import com.novaTech.Nova.Exceptions.ResourceNotFoundException;
+import com.novaTech.Nova.Services.DocumentProcessingService;
+import com.novaTech.Nova.Services.DocumentService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous document processing. Submitting stores the upload and a QUEUED job row and
+ * returns at once; a bounded worker pool runs the job (see {@link DocumentJobRunner}).
+ *
+ * The database row is the source of truth: jobs that don't fit the pool, and jobs left
+ * behind by a restart (expired lease), are picked up again by {@link #dispatchPending()}.
+ */
+@Slf4j
+@Service
+public class DocumentJobService {
+
+    private static final TypeReference<Map<String, Object>> DATA_TYPE = new TypeReference<>() { };
+
+    private final ProcessingHistoryRepository historyRepository;
+    private final DocumentService documentService;
+    private final DocumentProcessingService processingService;
+    private final DocumentJobRunner runner;
+    private final DocumentJobProperties properties;
+    private final ObjectMapper objectMapper;
+
+    // Private pool rather than an Executor bean, which would replace the default @Async executor
+    private final ThreadPoolExecutor executor;
+
+    // Jobs handed to the pool on this node, so the poller doesn't queue them twice
+    private final Set<Long> dispatched = ConcurrentHashMap.newKeySet();
+
+    // Live progress for SSE subscribers of jobs running on this node
+    private final Map<Long, Sinks.Many<DocumentJobResponse>> listeners = new ConcurrentHashMap<>();
+
+    public DocumentJobService(ProcessingHistoryRepository historyRepository,
+                              DocumentService documentService,
+                              DocumentProcessingService processingService,
+                              DocumentJobRunner runner,
+                              DocumentJobProperties properties,
+                              ObjectMapper objectMapper) {
+        this.historyRepository = historyRepository;
+        this.documentService = documentService;
+        this.processingService = processingService;
+        this.runner = runner;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getWorkers(), properties.getWorkers(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                task -> {
+                    Thread thread = new Thread(task, "doc-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        log.info("Document job pool initialized - workers: {}, queue: {}, spool: {}",
+                properties.getWorkers(), properties.getQueueCapacity(), properties.getSpoolDir());
+    }
+
+    // =========================================================
+    // SUBMISSION
+    // =========================================================
+
+    /**
+     * Upload a file and queue it for extraction and processing
+     */
+    public DocumentJobResponse submit(MultipartFile file, DocumentProcessRequest request, User user) throws IOException {
+        String validationError = processingService.validateRequest(request);
+        if (validationError != null) {
+            throw new IllegalArgumentException(validationError);
+        }
+
+        Document document = documentService.createPendingDocument(file, user);
+
+        Path spoolDir = Path.of(properties.getSpoolDir());
+        Path spoolFile = spoolDir.resolve("doc-" + document.getId() + "-" + UUID.randomUUID() + "." + document.getFileType());
+        try {
+            Files.createDirectories(spoolDir);
+            file.transferTo(spoolFile);
+        } catch (IOException e) {
+            documentService.markExtractionFailed(document);
+            throw e;
+        }
+
+        ProcessingHistory job = historyRepository.save(newJob(document, request)
+                .spoolPath(spoolFile.toString())
+                .build());
+
+        log.info("Queued document job {} for new document {} ({}) of user: {}",
+                job.getId(), document.getId(), document.getFileName(), user.getUsername());
+
+        dispatch(job.getId());
+        return toResponse(job);
+    }
+
+    /**
+     * Queue processing of a document that was already uploaded and extracted
+     */
+    public DocumentJobResponse submitExisting(Long documentId, DocumentProcessRequest request, User user) throws Exception {
+        String validationError = processingService.validateRequest(request);
+        if (validationError != null) {
+            throw new IllegalArgumentException(validationError);
+        }
+
+        Document document = documentService.getDocumentById(documentId, user);
+        if (document.getExtractedText() == null || document.getExtractedText().trim().isEmpty()) {
+            throw new IllegalArgumentException("Document has no text content to process yet");
+        }
+
+        ProcessingHistory job = historyRepository.save(newJob(document, request).build());
+        log.info("Queued document job {} for document {} of user: {}", job.getId(), documentId, user.getUsername());
+
+        dispatch(job.getId());
+        return toResponse(job);
+    }
+
+    // =========================================================
+    // STATUS
+    // =========================================================
+
+    public DocumentJobResponse getJob(Long jobId, User user) {
+        return historyRepository.findJobByIdAndUserId(jobId, user.getId())
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Processing job not found: " + jobId));
+    }
+
+    /**
+     * Job updates until it completes or fails. Progress of jobs running on this node is pushed
+     * as it happens; a periodic re-read covers jobs running on another node.
+     */
+    public Flux<DocumentJobResponse> streamJob(Long jobId, User user) {
+        DocumentJobResponse current = getJob(jobId, user);
+        if (current.getStatus() == null || current.getStatus().isTerminal()) {
+            return Flux.just(current);
+        }
+
+        Sinks.Many<DocumentJobResponse> sink = listeners.computeIfAbsent(jobId, id -> Sinks.many().replay().latest());
+
+        Flux<DocumentJobResponse> refreshed = Flux.interval(Duration.ofMillis(properties.getStreamRefreshMs()))
+                .publishOn(Schedulers.boundedElastic())
+                .map(tick -> historyRepository.findJobById(jobId).map(this::toResponse).orElse(current));
+
+        return Flux.concat(Flux.just(current), Flux.merge(sink.asFlux(), refreshed))
+                .distinctUntilChanged(job -> job.getStatus() + ":" + job.getProgress() + ":" + job.getAttempts())
+                .takeUntil(job -> job.getStatus().isTerminal())
+                .take(Duration.ofMinutes(properties.getStreamTimeoutMinutes()))
+                .doFinally(signal -> {
+                    if (sink.currentSubscriberCount() == 0) {
+                        listeners.remove(jobId, sink);
+                    }
+                });
+    }
+
+    // =========================================================
+    // DISPATCH
+    // =========================================================
+
+    /**
+     * Pick up jobs that are queued (pool was full, retry delay passed) or orphaned by a
+     * worker that stopped before finishing (its lease expired).
+     */
+    @Scheduled(fixedDelayString = "${document.jobs.poll-interval-ms:5000}")
+    public void dispatchPending() {
+        if (executor.getQueue().remainingCapacity() == 0) {
+            return;
+        }
+
+        List<Long> runnable = historyRepository.findRunnableJobIds(LocalDateTime.now(),
+                PageRequest.of(0, properties.getPollBatchSize()));
+
+        for (Long jobId : runnable) {
+            if (!dispatch(jobId)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * @return false when the pool is full
+     */
+    private boolean dispatch(Long jobId) {
+        if (!dispatched.add(jobId)) {
+            return true;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    runner.run(jobId, this::publish);
+                } catch (Exception e) {
+                    log.error("Document job {} crashed: {}", jobId, e.getMessage(), e);
+                } finally {
+                    dispatched.remove(jobId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            dispatched.remove(jobId);
+            log.debug("Document job pool full, job {} stays queued", jobId);
+            return false;
+        }
+    }
+
+    private void publish(ProcessingHistory job) {
+        Sinks.Many<DocumentJobResponse> sink = listeners.get(job.getId());
+        if (sink == null) {
+            return;
+        }
+        sink.tryEmitNext(toResponse(job));
+        if (job.getJobStatus() != null && job.getJobStatus().isTerminal()) {
+            sink.tryEmitComplete();
+            listeners.remove(job.getId(), sink);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Running jobs are re-run elsewhere once their lease expires
+        executor.shutdownNow();
+    }
+
+    // =========================================================
+    // MAPPING
+    // =========================================================
+
+    private ProcessingHistory.ProcessingHistoryBuilder newJob(Document document, DocumentProcessRequest request) {
+        LocalDateTime now = LocalDateTime.now();
+        return ProcessingHistory.builder()
+                .document(document)
+                .functionalityType(request.getFunctionality().name())
+                .inputQuestion(request.getQuestion())
+                .inputPrompt(request.getCustomPrompt())
+                .jobStatus(ProcessingJobStatus.QUEUED)
+                .progress(0)
+                .statusMessage("Queued")
+                .attempts(0)
+                .success(false)
+                .submittedAt(now)
+                .processedAt(now);
+    }
+
+    private DocumentJobResponse toResponse(ProcessingHistory job) {
+        Map<String, Object> data = null;
+        if (job.getResultData() != null) {
+            try {
+                data = objectMapper.readValue(job.getResultData(), DATA_TYPE);
+            } catch (Exception e) {
+                log.warn("Unreadable result data on job {}: {}", job.getId(), e.getMessage());
+            }
+        }
+
+        ProcessingJobStatus status = job.getJobStatus() != null
+                ? job.getJobStatus()
+                : (Boolean.TRUE.equals(job.getSuccess()) ? ProcessingJobStatus.COMPLETED : ProcessingJobStatus.FAILED);
+
+        return DocumentJobResponse.builder()
+                .jobId(job.getId())
+                .documentId(job.getDocument().getId())
+                .documentName(job.getDocument().getFileName())
+                .functionality(FunctionalityType.valueOf(job.getFunctionalityType()))
+                .status(status)
+                .progress(job.getProgress())
+                .message(job.getStatusMessage())
+                .attempts(job.getAttempts())
+                .data(data)
+                .error(status == ProcessingJobStatus.FAILED ? job.getErrorMessage() : null)
+                .submittedAt(job.getSubmittedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.novaTech.Nova.Services.extraction;
+
+/**
+ * Accumulates extracted text up to a character limit. Extractors stop reading the file once
+ * {@link #append} returns false instead of building text that would be thrown away.
+ */
+public class BoundedTextBuilder {
+
+    private final StringBuilder text = new StringBuilder();
+    private final int maxChars;
+    private boolean truncated;
+
+    public BoundedTextBuilder(int maxChars) {
+        this.maxChars = maxChars;
+    }
+
+    /**
+     * @return false once the limit is reached; the part that still fits is kept
+     */
+    public boolean append(CharSequence part) {
+        if (truncated) {
+            return false;
+        }
+        if (text.length() + part.length() > maxChars) {
+            text.append(part, 0, maxChars - text.length());
+            truncated = true;
+            return false;
+        }
+        text.append(part);
+        return true;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public int length() {
+        return text.length();
+    }
+
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+}
@@ -0,0 +1,28 @@
+package com.novaTech.Nova.Services.extraction;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "document.extraction")
+public class ExtractionProperties {
+    // uploads and parser scratch files; <= 0 workers means one per core
+    private String scratchDir = System.getProperty("java.io.tmpdir") + "/nova-extraction";
+    private int workers = 0;
+
+    // PDF pages are extracted in ranges of this many pages, one range per worker at a time
+    private int pdfPagesPerTask = 8;
+
+    // heap a single open PDF may use for decoded streams before spilling to the scratch dir
+    private long pdfMainMemoryBytes = 8L * 1024 * 1024;
+
+    // largest uncompressed part (e.g. a workbook's shared strings) read from DOCX/XLSX/PPTX files
+    private long officeMaxPartBytes = 100L * 1024 * 1024;
+
+    // per-document budget; pages past max-pages and text past max-text-chars are dropped
+    private int maxPages = 2000;
+    private int maxTextChars = 5_000_000;
+    private int timeoutSeconds = 120;
+}
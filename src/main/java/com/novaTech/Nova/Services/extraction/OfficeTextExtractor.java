@@ -0,0 +1,329 @@
+package com.novaTech.Nova.Services.extraction;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackageRelationship;
+import org.apache.poi.openxml4j.opc.PackageRelationshipCollection;
+import org.apache.poi.openxml4j.opc.PackageRelationshipTypes;
+import org.apache.poi.openxml4j.util.ZipSecureFile;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.stereotype.Component;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Text extraction for OOXML files (DOCX, XLSX, PPTX) without building the POI object model.
+ *
+ * The package is opened read-only from a file and each part is read with a SAX pass, so
+ * heap use is bounded by the largest part POI has to keep (the shared strings of a workbook)
+ * rather than by the whole document. Parts larger than {@code document.extraction.office-max-part-bytes}
+ * uncompressed are rejected before they are read.
+ */
+@Slf4j
+@Component
+public class OfficeTextExtractor {
+
+    private static final String RELATIONSHIPS_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String NOTES_SLIDE_RELATIONSHIP = RELATIONSHIPS_NS + "/notesSlide";
+
+    private final ExtractionProperties properties;
+
+    public OfficeTextExtractor(ExtractionProperties properties) {
+        this.properties = properties;
+        // Process-wide POI setting; also guards other OOXML readers against zip bombs
+        ZipSecureFile.setMaxEntrySize(properties.getOfficeMaxPartBytes());
+    }
+
+    // =========================================================
+    // WORD
+    // =========================================================
+
+    /**
+     * Paragraph text of the document body, one paragraph per line
+     */
+    public String extractDocx(File file) throws IOException {
+        return extract(file, (pkg, sink) -> {
+            PackagePart body = mainPart(pkg);
+            parse(body, new ParagraphHandler(sink));
+        });
+    }
+
+    // =========================================================
+    // EXCEL
+    // =========================================================
+
+    /**
+     * Cell values of every sheet, formatted as displayed, one row per line with tab-separated cells
+     */
+    public String extractXlsx(File file) throws IOException {
+        return extract(file, (pkg, sink) -> {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+            StylesTable styles = reader.getStylesTable();
+            DataFormatter formatter = new DataFormatter();
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream sheet = sheets.next()) {
+                    sink.append("## Sheet: " + sheets.getSheetName() + "\n");
+                    RowWriter rows = new RowWriter(sink);
+                    parse(sheet, new XSSFSheetXMLHandler(styles, sharedStrings, rows, formatter, false));
+                    sink.append("\n");
+                }
+            }
+        });
+    }
+
+    // =========================================================
+    // POWERPOINT
+    // =========================================================
+
+    /**
+     * Slide text in presentation order, followed by the speaker notes of each slide
+     */
+    public String extractPptx(File file) throws IOException {
+        return extract(file, (pkg, sink) -> {
+            PackagePart presentation = mainPart(pkg);
+
+            SlideListHandler slideList = new SlideListHandler();
+            parse(presentation, slideList);
+
+            int number = 0;
+            for (String relationshipId : slideList.relationshipIds) {
+                PackageRelationship relationship = presentation.getRelationship(relationshipId);
+                if (relationship == null) {
+                    continue;
+                }
+                PackagePart slide = presentation.getRelatedPart(relationship);
+                sink.append("--- Slide " + (++number) + " ---\n");
+                parse(slide, new ParagraphHandler(sink));
+
+                PackageRelationshipCollection notes = slide.getRelationshipsByType(NOTES_SLIDE_RELATIONSHIP);
+                if (notes.size() > 0) {
+                    sink.append("Notes:\n");
+                    parse(slide.getRelatedPart(notes.getRelationship(0)), new ParagraphHandler(sink));
+                }
+            }
+        });
+    }
+
+    // =========================================================
+    // SHARED
+    // =========================================================
+
+    @FunctionalInterface
+    private interface PackageReader {
+        void read(OPCPackage pkg, TextSink sink) throws IOException, SAXException, OpenXML4JException;
+    }
+
+    private String extract(File file, PackageReader reader) throws IOException {
+        long start = System.nanoTime();
+        TextSink sink = new TextSink(new BoundedTextBuilder(properties.getMaxTextChars()),
+                start + TimeUnit.SECONDS.toNanos(properties.getTimeoutSeconds()));
+
+        OPCPackage pkg = null;
+        try {
+            pkg = OPCPackage.open(file, PackageAccess.READ);
+            reader.read(pkg, sink);
+        } catch (TextLimitReached e) {
+            log.warn("Text of {} reached the {} character limit, stopping", file.getName(), properties.getMaxTextChars());
+        } catch (TimeBudgetExceeded e) {
+            throw new IOException("Extraction exceeded the time budget of " + properties.getTimeoutSeconds() + "s");
+        } catch (SAXException | OpenXML4JException e) {
+            throw new IOException("Unreadable document: " + e.getMessage(), e);
+        } finally {
+            if (pkg != null) {
+                // read-only packages are released with revert(); close() would try to save
+                pkg.revert();
+            }
+        }
+
+        log.debug("Extracted {} characters from {} in {} ms", sink.text.length(), file.getName(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return sink.text.toString();
+    }
+
+    private static PackagePart mainPart(OPCPackage pkg) throws IOException {
+        PackageRelationshipCollection main = pkg.getRelationshipsByType(PackageRelationshipTypes.CORE_DOCUMENT);
+        if (main.size() == 0) {
+            main = pkg.getRelationshipsByType(PackageRelationshipTypes.STRICT_CORE_DOCUMENT);
+        }
+        if (main.size() == 0) {
+            throw new IOException("Not an Office Open XML document");
+        }
+        return pkg.getPart(main.getRelationship(0));
+    }
+
+    private static void parse(PackagePart part, ContentHandler handler) throws IOException, SAXException {
+        try (InputStream in = part.getInputStream()) {
+            parse(in, handler);
+        }
+    }
+
+    private static void parse(InputStream in, ContentHandler handler) throws IOException, SAXException {
+        XMLReader reader;
+        try {
+            reader = XMLHelper.newXMLReader();
+        } catch (javax.xml.parsers.ParserConfigurationException e) {
+            throw new SAXException(e);
+        }
+        reader.setContentHandler(handler);
+        try {
+            reader.parse(new InputSource(in));
+        } catch (SAXException e) {
+            // Some parsers wrap exceptions thrown by handlers
+            if (e.getException() instanceof RuntimeException stop) {
+                throw stop;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Text accumulator shared by the handlers of one extraction; aborts the parse through an
+     * unchecked exception once the text limit or the time budget is reached.
+     */
+    private static final class TextSink {
+        private final BoundedTextBuilder text;
+        private final long deadline;
+
+        TextSink(BoundedTextBuilder text, long deadline) {
+            this.text = text;
+            this.deadline = deadline;
+        }
+
+        void append(CharSequence part) {
+            if (!text.append(part)) {
+                throw new TextLimitReached();
+            }
+            if (System.nanoTime() > deadline) {
+                throw new TimeBudgetExceeded();
+            }
+        }
+    }
+
+    private static final class TextLimitReached extends RuntimeException {
+        TextLimitReached() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final class TimeBudgetExceeded extends RuntimeException {
+        TimeBudgetExceeded() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Text runs (w:t in Word, a:t in DrawingML) joined per paragraph; tabs and breaks kept.
+     */
+    private static final class ParagraphHandler extends DefaultHandler {
+        private final TextSink sink;
+        private final StringBuilder paragraph = new StringBuilder();
+        private boolean inText;
+
+        ParagraphHandler(TextSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "t" -> inText = true;
+                case "tab" -> paragraph.append('\t');
+                case "br", "cr" -> paragraph.append('\n');
+                default -> { }
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            if ("t".equals(localName)) {
+                inText = false;
+            } else if ("p".equals(localName)) {
+                if (!paragraph.toString().isBlank()) {
+                    paragraph.append('\n');
+                    sink.append(paragraph);
+                }
+                paragraph.setLength(0);
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inText) {
+                paragraph.append(ch, start, length);
+            }
+        }
+    }
+
+    /**
+     * Relationship ids of the slides listed in presentation.xml, in presentation order
+     */
+    private static final class SlideListHandler extends DefaultHandler {
+        private final List<String> relationshipIds = new ArrayList<>();
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if ("sldId".equals(localName)) {
+                String id = attributes.getValue(RELATIONSHIPS_NS, "id");
+                if (id != null) {
+                    relationshipIds.add(id);
+                }
+            }
+        }
+    }
+
+    private static final class RowWriter implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final TextSink sink;
+        private final StringBuilder row = new StringBuilder();
+
+        RowWriter(TextSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            row.setLength(0);
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (!row.isEmpty()) {
+                row.append('\n');
+                sink.append(row);
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            if (formattedValue == null || formattedValue.isBlank()) {
+                return;
+            }
+            if (!row.isEmpty()) {
+                row.append('\t');
+            }
+            row.append(formattedValue);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.novaTech.Nova.Services.extraction;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PDF text extraction with bounded memory and time.
+ *
+ * Documents are read from a file rather than a byte array, and decoded streams beyond
+ * {@code document.extraction.pdf-main-memory-bytes} spill to scratch files. Large documents
+ * are split into page ranges that are stripped in parallel, each worker with its own
+ * document handle (PDDocument is not thread-safe); pages still reach the consumer in order.
+ */
+@Slf4j
+@Component
+public class PdfTextExtractor {
+
+    @FunctionalInterface
+    public interface PageConsumer {
+        /**
+         * @return false to stop extraction after this page
+         */
+        boolean accept(int pageNumber, String text);
+    }
+
+    private final ExtractionProperties properties;
+    private final MemoryUsageSetting memoryUsage;
+    private final ExecutorService workers;
+
+    public PdfTextExtractor(ExtractionProperties properties) throws IOException {
+        this.properties = properties;
+
+        Path scratchDir = Path.of(properties.getScratchDir());
+        Files.createDirectories(scratchDir);
+        this.memoryUsage = MemoryUsageSetting.setupMixed(properties.getPdfMainMemoryBytes())
+                .setTempDir(scratchDir.toFile());
+
+        int threads = properties.getWorkers() > 0
+                ? properties.getWorkers()
+                : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "pdf-extract-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        log.info("PDF extractor initialized - workers: {}, pages per task: {}, main memory per document: {} KB",
+                threads, properties.getPdfPagesPerTask(), properties.getPdfMainMemoryBytes() / 1024);
+    }
+
+    /**
+     * Extract page text in page order, handing each page to the consumer as soon as it and
+     * all pages before it are done. Pages past {@code max-pages} are skipped.
+     *
+     * @return number of pages handed to the consumer
+     * @throws IOException if the file can't be parsed or the time budget runs out
+     */
+    public int extract(File file, PageConsumer consumer) throws IOException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(properties.getTimeoutSeconds());
+        int perTask = Math.max(1, properties.getPdfPagesPerTask());
+
+        int pages;
+        try (PDDocument document = open(file)) {
+            int pageCount = document.getNumberOfPages();
+            pages = Math.min(pageCount, properties.getMaxPages());
+            if (pages < pageCount) {
+                log.warn("PDF {} has {} pages, extracting the first {}", file.getName(), pageCount, pages);
+            }
+
+            if (pages <= perTask) {
+                // Small document: not worth opening it again on other threads
+                int[] delivered = {0};
+                stripPages(document, 1, pages, deadline, new AtomicBoolean(), (page, text) -> {
+                    delivered[0]++;
+                    return consumer.accept(page, text);
+                });
+                return delivered[0];
+            }
+        }
+
+        AtomicBoolean stopped = new AtomicBoolean();
+        List<Future<List<String>>> ranges = new ArrayList<>();
+        for (int first = 1; first <= pages; first += perTask) {
+            int from = first;
+            int to = Math.min(pages, first + perTask - 1);
+            ranges.add(workers.submit(() -> extractRange(file, from, to, deadline, stopped)));
+        }
+
+        int delivered = 0;
+        try {
+            for (int range = 0; range < ranges.size(); range++) {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                List<String> texts = ranges.get(range).get(remaining, TimeUnit.NANOSECONDS);
+
+                int firstPage = range * perTask + 1;
+                for (int i = 0; i < texts.size(); i++) {
+                    delivered++;
+                    if (!consumer.accept(firstPage + i, texts.get(i))) {
+                        return delivered;
+                    }
+                }
+            }
+        } catch (TimeoutException e) {
+            throw new IOException("PDF extraction exceeded the time budget of " + properties.getTimeoutSeconds()
+                    + "s after " + delivered + " of " + pages + " pages");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("PDF extraction failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("PDF extraction interrupted");
+        } finally {
+            stopped.set(true);
+            ranges.forEach(range -> range.cancel(true));
+        }
+
+        log.debug("Extracted {} pages of {} in {} ranges, {} ms", delivered, file.getName(), ranges.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return delivered;
+    }
+
+    private List<String> extractRange(File file, int from, int to, long deadline, AtomicBoolean stopped) throws IOException {
+        List<String> texts = new ArrayList<>(to - from + 1);
+        if (stopped.get()) {
+            return texts;
+        }
+        try (PDDocument document = open(file)) {
+            stripPages(document, from, to, deadline, stopped, (page, text) -> texts.add(text));
+        }
+        return texts;
+    }
+
+    private void stripPages(PDDocument document, int from, int to, long deadline,
+                            AtomicBoolean stopped, PageConsumer consumer) throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setSortByPosition(true);
+
+        for (int page = from; page <= to && !stopped.get(); page++) {
+            if (System.nanoTime() > deadline) {
+                throw new IOException("PDF extraction exceeded the time budget of " + properties.getTimeoutSeconds()
+                        + "s at page " + page);
+            }
+            stripper.setStartPage(page);
+            stripper.setEndPage(page);
+            if (!consumer.accept(page, stripper.getText(document))) {
+                return;
+            }
+        }
+    }
+
+    private PDDocument open(File file) throws IOException {
+        return Loader.loadPDF(file, memoryUsage.streamCache);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
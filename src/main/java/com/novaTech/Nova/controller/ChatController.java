@@ -3,6 +3,9 @@ package com.novaTech.Nova.controller;
 import com.novaTech.Nova.DTO.ChatHistoryResponse;
 import com.novaTech.Nova.DTO.ChatRequest;
 import com.novaTech.Nova.DTO.ChatResponse;
+import com.novaTech.Nova.DTO.ChatSummaryResponse;
+import com.novaTech.Nova.DTO.CursorPage;
+import com.novaTech.Nova.DTO.MessageResponse;
 import com.novaTech.Nova.Entities.Enums.Model;
 import com.novaTech.Nova.Entities.User;
 import com.novaTech.Nova.Security.UserPrincipal;
@@ -65,7 +68,9 @@ public class ChatController {
         log.info("POST /api/v1/chat/message - Send message (requires JWT)");
         log.info("POST /api/v1/chat/message/stream - Send message streaming (requires JWT)");
         log.info("GET  /api/v1/chat/list - Get all chats (requires JWT)");
+        log.info("GET  /api/v1/chat/chats?cursor=&limit= - Get chats page (requires JWT)");
         log.info("GET  /api/v1/chat/{id} - Get chat history (requires JWT)");
+        log.info("GET  /api/v1/chat/{id}/messages?before=&limit= - Get messages page (requires JWT)");
         log.info("=".repeat(80) + "\n");
     }
 
@@ -126,6 +131,33 @@ public class ChatController {
         return ResponseEntity.ok(chats);
     }
 
+    @GetMapping("/chats")
+    @Operation(summary = "Get one page of the current user's chats, most recently active first")
+    public ResponseEntity<CursorPage<ChatSummaryResponse>> getUserChatsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        UserPrincipal principal = userPrincipal();
+        String username = principal.getUsername();
+        User user = userService.findByEmail(username);
+
+        return ResponseEntity.ok(chatService.getUserChatsPage(user, cursor, limit));
+    }
+
+    @GetMapping("/{chatId}/messages")
+    @Operation(summary = "Get one page of a chat's messages; pass nextCursor as 'before' for older ones")
+    public ResponseEntity<CursorPage<MessageResponse>> getChatMessages(
+            @PathVariable Long chatId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        UserPrincipal principal = userPrincipal();
+        String username = principal.getUsername();
+        User user = userService.findByEmail(username);
+
+        return ResponseEntity.ok(chatService.getChatMessages(chatId, user, before, limit));
+    }
+
     @GetMapping("/{chatId}")
     @Operation(summary = "Get full chat history by chat ID")
     public ResponseEntity<ChatHistoryResponse> getChatHistory(
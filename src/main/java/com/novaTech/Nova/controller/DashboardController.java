@@ -3,6 +3,7 @@ package com.novaTech.Nova.controller;
 import com.novaTech.Nova.DTO.*;
 import com.novaTech.Nova.Entities.Enums.TeamStatus;
 import com.novaTech.Nova.Security.UserPrincipal;
+import com.novaTech.Nova.Services.DeadlineService;
 import com.novaTech.Nova.Services.ProjectService;
 import com.novaTech.Nova.Services.TaskService;
 import com.novaTech.Nova.Services.UserService;
@@ -27,6 +28,7 @@ public class DashboardController {
     private final ProjectService projectService;
     private final TaskService taskService;
     private final UserService userService;
+    private final DeadlineService deadlineService;
     // FIX: removed UserRegistrationService - no longer needed in controller
 
     // ==================== UTILITY METHOD ====================
@@ -62,22 +64,8 @@ public class DashboardController {
             // FIX: get userId directly from principal - no DB lookup needed
             UUID userId = userPrincipal().getUserId();
 
-            long totalProjects = projectService.getProjectCount(userId);
-            long completedProjects = projectService.getCompletedProjectCount(userId);
-            long inProgressProjects = projectService.getInProgressProjectCount(userId);
-
-            long totalTasks = taskService.getTaskCount(userId);
-            long completedTasks = taskService.getCompletedTaskCount(userId);
-            long inProgressTasks = taskService.getInProgressTaskCount(userId);
-
-            DashboardStatsDTO stats = DashboardStatsDTO.builder()
-                    .totalProjects(totalProjects)
-                    .completedProjects(completedProjects)
-                    .inProgressProjects(inProgressProjects)
-                    .totalTasks(totalTasks)
-                    .completedTasks(completedTasks)
-                    .inProgressTasks(inProgressTasks)
-                    .build();
+            // one aggregate query on a miss instead of a lookup and a count per figure
+            DashboardStatsDTO stats = userService.getDashboardStats(userId);
 
             return ResponseEntity.ok(stats);
 
@@ -135,6 +123,48 @@ public class DashboardController {
         }
     }
 
+    // ==================== DEADLINES ====================
+
+    // window: OVERDUE, TODAY or UPCOMING (next `days` days); personal tasks, or tasks assigned to me in teamId
+    @GetMapping("/deadlines/tasks")
+    public ResponseEntity<?> getTaskDeadlines(
+            @RequestParam(defaultValue = "OVERDUE") DeadlineService.Window window,
+            @RequestParam(defaultValue = "3") int days,
+            @RequestParam(required = false) UUID teamId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            UUID userId = userPrincipal().getUserId();
+            CursorPage<TaskSummaryDTO> page = teamId == null
+                    ? deadlineService.personalTasks(userId, window, days, cursor, limit)
+                    : deadlineService.teamTasks(userId, teamId, window, days, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (RuntimeException e) {
+            log.error("Error fetching task deadlines: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // window: OVERDUE, TODAY or UPCOMING (next `days` days); personal projects, or the projects of teamId
+    @GetMapping("/deadlines/projects")
+    public ResponseEntity<?> getProjectDeadlines(
+            @RequestParam(defaultValue = "OVERDUE") DeadlineService.Window window,
+            @RequestParam(defaultValue = "3") int days,
+            @RequestParam(required = false) UUID teamId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            UUID userId = userPrincipal().getUserId();
+            CursorPage<ProjectSummaryDTO> page = teamId == null
+                    ? deadlineService.personalProjects(userId, window, days, cursor, limit)
+                    : deadlineService.teamProjects(userId, teamId, window, days, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (RuntimeException e) {
+            log.error("Error fetching project deadlines: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     // ========================
     // USER & TEAM MANAGEMENT
     // ========================
@@ -1,9 +1,11 @@
 package com.novaTech.Nova.controller;
 
+import com.novaTech.Nova.DTO.DocumentJobResponse;
 import com.novaTech.Nova.DTO.DocumentProcessRequest;
 import com.novaTech.Nova.DTO.DocumentProcessResponse;
 import com.novaTech.Nova.DTO.DocumentUploadResponse;
 import com.novaTech.Nova.DTO.ProcessingHistoryResponse;
+import com.novaTech.Nova.DTO.SummaryProgressEvent;
 import com.novaTech.Nova.Entities.Document;
 import com.novaTech.Nova.Entities.Enums.FunctionalityType;
 import com.novaTech.Nova.Entities.User;
@@ -11,6 +13,7 @@ import com.novaTech.Nova.Security.UserPrincipal;
 import com.novaTech.Nova.Services.DocumentProcessingService;
 import com.novaTech.Nova.Services.DocumentService;
 import com.novaTech.Nova.Services.UserRegistrationService;
+import com.novaTech.Nova.Services.documentJobs.DocumentJobService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +25,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
 
 import java.util.Arrays;
 import java.util.List;
@@ -37,6 +41,7 @@ public class DocumentController {
     private final DocumentService documentService;
     private final DocumentProcessingService processingService;
     private final UserRegistrationService userService;
+    private final DocumentJobService documentJobService;
 
     private UserPrincipal userPrincipal(){
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -180,6 +185,124 @@ public class DocumentController {
         }
     }
 
+    /**
+     * Summarize existing document with map-reduce, streaming progress events
+     */
+    @PostMapping(value = "/{documentId}/summarize/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<SummaryProgressEvent> summarizeDocumentStream(
+            @PathVariable Long documentId,
+            @RequestParam(value = "style", required = false) String style) throws Exception {
+
+        UserPrincipal principal = userPrincipal();
+        String username = principal.getUsername();
+
+        User user = userService.findByEmail(username);
+        if (user == null){
+            log.error("User not found: {}", username);
+            throw new RuntimeException("User not found");
+        }
+
+        log.info("POST /api/v1/documents/{}/summarize/stream for user: {}", documentId, user.getUsername());
+
+        return processingService.summarizeDocumentStream(documentId, style, user)
+                .doOnComplete(() -> log.info("Summary stream complete for document {}", documentId))
+                .doOnError(err -> log.error("Summary stream error: {}", err.getMessage()));
+    }
+
+    /**
+     * Upload a document and queue it for processing; returns the job right away
+     */
+    @PostMapping(value = "/jobs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<DocumentJobResponse> submitDocumentJob(
+            @RequestPart("file") MultipartFile file,
+            @RequestParam("functionality") FunctionalityType functionality,
+            @RequestParam(value = "question", required = false) String question,
+            @RequestParam(value = "customPrompt", required = false) String customPrompt) throws Exception {
+
+        UserPrincipal principal = userPrincipal();
+        String username = principal.getUsername();
+
+        User user = userService.findByEmail(username);
+        if (user == null){
+            log.error("User not found: {}", username);
+            throw new RuntimeException("User not found");
+        }
+
+        log.info("POST /api/v1/documents/jobs - Queueing file: {} with functionality: {} for user: {}",
+                file.getOriginalFilename(), functionality, user.getUsername());
+
+        DocumentProcessRequest request = DocumentProcessRequest.builder()
+                .functionality(functionality)
+                .question(question)
+                .customPrompt(customPrompt)
+                .build();
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(documentJobService.submit(file, request, user));
+    }
+
+    /**
+     * Queue processing of an existing document; returns the job right away
+     */
+    @PostMapping("/{documentId}/jobs")
+    public ResponseEntity<DocumentJobResponse> submitExistingDocumentJob(
+            @PathVariable Long documentId,
+            @Valid @RequestBody DocumentProcessRequest request) throws Exception {
+
+        UserPrincipal principal = userPrincipal();
+        String username = principal.getUsername();
+
+        User user = userService.findByEmail(username);
+        if (user == null){
+            log.error("User not found: {}", username);
+            throw new RuntimeException("User not found");
+        }
+
+        log.info("POST /api/v1/documents/{}/jobs - Functionality: {} for user: {}",
+                documentId, request.getFunctionality(), user.getUsername());
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(documentJobService.submitExisting(documentId, request, user));
+    }
+
+    /**
+     * Current state of a processing job, with its result once completed
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<DocumentJobResponse> getDocumentJob(@PathVariable Long jobId) {
+
+        UserPrincipal principal = userPrincipal();
+        String username = principal.getUsername();
+
+        User user = userService.findByEmail(username);
+        if (user == null){
+            log.error("User not found: {}", username);
+            throw new RuntimeException("User not found");
+        }
+
+        return ResponseEntity.ok(documentJobService.getJob(jobId, user));
+    }
+
+    /**
+     * Stream job progress until it completes or fails
+     */
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<DocumentJobResponse> streamDocumentJob(@PathVariable Long jobId) {
+
+        UserPrincipal principal = userPrincipal();
+        String username = principal.getUsername();
+
+        User user = userService.findByEmail(username);
+        if (user == null){
+            log.error("User not found: {}", username);
+            throw new RuntimeException("User not found");
+        }
+
+        log.info("GET /api/v1/documents/jobs/{}/events for user: {}", jobId, user.getUsername());
+
+        return documentJobService.streamJob(jobId, user)
+                .doOnError(err -> log.error("Job stream error: {}", err.getMessage()));
+    }
+
     /**
      * Get all documents for current user
      */
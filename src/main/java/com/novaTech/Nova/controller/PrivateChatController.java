@@ -1,11 +1,17 @@
 package com.novaTech.Nova.controller;
 
+import com.novaTech.Nova.DTO.CursorPage;
+import com.novaTech.Nova.DTO.InboxEntryDTO;
+import com.novaTech.Nova.DTO.PresenceDTO;
 import com.novaTech.Nova.DTO.SendMessageRequest;
+import com.novaTech.Nova.DTO.UpdatePresenceRequest;
 import com.novaTech.Nova.Entities.User;
 import com.novaTech.Nova.Entities.chats.Friendship;
 import com.novaTech.Nova.Entities.chats.PrivateMessage;
 import com.novaTech.Nova.Security.UserPrincipal;
 import com.novaTech.Nova.Services.MessagingChatService.FriendshipService;
+import com.novaTech.Nova.Services.MessagingChatService.InboxService;
+import com.novaTech.Nova.Services.MessagingChatService.PresenceService;
 import com.novaTech.Nova.Services.MessagingChatService.PrivateChatService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +31,8 @@ public class PrivateChatController {
 
     private final PrivateChatService chatService;
     private final FriendshipService friendshipService;
+    private final InboxService inboxService;
+    private final PresenceService presenceService;
 
     private UserPrincipal userPrincipal(){
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -142,6 +150,40 @@ public class PrivateChatController {
         return ResponseEntity.ok(chatService.getConversation(userId, friendId));
     }
 
+    /**
+     * Conversations with their latest message and unread count, most recent first
+     * GET /api/chat/inbox?cursor=...&limit=20
+     */
+    @GetMapping("/inbox")
+    public ResponseEntity<CursorPage<InboxEntryDTO>> getInbox(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        UUID userId = userPrincipal().getUserId();
+        return ResponseEntity.ok(inboxService.getInbox(userId, cursor, limit));
+    }
+
+    /**
+     * Mark the conversation as read up to a message, or entirely without upTo
+     * PUT /api/chat/conversations/{friendId}/read?upTo=messageId
+     */
+    @PutMapping("/conversations/{friendId}/read")
+    public ResponseEntity<PrivateChatService.ReadStateDTO> markConversationRead(
+            @PathVariable UUID friendId,
+            @RequestParam(required = false) Long upTo) {
+        UUID userId = userPrincipal().getUserId();
+        return ResponseEntity.ok(chatService.markConversationRead(userId, friendId, upTo));
+    }
+
+    /**
+     * Read position and unread count of the conversation
+     * GET /api/chat/conversations/{friendId}/read-state
+     */
+    @GetMapping("/conversations/{friendId}/read-state")
+    public ResponseEntity<PrivateChatService.ReadStateDTO> getReadState(@PathVariable UUID friendId) {
+        UUID userId = userPrincipal().getUserId();
+        return ResponseEntity.ok(chatService.getReadState(userId, friendId));
+    }
+
     @PutMapping("/messages/{messageId}/read")
     public ResponseEntity<Void> markAsRead(@PathVariable Long messageId) {
         UUID userId = userPrincipal().getUserId();
@@ -276,4 +318,26 @@ public class PrivateChatController {
         UUID userId = userPrincipal().getUserId();
         return ResponseEntity.ok(friendshipService.getPendingRequests(userId));
     }
+
+    // ===== PRESENCE =====
+
+    /**
+     * Set own status while connected to the WebSocket (ONLINE clears BUSY, AWAY, ...)
+     * PUT /api/chat/presence
+     */
+    @PutMapping("/presence")
+    public ResponseEntity<PresenceDTO> updatePresence(@RequestBody UpdatePresenceRequest request) {
+        UUID userId = userPrincipal().getUserId();
+        return ResponseEntity.ok(presenceService.setStatus(userId, request.getStatus(), request.getCustomStatus()));
+    }
+
+    /**
+     * Current presence of all friends; later changes arrive on /user/queue/presence
+     * GET /api/chat/presence/friends
+     */
+    @GetMapping("/presence/friends")
+    public ResponseEntity<List<PresenceDTO>> getFriendsPresence() {
+        UUID userId = userPrincipal().getUserId();
+        return ResponseEntity.ok(presenceService.getFriendsPresence(userId));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.novaTech.Nova.controller;
+
+import com.novaTech.Nova.DTO.TypingEventRequest;
+import com.novaTech.Nova.Services.MessagingChatService.TypingIndicatorService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+import java.util.UUID;
+
+/**
+ * Typing events sent by clients over STOMP to /app/typing. Clients may send one per keystroke;
+ * TypingIndicatorService decides what reaches the other side.
+ */
+@Slf4j
+@Controller
+@RequiredArgsConstructor
+public class TypingController {
+
+    private final TypingIndicatorService typingIndicatorService;
+
+    @MessageMapping("/typing")
+    public void typing(@Payload TypingEventRequest request, Principal principal) {
+        if (principal == null) {
+            return;
+        }
+        UUID senderId;
+        try {
+            senderId = UUID.fromString(principal.getName());
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring typing event of unknown principal {}", principal.getName());
+            return;
+        }
+
+        if (request.getReceiverId() != null) {
+            typingIndicatorService.privateTyping(senderId, request.getReceiverId(), request.isTyping());
+        } else if (request.getTeamId() != null) {
+            typingIndicatorService.teamTyping(senderId, request.getTeamId(), request.isTyping());
+        }
+    }
+}
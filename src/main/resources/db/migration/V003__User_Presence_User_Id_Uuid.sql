@@ -0,0 +1,8 @@
+-- Flyway Migration: V003__User_Presence_User_Id_Uuid.sql
+-- Description: Change user_presence.user_id from BIGINT to UUID
+-- Reason: Users are identified by UUID; the table was never written before presence tracking
+
+DELETE FROM user_presence;
+
+ALTER TABLE user_presence
+ALTER COLUMN user_id TYPE UUID USING NULL;
@@ -0,0 +1,150 @@
+package com.novaTech.Nova.Security;
+
+import com.novaTech.Nova.Entities.Enums.Role;
+import com.novaTech.Nova.Entities.User;
+import com.novaTech.Nova.Entities.repo.UserRepo;
+import com.novaTech.Nova.Security.RateLimitingConfigs.RateLimitFilter;
+import com.novaTech.Nova.Security.RateLimitingConfigs.RateLimitingProperties;
+import com.novaTech.Nova.Security.RateLimitingConfigs.RateLimitingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.oauth2.client.CommonOAuth2Provider;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.client.registration.InMemoryClientRegistrationRepository;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The ADMIN-only actuator endpoints of {@link SecurityConfig} with the API's own bearer tokens:
+ * the JWT filter must authenticate these paths instead of skipping them with the rest of /actuator.
+ */
+@SpringJUnitWebConfig(ActuatorAdminSecurityTests.Config.class)
+@TestPropertySource(properties = {
+        // still injected into the TokenService mock
+        "jwt.secret=unused",
+        "jwt.access-expiration-ms=0",
+        "jwt.refresh-expiration-ms=0"
+})
+class ActuatorAdminSecurityTests {
+
+    private static final String ADMIN_TOKEN = "admin-token";
+    private static final String USER_TOKEN = "user-token";
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/actuator/cacheadmin", "/actuator/metrics", "/actuator/aiproviders"})
+    void adminTokenIsAllowed(String path) throws Exception {
+        mockMvc.perform(get(path).header("Authorization", "Bearer " + ADMIN_TOKEN))
+                .andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/actuator/cacheadmin", "/actuator/metrics", "/actuator/aiproviders"})
+    void userTokenIsForbidden(String path) throws Exception {
+        mockMvc.perform(get(path).header("Authorization", "Bearer " + USER_TOKEN))
+                .andExpect(status().isForbidden());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/actuator/cacheadmin", "/actuator/metrics", "/actuator/aiproviders"})
+    void missingTokenIsUnauthorized(String path) throws Exception {
+        mockMvc.perform(get(path))
+                .andExpect(status().isUnauthorized());
+    }
+
+    // =========================================================
+    // HELPERS
+    // =========================================================
+
+    @Configuration
+    @EnableWebMvc
+    @EnableWebSecurity
+    @Import({SecurityConfig.class, OncePerRequestFilterService.class, AdminEndpoints.class})
+    static class Config {
+
+        @Bean
+        TokenService tokenService() {
+            TokenService tokenService = mock(TokenService.class);
+            when(tokenService.getEmailFromAccessToken(ADMIN_TOKEN)).thenReturn("admin@nova.test");
+            when(tokenService.getEmailFromAccessToken(USER_TOKEN)).thenReturn("user@nova.test");
+            return tokenService;
+        }
+
+        @Bean
+        UserRepo userRepo() {
+            UserRepo userRepo = mock(UserRepo.class);
+            when(userRepo.findByEmail("admin@nova.test")).thenReturn(Optional.of(user("admin@nova.test", Role.ADMIN)));
+            when(userRepo.findByEmail("user@nova.test")).thenReturn(Optional.of(user("user@nova.test", Role.USER)));
+            return userRepo;
+        }
+
+        @Bean
+        CustomOAuth2UserService customOAuth2UserService() {
+            return mock(CustomOAuth2UserService.class);
+        }
+
+        @Bean
+        RateLimitFilter rateLimitFilter() {
+            RateLimitingProperties properties = new RateLimitingProperties();
+            properties.setEnabled(false);
+            return new RateLimitFilter(mock(RateLimitingService.class), properties, new ObjectMapper());
+        }
+
+        @Bean
+        ClientRegistrationRepository clientRegistrationRepository() {
+            return new InMemoryClientRegistrationRepository(CommonOAuth2Provider.GOOGLE.getBuilder("google")
+                    .clientId("client")
+                    .clientSecret("secret")
+                    .build());
+        }
+
+        private static User user(String email, Role role) {
+            User user = new User();
+            user.setId(UUID.randomUUID());
+            user.setEmail(email);
+            user.setRole(role);
+            return user;
+        }
+    }
+
+    // stands in for the actuator endpoints, which aren't part of this context
+    @RestController
+    static class AdminEndpoints {
+
+        @GetMapping({"/actuator/cacheadmin", "/actuator/metrics", "/actuator/aiproviders"})
+        String adminEndpoint() {
+            return "ok";
+        }
+    }
+}
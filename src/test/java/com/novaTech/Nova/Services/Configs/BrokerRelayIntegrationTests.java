@@ -0,0 +1,265 @@
+package com.novaTech.Nova.Services.Configs;
+
+import com.novaTech.Nova.Entities.repo.UserRepo;
+import com.novaTech.Nova.Security.TokenService;
+import com.novaTech.Nova.Services.MessagingChatService.PresenceProperties;
+import com.novaTech.Nova.Services.MessagingChatService.PresenceService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Two nodes running {@link WebSocketConfig} in RELAY mode against one embedded STOMP broker:
+ * a message sent to a user on node A reaches the session the user holds on node B.
+ *
+ * Sessions are simulated on the client inbound channel, as the WebSocket handler would, and
+ * deliveries are read from the client outbound channel. The load test only runs with
+ * {@code -DloadTests=true} ({@code -DloadTests.messages=N} to change the message count).
+ */
+@Slf4j
+class BrokerRelayIntegrationTests {
+
+    private static final long TIMEOUT_MS = 10_000;
+
+    private EmbeddedStompBroker broker;
+    private AnnotationConfigWebApplicationContext nodeA;
+    private AnnotationConfigWebApplicationContext nodeB;
+
+    private final UUID userId = UUID.randomUUID();
+    private final Principal user = new UsernamePasswordAuthenticationToken(userId.toString(), null, null);
+    private final BlockingQueue<Message<?>> outboundB = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    void startNodes() throws Exception {
+        broker = new EmbeddedStompBroker();
+        nodeA = startNode(broker.getPort());
+        nodeB = startNode(broker.getPort());
+        nodeB.getBean("clientOutboundChannel", SubscribableChannel.class).subscribe(outboundB::add);
+
+        // Both system sessions listen for /user destinations the sending node can't resolve
+        broker.awaitSubscribers("/topic/unresolved-user-destination", 2, TIMEOUT_MS);
+    }
+
+    @AfterEach
+    void stopNodes() throws Exception {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        broker.close();
+    }
+
+    @Test
+    void userDestinationIsDeliveredOnTheNodeHoldingTheSession() throws Exception {
+        connectOnNodeB("session-1", "sub-1", "/user/queue/presence");
+
+        nodeA.getBean("brokerMessagingTemplate", SimpMessagingTemplate.class)
+                .convertAndSendToUser(userId.toString(), "/queue/presence", "hello from node A");
+
+        Message<?> delivered = await(outboundB, message -> isMessageFor(message, "session-1"));
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(delivered);
+        assertEquals("sub-1", accessor.getSubscriptionId());
+        assertEquals("hello from node A", new String((byte[]) delivered.getPayload(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void topicIsDeliveredToSubscribersOnEveryNode() throws Exception {
+        connectOnNodeB("session-1", "sub-1", "/topic/team.1");
+
+        nodeA.getBean("brokerMessagingTemplate", SimpMessagingTemplate.class)
+                .convertAndSend("/topic/team.1", "team message");
+
+        Message<?> delivered = await(outboundB, message -> isMessageFor(message, "session-1"));
+        assertEquals("team message", new String((byte[]) delivered.getPayload(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "loadTests", matches = "true")
+    void crossNodeDeliveryLoad() throws Exception {
+        int messages = Integer.getInteger("loadTests.messages", 20_000);
+        connectOnNodeB("session-1", "sub-1", "/user/queue/load");
+
+        long[] latenciesNanos = new long[messages];
+        AtomicInteger received = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(messages);
+        nodeB.getBean("clientOutboundChannel", SubscribableChannel.class).subscribe(message -> {
+            if (isMessageFor(message, "session-1")) {
+                long sentAt = Long.parseLong(new String((byte[]) message.getPayload(), StandardCharsets.UTF_8));
+                int index = received.getAndIncrement();
+                if (index < messages) {
+                    latenciesNanos[index] = System.nanoTime() - sentAt;
+                    done.countDown();
+                }
+            }
+        });
+
+        SimpMessagingTemplate template = nodeA.getBean("brokerMessagingTemplate", SimpMessagingTemplate.class);
+        long start = System.nanoTime();
+        for (int i = 0; i < messages; i++) {
+            template.convertAndSendToUser(userId.toString(), "/queue/load", String.valueOf(System.nanoTime()));
+        }
+        assertTrue(done.await(2, TimeUnit.MINUTES), "Only " + received.get() + " of " + messages + " delivered");
+        long elapsedNanos = System.nanoTime() - start;
+
+        Arrays.sort(latenciesNanos);
+        log.info("Cross-node delivery of {} messages: {} msg/s, latency p50={}ms p99={}ms max={}ms",
+                messages,
+                Math.round(messages / (elapsedNanos / 1e9)),
+                millis(latenciesNanos[messages / 2]),
+                millis(latenciesNanos[(int) (messages * 0.99) - 1]),
+                millis(latenciesNanos[messages - 1]));
+    }
+
+    // =========================================================
+    // HELPERS
+    // =========================================================
+
+    @Configuration
+    @EnableConfigurationProperties
+    @Import({FlowControlledBrokerConfiguration.class, WebSocketConfig.class, OutboundFlowControl.class,
+            WebSocketBrokerProperties.class, WebSocketFlowControlProperties.class, PresenceProperties.class})
+    static class NodeConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        TokenService tokenService() {
+            return mock(TokenService.class);
+        }
+
+        @Bean
+        UserRepo userRepo() {
+            return mock(UserRepo.class);
+        }
+
+        @Bean
+        PresenceService presenceService() {
+            return mock(PresenceService.class);
+        }
+    }
+
+    private static AnnotationConfigWebApplicationContext startNode(int brokerPort) throws InterruptedException {
+        AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("node", Map.of(
+                "websocket.broker.mode", "RELAY",
+                "websocket.broker.relay-host", "127.0.0.1",
+                "websocket.broker.relay-port", brokerPort,
+                // still injected into the TokenService mock
+                "jwt.secret", "unused",
+                "jwt.access-expiration-ms", 0,
+                "jwt.refresh-expiration-ms", 0)));
+        context.register(NodeConfig.class);
+        context.refresh();
+
+        StompBrokerRelayMessageHandler relay = context.getBean(StompBrokerRelayMessageHandler.class);
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!relay.isBrokerAvailable()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Relay did not connect to the broker");
+            Thread.sleep(10);
+        }
+        return context;
+    }
+
+    /**
+     * What the WebSocket handler does for a client that connects and subscribes on node B
+     */
+    private void connectOnNodeB(String sessionId, String subscriptionId, String destination) throws InterruptedException {
+        MessageChannel inbound = nodeB.getBean("clientInboundChannel", MessageChannel.class);
+
+        Message<byte[]> connect = frame(StompCommand.CONNECT, sessionId, accessor -> {
+            accessor.setAcceptVersion("1.2");
+            accessor.setHeartbeat(0, 0);
+        });
+        inbound.send(connect);
+        await(outboundB, message -> isCommandFor(message, StompCommand.CONNECTED, sessionId));
+        nodeB.publishEvent(new SessionConnectedEvent(this, connect, user));
+
+        Message<byte[]> subscribe = frame(StompCommand.SUBSCRIBE, sessionId, accessor -> {
+            accessor.setSubscriptionId(subscriptionId);
+            accessor.setDestination(destination);
+            accessor.setReceipt("subscribed-" + subscriptionId);
+        });
+        inbound.send(subscribe);
+        await(outboundB, message -> isCommandFor(message, StompCommand.RECEIPT, sessionId));
+        nodeB.publishEvent(new SessionSubscribeEvent(this, subscribe, user));
+    }
+
+    private Message<byte[]> frame(StompCommand command, String sessionId, Consumer<StompHeaderAccessor> headers) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId(sessionId);
+        accessor.setUser(user);
+        headers.accept(accessor);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static boolean isMessageFor(Message<?> message, String sessionId) {
+        return isCommandFor(message, StompCommand.MESSAGE, sessionId);
+    }
+
+    private static boolean isCommandFor(Message<?> message, StompCommand command, String sessionId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        return command == accessor.getCommand() && sessionId.equals(accessor.getSessionId());
+    }
+
+    private static Message<?> await(BlockingQueue<Message<?>> queue, Predicate<Message<?>> match) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        Message<?> message;
+        while ((message = queue.poll(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)) != null) {
+            if (match.test(message)) {
+                return message;
+            }
+        }
+        assertNotNull(message, "Timed out waiting for an outbound frame");
+        return null;
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1e6);
+    }
+}
@@ -0,0 +1,195 @@
+package com.novaTech.Nova.Services.Configs;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompDecoder;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process STOMP 1.2 broker for tests: CONNECT, SUBSCRIBE, UNSUBSCRIBE, SEND, DISCONNECT
+ * and receipts, with exact-match destinations and no heart-beats. Enough for the broker relay
+ * of several nodes to share, the way they share RabbitMQ or ActiveMQ in production.
+ */
+final class EmbeddedStompBroker implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final ExecutorService threads = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "embedded-stomp-broker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong messageIds = new AtomicLong();
+
+    EmbeddedStompBroker() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        threads.execute(this::accept);
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    int subscriberCount(String destination) {
+        return (int) connections.stream()
+                .flatMap(connection -> connection.subscriptions.values().stream())
+                .filter(destination::equals)
+                .count();
+    }
+
+    void awaitSubscribers(String destination, int count, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (subscriberCount(destination) < count) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Expected " + count + " subscribers on " + destination
+                        + " but found " + subscriberCount(destination));
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    @Override
+    public void close() throws IOException, InterruptedException {
+        serverSocket.close();
+        connections.forEach(Connection::close);
+        threads.shutdownNow();
+        threads.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    // =========================================================
+    // HELPERS
+    // =========================================================
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Connection connection = new Connection(serverSocket.accept());
+                connections.add(connection);
+                threads.execute(connection::read);
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void deliver(String destination, StompHeaderAccessor send, byte[] payload) {
+        for (Connection connection : connections) {
+            connection.subscriptions.forEach((subscriptionId, subscribed) -> {
+                if (subscribed.equals(destination)) {
+                    // Custom headers travel with the message, as in RabbitMQ or ActiveMQ
+                    Map<String, List<String>> headers = new LinkedHashMap<>(send.toNativeHeaderMap());
+                    headers.keySet().removeAll(List.of("receipt", "content-length"));
+                    StompHeaderAccessor message = StompHeaderAccessor.create(StompCommand.MESSAGE, headers);
+                    message.setDestination(destination);
+                    message.setSubscriptionId(subscriptionId);
+                    message.setMessageId(String.valueOf(messageIds.incrementAndGet()));
+                    connection.write(message, payload);
+                }
+            });
+        }
+    }
+
+    private final class Connection {
+
+        private final Socket socket;
+        private final StompDecoder decoder = new StompDecoder();
+        private final StompEncoder encoder = new StompEncoder();
+        // subscription id -> destination
+        private final Map<String, String> subscriptions = new ConcurrentHashMap<>();
+
+        Connection(Socket socket) {
+            this.socket = socket;
+        }
+
+        void read() {
+            byte[] chunk = new byte[8192];
+            ByteBuffer pending = ByteBuffer.allocate(0);
+            try (InputStream in = socket.getInputStream()) {
+                int read;
+                while ((read = in.read(chunk)) >= 0) {
+                    ByteBuffer buffer = ByteBuffer.allocate(pending.remaining() + read);
+                    buffer.put(pending).put(chunk, 0, read).flip();
+                    // An incomplete frame is left in the buffer for the next read
+                    for (Message<byte[]> frame : decoder.decode(buffer)) {
+                        handle(frame);
+                    }
+                    pending = buffer.slice();
+                }
+            } catch (IOException e) {
+                // closed by either side
+            } finally {
+                close();
+            }
+        }
+
+        private void handle(Message<byte[]> frame) {
+            StompHeaderAccessor accessor = StompHeaderAccessor.wrap(frame);
+            if (accessor.isHeartbeat()) {
+                return;
+            }
+            StompCommand command = accessor.getCommand();
+            switch (command) {
+                case CONNECT, STOMP -> {
+                    StompHeaderAccessor connected = StompHeaderAccessor.create(StompCommand.CONNECTED);
+                    connected.setVersion("1.2");
+                    connected.setHeartbeat(0, 0);
+                    write(connected, new byte[0]);
+                }
+                case SUBSCRIBE -> subscriptions.put(accessor.getSubscriptionId(), accessor.getDestination());
+                case UNSUBSCRIBE -> subscriptions.remove(accessor.getSubscriptionId());
+                case SEND -> deliver(accessor.getDestination(), accessor, frame.getPayload());
+                default -> {
+                }
+            }
+            if (accessor.getReceipt() != null) {
+                StompHeaderAccessor receipt = StompHeaderAccessor.create(StompCommand.RECEIPT);
+                receipt.setReceiptId(accessor.getReceipt());
+                write(receipt, new byte[0]);
+            }
+            if (command == StompCommand.DISCONNECT) {
+                close();
+            }
+        }
+
+        void write(StompHeaderAccessor accessor, byte[] payload) {
+            byte[] bytes = encoder.encode(MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+            synchronized (this) {
+                try {
+                    OutputStream out = socket.getOutputStream();
+                    out.write(bytes);
+                    out.flush();
+                } catch (IOException e) {
+                    close();
+                }
+            }
+        }
+
+        void close() {
+            connections.remove(this);
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // already closed
+            }
+        }
+    }
+}
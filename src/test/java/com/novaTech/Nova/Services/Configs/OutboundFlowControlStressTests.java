@@ -0,0 +1,223 @@
+package com.novaTech.Nova.Services.Configs;
+
+import com.novaTech.Nova.Services.Configs.FlowControlledBrokerConfiguration.FlowControlledWebSocketHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.messaging.StompSubProtocolHandler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link FlowControlledSession} behind the real STOMP handler and a sized outbound channel,
+ * with clients simulated by sessions whose writes can be made artificially slow.
+ */
+class OutboundFlowControlStressTests {
+
+    private static final String CHAT = "/user/queue/messages";
+    private static final String EPHEMERAL = "/user/queue/presence";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WebSocketFlowControlProperties properties = new WebSocketFlowControlProperties();
+    private ThreadPoolTaskExecutor outboundExecutor;
+
+    // a session write that waits until the test has queued everything else
+    private final CountDownLatch blockedWrite = new CountDownLatch(1);
+    private final CountDownLatch releaseWrite = new CountDownLatch(1);
+
+    @AfterEach
+    void stopExecutor() {
+        if (outboundExecutor != null) {
+            outboundExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void slowConsumersDoNotDelayFastOnes() throws Exception {
+        int fastClients = 20;
+        int slowClients = 2;
+        int frames = 200;
+        long slowWriteMs = 2000;
+        properties.setChatQueueCapacity(100);
+        properties.setEphemeralQueueCapacity(10);
+
+        // Fewer slow clients than outbound threads: each one can only hold the thread writing to it
+        outboundExecutor = new ThreadPoolTaskExecutor();
+        outboundExecutor.setCorePoolSize(4);
+        outboundExecutor.setMaxPoolSize(4);
+        outboundExecutor.initialize();
+        ExecutorSubscribableChannel outbound = new ExecutorSubscribableChannel(outboundExecutor);
+        FlowControlledWebSocketHandler handler = handler(outbound);
+        handler.start();
+
+        AtomicLong maxFastLatencyNanos = new AtomicLong();
+        CountDownLatch fastDelivered = new CountDownLatch(fastClients * frames);
+        List<String> fastIds = new ArrayList<>();
+        for (int i = 0; i < fastClients; i++) {
+            WebSocketSession session = session("fast-" + i);
+            doAnswer(invocation -> {
+                String body = body(invocation.getArgument(0));
+                if (!body.startsWith("presence")) {
+                    maxFastLatencyNanos.accumulateAndGet(System.nanoTime() - Long.parseLong(body), Math::max);
+                    fastDelivered.countDown();
+                }
+                return null;
+            }).when(session).sendMessage(any());
+            handler.afterConnectionEstablished(session);
+            fastIds.add(session.getId());
+        }
+        List<WebSocketSession> slowSessions = new ArrayList<>();
+        for (int i = 0; i < slowClients; i++) {
+            WebSocketSession session = session("slow-" + i);
+            doAnswer(invocation -> {
+                Thread.sleep(slowWriteMs);
+                return null;
+            }).when(session).sendMessage(any());
+            handler.afterConnectionEstablished(session);
+            slowSessions.add(session);
+        }
+
+        for (int frame = 0; frame < frames; frame++) {
+            for (WebSocketSession slow : slowSessions) {
+                outbound.send(frame(slow.getId(), CHAT, String.valueOf(System.nanoTime())));
+                outbound.send(frame(slow.getId(), EPHEMERAL, "presence"));
+            }
+            for (String fastId : fastIds) {
+                outbound.send(frame(fastId, CHAT, String.valueOf(System.nanoTime())));
+                outbound.send(frame(fastId, EPHEMERAL, "presence"));
+            }
+        }
+
+        assertTrue(fastDelivered.await(slowWriteMs, TimeUnit.MILLISECONDS),
+                "Fast clients waited on slow ones: " + fastDelivered.getCount() + " chat frames missing");
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(maxFastLatencyNanos.get()) < slowWriteMs / 2,
+                "Fast client latency reached " + TimeUnit.NANOSECONDS.toMillis(maxFastLatencyNanos.get()) + " ms");
+
+        // The slow clients overflowed their chat queue and were disconnected
+        for (WebSocketSession slow : slowSessions) {
+            verify(slow, timeout(slowWriteMs * 2)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        }
+        assertEquals(slowClients, meterRegistry.counter("websocket.outbound.disconnects", "reason", "overflow").count());
+        assertTrue(meterRegistry.counter("websocket.outbound.dropped", "type", "ephemeral").count() > 0);
+    }
+
+    @Test
+    void chatIsWrittenBeforeEphemeralAndOldEphemeralIsDropped() throws Exception {
+        properties.setEphemeralQueueCapacity(2);
+        FlowControlledWebSocketHandler handler = handler(new ExecutorSubscribableChannel());
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        WebSocketSession session = blockedOnFirstWrite("client", written);
+        handler.afterConnectionEstablished(session);
+
+        Thread writer = new Thread(() -> handler.handleMessage(frame("client", CHAT, "c0")));
+        writer.start();
+        blockedWrite.await();
+        for (int i = 0; i < 5; i++) {
+            handler.handleMessage(frame("client", EPHEMERAL, "e" + i));
+        }
+        for (int i = 1; i <= 3; i++) {
+            handler.handleMessage(frame("client", CHAT, "c" + i));
+        }
+        releaseWrite.countDown();
+        writer.join(5000);
+
+        assertEquals(List.of("c0", "c1", "c2", "c3", "e3", "e4"), written);
+        assertEquals(3, meterRegistry.counter("websocket.outbound.dropped", "type", "ephemeral").count());
+    }
+
+    @Test
+    void dropOldestPolicyKeepsTheSessionOpen() throws Exception {
+        properties.setChatQueueCapacity(2);
+        properties.setOverflowPolicy(WebSocketFlowControlProperties.OverflowPolicy.DROP_OLDEST);
+        FlowControlledWebSocketHandler handler = handler(new ExecutorSubscribableChannel());
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        WebSocketSession session = blockedOnFirstWrite("client", written);
+        handler.afterConnectionEstablished(session);
+
+        Thread writer = new Thread(() -> handler.handleMessage(frame("client", CHAT, "c0")));
+        writer.start();
+        blockedWrite.await();
+        for (int i = 1; i <= 4; i++) {
+            handler.handleMessage(frame("client", CHAT, "c" + i));
+        }
+        releaseWrite.countDown();
+        writer.join(5000);
+
+        assertEquals(List.of("c0", "c3", "c4"), written);
+        assertEquals(2, meterRegistry.counter("websocket.outbound.dropped", "type", "chat").count());
+        verify(session, never()).close(any());
+    }
+
+    // =========================================================
+    // HELPERS
+    // =========================================================
+
+    private FlowControlledWebSocketHandler handler(ExecutorSubscribableChannel outbound) {
+        OutboundFlowControl flowControl = new OutboundFlowControl(properties, meterRegistry);
+        FlowControlledWebSocketHandler handler =
+                new FlowControlledWebSocketHandler(new ExecutorSubscribableChannel(), outbound, flowControl);
+        handler.addProtocolHandler(new StompSubProtocolHandler());
+        handler.setSendTimeLimit(properties.getSendTimeLimitMs());
+        return handler;
+    }
+
+    private static WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+
+    private WebSocketSession blockedOnFirstWrite(String id, List<String> written) throws Exception {
+        WebSocketSession session = session(id);
+        doAnswer(invocation -> {
+            written.add(body(invocation.getArgument(0)));
+            if (written.size() == 1) {
+                blockedWrite.countDown();
+                releaseWrite.await(5, TimeUnit.SECONDS);
+            }
+            return null;
+        }).when(session).sendMessage(any());
+        return session;
+    }
+
+    private static Message<byte[]> frame(String sessionId, String destination, String body) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setDestination(destination);
+        accessor.setSubscriptionId("sub-1");
+        return MessageBuilder.createMessage(body.getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders());
+    }
+
+    // body of an encoded STOMP frame
+    private static String body(TextMessage message) {
+        String frame = message.getPayload();
+        return frame.substring(frame.indexOf("\n\n") + 2, frame.length() - 1);
+    }
+}